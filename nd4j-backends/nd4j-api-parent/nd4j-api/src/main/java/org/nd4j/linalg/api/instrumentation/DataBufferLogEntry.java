@@ -41,10 +41,13 @@ public class DataBufferLogEntry implements Serializable {
     public DataBufferLogEntry() {}
 
     public DataBufferLogEntry(DataBuffer buffer, String status) {
+        this(buffer, Thread.currentThread().getStackTrace(), status);
+    }
+
+    public DataBufferLogEntry(DataBuffer buffer, StackTraceElement[] stackTraceElements, String status) {
         this.length = buffer.length();
         this.dataType = buffer.dataType() == DataBuffer.Type.DOUBLE ? "double" : "float";
-        this.stackTraceElements = Thread.currentThread().getStackTrace();
-        this.references = buffer.references();
+        this.stackTraceElements = stackTraceElements;
         timestamp = System.currentTimeMillis();
         this.status = status;
     }
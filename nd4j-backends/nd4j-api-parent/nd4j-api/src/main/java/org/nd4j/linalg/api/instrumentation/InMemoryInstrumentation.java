@@ -21,141 +21,274 @@ package org.nd4j.linalg.api.instrumentation;
 
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.executors.ExecutorServiceProvider;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Collects log entries in memory
+ * Collects log entries in memory.
+ *
+ * Only the most recent entries are kept, in a fixed size ring buffer, so memory use is bounded
+ * no matter how many arrays get allocated. Alive and destroyed counts are tracked separately with
+ * striped counters, per kind (ndarray or buffer), data type and power of two size class, so they
+ * cover the whole history and can be read in constant time.
+ *
+ * Logging happens on the calling thread and never blocks.
  *
  * @author Adam Gibson
  */
 public class InMemoryInstrumentation implements Instrumentation {
-    private List<LogEntry> entries = Collections.synchronizedList(new ArrayList<LogEntry>());
-    private List<DataBufferLogEntry> dataBufferLogEntries =
-                    Collections.synchronizedList(new ArrayList<DataBufferLogEntry>());
-    private ExecutorService executorService = ExecutorServiceProvider.getExecutorService();
-    private Map<String, Collection<LogEntry>> logEntries = new ConcurrentHashMap<>();
+    public static final int DEFAULT_CAPACITY = 8192;
 
-    @Override
-    public void log(final INDArray toLog, final String status) {
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                LogEntry entry = new LogEntry(toLog, status);
-                entries.add(entry);
-                //                Collection<LogEntry> logEntries = InMemoryInstrumentation.this.logEntries.get(toLog.id());
-                //
-                //                if (logEntries == null) {
-                //                    logEntries = new CopyOnWriteArrayList<>();
-                //                    InMemoryInstrumentation.this.logEntries.put(toLog.id(), logEntries);
-                //                }
-
-                //                logEntries.add(entry);
-            }
-        });
+    private static final String NDARRAY = "ndarray";
+    private static final String BUFFER = "buffer";
+    private static final int KIND_NDARRAY = 0;
+    private static final int KIND_BUFFER = 1;
+    private static final int STATUS_CREATED = 0;
+    private static final int STATUS_DESTROYED = 1;
 
+    private static final DataBuffer.Type[] TYPES = DataBuffer.Type.values();
+    // class c holds lengths in (2^(c-1), 2^c], the last one everything above
+    private static final int SIZE_CLASSES = 32;
+    private static final int CLASS_SLOTS = 2 * 2 * TYPES.length * SIZE_CLASSES;
+    // totals per kind and status follow the per class counters
+    private static final int TOTALS_OFFSET = CLASS_SLOTS;
 
+    private final AtomicReferenceArray<LogEntry> entries;
+    private final AtomicReferenceArray<DataBufferLogEntry> dataBufferLogEntries;
+    private final AtomicLong entriesCursor = new AtomicLong(0);
+    private final AtomicLong dataBufferCursor = new AtomicLong(0);
+    private final int mask;
+    private final boolean captureStackTraces;
+    private final StripedCounters counters;
 
+    public InMemoryInstrumentation() {
+        this(DEFAULT_CAPACITY, true);
     }
 
-    @Override
-    public void log(final DataBuffer buffer, final String status) {
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                dataBufferLogEntries.add(new DataBufferLogEntry(buffer, status));
+    /**
+     * @param capacity           the number of most recent entries to keep, rounded up to a power of 2
+     * @param captureStackTraces whether entries should record the allocating stack trace
+     */
+    public InMemoryInstrumentation(int capacity, boolean captureStackTraces) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive");
 
-            }
-        });
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+
+        this.mask = size - 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.dataBufferLogEntries = new AtomicReferenceArray<>(size);
+        this.captureStackTraces = captureStackTraces;
+        this.counters = new StripedCounters(TOTALS_OFFSET + 4, Runtime.getRuntime().availableProcessors());
     }
 
     @Override
-    public void log(final INDArray toLog) {
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                entries.add(new LogEntry(toLog));
+    public void log(INDArray toLog, String status) {
+        LogEntry entry = new LogEntry(toLog, stackTrace(), status);
+        entry.setId(idOf(toLog));
+        publish(entries, entriesCursor, entry);
+        count(KIND_NDARRAY, toLog.data().dataType(), toLog.length(), status);
+    }
 
-            }
-        });
+    @Override
+    public void log(DataBuffer buffer, String status) {
+        publish(dataBufferLogEntries, dataBufferCursor, new DataBufferLogEntry(buffer, stackTrace(), status));
+        count(KIND_BUFFER, buffer.dataType(), buffer.length(), status);
     }
 
     @Override
-    public void log(final DataBuffer buffer) {
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                dataBufferLogEntries.add(new DataBufferLogEntry(buffer));
+    public void log(INDArray toLog) {
+        log(toLog, Instrumentation.CREATED);
+    }
 
-            }
-        });
+    @Override
+    public void log(DataBuffer buffer) {
+        log(buffer, Instrumentation.CREATED);
     }
 
+    /**
+     * Recently created ndarrays that haven't been logged as destroyed since.
+     * Only entries still held by the ring buffer are considered, use {@link #getNumAlive()}
+     * for the exact number.
+     */
     @Override
     public Collection<LogEntry> getStillAlive() {
-        Set<LogEntry> ret = new HashSet<>();
-        for (Map.Entry<String, Collection<LogEntry>> s : logEntries.entrySet()) {
-            Collection<LogEntry> coll = s.getValue();
-            boolean foundDestroyed = false;
-            LogEntry created = null;
-            for (LogEntry entry : coll) {
-                if (entry.getStatus().equals(Instrumentation.DESTROYED)) {
-                    foundDestroyed = true;
-                }
-                if (entry.getStatus().equals(Instrumentation.CREATED)) {
-                    created = entry;
-                }
+        Map<String, LogEntry> alive = new LinkedHashMap<>();
+        for (LogEntry entry : getEntries()) {
+            if (Instrumentation.CREATED.equals(entry.getStatus()))
+                alive.put(entry.getId(), entry);
+            else if (Instrumentation.DESTROYED.equals(entry.getStatus()))
+                alive.remove(entry.getId());
+        }
+        return new ArrayList<>(alive.values());
+    }
 
-            }
+    /**
+     * Recently destroyed ndarrays still held by the ring buffer, use {@link #getNumDestroyed()}
+     * for the exact number.
+     */
+    @Override
+    public Collection<LogEntry> getDestroyed() {
+        List<LogEntry> ret = new ArrayList<>();
+        for (LogEntry entry : getEntries()) {
+            if (Instrumentation.DESTROYED.equals(entry.getStatus()))
+                ret.add(entry);
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean isDestroyed(String id) {
+        LogEntry last = null;
+        for (LogEntry entry : getEntries()) {
+            if (id.equals(entry.getId()))
+                last = entry;
+        }
+
+        if (last == null)
+            throw new IllegalArgumentException("No key found " + id);
+        return Instrumentation.DESTROYED.equals(last.getStatus());
+    }
+
+    @Override
+    public long getNumAlive() {
+        return total(KIND_NDARRAY, STATUS_CREATED) - total(KIND_NDARRAY, STATUS_DESTROYED);
+    }
+
+    @Override
+    public long getNumDestroyed() {
+        return total(KIND_NDARRAY, STATUS_DESTROYED);
+    }
 
-            if (!foundDestroyed)
-                if (created != null)
-                    ret.add(created);
-                else
-                    throw new IllegalStateException("Unable to add a non created entry");
+    public long getNumAliveBuffers() {
+        return total(KIND_BUFFER, STATUS_CREATED) - total(KIND_BUFFER, STATUS_DESTROYED);
+    }
+
+    public long getNumDestroyedBuffers() {
+        return total(KIND_BUFFER, STATUS_DESTROYED);
+    }
 
+    @Override
+    public Map<String, Long> getAliveCounts() {
+        Map<String, Long> ret = new LinkedHashMap<>();
+        for (int kind = 0; kind < 2; kind++) {
+            for (int type = 0; type < TYPES.length; type++) {
+                for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+                    long alive = counters.sum(slot(kind, STATUS_CREATED, type, sizeClass))
+                                    - counters.sum(slot(kind, STATUS_DESTROYED, type, sizeClass));
+                    if (alive != 0)
+                        ret.put(key(kind, type, sizeClass), alive);
+                }
+            }
         }
         return ret;
     }
 
     @Override
-    public Collection<LogEntry> getDestroyed() {
-        Set<LogEntry> ret = new HashSet<>();
-        for (Map.Entry<String, Collection<LogEntry>> s : logEntries.entrySet()) {
-            Collection<LogEntry> coll = s.getValue();
-            for (LogEntry entry : coll) {
-                if (entry.getStatus().equals(Instrumentation.DESTROYED)) {
-                    ret.add(entry);
+    public Map<String, Long> getDestroyedCounts() {
+        Map<String, Long> ret = new LinkedHashMap<>();
+        for (int kind = 0; kind < 2; kind++) {
+            for (int type = 0; type < TYPES.length; type++) {
+                for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+                    long destroyed = counters.sum(slot(kind, STATUS_DESTROYED, type, sizeClass));
+                    if (destroyed != 0)
+                        ret.put(key(kind, type, sizeClass), destroyed);
                 }
             }
         }
         return ret;
     }
 
-    @Override
-    public boolean isDestroyed(String id) {
-        Collection<LogEntry> logged = logEntries.get(id);
-        if (logged == null)
-            throw new IllegalArgumentException("No key found " + id);
-        return logged.size() == 2;
+    /**
+     * Drop all entries and reset the counters
+     */
+    public void reset() {
+        for (int i = 0; i <= mask; i++) {
+            entries.set(i, null);
+            dataBufferLogEntries.set(i, null);
+        }
+        counters.reset();
     }
 
+    /**
+     * @return the ndarray entries still held by the ring buffer, oldest first
+     */
+    public List<LogEntry> getEntries() {
+        return snapshot(entries, entriesCursor);
+    }
+
+    /**
+     * @return the buffer entries still held by the ring buffer, oldest first
+     */
     public List<DataBufferLogEntry> getDataBufferLogEntries() {
-        return dataBufferLogEntries;
+        return snapshot(dataBufferLogEntries, dataBufferCursor);
     }
 
-    public void setDataBufferLogEntries(List<DataBufferLogEntry> dataBufferLogEntries) {
-        this.dataBufferLogEntries = dataBufferLogEntries;
+    public int getCapacity() {
+        return mask + 1;
     }
 
-    public List<LogEntry> getEntries() {
-        return entries;
+    /**
+     * Size class of the given length: 0 for lengths up to 1, c for lengths in (2^(c-1), 2^c]
+     */
+    static int sizeClass(long length) {
+        if (length <= 1)
+            return 0;
+        return Math.min(SIZE_CLASSES - 1, 64 - Long.numberOfLeadingZeros(length - 1));
     }
 
-    public void setEntries(List<LogEntry> entries) {
-        this.entries = entries;
+    private static String key(int kind, int type, int sizeClass) {
+        String size = sizeClass == SIZE_CLASSES - 1 ? ">" + (1L << (sizeClass - 1)) : "<=" + (1L << sizeClass);
+        return (kind == KIND_NDARRAY ? NDARRAY : BUFFER) + ":" + TYPES[type].name().toLowerCase() + ":" + size;
+    }
+
+    private static int slot(int kind, int status, int type, int sizeClass) {
+        return ((kind * 2 + status) * TYPES.length + type) * SIZE_CLASSES + sizeClass;
+    }
+
+    private long total(int kind, int status) {
+        return counters.sum(TOTALS_OFFSET + kind * 2 + status);
+    }
+
+    private void count(int kind, DataBuffer.Type type, long length, String status) {
+        int s;
+        if (Instrumentation.CREATED.equals(status))
+            s = STATUS_CREATED;
+        else if (Instrumentation.DESTROYED.equals(status))
+            s = STATUS_DESTROYED;
+        else
+            return;
+
+        counters.add(slot(kind, s, type.ordinal(), sizeClass(length)), 1);
+        counters.add(TOTALS_OFFSET + kind * 2 + s, 1);
+    }
+
+    private StackTraceElement[] stackTrace() {
+        return captureStackTraces ? Thread.currentThread().getStackTrace() : null;
+    }
+
+    private static String idOf(INDArray array) {
+        return Integer.toHexString(System.identityHashCode(array));
+    }
+
+    private <T> void publish(AtomicReferenceArray<T> ring, AtomicLong cursor, T entry) {
+        long sequence = cursor.getAndIncrement();
+        ring.lazySet((int) (sequence & mask), entry);
+    }
+
+    private <T> List<T> snapshot(AtomicReferenceArray<T> ring, AtomicLong cursor) {
+        long end = cursor.get();
+        long start = Math.max(0, end - (mask + 1));
+        List<T> ret = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            T entry = ring.get((int) (i & mask));
+            if (entry != null)
+                ret.add(entry);
+        }
+        return ret;
     }
 }
@@ -23,6 +23,7 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
 
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Instrumentation for logging statistics
@@ -87,5 +88,32 @@ public interface Instrumentation {
      */
     boolean isDestroyed(String id);
 
+    /**
+     * Number of ndarrays logged as created but not yet as destroyed
+     *
+     * @return the number of alive ndarrays
+     */
+    long getNumAlive();
+
+    /**
+     * Number of ndarrays logged as destroyed
+     *
+     * @return the number of destroyed ndarrays
+     */
+    long getNumDestroyed();
+
+    /**
+     * Alive ndarrays and buffers, keyed by kind, data type and size class
+     *
+     * @return the non zero alive counts
+     */
+    Map<String, Long> getAliveCounts();
+
+    /**
+     * Destroyed ndarrays and buffers, keyed by kind, data type and size class
+     *
+     * @return the non zero destroyed counts
+     */
+    Map<String, Long> getDestroyedCounts();
 
 }
@@ -40,16 +40,7 @@ public class LogEntry extends DataBufferLogEntry {
     public LogEntry() {}
 
     public LogEntry(INDArray toLog, String status) {
-        //this.id = toLog.id();
-        this.shape = toLog.shape();
-        this.stride = toLog.stride();
-        this.ndArrayType = toLog.getClass().getName();
-        this.length = toLog.length();
-        this.references = toLog.data().references();
-        this.dataType = toLog.data().dataType() == DataBuffer.Type.DOUBLE ? "double" : "float";
-        this.timestamp = System.currentTimeMillis();
-        this.stackTraceElements = Thread.currentThread().getStackTrace();
-        this.status = status;
+        this(toLog, Thread.currentThread().getStackTrace(), status);
     }
 
 
@@ -59,7 +50,6 @@ public class LogEntry extends DataBufferLogEntry {
         this.stride = toLog.stride();
         this.ndArrayType = toLog.getClass().getName();
         this.length = toLog.length();
-        this.references = toLog.data().references();
         this.dataType = toLog.data().dataType() == DataBuffer.Type.DOUBLE ? "double" : "float";
         this.timestamp = System.currentTimeMillis();
         this.stackTraceElements = stackTraceElements;
@@ -0,0 +1,48 @@
+package org.nd4j.linalg.api.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed set of long counters, each split into per-thread stripes so that
+ * concurrent increments from different threads rarely touch the same cache line.
+ * Reading a counter sums its stripes, which is constant time for a given number of stripes.
+ */
+class StripedCounters {
+    // a cache line worth of longs between two stripes
+    private static final int PADDING = 8;
+
+    private final int rowLength;
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+
+    StripedCounters(int slots, int stripes) {
+        int numStripes = Integer.highestOneBit(Math.max(1, stripes));
+        if (numStripes < stripes)
+            numStripes <<= 1;
+
+        this.rowLength = slots + PADDING;
+        this.stripeMask = numStripes - 1;
+        this.cells = new AtomicLongArray(rowLength * numStripes);
+    }
+
+    void add(int slot, long delta) {
+        cells.getAndAdd(stripe() * rowLength + slot, delta);
+    }
+
+    long sum(int slot) {
+        long sum = 0;
+        for (int s = 0; s <= stripeMask; s++)
+            sum += cells.get(s * rowLength + slot);
+        return sum;
+    }
+
+    void reset() {
+        for (int i = 0; i < cells.length(); i++)
+            cells.set(i, 0);
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & stripeMask;
+    }
+}
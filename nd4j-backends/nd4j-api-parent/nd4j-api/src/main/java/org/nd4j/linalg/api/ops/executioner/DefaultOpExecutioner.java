@@ -416,6 +416,8 @@ public class DefaultOpExecutioner implements OpExecutioner {
             case OPERATIONS:
                 OpProfiler.getInstance().processOpCall(op, tadBuffers);
                 break;
+            case SAMPLING:
+                return OpProfiler.getInstance().sampleOpCall();
             case DISABLED:
             default:
                 return 0L;
@@ -489,6 +491,8 @@ public class DefaultOpExecutioner implements OpExecutioner {
             case SCOPE_PANIC:
                 checkForWorkspaces(op);
                 return 0L;
+            case SAMPLING:
+                return OpProfiler.getInstance().sampleOpCall();
             case DISABLED:
             default:
                 return 0L;
@@ -509,6 +513,10 @@ public class DefaultOpExecutioner implements OpExecutioner {
             case OPERATIONS:
                 OpProfiler.getInstance().timeOpCall(op, timeStart);
                 break;
+            case SAMPLING:
+                if (timeStart != 0L)
+                    OpProfiler.getInstance().timeSampledOpCall(op, timeStart);
+                break;
             case NAN_PANIC:
                 OpExecutionerUtil.checkForNaN(op);
                 break;
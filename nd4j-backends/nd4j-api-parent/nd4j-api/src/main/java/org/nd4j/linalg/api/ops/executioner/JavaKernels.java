@@ -0,0 +1,631 @@
+package org.nd4j.linalg.api.ops.executioner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Element-wise kernels and reductions used by {@link JavaOpExecutioner},
+ * looked up by {@link org.nd4j.linalg.api.ops.Op#opName()}.
+ *
+ * Kernels receive the x value, the y value (pairwise operand, scalar or broadcast element,
+ * 0.0 for plain transforms) and the op's extra arguments converted to doubles.
+ */
+final class JavaKernels {
+
+    interface Kernel {
+        double apply(double x, double y, double[] args);
+    }
+
+    /**
+     * Associative reduction: partial results of separate chunks are combined with {@link #merge(double, double)}
+     */
+    abstract static class Reduction {
+        double initial() {
+            return 0.0;
+        }
+
+        abstract double update(double acc, double x, double y);
+
+        double merge(double a, double b) {
+            return a + b;
+        }
+
+        double finish(double acc, long n) {
+            return acc;
+        }
+    }
+
+    /**
+     * Index reduction over (possibly transformed) values, keeping the first best index
+     */
+    abstract static class IndexReduction {
+        double transform(double x) {
+            return x;
+        }
+
+        abstract boolean better(double candidate, double best);
+    }
+
+    static final Map<String, Kernel> TRANSFORMS;
+    static final Map<String, Kernel> PAIRWISE;
+    static final Map<String, Kernel> SCALAR;
+    static final Map<String, Kernel> BROADCAST;
+    static final Map<String, Reduction> REDUCTIONS;
+    static final Map<String, IndexReduction> INDEX_REDUCTIONS;
+
+    private JavaKernels() {}
+
+    static double arg(double[] args, int index, double defaultValue) {
+        return args != null && args.length > index ? args[index] : defaultValue;
+    }
+
+    static double sigmoid(double x) {
+        return 1.0 / (1.0 + Math.exp(-x));
+    }
+
+    static {
+        Map<String, Kernel> t = new HashMap<>();
+        t.put("abs", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.abs(x);
+            }
+        });
+        t.put("neg", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return -x;
+            }
+        });
+        t.put("exp", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.exp(x);
+            }
+        });
+        t.put("expm1", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.expm1(x);
+            }
+        });
+        t.put("log", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.log(x);
+            }
+        });
+        t.put("log1p", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.log1p(x);
+            }
+        });
+        t.put("log_x", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.log(x) / Math.log(arg(args, 0, Math.E));
+            }
+        });
+        t.put("sqrt", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.sqrt(x);
+            }
+        });
+        t.put("rsqrt", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return 1.0 / Math.sqrt(x);
+            }
+        });
+        t.put("cube", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x * x * x;
+            }
+        });
+        t.put("pow", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.pow(x, arg(args, 0, 1.0));
+            }
+        });
+        t.put("Reciprocal", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return 1.0 / x;
+            }
+        });
+        t.put("sign", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.signum(x);
+            }
+        });
+        t.put("floor", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.floor(x);
+            }
+        });
+        t.put("ceil", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.ceil(x);
+            }
+        });
+        t.put("round", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.round(x);
+            }
+        });
+        t.put("rint", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.rint(x);
+            }
+        });
+        t.put("sin", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.sin(x);
+            }
+        });
+        t.put("cos", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.cos(x);
+            }
+        });
+        t.put("tan", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.tan(x);
+            }
+        });
+        t.put("asin", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.asin(x);
+            }
+        });
+        t.put("acos", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.acos(x);
+            }
+        });
+        t.put("atan", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.atan(x);
+            }
+        });
+        t.put("sinh", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.sinh(x);
+            }
+        });
+        t.put("cosh", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.cosh(x);
+            }
+        });
+        t.put("tanh", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.tanh(x);
+            }
+        });
+        t.put("_tanhderivative", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                double th = Math.tanh(x);
+                return 1.0 - th * th;
+            }
+        });
+        t.put("hardtanh", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x < -1.0 ? -1.0 : x > 1.0 ? 1.0 : x;
+            }
+        });
+        t.put("sigmoid", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return sigmoid(x);
+            }
+        });
+        t.put("_sigmoidderivative", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                double s = sigmoid(x);
+                return s * (1.0 - s);
+            }
+        });
+        t.put("hard_sigmoid", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.min(1.0, Math.max(0.0, 0.2 * x + 0.5));
+            }
+        });
+        t.put("logsigmoid", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.log(sigmoid(x));
+            }
+        });
+        t.put("relu", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x < arg(args, 0, 0.0) ? 0.0 : x;
+            }
+        });
+        t.put("relu6", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.min(Math.max(x, arg(args, 0, 0.0)), 6.0);
+            }
+        });
+        t.put("leakyrelu", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x < 0.0 ? x * arg(args, 0, 0.01) : x;
+            }
+        });
+        t.put("elu", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x >= 0.0 ? x : Math.expm1(x);
+            }
+        });
+        t.put("selu", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return 1.0507009873554804934193349852946
+                                * (x > 0.0 ? x : 1.6732632423543772848170429916717 * Math.expm1(x));
+            }
+        });
+        t.put("softplus", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.log1p(Math.exp(x));
+            }
+        });
+        t.put("softsign", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x / (1.0 + Math.abs(x));
+            }
+        });
+        t.put("swish", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x * sigmoid(x);
+            }
+        });
+        t.put("step", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x > arg(args, 0, 0.0) ? 1.0 : 0.0;
+            }
+        });
+        t.put("oneminus", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return 1.0 - x;
+            }
+        });
+        t.put("timesoneminus", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x * (1.0 - x);
+            }
+        });
+        t.put("isnan", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Double.isNaN(x) ? 1.0 : 0.0;
+            }
+        });
+        t.put("isinf", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Double.isInfinite(x) ? 1.0 : 0.0;
+            }
+        });
+        t.put("isfinite", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Double.isNaN(x) || Double.isInfinite(x) ? 0.0 : 1.0;
+            }
+        });
+        Kernel identity = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x;
+            }
+        };
+        t.put("identity", identity);
+        t.put("old_identity", identity);
+        TRANSFORMS = Collections.unmodifiableMap(t);
+
+        Map<String, Kernel> p = new HashMap<>();
+        Kernel add = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x + y;
+            }
+        };
+        Kernel sub = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x - y;
+            }
+        };
+        Kernel mul = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x * y;
+            }
+        };
+        Kernel div = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x / y;
+            }
+        };
+        Kernel rsub = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return y - x;
+            }
+        };
+        Kernel rdiv = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return y / x;
+            }
+        };
+        Kernel copy = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return y;
+            }
+        };
+        Kernel max = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.max(x, y);
+            }
+        };
+        Kernel min = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.min(x, y);
+            }
+        };
+        Kernel amax = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.abs(x) >= Math.abs(y) ? x : y;
+            }
+        };
+        Kernel amin = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.abs(x) <= Math.abs(y) ? x : y;
+            }
+        };
+        Kernel fmod = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x % y;
+            }
+        };
+        Kernel remainder = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return Math.IEEEremainder(x, y);
+            }
+        };
+        Kernel eq = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x == y ? 1.0 : 0.0;
+            }
+        };
+        Kernel neq = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x != y ? 1.0 : 0.0;
+            }
+        };
+        Kernel gt = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x > y ? 1.0 : 0.0;
+            }
+        };
+        Kernel gte = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x >= y ? 1.0 : 0.0;
+            }
+        };
+        Kernel lt = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x < y ? 1.0 : 0.0;
+            }
+        };
+        Kernel lte = new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return x <= y ? 1.0 : 0.0;
+            }
+        };
+
+        p.put("add", add);
+        p.put("old_add", add);
+        p.put("subtract", sub);
+        p.put("old_sub", sub);
+        p.put("multiply", mul);
+        p.put("oldmul", mul);
+        p.put("divide", div);
+        p.put("olddiv", div);
+        p.put("reversesubtract", rsub);
+        p.put("reversedivide", rdiv);
+        p.put("oldrdiv", rdiv);
+        p.put("copy", copy);
+        p.put("set", copy);
+        p.put("maximum", max);
+        p.put("old_max_transform", max);
+        p.put("minimum", min);
+        p.put("old_min_transform", min);
+        p.put("fmod", fmod);
+        p.put("oldfmod", fmod);
+        p.put("remainder", remainder);
+        p.put("squaredsubtract", new Kernel() {
+            public double apply(double x, double y, double[] args) {
+                return (x - y) * (x - y);
+            }
+        });
+        p.put("oldeq", eq);
+        p.put("old_neq", neq);
+        p.put("oldgt", gt);
+        p.put("oldgte", gte);
+        p.put("oldlt", lt);
+        p.put("oldlte", lte);
+        PAIRWISE = Collections.unmodifiableMap(p);
+
+        Map<String, Kernel> s = new HashMap<>();
+        s.put("add_scalar", add);
+        s.put("sub_scalar", sub);
+        s.put("mul_scalar", mul);
+        s.put("div_scalar", div);
+        s.put("rsub_scalar", rsub);
+        s.put("rdiv_scalar", rdiv);
+        s.put("set_scalar", copy);
+        s.put("max_scalar", max);
+        s.put("scalar_min", min);
+        s.put("fmod_scalar", fmod);
+        s.put("remainder_scalar", remainder);
+        s.put("equals_scalar", eq);
+        s.put("notequals_scalar", neq);
+        s.put("greaterthan_scalar", gt);
+        s.put("greaterthanorequal_scalar", gte);
+        s.put("lessthan_scalar", lt);
+        s.put("lessthanorequal_scalar", lte);
+        SCALAR = Collections.unmodifiableMap(s);
+
+        Map<String, Kernel> b = new HashMap<>();
+        b.put("broadcastadd", add);
+        b.put("broadcastsub", sub);
+        b.put("broadcastmul", mul);
+        b.put("broadcastdiv", div);
+        b.put("broadcastrsub", rsub);
+        b.put("broadcastrdiv", rdiv);
+        b.put("broadcastcopy", copy);
+        b.put("broadcast_max", max);
+        b.put("broadcast_min", min);
+        b.put("broadcast_amax", amax);
+        b.put("broadcast_amin", amin);
+        b.put("broadcast_equalto", eq);
+        b.put("broadcast_notequal", neq);
+        b.put("broadcast_greaterthan", gt);
+        b.put("broadcast_greaterthanorequal", gte);
+        b.put("broadcast_lessthan", lt);
+        b.put("broadcast_lessthanorequal", lte);
+        BROADCAST = Collections.unmodifiableMap(b);
+
+        Map<String, Reduction> r = new HashMap<>();
+        r.put("sum", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + x;
+            }
+        });
+        r.put("mean", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + x;
+            }
+
+            double finish(double acc, long n) {
+                return acc / n;
+            }
+        });
+        r.put("asum", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + Math.abs(x);
+            }
+        });
+        r.put("norm1", r.get("asum"));
+        r.put("amean", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + Math.abs(x);
+            }
+
+            double finish(double acc, long n) {
+                return acc / n;
+            }
+        });
+        r.put("norm2", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + x * x;
+            }
+
+            double finish(double acc, long n) {
+                return Math.sqrt(acc);
+            }
+        });
+        r.put("dot", new Reduction() {
+            double update(double acc, double x, double y) {
+                return acc + x * y;
+            }
+        });
+        r.put("prod", new Reduction() {
+            double initial() {
+                return 1.0;
+            }
+
+            double update(double acc, double x, double y) {
+                return acc * x;
+            }
+
+            double merge(double a, double b) {
+                return a * b;
+            }
+        });
+        r.put("max", new Reduction() {
+            double initial() {
+                return Double.NEGATIVE_INFINITY;
+            }
+
+            double update(double acc, double x, double y) {
+                return Math.max(acc, x);
+            }
+
+            double merge(double a, double b) {
+                return Math.max(a, b);
+            }
+        });
+        r.put("min", new Reduction() {
+            double initial() {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            double update(double acc, double x, double y) {
+                return Math.min(acc, x);
+            }
+
+            double merge(double a, double b) {
+                return Math.min(a, b);
+            }
+        });
+        Reduction absMax = new Reduction() {
+            double update(double acc, double x, double y) {
+                return Math.max(acc, Math.abs(x));
+            }
+
+            double merge(double a, double b) {
+                return Math.max(a, b);
+            }
+        };
+        r.put("amax", absMax);
+        r.put("normmax", absMax);
+        r.put("amin", new Reduction() {
+            double initial() {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            double update(double acc, double x, double y) {
+                return Math.min(acc, Math.abs(x));
+            }
+
+            double merge(double a, double b) {
+                return Math.min(a, b);
+            }
+        });
+        r.put("countNonZero", new Reduction() {
+            double update(double acc, double x, double y) {
+                return x != 0.0 ? acc + 1.0 : acc;
+            }
+        });
+        r.put("countZero", new Reduction() {
+            double update(double acc, double x, double y) {
+                return x == 0.0 ? acc + 1.0 : acc;
+            }
+        });
+        REDUCTIONS = Collections.unmodifiableMap(r);
+
+        Map<String, IndexReduction> i = new HashMap<>();
+        i.put("imax", new IndexReduction() {
+            boolean better(double candidate, double best) {
+                return candidate > best;
+            }
+        });
+        i.put("imin", new IndexReduction() {
+            boolean better(double candidate, double best) {
+                return candidate < best;
+            }
+        });
+        i.put("iamax", new IndexReduction() {
+            double transform(double x) {
+                return Math.abs(x);
+            }
+
+            boolean better(double candidate, double best) {
+                return candidate > best;
+            }
+        });
+        i.put("iamin", new IndexReduction() {
+            double transform(double x) {
+                return Math.abs(x);
+            }
+
+            boolean better(double candidate, double best) {
+                return candidate < best;
+            }
+        });
+        INDEX_REDUCTIONS = Collections.unmodifiableMap(i);
+    }
+}
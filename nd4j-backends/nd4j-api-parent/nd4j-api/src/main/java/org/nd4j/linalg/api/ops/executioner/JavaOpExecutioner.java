@@ -0,0 +1,802 @@
+package org.nd4j.linalg.api.ops.executioner;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.*;
+import org.nd4j.linalg.api.ops.executioner.JavaKernels.IndexReduction;
+import org.nd4j.linalg.api.ops.executioner.JavaKernels.Kernel;
+import org.nd4j.linalg.api.ops.executioner.JavaKernels.Reduction;
+import org.nd4j.linalg.api.ops.impl.accum.Variance;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pure JVM op executioner: transforms, pairwise, scalar, broadcast, accumulation and
+ * index accumulation ops are computed with plain loops over the array buffers, split
+ * across a pool of worker threads for large arrays. Also provides a blocked {@link #gemm}.
+ *
+ * Ops are resolved by {@link Op#opName()}; ops without a Java kernel throw
+ * {@link UnsupportedOperationException}. Can be set as the backend executioner through
+ * the {@link Nd4j#OP_EXECUTIONER} property, or instantiated directly to cross-check
+ * results of the native executioner.
+ */
+public class JavaOpExecutioner extends DefaultOpExecutioner {
+    public static final int DEFAULT_MIN_ELEMENTS_PER_THREAD = 16384;
+
+    //gemm tile sizes: a GEMM_BLOCK_K x GEMM_BLOCK_N tile of b (128KB) stays in cache
+    //while it is applied to GEMM_BLOCK_M rows of a
+    private static final int GEMM_BLOCK_M = 32;
+    private static final int GEMM_BLOCK_K = 64;
+    private static final int GEMM_BLOCK_N = 256;
+
+    private final int numThreads;
+    private final int minElementsPerThread;
+    private volatile ExecutorService executor;
+
+    private interface RangeTask {
+        void run(int chunk, long from, long to);
+    }
+
+    public JavaOpExecutioner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public JavaOpExecutioner(int numThreads) {
+        this(numThreads, DEFAULT_MIN_ELEMENTS_PER_THREAD);
+    }
+
+    /**
+     * @param numThreads           maximum number of threads used by a single op
+     * @param minElementsPerThread minimum amount of work (in elements) given to each thread
+     */
+    public JavaOpExecutioner(int numThreads, int minElementsPerThread) {
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be positive, got " + numThreads);
+        if (minElementsPerThread < 1)
+            throw new IllegalArgumentException("Minimum elements per thread must be positive, got " + minElementsPerThread);
+        this.numThreads = numThreads;
+        this.minElementsPerThread = minElementsPerThread;
+        this.executionMode = ExecutionMode.JAVA;
+    }
+
+    @Override
+    public Op exec(Op op) {
+        if (op.isPassThrough()) {
+            op.exec();
+            return op;
+        }
+
+        checkForCompression(op);
+        long st = profilingHookIn(op);
+
+        if (op instanceof Accumulation) {
+            Accumulation acc = (Accumulation) op;
+            acc.setFinalResult(reduceAll(acc));
+        } else if (op instanceof IndexAccumulation) {
+            IndexAccumulation acc = (IndexAccumulation) op;
+            acc.setFinalResult((int) indexReduce(acc.opName(), acc.x(), 0, acc.x().lengthLong(), true));
+        } else if (op instanceof ScalarOp) {
+            execScalar((ScalarOp) op);
+        } else if (op instanceof BroadcastOp) {
+            execBroadcast((BroadcastOp) op, ((BroadcastOp) op).getDimension());
+        } else if (op instanceof TransformOp) {
+            execTransform((TransformOp) op);
+        } else {
+            throw unsupported(op);
+        }
+
+        profilingHookOut(op, st);
+        return op;
+    }
+
+    @Override
+    public Op exec(Op op, int... dimension) {
+        if (op instanceof ScalarOp) {
+            //Scalar op along dimension is the same as on the entire array
+            return exec(op);
+        }
+        if (op instanceof BroadcastOp) {
+            exec((BroadcastOp) op, dimension);
+            return op;
+        }
+        return super.exec(op, dimension);
+    }
+
+    @Override
+    public Accumulation execAndReturn(Variance op, boolean biasCorrected) {
+        op.setBiasCorrected(biasCorrected);
+        return execAndReturn((Accumulation) op);
+    }
+
+    @Override
+    public INDArray exec(Accumulation op, int... dimension) {
+        if (op.isPassThrough()) {
+            op.exec(dimension);
+            return op.z();
+        }
+
+        checkForCompression(op);
+        dimension = normalizeDimension(op.x(), dimension);
+        long st = profilingHookIn(op);
+
+        INDArray ret;
+        if (Shape.wholeArrayDimension(dimension)) {
+            double result = reduceAll(op);
+            op.setFinalResult(result);
+            ret = prepareResult(op.x(), op.z(), dimension);
+            ret.data().put(0, result);
+        } else {
+            final INDArray x = op.x();
+            final INDArray y = op.y();
+            ret = prepareResult(x, op.z(), dimension);
+            final INDArray[] xTads = tads(x, dimension);
+            final INDArray[] yTads = y == null ? null
+                            : y.lengthLong() == x.lengthLong() ? tads(y, dimension) : null;
+            final double[] results = new double[xTads.length];
+            final String name = op.opName();
+            final boolean biasCorrected = op instanceof Variance && ((Variance) op).isBiasCorrected();
+            final Reduction reduction = isVariance(name) ? null : reduction(op);
+
+            parallelFor(xTads.length, x.lengthLong(), new RangeTask() {
+                @Override
+                public void run(int chunk, long from, long to) {
+                    for (int i = (int) from; i < to; i++) {
+                        INDArray tx = xTads[i];
+                        INDArray ty = y == null ? null : yTads != null ? yTads[i] : y;
+                        if (reduction == null) {
+                            double[] m = moments(tx, 0, tx.lengthLong());
+                            results[i] = finishVariance(name, m, biasCorrected);
+                        } else {
+                            results[i] = reduction.finish(reduce(reduction, tx, ty, 0, tx.lengthLong()),
+                                            tx.lengthLong());
+                        }
+                    }
+                }
+            });
+            write(ret, results);
+        }
+        op.setZ(ret);
+
+        profilingHookOut(op, st);
+        return ret;
+    }
+
+    @Override
+    public INDArray exec(IndexAccumulation op, int... dimension) {
+        if (op.isPassThrough()) {
+            op.exec(dimension);
+            return op.z();
+        }
+
+        checkForCompression(op);
+        dimension = normalizeDimension(op.x(), dimension);
+        long st = profilingHookIn(op);
+
+        final String name = op.opName();
+        INDArray ret = prepareResult(op.x(), op.z(), dimension);
+        if (Shape.wholeArrayDimension(dimension)) {
+            int idx = (int) indexReduce(name, op.x(), 0, op.x().lengthLong(), true);
+            op.setFinalResult(idx);
+            ret.data().put(0, idx);
+        } else {
+            final INDArray[] xTads = tads(op.x(), dimension);
+            final double[] results = new double[xTads.length];
+            parallelFor(xTads.length, op.x().lengthLong(), new RangeTask() {
+                @Override
+                public void run(int chunk, long from, long to) {
+                    for (int i = (int) from; i < to; i++)
+                        results[i] = indexReduce(name, xTads[i], 0, xTads[i].lengthLong(), false);
+                }
+            });
+            write(ret, results);
+        }
+        op.setZ(ret);
+
+        profilingHookOut(op, st);
+        return ret;
+    }
+
+    @Override
+    public INDArray exec(BroadcastOp broadcast, int... dimension) {
+        if (broadcast.isPassThrough()) {
+            broadcast.exec(dimension);
+            return broadcast.z();
+        }
+
+        checkForCompression(broadcast);
+        long st = profilingHookIn(broadcast);
+        execBroadcast(broadcast, dimension);
+        profilingHookOut(broadcast, st);
+        return broadcast.z();
+    }
+
+    /**
+     * General matrix multiplication: {@code c = alpha * op(a) * op(b) + beta * c}.
+     * The operands are packed into row-major double arrays, the product is computed
+     * tile by tile over row, inner and column blocks, and row blocks run in parallel.
+     *
+     * @param c the result matrix, or null to allocate a new one (beta is then ignored)
+     * @return the result matrix
+     */
+    public INDArray gemm(INDArray a, INDArray b, INDArray c, boolean transposeA, boolean transposeB, double alpha,
+                    double beta) {
+        if (a.rank() != 2 || b.rank() != 2)
+            throw new ND4JIllegalStateException("gemm requires matrices, got ranks " + a.rank() + " and " + b.rank());
+
+        final int m = transposeA ? a.columns() : a.rows();
+        final int k = transposeA ? a.rows() : a.columns();
+        final int kB = transposeB ? b.columns() : b.rows();
+        final int n = transposeB ? b.rows() : b.columns();
+        if (k != kB)
+            throw new ND4JIllegalStateException("Inner dimensions of gemm operands don't match: " + k + " vs " + kB);
+
+        if (c == null) {
+            c = Nd4j.create(m, n);
+            beta = 0.0;
+        } else if (c.rank() != 2 || c.rows() != m || c.columns() != n) {
+            throw new ND4JIllegalStateException("Shape of gemm result " + Arrays.toString(c.shape())
+                            + " doesn't match expected [" + m + ", " + n + "]");
+        }
+
+        final double[] pa = pack(a, transposeA);
+        final double[] pb = pack(b, transposeB);
+        final DataBuffer cBuffer = c.data();
+        final long cRowStride = c.stride(0);
+        final long cColStride = c.stride(1);
+        final double fAlpha = alpha;
+        final double fBeta = beta;
+
+        parallelFor(m, (long) m * n * k, new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                double[] acc = new double[GEMM_BLOCK_M * n];
+                for (int i0 = (int) from; i0 < to; i0 += GEMM_BLOCK_M) {
+                    int i1 = (int) Math.min(to, i0 + GEMM_BLOCK_M);
+                    Arrays.fill(acc, 0.0);
+                    for (int k0 = 0; k0 < k; k0 += GEMM_BLOCK_K) {
+                        int k1 = Math.min(k, k0 + GEMM_BLOCK_K);
+                        for (int j0 = 0; j0 < n; j0 += GEMM_BLOCK_N) {
+                            int j1 = Math.min(n, j0 + GEMM_BLOCK_N);
+                            for (int i = i0; i < i1; i++) {
+                                int aBase = i * k;
+                                int accBase = (i - i0) * n;
+                                for (int kk = k0; kk < k1; kk++) {
+                                    double aik = pa[aBase + kk];
+                                    if (aik == 0.0)
+                                        continue;
+                                    int bBase = kk * n;
+                                    for (int j = j0; j < j1; j++)
+                                        acc[accBase + j] += aik * pb[bBase + j];
+                                }
+                            }
+                        }
+                    }
+
+                    for (int i = i0; i < i1; i++) {
+                        int accBase = (i - i0) * n;
+                        long offset = i * cRowStride;
+                        for (int j = 0; j < n; j++, offset += cColStride) {
+                            double v = fAlpha * acc[accBase + j];
+                            if (fBeta != 0.0)
+                                v += fBeta * cBuffer.getDouble(offset);
+                            cBuffer.put(offset, v);
+                        }
+                    }
+                }
+            }
+        });
+        return c;
+    }
+
+    /**
+     * Shut down the worker threads of this executioner. They are recreated if it is used again.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    protected void execTransform(TransformOp op) {
+        String name = op.opName();
+        INDArray x = op.x();
+        INDArray z = op.z() == null ? x : op.z();
+        double[] args = extraArgs(op);
+
+        Kernel pairwise = JavaKernels.PAIRWISE.get(name);
+        Kernel unary = JavaKernels.TRANSFORMS.get(name);
+        if (op.y() != null && pairwise != null) {
+            checkLength(op, op.y());
+            elementWise(x, op.y(), 0.0, z, pairwise, args);
+        } else if (unary != null) {
+            elementWise(x, null, 0.0, z, unary, args);
+        } else if ("softmax".equals(name) || "old_softmax".equals(name) || "logsoftmax".equals(name)) {
+            softmax(x, z, "logsoftmax".equals(name));
+        } else {
+            throw unsupported(op);
+        }
+    }
+
+    protected void execScalar(ScalarOp op) {
+        Kernel kernel = JavaKernels.SCALAR.get(op.opName());
+        if (kernel == null)
+            throw unsupported(op);
+        INDArray z = op.z() == null ? op.x() : op.z();
+        elementWise(op.x(), null, op.scalar().doubleValue(), z, kernel, extraArgs(op));
+    }
+
+    protected void execBroadcast(BroadcastOp op, int... dimension) {
+        final Kernel kernel = JavaKernels.BROADCAST.get(op.opName());
+        if (kernel == null)
+            throw unsupported(op);
+
+        final INDArray x = op.x();
+        final INDArray y = op.y();
+        final INDArray z = op.z() == null ? x : op.z();
+        dimension = normalizeDimension(x, dimension);
+        if (Shape.wholeArrayDimension(dimension)) {
+            checkLength(op, y);
+            elementWise(x, y, 0.0, z, kernel, extraArgs(op));
+            return;
+        }
+
+        final INDArray[] xTads = tads(x, dimension);
+        final INDArray[] zTads = z == x ? xTads : tads(z, dimension);
+        if (xTads.length > 0 && xTads[0].lengthLong() != y.lengthLong())
+            throw new ND4JIllegalStateException("Broadcast vector length " + y.lengthLong()
+                            + " doesn't match TAD length " + xTads[0].lengthLong() + " along dimension "
+                            + Arrays.toString(dimension));
+
+        final double[] args = extraArgs(op);
+        parallelFor(xTads.length, x.lengthLong(), new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                for (int i = (int) from; i < to; i++)
+                    apply(xTads[i], y, 0.0, zTads[i], kernel, args, 0, y.lengthLong());
+            }
+        });
+    }
+
+    private void elementWise(final INDArray x, final INDArray y, final double scalar, final INDArray z,
+                    final Kernel kernel, final double[] args) {
+        if (x.lengthLong() != z.lengthLong())
+            throw new ND4JIllegalStateException("Length of op.Z [" + z.lengthLong() + "] doesn't match length of op.X ["
+                            + x.lengthLong() + "]");
+
+        long length = x.lengthLong();
+        parallelFor(length, length, new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                apply(x, y, scalar, z, kernel, args, from, to);
+            }
+        });
+    }
+
+    private static void apply(INDArray x, INDArray y, double scalar, INDArray z, Kernel kernel, double[] args,
+                    long from, long to) {
+        boolean linear = linear(x, y, z);
+        DataBuffer bx = x.data();
+        DataBuffer bz = z.data();
+        Cursor cx = new Cursor(x, linear, from);
+        Cursor cz = new Cursor(z, linear, from);
+        if (y == null) {
+            for (long i = from; i < to; i++) {
+                bz.put(cz.offset, kernel.apply(bx.getDouble(cx.offset), scalar, args));
+                cx.next();
+                cz.next();
+            }
+        } else {
+            DataBuffer by = y.data();
+            Cursor cy = new Cursor(y, linear, from);
+            for (long i = from; i < to; i++) {
+                bz.put(cz.offset, kernel.apply(bx.getDouble(cx.offset), by.getDouble(cy.offset), args));
+                cx.next();
+                cy.next();
+                cz.next();
+            }
+        }
+    }
+
+    private void softmax(INDArray x, INDArray z, final boolean log) {
+        if (x.rank() != 2)
+            throw new UnsupportedOperationException("Softmax is only supported on matrices, got rank " + x.rank());
+
+        final DataBuffer bx = x.data();
+        final DataBuffer bz = z.data();
+        final long xRow = x.stride(0), xCol = x.stride(1);
+        final long zRow = z.stride(0), zCol = z.stride(1);
+        final int columns = x.columns();
+
+        parallelFor(x.rows(), x.lengthLong(), new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                for (long r = from; r < to; r++) {
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int c = 0; c < columns; c++)
+                        max = Math.max(max, bx.getDouble(r * xRow + c * xCol));
+                    double sum = 0.0;
+                    for (int c = 0; c < columns; c++)
+                        sum += Math.exp(bx.getDouble(r * xRow + c * xCol) - max);
+                    double logSum = Math.log(sum);
+                    for (int c = 0; c < columns; c++) {
+                        double shifted = bx.getDouble(r * xRow + c * xCol) - max;
+                        bz.put(r * zRow + c * zCol, log ? shifted - logSum : Math.exp(shifted) / sum);
+                    }
+                }
+            }
+        });
+    }
+
+    private double reduceAll(Accumulation op) {
+        final INDArray x = op.x();
+        final INDArray y = op.y();
+        final long length = x.lengthLong();
+        if (y != null)
+            checkLength(op, y);
+
+        String name = op.opName();
+        if (isVariance(name)) {
+            final double[][] partials = new double[chunks(length)][];
+            parallelFor(length, length, new RangeTask() {
+                @Override
+                public void run(int chunk, long from, long to) {
+                    partials[chunk] = moments(x, from, to);
+                }
+            });
+            double[] m = partials[0];
+            for (int i = 1; i < partials.length; i++)
+                m = mergeMoments(m, partials[i]);
+            return finishVariance(name, m, op instanceof Variance && ((Variance) op).isBiasCorrected());
+        }
+
+        final Reduction reduction = reduction(op);
+        final double[] partials = new double[chunks(length)];
+        parallelFor(length, length, new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                partials[chunk] = reduce(reduction, x, y, from, to);
+            }
+        });
+        double acc = partials[0];
+        for (int i = 1; i < partials.length; i++)
+            acc = reduction.merge(acc, partials[i]);
+        return reduction.finish(acc, length);
+    }
+
+    private static double reduce(Reduction reduction, INDArray x, INDArray y, long from, long to) {
+        boolean linear = linear(x, y, null);
+        DataBuffer bx = x.data();
+        Cursor cx = new Cursor(x, linear, from);
+        double acc = reduction.initial();
+        if (y == null) {
+            for (long i = from; i < to; i++) {
+                acc = reduction.update(acc, bx.getDouble(cx.offset), 0.0);
+                cx.next();
+            }
+        } else {
+            DataBuffer by = y.data();
+            Cursor cy = new Cursor(y, linear, from);
+            for (long i = from; i < to; i++) {
+                acc = reduction.update(acc, bx.getDouble(cx.offset), by.getDouble(cy.offset));
+                cx.next();
+                cy.next();
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Count, mean and sum of squared deviations of a range of elements (Welford)
+     */
+    private static double[] moments(INDArray x, long from, long to) {
+        DataBuffer bx = x.data();
+        Cursor cx = new Cursor(x, linear(x, null, null), from);
+        double mean = 0.0;
+        double m2 = 0.0;
+        long n = 0;
+        for (long i = from; i < to; i++) {
+            double v = bx.getDouble(cx.offset);
+            n++;
+            double delta = v - mean;
+            mean += delta / n;
+            m2 += delta * (v - mean);
+            cx.next();
+        }
+        return new double[] {n, mean, m2};
+    }
+
+    private static double[] mergeMoments(double[] a, double[] b) {
+        if (a[0] == 0)
+            return b;
+        if (b[0] == 0)
+            return a;
+        double n = a[0] + b[0];
+        double delta = b[1] - a[1];
+        return new double[] {n, a[1] + delta * b[0] / n, a[2] + b[2] + delta * delta * a[0] * b[0] / n};
+    }
+
+    private static double finishVariance(String name, double[] m, boolean biasCorrected) {
+        double variance = m[2] / (biasCorrected ? m[0] - 1 : m[0]);
+        return "std".equals(name) ? Math.sqrt(variance) : variance;
+    }
+
+    private static boolean isVariance(String name) {
+        return "var".equals(name) || "std".equals(name);
+    }
+
+    private double indexReduce(String name, final INDArray x, long from, long to, boolean parallel) {
+        final IndexReduction reduction = JavaKernels.INDEX_REDUCTIONS.get(name);
+        if (reduction == null)
+            throw new UnsupportedOperationException("Op [" + name + "] is not supported by " + getClass().getSimpleName());
+
+        if (!parallel)
+            return indexReduce(reduction, x, from, to)[1];
+
+        long length = to - from;
+        final double[][] partials = new double[chunks(length)][];
+        parallelFor(length, length, new RangeTask() {
+            @Override
+            public void run(int chunk, long from, long to) {
+                partials[chunk] = indexReduce(reduction, x, from, to);
+            }
+        });
+        double[] best = partials[0];
+        for (int i = 1; i < partials.length; i++)
+            if (partials[i][1] >= 0 && (best[1] < 0 || reduction.better(partials[i][0], best[0])))
+                best = partials[i];
+        return best[1];
+    }
+
+    private static double[] indexReduce(IndexReduction reduction, INDArray x, long from, long to) {
+        DataBuffer bx = x.data();
+        Cursor cx = new Cursor(x, linear(x, null, null), from);
+        double best = 0.0;
+        long bestIdx = -1;
+        for (long i = from; i < to; i++) {
+            double v = reduction.transform(bx.getDouble(cx.offset));
+            if (bestIdx < 0 || reduction.better(v, best)) {
+                best = v;
+                bestIdx = i;
+            }
+            cx.next();
+        }
+        return new double[] {best, bestIdx};
+    }
+
+    private static Reduction reduction(Accumulation op) {
+        Reduction reduction = JavaKernels.REDUCTIONS.get(op.opName());
+        if (reduction == null)
+            throw unsupported(op);
+        return reduction;
+    }
+
+    private int chunks(long work) {
+        return (int) Math.max(1, Math.min(numThreads, work / minElementsPerThread));
+    }
+
+    /**
+     * Split [0, n) into contiguous ranges and run them on the worker pool. The number of ranges
+     * is derived from the total amount of work in elements, so small ops run on the calling thread.
+     */
+    private void parallelFor(long n, long work, final RangeTask task) {
+        int chunks = (int) Math.min(n, chunks(work));
+        if (chunks <= 1) {
+            task.run(0, 0, n);
+            return;
+        }
+
+        long step = (n + chunks - 1) / chunks;
+        List<Future<?>> futures = new ArrayList<>(chunks - 1);
+        ExecutorService pool = executor();
+        for (int c = 1; c < chunks; c++) {
+            final int chunk = c;
+            final long from = Math.min(n, c * step);
+            final long to = Math.min(n, from + step);
+            futures.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    task.run(chunk, from, to);
+                }
+            }));
+        }
+        task.run(0, 0, Math.min(n, step));
+
+        try {
+            for (Future<?> f : futures)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private ExecutorService executor() {
+        ExecutorService pool = executor;
+        if (pool == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    final AtomicInteger counter = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(numThreads - 1 > 0 ? numThreads - 1 : 1,
+                                    new ThreadFactory() {
+                                        @Override
+                                        public Thread newThread(Runnable r) {
+                                            Thread t = new Thread(r, "JavaOpExecutioner-" + counter.incrementAndGet());
+                                            t.setDaemon(true);
+                                            return t;
+                                        }
+                                    });
+                }
+                pool = executor;
+            }
+        }
+        return pool;
+    }
+
+    private static int[] normalizeDimension(INDArray x, int... dimension) {
+        if (dimension == null || dimension.length == 0)
+            return new int[] {Integer.MAX_VALUE};
+
+        dimension = Shape.normalizeAxis(x.rank(), dimension);
+        if (dimension.length == x.rank())
+            return new int[] {Integer.MAX_VALUE};
+        return dimension;
+    }
+
+    private static INDArray prepareResult(INDArray x, INDArray z, int[] dimension) {
+        int[] retShape = Shape.wholeArrayDimension(dimension) ? new int[] {1, 1}
+                        : ArrayUtil.removeIndex(x.shape(), dimension);
+        //ensure vector is proper shape
+        if (retShape.length == 1) {
+            if (dimension[0] == 0)
+                retShape = new int[] {1, retShape[0]};
+            else
+                retShape = new int[] {retShape[0], 1};
+        } else if (retShape.length == 0) {
+            retShape = new int[] {1, 1};
+        }
+
+        if (z == null || z == x)
+            return Nd4j.create(retShape);
+
+        if (z.lengthLong() != ArrayUtil.prodLong(retShape))
+            throw new ND4JIllegalStateException("Shape of target array for reduction [" + Arrays.toString(z.shape())
+                            + "] doesn't match expected [" + Arrays.toString(retShape) + "]");
+        return z;
+    }
+
+    /**
+     * TADs are created on the calling thread, workers only read and write buffers
+     */
+    private static INDArray[] tads(INDArray arr, int[] dimension) {
+        INDArray[] tads = new INDArray[arr.tensorssAlongDimension(dimension)];
+        for (int i = 0; i < tads.length; i++)
+            tads[i] = arr.javaTensorAlongDimension(i, dimension);
+        return tads;
+    }
+
+    private static void write(INDArray target, double[] values) {
+        DataBuffer buffer = target.data();
+        Cursor cursor = new Cursor(target, target.elementWiseStride() > 0, 0);
+        for (double v : values) {
+            buffer.put(cursor.offset, v);
+            cursor.next();
+        }
+    }
+
+    private static double[] pack(INDArray matrix, boolean transpose) {
+        int rows = transpose ? matrix.columns() : matrix.rows();
+        int cols = transpose ? matrix.rows() : matrix.columns();
+        long rowStride = transpose ? matrix.stride(1) : matrix.stride(0);
+        long colStride = transpose ? matrix.stride(0) : matrix.stride(1);
+        DataBuffer buffer = matrix.data();
+
+        long length = (long) rows * cols;
+        if (length > Integer.MAX_VALUE - 8)
+            throw new ND4JIllegalStateException("Matrix of " + rows + " x " + cols
+                            + " elements is too large to be packed for gemm");
+        double[] packed = new double[(int) length];
+        int idx = 0;
+        for (int r = 0; r < rows; r++) {
+            long offset = r * rowStride;
+            for (int c = 0; c < cols; c++, offset += colStride)
+                packed[idx++] = buffer.getDouble(offset);
+        }
+        return packed;
+    }
+
+    private static double[] extraArgs(Op op) {
+        Object[] extraArgs = op.extraArgs();
+        if (extraArgs == null)
+            return new double[0];
+        double[] args = new double[extraArgs.length];
+        for (int i = 0; i < extraArgs.length; i++)
+            args[i] = extraArgs[i] instanceof Number ? ((Number) extraArgs[i]).doubleValue() : 0.0;
+        return args;
+    }
+
+    /**
+     * Element-wise strides can be used directly when all operands share the same ordering
+     */
+    private static boolean linear(INDArray x, INDArray y, INDArray z) {
+        if (x.elementWiseStride() < 1)
+            return false;
+        if (y != null && (y.elementWiseStride() < 1 || y.ordering() != x.ordering()))
+            return false;
+        if (z != null && (z.elementWiseStride() < 1 || z.ordering() != x.ordering()))
+            return false;
+        return true;
+    }
+
+    private static void checkLength(Op op, INDArray other) {
+        if (other == null || other.lengthLong() != op.x().lengthLong())
+            throw new ND4JIllegalStateException("Length of operands of op [" + op.opName() + "] don't match: x "
+                            + op.x().lengthLong() + ", y " + (other == null ? "null" : other.lengthLong()));
+    }
+
+    private static UnsupportedOperationException unsupported(Op op) {
+        return new UnsupportedOperationException(
+                        "Op [" + op.opName() + "] is not supported by " + JavaOpExecutioner.class.getSimpleName());
+    }
+
+    /**
+     * Walks the buffer offsets of an array in logical (c) order, or along its element-wise stride
+     * when all operands of an op can be traversed linearly
+     */
+    private static final class Cursor {
+        private final int[] shape;
+        private final int[] stride;
+        private final int[] coords;
+        private final long ews;
+        private long offset;
+
+        private Cursor(INDArray arr, boolean linear, long index) {
+            this.shape = arr.shape();
+            this.stride = arr.stride();
+            this.coords = new int[shape.length];
+            this.ews = linear ? arr.elementWiseStride() : 0;
+
+            if (ews > 0) {
+                offset = index * ews;
+            } else {
+                long rem = index;
+                for (int d = shape.length - 1; d >= 0; d--) {
+                    coords[d] = (int) (rem % shape[d]);
+                    rem /= shape[d];
+                    offset += (long) coords[d] * stride[d];
+                }
+            }
+        }
+
+        private void next() {
+            if (ews > 0) {
+                offset += ews;
+                return;
+            }
+            for (int d = shape.length - 1; d >= 0; d--) {
+                if (++coords[d] < shape[d]) {
+                    offset += stride[d];
+                    return;
+                }
+                offset -= (long) (shape[d] - 1) * stride[d];
+                coords[d] = 0;
+            }
+        }
+    }
+}
@@ -44,8 +44,12 @@ public interface OpExecutioner {
         JAVA, NATIVE
     }
 
+    /**
+     * SAMPLING times only a subset of ops, see {@link org.nd4j.linalg.profiler.OpProfiler#setSamplingRate(int)}
+     * and {@link org.nd4j.linalg.profiler.OpProfiler#setSamplingInterval(long)}
+     */
     enum ProfilingMode {
-        DISABLED, NAN_PANIC, INF_PANIC, ANY_PANIC, OPERATIONS, METHODS, ALL, SCOPE_PANIC
+        DISABLED, NAN_PANIC, INF_PANIC, ANY_PANIC, OPERATIONS, METHODS, ALL, SCOPE_PANIC, SAMPLING
     }
 
     /**
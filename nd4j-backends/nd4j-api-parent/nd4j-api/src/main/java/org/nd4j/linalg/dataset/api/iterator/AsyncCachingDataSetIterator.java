@@ -0,0 +1,347 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCache;
+import org.nd4j.linalg.factory.Nd4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link CachingDataSetIterator} that does its I/O on background threads.
+ *
+ * While the cache is being populated (first epoch) a producer thread pulls datasets from the
+ * source iterator and hands them to a pool of workers that write them to the cache, so both the
+ * source iterator and the cache writes overlap with whatever the consumer does with the data.
+ * Once the namespace is complete, the workers read the next {@code prefetchSize} datasets from
+ * the cache ahead of the consumer.
+ *
+ * At most {@code prefetchSize} datasets are buffered at any time: the producer blocks
+ * when the consumer falls behind. Datasets are always returned in order.
+ *
+ * The cache keys are the same as those of {@link CachingDataSetIterator},
+ * so both iterators can be used on the same cache and namespace.
+ * The cache used has to be safe for concurrent use.
+ *
+ * Call {@link #shutdown()} when done to stop the background threads.
+ */
+public class AsyncCachingDataSetIterator implements DataSetIterator {
+    private static final Logger log = LoggerFactory.getLogger(AsyncCachingDataSetIterator.class);
+    private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    private DataSetIterator sourceIterator;
+    private DataSetCache cache;
+    private String namespace;
+    private int prefetchSize;
+    private transient ExecutorService workers;
+    private boolean usingCache;
+    private int currentIndex = 0;
+
+    //cache read state
+    private transient Deque<Future<DataSet>> pendingReads = new ArrayDeque<>();
+    private int submittedIndex = 0;
+    private boolean endOfCache = false;
+
+    //cache population state
+    private transient Thread producer;
+    private transient BlockingQueue<Batch> queue;
+    private transient Queue<Future<?>> pendingWrites = new ConcurrentLinkedQueue<>();
+    private transient Batch peeked;
+
+    public AsyncCachingDataSetIterator(DataSetIterator sourceIterator, DataSetCache cache, String namespace) {
+        this(sourceIterator, cache, namespace, 4, 2);
+    }
+
+    /**
+     * @param sourceIterator the iterator to cache
+     * @param cache the cache to use, has to be thread safe
+     * @param namespace the cache namespace
+     * @param prefetchSize the maximum number of datasets read ahead of the consumer
+     * @param numWorkers the number of threads reading from and writing to the cache
+     */
+    public AsyncCachingDataSetIterator(DataSetIterator sourceIterator, DataSetCache cache, String namespace,
+                    int prefetchSize, int numWorkers) {
+        if (prefetchSize < 1)
+            throw new IllegalArgumentException("Prefetch size must be >= 1");
+        if (numWorkers < 1)
+            throw new IllegalArgumentException("Number of workers must be >= 1");
+        this.sourceIterator = sourceIterator;
+        this.cache = cache;
+        this.namespace = namespace;
+        this.prefetchSize = prefetchSize;
+        this.queue = new ArrayBlockingQueue<>(prefetchSize);
+        this.usingCache = cache.isComplete(namespace);
+
+        final Integer deviceId = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+        this.workers = Executors.newFixedThreadPool(numWorkers, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "AsyncCachingDataSetIterator-worker-" + threadCounter.getAndIncrement());
+                t.setDaemon(true);
+                Nd4j.getAffinityManager().attachThreadToDevice(t, deviceId);
+                return t;
+            }
+        });
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int totalExamples() {
+        return sourceIterator.totalExamples();
+    }
+
+    @Override
+    public int inputColumns() {
+        return sourceIterator.inputColumns();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return sourceIterator.totalOutcomes();
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        //already asynchronous
+        return false;
+    }
+
+    /**
+     * Stops all background work, waits for pending cache writes
+     * and starts over from the first dataset.
+     */
+    @Override
+    public void reset() {
+        stopProducer();
+        waitForPendingWrites();
+        for (Future<DataSet> read : pendingReads)
+            read.cancel(false);
+        pendingReads.clear();
+        queue.clear();
+        peeked = null;
+        submittedIndex = 0;
+        endOfCache = false;
+        currentIndex = 0;
+
+        sourceIterator.reset();
+        usingCache = cache.isComplete(namespace);
+    }
+
+    /**
+     * Stops the background threads. The iterator can't be used afterwards.
+     */
+    public void shutdown() {
+        stopProducer();
+        waitForPendingWrites();
+        workers.shutdownNow();
+    }
+
+    @Override
+    public int batch() {
+        return sourceIterator.batch();
+    }
+
+    @Override
+    public int cursor() {
+        return currentIndex;
+    }
+
+    @Override
+    public int numExamples() {
+        return sourceIterator.numExamples();
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        sourceIterator.setPreProcessor(preProcessor);
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return sourceIterator.getPreProcessor();
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return sourceIterator.getLabels();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (usingCache) {
+            fillReads();
+            if (pendingReads.isEmpty())
+                return false;
+            if (await(pendingReads.peek()) == null) {
+                //ran past the last cached dataset, anything submitted after it is useless
+                endOfCache = true;
+                for (Future<DataSet> read : pendingReads)
+                    read.cancel(false);
+                pendingReads.clear();
+                return false;
+            }
+            return true;
+        } else {
+            if (producer == null)
+                startProducer();
+            if (peeked == null) {
+                try {
+                    peeked = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+            if (peeked.error != null)
+                throw new RuntimeException("Error fetching data set from source iterator", peeked.error);
+            if (peeked.dataSet == null) {
+                //every batch has been consumed, so every write has completed
+                producer = null;
+                peeked = null;
+                cache.setComplete(namespace, true);
+                usingCache = true;
+                endOfCache = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public DataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        DataSet ds;
+        if (usingCache) {
+            ds = await(pendingReads.poll());
+            fillReads();
+        } else {
+            Batch batch = peeked;
+            peeked = null;
+            //don't hand out the dataset before it's written, the consumer may modify it in place
+            await(batch.write);
+            pendingWrites.remove(batch.write);
+            ds = batch.dataSet;
+        }
+
+        currentIndex++;
+        return ds;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private void fillReads() {
+        while (!endOfCache && pendingReads.size() < prefetchSize) {
+            final String key = CachingDataSetIterator.makeKey(namespace, submittedIndex++);
+            pendingReads.add(workers.submit(new Callable<DataSet>() {
+                @Override
+                public DataSet call() throws Exception {
+                    return cache.contains(key) ? cache.get(key) : null;
+                }
+            }));
+        }
+    }
+
+    private void startProducer() {
+        producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                int index = 0;
+                try {
+                    while (!Thread.currentThread().isInterrupted() && sourceIterator.hasNext()) {
+                        final DataSet ds = sourceIterator.next();
+                        final String key = CachingDataSetIterator.makeKey(namespace, index++);
+                        Future<?> write = workers.submit(new Runnable() {
+                            @Override
+                            public void run() {
+                                cache.put(key, ds);
+                            }
+                        });
+                        pendingWrites.add(write);
+                        queue.put(new Batch(ds, write, null));
+                    }
+                    queue.put(new Batch(null, null, null));
+                } catch (InterruptedException e) {
+                    //reset or shutdown
+                } catch (Throwable t) {
+                    log.error("Error fetching data set from source iterator", t);
+                    try {
+                        queue.put(new Batch(null, null, t));
+                    } catch (InterruptedException e) {
+                        //reset or shutdown
+                    }
+                }
+            }
+        }, "AsyncCachingDataSetIterator-producer-" + threadCounter.getAndIncrement());
+        producer.setDaemon(true);
+        Nd4j.getAffinityManager().attachThreadToDevice(producer,
+                        Nd4j.getAffinityManager().getDeviceForCurrentThread());
+        producer.start();
+    }
+
+    private void stopProducer() {
+        if (producer == null)
+            return;
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producer = null;
+    }
+
+    private void waitForPendingWrites() {
+        Future<?> write;
+        while ((write = pendingWrites.poll()) != null) {
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Error writing data set to cache", e.getCause());
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error accessing data set cache", e.getCause());
+        }
+    }
+
+    private static class Batch {
+        private final DataSet dataSet;
+        private final Future<?> write;
+        private final Throwable error;
+
+        private Batch(DataSet dataSet, Future<?> write, Throwable error) {
+            this.dataSet = dataSet;
+            this.write = write;
+            this.error = error;
+        }
+    }
+}
@@ -41,6 +41,14 @@ public class CachingDataSetIterator implements DataSetIterator {
     }
 
     private String makeKey(int index) {
+        return makeKey(namespace, index);
+    }
+
+    /**
+     * The cache key of the dataset with the given index in the given namespace.
+     * Shared with {@link AsyncCachingDataSetIterator} so both can use the same cache.
+     */
+    static String makeKey(String namespace, int index) {
         return String.format("data-set-cache-%s-%06d.bin", namespace, index);
     }
 
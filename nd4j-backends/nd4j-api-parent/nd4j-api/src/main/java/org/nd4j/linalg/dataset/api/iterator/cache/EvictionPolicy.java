@@ -0,0 +1,35 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+/**
+ * Decides which entry a size bounded {@link InMemoryDataSetCache} evicts
+ * when it runs over its byte budget.
+ *
+ * Implementations don't need to be thread safe,
+ * the cache only calls them while holding its own lock.
+ */
+public interface EvictionPolicy {
+
+    /**
+     * A new entry was added to the cache
+     * @param key the key of the entry
+     */
+    void onInsert(String key);
+
+    /**
+     * An existing entry was read from the cache
+     * @param key the key of the entry
+     */
+    void onAccess(String key);
+
+    /**
+     * An entry was removed from the cache
+     * @param key the key of the entry
+     */
+    void onRemove(String key);
+
+    /**
+     * Select the next entry to evict
+     * @return the key of the entry to evict, or null if no entry may be evicted
+     */
+    String victim();
+}
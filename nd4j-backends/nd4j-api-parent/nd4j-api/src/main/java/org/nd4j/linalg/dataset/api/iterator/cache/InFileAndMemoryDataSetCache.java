@@ -2,20 +2,37 @@ package org.nd4j.linalg.dataset.api.iterator.cache;
 
 import org.nd4j.linalg.dataset.DataSet;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * A two tier cache: datasets are kept in memory and on disk.
+ *
+ * By default the memory tier is unbounded and every dataset is written to both tiers.
+ * When created with a memory budget, datasets are only written to memory and spilled
+ * to disk when they get evicted from the memory tier. Datasets read from disk are
+ * promoted back in to memory. Marking a namespace complete writes everything still
+ * only held in memory to disk, so a complete namespace can always be read back
+ * from the cache directory alone.
+ *
  * Created by anton on 7/20/16.
  */
 public class InFileAndMemoryDataSetCache implements DataSetCache {
 
     private InFileDataSetCache fileCache;
     private InMemoryDataSetCache memoryCache;
+    private final boolean spillToFile;
+
+    private final AtomicLong memoryHits = new AtomicLong(0);
+    private final AtomicLong fileHits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
 
     public InFileAndMemoryDataSetCache(File cacheDirectory) {
         this.fileCache = new InFileDataSetCache(cacheDirectory);
         this.memoryCache = new InMemoryDataSetCache();
+        this.spillToFile = false;
     }
 
     public InFileAndMemoryDataSetCache(Path cacheDirectory) {
@@ -26,6 +43,30 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
         this(new File(cacheDirectory));
     }
 
+    /**
+     * Create a cache with a bounded memory tier, spilling evicted datasets to disk
+     * @param cacheDirectory the directory of the disk tier
+     * @param maxMemoryInBytes the byte budget of the memory tier
+     * @param evictionPolicy the eviction policy of the memory tier
+     */
+    public InFileAndMemoryDataSetCache(File cacheDirectory, long maxMemoryInBytes, EvictionPolicy evictionPolicy) {
+        this.fileCache = new InFileDataSetCache(cacheDirectory);
+        this.memoryCache = new InMemoryDataSetCache(maxMemoryInBytes, evictionPolicy);
+        this.spillToFile = true;
+        this.memoryCache.setEvictionListener(new InMemoryDataSetCache.EvictionListener() {
+            @Override
+            public void onEviction(String key, byte[] serialized) {
+                if (!fileCache.contains(key)) {
+                    fileCache.putSerialized(key, serialized);
+                }
+            }
+        });
+    }
+
+    public InFileAndMemoryDataSetCache(Path cacheDirectory, long maxMemoryInBytes, EvictionPolicy evictionPolicy) {
+        this(cacheDirectory.toFile(), maxMemoryInBytes, evictionPolicy);
+    }
+
     @Override
     public boolean isComplete(String namespace) {
         return fileCache.isComplete(namespace) || memoryCache.isComplete(namespace);
@@ -33,6 +74,15 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
 
     @Override
     public void setComplete(String namespace, boolean value) {
+        if (value && spillToFile) {
+            //make sure the disk tier has everything before declaring it complete
+            for (String key : memoryCache.keys()) {
+                byte[] serialized = memoryCache.getSerialized(key);
+                if (serialized != null && !fileCache.contains(key)) {
+                    fileCache.putSerialized(key, serialized);
+                }
+            }
+        }
         fileCache.setComplete(namespace, value);
         memoryCache.setComplete(namespace, value);
     }
@@ -43,22 +93,40 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
 
         if (memoryCache.contains(key)) {
             dataSet = memoryCache.get(key);
-            if (!fileCache.contains(key)) {
+        }
+
+        if (dataSet != null) {
+            memoryHits.incrementAndGet();
+            if (!spillToFile && !fileCache.contains(key)) {
                 fileCache.put(key, dataSet);
             }
         } else if (fileCache.contains(key)) {
-            dataSet = fileCache.get(key);
-            if (dataSet != null && !memoryCache.contains(key)) {
-                memoryCache.put(key, dataSet);
+            byte[] serialized = fileCache.getSerialized(key);
+            if (serialized != null) {
+                fileHits.incrementAndGet();
+                dataSet = new DataSet();
+                dataSet.load(new ByteArrayInputStream(serialized));
+                if (!memoryCache.contains(key)) {
+                    memoryCache.putSerialized(key, serialized);
+                }
             }
         }
 
+        if (dataSet == null) {
+            misses.incrementAndGet();
+        }
+
         return dataSet;
     }
 
     @Override
     public void put(String key, DataSet dataSet) {
-        fileCache.put(key, dataSet);
+        if (!spillToFile) {
+            fileCache.put(key, dataSet);
+        } else {
+            //don't leave a stale copy on disk
+            fileCache.remove(key);
+        }
         memoryCache.put(key, dataSet);
     }
 
@@ -66,4 +134,46 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
     public boolean contains(String key) {
         return memoryCache.contains(key) || fileCache.contains(key);
     }
+
+    /**
+     * @return the number of datasets served from memory
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * @return the number of datasets served from disk
+     */
+    public long getFileHits() {
+        return fileHits.get();
+    }
+
+    /**
+     * @return the number of lookups that found nothing
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of datasets evicted from the memory tier
+     */
+    public long getEvictions() {
+        return memoryCache.getEvictions();
+    }
+
+    /**
+     * @return the memory tier of this cache
+     */
+    public InMemoryDataSetCache getMemoryCache() {
+        return memoryCache;
+    }
+
+    /**
+     * @return the disk tier of this cache
+     */
+    public InFileDataSetCache getFileCache() {
+        return fileCache;
+    }
 }
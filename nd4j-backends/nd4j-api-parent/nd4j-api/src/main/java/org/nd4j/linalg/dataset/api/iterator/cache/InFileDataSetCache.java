@@ -1,29 +1,74 @@
 package org.nd4j.linalg.dataset.api.iterator.cache;
 
+import org.apache.commons.io.IOUtils;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Path;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
+ * Stores every dataset in its own file in the cache directory.
+ *
+ * Entries can optionally be compressed, see
+ * {@link #InFileDataSetCache(File, String, boolean)}. Reading works regardless of
+ * the compression settings an entry was written with, and decompression happens in
+ * {@link #get(String)}, so with {@link org.nd4j.linalg.dataset.api.iterator.AsyncCachingDataSetIterator}
+ * it's done by the prefetch workers.
+ *
  * Created by anton on 7/18/16.
  */
 public class InFileDataSetCache implements DataSetCache {
+    //first two bytes of a gzip stream. The first byte of DataSet.save() output is a bit mask that can never be 0x1f
+    private static final int GZIP_MAGIC_0 = 0x1f;
+    private static final int GZIP_MAGIC_1 = 0x8b;
+
     private File cacheDirectory;
+    private String featuresCompression;
+    private boolean deflate;
 
     public InFileDataSetCache(File cacheDirectory) {
+        this(cacheDirectory, null, false);
+    }
+
+    /**
+     * Create a cache that compresses its entries
+     *
+     * @param cacheDirectory the cache directory
+     * @param featuresCompression the {@link org.nd4j.linalg.compression.BasicNDArrayCompressor} codec applied
+     *                            to the features, e.g. FLOAT16 or INT8. These are usually lossy, so labels and
+     *                            masks are never compressed this way. null to store the features as they are.
+     * @param deflate whether to deflate the whole entry (lossless)
+     */
+    public InFileDataSetCache(File cacheDirectory, String featuresCompression, boolean deflate) {
         if (cacheDirectory.exists() && !cacheDirectory.isDirectory()) {
             throw new IllegalArgumentException("can't use path " + cacheDirectory + " as file cache directory "
                             + "because it already exists, but is not a directory");
         }
+        if (featuresCompression != null) {
+            featuresCompression = featuresCompression.toUpperCase();
+            if (Nd4j.getCompressor().getCompressor(featuresCompression) == null)
+                throw new IllegalArgumentException("Unknown compression codec " + featuresCompression
+                                + ", available codecs: " + Nd4j.getCompressor().getAvailableCompressors());
+        }
         this.cacheDirectory = cacheDirectory;
+        this.featuresCompression = featuresCompression;
+        this.deflate = deflate;
     }
 
     public InFileDataSetCache(Path cacheDirectory) {
         this(cacheDirectory.toFile());
     }
 
+    public InFileDataSetCache(Path cacheDirectory, String featuresCompression, boolean deflate) {
+        this(cacheDirectory.toFile(), featuresCompression, deflate);
+    }
+
     public InFileDataSetCache(String cacheDirectory) {
         this(new File(cacheDirectory));
     }
@@ -72,28 +117,77 @@ public class InFileDataSetCache implements DataSetCache {
         } else if (!file.isFile()) {
             throw new IllegalStateException("ERROR: cannot read DataSet: cache path " + file + " is not a file");
         } else {
-            DataSet ds = new DataSet();
-            ds.load(file);
-            return ds;
+            try (InputStream is = openForRead(file)) {
+                DataSet ds = new DataSet();
+                ds.load(is);
+                //loading leaves compressed features as they are, they'd be decompressed by the first op otherwise
+                INDArray features = ds.getFeatures();
+                if (features != null && features.isCompressed())
+                    Nd4j.getCompressor().decompressi(features);
+                return ds;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
     @Override
     public void put(String key, DataSet dataSet) {
+        File file = prepareForWrite(key);
+
+        if (featuresCompression != null) {
+            dataSet = new DataSet(compress(dataSet.getFeatures()), dataSet.getLabels(),
+                            dataSet.getFeaturesMaskArray(), dataSet.getLabelsMaskArray());
+        }
+
+        try (OutputStream os = openForWrite(file)) {
+            dataSet.save(os);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the serialized dataset stored under the given key
+     * @param key the key
+     * @return the dataset as written by {@link DataSet#save(java.io.OutputStream)} or null if not present
+     */
+    public byte[] getSerialized(String key) {
         File file = resolveKey(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream is = openForRead(file)) {
+            return IOUtils.toByteArray(is);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        File parentDir = file.getParentFile();
-        if (!parentDir.exists()) {
-            if (!parentDir.mkdirs()) {
-                throw new IllegalStateException("ERROR: cannot create parent directory: " + parentDir);
-            }
+    /**
+     * Store an already serialized dataset.
+     * Only deflate is applied here, the features compression is not.
+     * @param key the key
+     * @param data the dataset as written by {@link DataSet#save(java.io.OutputStream)}
+     */
+    public void putSerialized(String key, byte[] data) {
+        File file = prepareForWrite(key);
+        try (OutputStream os = openForWrite(file)) {
+            os.write(data);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
+    /**
+     * Remove the dataset stored under the given key, if any
+     * @param key the key
+     */
+    public void remove(String key) {
+        File file = resolveKey(key);
         if (file.exists()) {
             file.delete();
         }
-
-        dataSet.save(file);
     }
 
     @Override
@@ -107,4 +201,53 @@ public class InFileDataSetCache implements DataSetCache {
 
         return exists;
     }
+
+    private File prepareForWrite(String key) {
+        File file = resolveKey(key);
+
+        File parentDir = file.getParentFile();
+        if (!parentDir.exists()) {
+            if (!parentDir.mkdirs()) {
+                throw new IllegalStateException("ERROR: cannot create parent directory: " + parentDir);
+            }
+        }
+
+        if (file.exists()) {
+            file.delete();
+        }
+
+        return file;
+    }
+
+    private OutputStream openForWrite(File file) throws IOException {
+        OutputStream os = new BufferedOutputStream(new FileOutputStream(file), 1024 * 1024);
+        if (!deflate)
+            return os;
+        //favour speed over ratio, this sits on the read path of every epoch
+        return new GZIPOutputStream(os, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private InputStream openForRead(File file) throws IOException {
+        InputStream is = new BufferedInputStream(new FileInputStream(file), 1024 * 1024);
+        is.mark(2);
+        int b0 = is.read();
+        int b1 = is.read();
+        is.reset();
+        if (b0 == GZIP_MAGIC_0 && b1 == GZIP_MAGIC_1)
+            return new BufferedInputStream(new GZIPInputStream(is, 64 * 1024));
+        return is;
+    }
+
+    private INDArray compress(INDArray array) {
+        if (array == null || array.isCompressed())
+            return array;
+        DataBuffer.Type type = array.data().dataType();
+        if (type != DataBuffer.Type.FLOAT && type != DataBuffer.Type.DOUBLE && type != DataBuffer.Type.HALF)
+            return array;
+        return Nd4j.getCompressor().compress(array, featuresCompression);
+    }
 }
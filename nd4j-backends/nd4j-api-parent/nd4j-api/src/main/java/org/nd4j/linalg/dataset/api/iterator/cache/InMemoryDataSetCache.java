@@ -6,20 +6,81 @@ import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Keeps serialized datasets in memory.
+ *
+ * By default the cache is unbounded. When created with a byte budget, entries are evicted
+ * according to the given {@link EvictionPolicy} once the total size of the serialized
+ * datasets exceeds the budget. Evicted entries are handed to the {@link EvictionListener}
+ * if one is set, which {@link InFileAndMemoryDataSetCache} uses to spill them to disk.
+ *
  * Created by anton on 7/16/16.
  */
 public class InMemoryDataSetCache implements DataSetCache {
 
     private static final Logger log = LoggerFactory.getLogger(DataSetCache.class);
 
-    private Map<String, byte[]> cache = new HashMap<>();
-    private Set<String> completeNamespaces = new HashSet<>();
+    private Map<String, byte[]> cache = new ConcurrentHashMap<>();
+    private Set<String> completeNamespaces = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private final long maxSizeInBytes;
+    private final EvictionPolicy evictionPolicy;
+    private EvictionListener evictionListener;
+    private long sizeInBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * Called with every entry that gets evicted
+     */
+    public interface EvictionListener {
+        /**
+         * @param key the key of the evicted entry
+         * @param serialized the dataset as written by {@link DataSet#save(java.io.OutputStream)}
+         */
+        void onEviction(String key, byte[] serialized);
+    }
+
+    /**
+     * Create an unbounded cache
+     */
+    public InMemoryDataSetCache() {
+        this(Long.MAX_VALUE, new LruEvictionPolicy());
+    }
+
+    /**
+     * Create a cache holding at most {@code maxSizeInBytes} bytes of serialized datasets
+     * evicting the least recently used entries first
+     * @param maxSizeInBytes the byte budget
+     */
+    public InMemoryDataSetCache(long maxSizeInBytes) {
+        this(maxSizeInBytes, new LruEvictionPolicy());
+    }
+
+    /**
+     * Create a cache holding at most {@code maxSizeInBytes} bytes of serialized datasets
+     * @param maxSizeInBytes the byte budget
+     * @param evictionPolicy the policy selecting the entries to evict
+     */
+    public InMemoryDataSetCache(long maxSizeInBytes, EvictionPolicy evictionPolicy) {
+        if (maxSizeInBytes < 1)
+            throw new IllegalArgumentException("Maximum size must be >= 1");
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * @param evictionListener the listener to notify of evicted entries
+     */
+    public void setEvictionListener(EvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
 
     @Override
     public boolean isComplete(String namespace) {
@@ -38,11 +99,17 @@ public class InMemoryDataSetCache implements DataSetCache {
     @Override
     public DataSet get(String key) {
 
-        if (!cache.containsKey(key)) {
+        byte[] data;
+        synchronized (this) {
+            data = cache.get(key);
+            if (data != null)
+                evictionPolicy.onAccess(key);
+        }
+        if (data == null) {
+            misses.incrementAndGet();
             return null;
         }
-
-        byte[] data = cache.get(key);
+        hits.incrementAndGet();
 
         ByteArrayInputStream is = new ByteArrayInputStream(data);
 
@@ -55,20 +122,111 @@ public class InMemoryDataSetCache implements DataSetCache {
 
     @Override
     public void put(String key, DataSet dataSet) {
-        if (cache.containsKey(key)) {
-            log.debug("evicting key %s from data set cache", key);
-            cache.remove(key);
-        }
-
         ByteArrayOutputStream os = new ByteArrayOutputStream();
 
         dataSet.save(os);
 
-        cache.put(key, os.toByteArray());
+        putSerialized(key, os.toByteArray());
+    }
+
+    /**
+     * Put an already serialized dataset in to the cache
+     * @param key the key
+     * @param data the dataset as written by {@link DataSet#save(java.io.OutputStream)}
+     */
+    public void putSerialized(String key, byte[] data) {
+        List<Map.Entry<String, byte[]>> evicted = new ArrayList<>();
+        synchronized (this) {
+            byte[] previous = cache.remove(key);
+            if (previous != null) {
+                log.debug("evicting key {} from data set cache", key);
+                sizeInBytes -= previous.length;
+                evictionPolicy.onRemove(key);
+            }
+
+            //make room first, so the new entry itself is never selected as a victim
+            while (sizeInBytes + data.length > maxSizeInBytes && data.length <= maxSizeInBytes) {
+                String victim = evictionPolicy.victim();
+                if (victim == null)
+                    break;
+                byte[] removed = cache.remove(victim);
+                evictionPolicy.onRemove(victim);
+                if (removed == null)
+                    throw new IllegalStateException("Eviction policy selected unknown key " + victim);
+                sizeInBytes -= removed.length;
+                evicted.add(new AbstractMap.SimpleEntry<>(victim, removed));
+            }
+
+            if (sizeInBytes + data.length > maxSizeInBytes) {
+                //doesn't fit, or everything else is pinned
+                evicted.add(new AbstractMap.SimpleEntry<>(key, data));
+            } else {
+                cache.put(key, data);
+                sizeInBytes += data.length;
+                evictionPolicy.onInsert(key);
+            }
+        }
+
+        evictions.addAndGet(evicted.size());
+        if (evictionListener != null) {
+            for (Map.Entry<String, byte[]> entry : evicted)
+                evictionListener.onEviction(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the serialized form of the given entry without counting it as an access
+     * @param key the key
+     * @return the dataset as written by {@link DataSet#save(java.io.OutputStream)} or null if not present
+     */
+    public byte[] getSerialized(String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * @return the keys currently held by the cache
+     */
+    public Set<String> keys() {
+        return new HashSet<>(cache.keySet());
     }
 
     @Override
     public boolean contains(String key) {
         return cache.containsKey(key);
     }
+
+    /**
+     * @return the number of {@link #get(String)} calls that found an entry
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of {@link #get(String)} calls that didn't find an entry
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of entries evicted to stay within the byte budget
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the total size of the serialized datasets currently held
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * @return the byte budget of this cache
+     */
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
 }
@@ -0,0 +1,64 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Evicts the least frequently used entry.
+ * Ties are broken by evicting the entry that was inserted first.
+ */
+public class LfuEvictionPolicy implements EvictionPolicy {
+    private Map<String, Entry> entries = new HashMap<>();
+    private TreeSet<Entry> byFrequency = new TreeSet<>(new Comparator<Entry>() {
+        @Override
+        public int compare(Entry o1, Entry o2) {
+            if (o1.count != o2.count)
+                return o1.count < o2.count ? -1 : 1;
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+        }
+    });
+    private long sequence = 0;
+
+    @Override
+    public void onInsert(String key) {
+        onRemove(key);
+        Entry entry = new Entry(key, sequence++);
+        entries.put(key, entry);
+        byFrequency.add(entry);
+    }
+
+    @Override
+    public void onAccess(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null)
+            return;
+        byFrequency.remove(entry);
+        entry.count++;
+        byFrequency.add(entry);
+    }
+
+    @Override
+    public void onRemove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null)
+            byFrequency.remove(entry);
+    }
+
+    @Override
+    public String victim() {
+        return byFrequency.isEmpty() ? null : byFrequency.first().key;
+    }
+
+    private static class Entry {
+        private final String key;
+        private final long sequence;
+        private long count = 1;
+
+        private Entry(String key, long sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
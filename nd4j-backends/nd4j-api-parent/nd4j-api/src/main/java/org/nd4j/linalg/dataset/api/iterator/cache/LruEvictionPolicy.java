@@ -0,0 +1,33 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Evicts the least recently used entry
+ */
+public class LruEvictionPolicy implements EvictionPolicy {
+    //access ordered: the eldest entry is the least recently used one
+    private LinkedHashMap<String, Boolean> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void onInsert(String key) {
+        entries.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void onAccess(String key) {
+        entries.get(key);
+    }
+
+    @Override
+    public void onRemove(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public String victim() {
+        Iterator<String> iterator = entries.keySet().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
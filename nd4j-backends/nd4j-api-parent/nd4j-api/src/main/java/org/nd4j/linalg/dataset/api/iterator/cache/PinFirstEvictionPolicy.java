@@ -0,0 +1,61 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Never evicts the first {@code numPinned} entries inserted in to the cache,
+ * all other entries are evicted according to the given policy.
+ *
+ * Useful when the dataset is slightly larger than the budget: with plain LRU every
+ * epoch would evict each entry right before it's needed again, pinning keeps
+ * at least the first part of every epoch in memory.
+ */
+public class PinFirstEvictionPolicy implements EvictionPolicy {
+    private final int numPinned;
+    private final EvictionPolicy delegate;
+    private Set<String> pinned = new HashSet<>();
+
+    /**
+     * @param numPinned the number of entries to pin
+     */
+    public PinFirstEvictionPolicy(int numPinned) {
+        this(numPinned, new LruEvictionPolicy());
+    }
+
+    /**
+     * @param numPinned the number of entries to pin
+     * @param delegate the policy to use for the entries that aren't pinned
+     */
+    public PinFirstEvictionPolicy(int numPinned, EvictionPolicy delegate) {
+        this.numPinned = numPinned;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onInsert(String key) {
+        if (pinned.contains(key))
+            return;
+        if (pinned.size() < numPinned)
+            pinned.add(key);
+        else
+            delegate.onInsert(key);
+    }
+
+    @Override
+    public void onAccess(String key) {
+        if (!pinned.contains(key))
+            delegate.onAccess(key);
+    }
+
+    @Override
+    public void onRemove(String key) {
+        if (!pinned.remove(key))
+            delegate.onRemove(key);
+    }
+
+    @Override
+    public String victim() {
+        return delegate.victim();
+    }
+}
@@ -7,7 +7,14 @@ import lombok.Setter;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.DataSet;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.MergeableStatsBuilder;
 import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract base class for normalizers
@@ -102,6 +109,155 @@ public abstract class AbstractDataSetNormalizer<S extends NormalizerStats> exten
         iterator.reset();
     }
 
+    /**
+     * Fit the given model, spreading the statistics computation over several threads. Each worker accumulates the
+     * statistics of the batches it receives, and the partial statistics are merged at the end. The result is the
+     * same as {@link #fit(DataSetIterator)} within floating point tolerance. Using more than one worker requires
+     * the statistics builders of the normalizer to extend {@link MergeableStatsBuilder}.
+     *
+     * @param iterator   for the data to iterate over
+     * @param numWorkers number of threads computing statistics
+     */
+    public void fit(DataSetIterator iterator, int numWorkers) {
+        fit(iterator, numWorkers, 1.0, 0L);
+    }
+
+    /**
+     * Fit the given model on a random subset of the batches of the iterator, spreading the statistics computation
+     * over several threads. The first batch is always used, every following batch is used with probability
+     * {@code sampleFraction}.
+     *
+     * @param iterator       for the data to iterate over
+     * @param numWorkers     number of threads computing statistics
+     * @param sampleFraction fraction of batches to fit on, in (0, 1]
+     * @param seed           seed of the batch sampling
+     */
+    public void fit(DataSetIterator iterator, int numWorkers, double sampleFraction, long seed) {
+        if (numWorkers < 1)
+            throw new IllegalArgumentException("Number of workers must be positive, got " + numWorkers);
+        if (sampleFraction <= 0.0 || sampleFraction > 1.0)
+            throw new IllegalArgumentException("Sample fraction must be in (0, 1], got " + sampleFraction);
+
+        final Random random = new Random(seed);
+        final S.Builder[] featureBuilders = new S.Builder[numWorkers];
+        final S.Builder[] labelBuilders = new S.Builder[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            featureBuilders[i] = newBuilder();
+            labelBuilders[i] = newBuilder();
+        }
+        if (numWorkers > 1 && !(featureBuilders[0] instanceof MergeableStatsBuilder))
+            throw new UnsupportedOperationException("Fitting on several workers requires mergeable statistics, got "
+                            + featureBuilders[0].getClass().getName());
+
+        iterator.reset();
+        if (numWorkers == 1) {
+            boolean first = true;
+            while (iterator.hasNext()) {
+                DataSet next = iterator.next();
+                if (first || sampleFraction >= 1.0 || random.nextDouble() < sampleFraction) {
+                    featureBuilders[0].addFeatures(next);
+                    if (fitLabels) {
+                        labelBuilders[0].addLabels(next);
+                    }
+                }
+                first = false;
+            }
+        } else {
+            fitParallel(iterator, featureBuilders, labelBuilders, sampleFraction, random);
+        }
+
+        S.Builder featureNormBuilder = featureBuilders[0];
+        S.Builder labelNormBuilder = labelBuilders[0];
+        for (int i = 1; i < numWorkers; i++) {
+            ((MergeableStatsBuilder) featureNormBuilder).merge(featureBuilders[i]);
+            if (fitLabels) {
+                ((MergeableStatsBuilder) labelNormBuilder).merge(labelBuilders[i]);
+            }
+        }
+
+        featureStats = (S) featureNormBuilder.build();
+        if (fitLabels) {
+            labelStats = (S) labelNormBuilder.build();
+        }
+        iterator.reset();
+    }
+
+    private void fitParallel(DataSetIterator iterator, final S.Builder[] featureBuilders,
+                    final S.Builder[] labelBuilders, double sampleFraction, Random random) {
+        final int numWorkers = featureBuilders.length;
+        final DataSet terminator = new org.nd4j.linalg.dataset.DataSet();
+        final BlockingQueue<DataSet> queue = new ArrayBlockingQueue<>(numWorkers * 2);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final boolean withLabels = fitLabels;
+        final Integer deviceId = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+
+        Thread[] workers = new Thread[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            final int worker = i;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (true) {
+                            DataSet next = queue.take();
+                            if (next == terminator)
+                                break;
+                            if (error.get() != null)
+                                continue;
+                            featureBuilders[worker].addFeatures(next);
+                            if (withLabels) {
+                                labelBuilders[worker].addLabels(next);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                        // keep draining so the producer never blocks on a full queue
+                        try {
+                            while (queue.take() != terminator);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            }, "NormalizerFitWorker-" + i);
+            workers[i].setDaemon(true);
+            Nd4j.getAffinityManager().attachThreadToDevice(workers[i], deviceId);
+            workers[i].start();
+        }
+
+        try {
+            boolean first = true;
+            while (error.get() == null && iterator.hasNext()) {
+                org.nd4j.linalg.dataset.DataSet next = iterator.next();
+                if (first || sampleFraction >= 1.0 || random.nextDouble() < sampleFraction) {
+                    // batches may live in the iterator's workspace, which is reused once we ask for the next one
+                    next.detach();
+                    queue.put(next);
+                }
+                first = false;
+            }
+        } catch (Throwable t) {
+            error.compareAndSet(null, t);
+        } finally {
+            try {
+                for (int i = 0; i < numWorkers; i++)
+                    queue.put(terminator);
+                for (Thread worker : workers)
+                    worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while fitting normalizer", e);
+            }
+        }
+
+        Throwable t = error.get();
+        if (t != null) {
+            if (t instanceof RuntimeException)
+                throw (RuntimeException) t;
+            throw new RuntimeException("Failed to fit normalizer", t);
+        }
+    }
+
     protected abstract S.Builder newBuilder();
 
     /**
@@ -68,7 +68,7 @@ public class DistributionStats implements NormalizerStats {
      * DynamicCustomOpsBuilder class that can incrementally update a running mean and variance in order to create statistics for a
      * large set of data
      */
-    public static class Builder implements NormalizerStats.Builder<DistributionStats> {
+    public static class Builder extends MergeableStatsBuilder<DistributionStats> {
         private int runningCount = 0;
         private INDArray runningMean;
         private INDArray runningVariance;
@@ -124,7 +124,7 @@ public class DistributionStats implements NormalizerStats {
                 INDArray mB = variance.muli(count);
                 runningVariance.muli(runningCount).addiRowVector(mB)
                                 .addiRowVector(deltaSquared
-                                                .muli((float) (runningCount * count) / (runningCount + count)))
+                                                .muli((double) runningCount * count / (runningCount + count)))
                                 .divi(runningCount + count);
 
                 // Update running count
@@ -138,6 +138,38 @@ public class DistributionStats implements NormalizerStats {
             return this;
         }
 
+        /**
+         * Merge the running statistics of another builder into this one
+         *
+         * @param other the builder to merge into this one, left unchanged
+         */
+        @Override
+        public Builder merge(@NonNull NormalizerStats.Builder<DistributionStats> other) {
+            Builder o = (Builder) other;
+            if (o.runningMean == null) {
+                return this;
+            }
+            if (runningMean == null) {
+                runningMean = o.runningMean.dup();
+                runningVariance = o.runningVariance.dup();
+                runningCount = o.runningCount;
+                return this;
+            }
+
+            // Chan et al. pairwise combination of mean and (population) variance
+            double nA = runningCount;
+            double nB = o.runningCount;
+            double n = nA + nB;
+            INDArray delta = o.runningMean.sub(runningMean);
+            INDArray deltaSquared = delta.mul(delta);
+
+            runningVariance.muli(nA).addi(o.runningVariance.mul(nB)).addi(deltaSquared.muli(nA * nB / n)).divi(n);
+            runningMean.addi(delta.muli(nB / n));
+            runningCount += o.runningCount;
+
+            return this;
+        }
+
         /**
          * Create a DistributionStats object from the data ingested so far. Can be used multiple times when updating
          * online.
@@ -0,0 +1,15 @@
+package org.nd4j.linalg.dataset.api.preprocessor.stats;
+
+/**
+ * Base class for {@link NormalizerStats.Builder}s whose statistics can be gathered on separate shards of the data
+ * and merged afterwards. Normalizers need builders of this type to fit on several threads.
+ */
+public abstract class MergeableStatsBuilder<S extends NormalizerStats> implements NormalizerStats.Builder<S> {
+    /**
+     * Merge the statistics gathered by another builder of the same type into this one, so that the result is
+     * the same (within floating point tolerance) as if all of its data had been added to this builder directly.
+     *
+     * @param other the builder to merge into this one, left unchanged
+     */
+    public abstract MergeableStatsBuilder<S> merge(NormalizerStats.Builder<S> other);
+}
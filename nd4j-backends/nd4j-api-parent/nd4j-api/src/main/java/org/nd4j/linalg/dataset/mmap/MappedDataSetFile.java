@@ -0,0 +1,359 @@
+package org.nd4j.linalg.dataset.mmap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.*;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A memory mapped view of a file written by {@link MappedDataSetFileWriter}.
+ *
+ * The file is mapped in segments of at most {@link Integer#MAX_VALUE} bytes when it's opened
+ * and every array returned by {@link #getDataSet(int)} or {@link #getMultiDataSet(int)} is a
+ * {@link DataBuffer} wrapping a region of the mapping directly: nothing is copied or deserialized.
+ *
+ * The mapping is copy on write ({@link FileChannel.MapMode#PRIVATE}), so in place
+ * operations on the returned arrays (pre processors, normalizers) never touch the file.
+ * If the file isn't writable by this process (a private mapping requires a
+ * read/write channel) the segments are read in to direct buffers instead.
+ *
+ * Data buffers only hold the address of the memory they wrap, so every buffer handed out
+ * keeps its segment reachable until the buffer itself is garbage collected:
+ * the arrays returned stay valid after this object is closed or collected.
+ *
+ * @see MappedDataSetFileWriter
+ * @see MappedDataSetIterator
+ * @see MappedMultiDataSetIterator
+ */
+@Slf4j
+public class MappedDataSetFile implements Closeable {
+    public static final long MAGIC = 0x4e44344a4d445331L; // ND4JMDS1
+    public static final int VERSION = 1;
+    public static final int PAGE_SIZE = 4096;
+    public static final int HEADER_LENGTH = PAGE_SIZE;
+    public static final int ARRAY_ALIGNMENT = 64;
+
+    public static final int FEATURES = 0;
+    public static final int LABELS = 1;
+    public static final int FEATURES_MASK = 2;
+    public static final int LABELS_MASK = 3;
+
+    //segments referenced by buffers handed out, dropped once those buffers were garbage collected
+    private static final Set<SegmentReference> liveSegments =
+                    Collections.newSetFromMap(new ConcurrentHashMap<SegmentReference, Boolean>());
+    private static final ReferenceQueue<DataBuffer> collectedBuffers = new ReferenceQueue<>();
+
+    private final File file;
+    private final List<BatchEntry> batches;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final long[] segmentOffsets;
+    private final int[] batchSegments;
+
+    /**
+     * Open and map the given file
+     * @param file the file to open
+     * @throws IOException
+     */
+    public MappedDataSetFile(File file) throws IOException {
+        this.file = file;
+        boolean writable = file.canWrite();
+        try (RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r");
+                        FileChannel channel = raf.getChannel()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getLong() != MAGIC)
+                throw new IllegalStateException("File " + file + " is not a mapped dataset file");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalStateException("Unsupported mapped dataset file version " + version);
+            ByteOrder order = header.getInt() == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            if (order != ByteOrder.nativeOrder())
+                throw new IllegalStateException("File " + file + " was written with byte order " + order
+                                + " and can't be mapped on a " + ByteOrder.nativeOrder() + " machine");
+            int numBatches = header.getInt();
+            long indexOffset = header.getLong();
+            long indexLength = header.getLong();
+            if (indexLength > Integer.MAX_VALUE)
+                throw new IllegalStateException("Index of " + file + " is too large");
+
+            ByteBuffer index = ByteBuffer.allocate((int) indexLength);
+            readFully(channel, index, indexOffset);
+            DataInputStream dis = new DataInputStream(new ByteArrayInputStream(index.array()));
+            batches = new ArrayList<>(numBatches);
+            for (int i = 0; i < numBatches; i++)
+                batches.add(BatchEntry.read(dis));
+
+            if (!writable)
+                log.warn("File {} is not writable, reading it in to memory instead of mapping it", file);
+
+            //group consecutive batches in to segments no larger than Integer.MAX_VALUE bytes
+            batchSegments = new int[numBatches];
+            List<Long> offsets = new ArrayList<>();
+            int b = 0;
+            while (b < numBatches) {
+                long start = batches.get(b).offset;
+                long end = start + batches.get(b).length;
+                int first = b;
+                batchSegments[b++] = offsets.size();
+                while (b < numBatches && batches.get(b).offset + batches.get(b).length - start <= Integer.MAX_VALUE) {
+                    end = batches.get(b).offset + batches.get(b).length;
+                    batchSegments[b++] = offsets.size();
+                }
+                if (end - start > Integer.MAX_VALUE)
+                    throw new IllegalStateException("Minibatch " + first + " is larger than " + Integer.MAX_VALUE
+                                    + " bytes and can't be mapped");
+
+                ByteBuffer segment;
+                if (writable) {
+                    segment = channel.map(FileChannel.MapMode.PRIVATE, start, end - start);
+                } else {
+                    segment = ByteBuffer.allocateDirect((int) (end - start));
+                    readFully(channel, segment, start);
+                }
+                segments.add(segment.order(ByteOrder.nativeOrder()));
+                offsets.add(start);
+            }
+
+            segmentOffsets = new long[offsets.size()];
+            for (int i = 0; i < segmentOffsets.length; i++)
+                segmentOffsets[i] = offsets.get(i);
+        }
+    }
+
+    /**
+     * @return the file this was opened from
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of minibatches in the file
+     */
+    public int numBatches() {
+        return batches.size();
+    }
+
+    /**
+     * Returns the shape of an array in the given minibatch without mapping it
+     * @param batch the minibatch index
+     * @param group one of {@link #FEATURES}, {@link #LABELS}, {@link #FEATURES_MASK} or {@link #LABELS_MASK}
+     * @param idx the index of the array within the group
+     * @return the shape of the array or null if there is no such array
+     */
+    public int[] shapeOf(int batch, int group, int idx) {
+        ArrayEntry[] entries = batches.get(batch).arrays[group];
+        if (idx >= entries.length || entries[idx] == null)
+            return null;
+        return entries[idx].shape.clone();
+    }
+
+    /**
+     * Get the given minibatch as a dataset
+     * @param batch the index of the minibatch
+     * @return the dataset
+     * @throws IllegalStateException if the minibatch was written with more than one
+     * features or labels array
+     */
+    public DataSet getDataSet(int batch) {
+        INDArray[][] arrays = arrays(batch);
+        for (INDArray[] group : arrays)
+            if (group.length > 1)
+                throw new IllegalStateException("Minibatch " + batch + " has multiple arrays per group,"
+                                + " use getMultiDataSet instead");
+        return new DataSet(first(arrays[FEATURES]), first(arrays[LABELS]), first(arrays[FEATURES_MASK]),
+                        first(arrays[LABELS_MASK]));
+    }
+
+    /**
+     * Get the given minibatch as a multi dataset
+     * @param batch the index of the minibatch
+     * @return the multi dataset
+     */
+    public MultiDataSet getMultiDataSet(int batch) {
+        INDArray[][] arrays = arrays(batch);
+        return new MultiDataSet(arrays[FEATURES], arrays[LABELS], nullIfEmpty(arrays[FEATURES_MASK]),
+                        nullIfEmpty(arrays[LABELS_MASK]));
+    }
+
+    private INDArray[][] arrays(int batch) {
+        BatchEntry entry = batches.get(batch);
+        ByteBuffer segment = segments.get(batchSegments[batch]);
+        long segmentOffset = segmentOffsets[batchSegments[batch]];
+
+        INDArray[][] ret = new INDArray[entry.arrays.length][];
+        for (int g = 0; g < ret.length; g++) {
+            ret[g] = new INDArray[entry.arrays[g].length];
+            for (int i = 0; i < ret[g].length; i++) {
+                ArrayEntry arrayEntry = entry.arrays[g][i];
+                if (arrayEntry == null)
+                    continue;
+                ByteBuffer dup = segment.duplicate();
+                int position = (int) (arrayEntry.offset - segmentOffset);
+                dup.position(position);
+                dup.limit(position + (int) arrayEntry.length * elementSize(arrayEntry.type));
+                ByteBuffer slice = dup.slice().order(ByteOrder.nativeOrder());
+                DataBuffer buffer = keepAlive(Nd4j.createBuffer(slice, arrayEntry.type, (int) arrayEntry.length),
+                                segment);
+                ret[g][i] = Nd4j.create(buffer, arrayEntry.shape, Nd4j.getStrides(arrayEntry.shape, arrayEntry.order),
+                                0, arrayEntry.order);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Keep the segment reachable for as long as the buffer wrapping part of it is
+     */
+    private static DataBuffer keepAlive(DataBuffer buffer, ByteBuffer segment) {
+        Reference<? extends DataBuffer> collected;
+        while ((collected = collectedBuffers.poll()) != null)
+            liveSegments.remove(collected);
+        liveSegments.add(new SegmentReference(buffer, segment));
+        return buffer;
+    }
+
+    /**
+     * Drops the references to the mapped segments.
+     * The mappings themselves are released once they and
+     * all arrays returned from them are garbage collected.
+     */
+    @Override
+    public void close() {
+        segments.clear();
+    }
+
+    private static INDArray first(INDArray[] arrays) {
+        return arrays.length == 0 ? null : arrays[0];
+    }
+
+    private static INDArray[] nullIfEmpty(INDArray[] arrays) {
+        for (INDArray arr : arrays)
+            if (arr != null)
+                return arrays;
+        return null;
+    }
+
+    private static int elementSize(DataBuffer.Type type) {
+        switch (type) {
+            case DOUBLE:
+            case LONG:
+                return 8;
+            case HALF:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                throw new EOFException("Unexpected end of file at position " + position);
+            position += read;
+        }
+    }
+
+    private static class SegmentReference extends WeakReference<DataBuffer> {
+        @SuppressWarnings("unused")
+        private final ByteBuffer segment;
+
+        private SegmentReference(DataBuffer buffer, ByteBuffer segment) {
+            super(buffer, collectedBuffers);
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * Index entry for a single array
+     */
+    static class ArrayEntry {
+        final DataBuffer.Type type;
+        final char order;
+        final int[] shape;
+        final long offset;
+        final long length;
+
+        ArrayEntry(DataBuffer.Type type, char order, int[] shape, long offset, long length) {
+            this.type = type;
+            this.order = order;
+            this.shape = shape;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Index entry for a minibatch: the features, labels,
+     * features mask and labels mask arrays, in that order
+     */
+    static class BatchEntry {
+        final long offset;
+        final long length;
+        final ArrayEntry[][] arrays;
+
+        BatchEntry(long offset, long length, ArrayEntry[][] arrays) {
+            this.offset = offset;
+            this.length = length;
+            this.arrays = arrays;
+        }
+
+        void write(DataOutputStream dos) throws IOException {
+            dos.writeLong(offset);
+            dos.writeLong(length);
+            dos.writeInt(arrays.length);
+            for (ArrayEntry[] group : arrays) {
+                dos.writeInt(group.length);
+                for (ArrayEntry entry : group) {
+                    dos.writeBoolean(entry != null);
+                    if (entry == null)
+                        continue;
+                    dos.writeInt(entry.type.ordinal());
+                    dos.writeChar(entry.order);
+                    dos.writeInt(entry.shape.length);
+                    for (int s : entry.shape)
+                        dos.writeInt(s);
+                    dos.writeLong(entry.offset);
+                    dos.writeLong(entry.length);
+                }
+            }
+        }
+
+        static BatchEntry read(DataInputStream dis) throws IOException {
+            long offset = dis.readLong();
+            long length = dis.readLong();
+            ArrayEntry[][] arrays = new ArrayEntry[dis.readInt()][];
+            for (int g = 0; g < arrays.length; g++) {
+                arrays[g] = new ArrayEntry[dis.readInt()];
+                for (int i = 0; i < arrays[g].length; i++) {
+                    if (!dis.readBoolean())
+                        continue;
+                    DataBuffer.Type type = DataBuffer.Type.values()[dis.readInt()];
+                    char order = dis.readChar();
+                    int[] shape = new int[dis.readInt()];
+                    for (int s = 0; s < shape.length; s++)
+                        shape[s] = dis.readInt();
+                    arrays[g][i] = new ArrayEntry(type, order, shape, dis.readLong(), dis.readLong());
+                }
+            }
+            return new BatchEntry(offset, length, arrays);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.nd4j.linalg.dataset.mmap;
+
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link DataSet} and {@link MultiDataSet} minibatches
+ * in to a single file that can be memory mapped by {@link MappedDataSetFile}.
+ *
+ * Every minibatch starts on a page boundary and the data of every
+ * array in the minibatch is aligned to {@link MappedDataSetFile#ARRAY_ALIGNMENT} bytes,
+ * stored in native byte order. The shape information for all arrays lives in
+ * an index at the end of the file, so reading a minibatch back is just
+ * wrapping regions of the mapped file as data buffers.
+ *
+ * Usage:
+ * <pre>
+ * try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+ *     while (iter.hasNext())
+ *         writer.write(iter.next());
+ * }
+ * </pre>
+ *
+ * @see MappedDataSetFile
+ * @see MappedDataSetIterator
+ */
+public class MappedDataSetFileWriter implements Closeable {
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final List<MappedDataSetFile.BatchEntry> batches = new ArrayList<>();
+    private long position = MappedDataSetFile.HEADER_LENGTH;
+    private boolean closed = false;
+
+    /**
+     * @param file the file to write to. Any existing content is overwritten.
+     * @throws IOException
+     */
+    public MappedDataSetFileWriter(File file) throws IOException {
+        this.file = new RandomAccessFile(file, "rw");
+        this.file.setLength(0);
+        this.channel = this.file.getChannel();
+    }
+
+    /**
+     * Append a dataset to the file
+     * @param dataSet the dataset to write
+     * @throws IOException
+     */
+    public void write(DataSet dataSet) throws IOException {
+        write(new INDArray[][] {{dataSet.getFeatures()}, {dataSet.getLabels()}, {dataSet.getFeaturesMaskArray()},
+                        {dataSet.getLabelsMaskArray()}});
+    }
+
+    /**
+     * Append a multi dataset to the file
+     * @param multiDataSet the multi dataset to write
+     * @throws IOException
+     */
+    public void write(MultiDataSet multiDataSet) throws IOException {
+        write(new INDArray[][] {multiDataSet.getFeatures(), multiDataSet.getLabels(),
+                        multiDataSet.getFeaturesMaskArrays(), multiDataSet.getLabelsMaskArrays()});
+    }
+
+    /**
+     * @return the number of minibatches written so far
+     */
+    public int numBatches() {
+        return batches.size();
+    }
+
+    private void write(INDArray[][] groups) throws IOException {
+        if (closed)
+            throw new IllegalStateException("Writer already closed");
+
+        // make sure everything pending is written and available on the host
+        Nd4j.getExecutioner().commit();
+
+        long batchOffset = align(position, MappedDataSetFile.PAGE_SIZE);
+        long current = batchOffset;
+        MappedDataSetFile.ArrayEntry[][] entries = new MappedDataSetFile.ArrayEntry[groups.length][];
+        for (int g = 0; g < groups.length; g++) {
+            INDArray[] arrays = groups[g];
+            entries[g] = new MappedDataSetFile.ArrayEntry[arrays == null ? 0 : arrays.length];
+            for (int i = 0; i < entries[g].length; i++) {
+                INDArray arr = arrays[i];
+                if (arr == null)
+                    continue;
+                if (arr.isCompressed())
+                    throw new UnsupportedOperationException("Compressed arrays can not be memory mapped");
+                //views and arrays with offsets/strides need to be made contiguous first
+                if (arr.isView() || arr.data().length() != arr.length())
+                    arr = arr.dup(arr.ordering());
+                Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+
+                current = align(current, MappedDataSetFile.ARRAY_ALIGNMENT);
+                ByteBuffer data = arr.data().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
+                data.limit(arr.length() * arr.data().getElementSize());
+                long dataOffset = current;
+                while (data.hasRemaining())
+                    current += channel.write(data, current);
+
+                entries[g][i] = new MappedDataSetFile.ArrayEntry(arr.data().dataType(), arr.ordering(), arr.shape(),
+                                dataOffset, arr.length());
+            }
+        }
+
+        batches.add(new MappedDataSetFile.BatchEntry(batchOffset, current - batchOffset, entries));
+        position = current;
+    }
+
+    /**
+     * Write the index and the header and close the file.
+     * The file can't be read by {@link MappedDataSetFile} before this is called.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            long indexOffset = align(position, MappedDataSetFile.PAGE_SIZE);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(bos);
+            for (MappedDataSetFile.BatchEntry batch : batches)
+                batch.write(dos);
+            dos.flush();
+
+            ByteBuffer index = ByteBuffer.wrap(bos.toByteArray());
+            long indexPosition = indexOffset;
+            while (index.hasRemaining())
+                indexPosition += channel.write(index, indexPosition);
+
+            ByteBuffer header = ByteBuffer.allocate(MappedDataSetFile.HEADER_LENGTH);
+            header.putLong(MappedDataSetFile.MAGIC);
+            header.putInt(MappedDataSetFile.VERSION);
+            header.putInt(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 0);
+            header.putInt(batches.size());
+            header.putLong(indexOffset);
+            header.putLong(bos.size());
+            header.rewind();
+            long headerPosition = 0;
+            while (header.hasRemaining())
+                headerPosition += channel.write(header, headerPosition);
+            channel.force(true);
+        } finally {
+            channel.close();
+            file.close();
+        }
+    }
+
+    /**
+     * Write all datasets of the given iterator to a file
+     * @param iterator the iterator to write
+     * @param file the file to write to
+     * @return the number of minibatches written
+     * @throws IOException
+     */
+    public static int write(DataSetIterator iterator, File file) throws IOException {
+        try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+            while (iterator.hasNext())
+                writer.write(iterator.next());
+            return writer.numBatches();
+        }
+    }
+
+    /**
+     * Write all multi datasets of the given iterator to a file
+     * @param iterator the iterator to write
+     * @param file the file to write to
+     * @return the number of minibatches written
+     * @throws IOException
+     */
+    public static int write(MultiDataSetIterator iterator, File file) throws IOException {
+        try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+            while (iterator.hasNext())
+                writer.write(iterator.next());
+            return writer.numBatches();
+        }
+    }
+
+    private static long align(long position, long alignment) {
+        long rem = position % alignment;
+        return rem == 0 ? position : position + alignment - rem;
+    }
+}
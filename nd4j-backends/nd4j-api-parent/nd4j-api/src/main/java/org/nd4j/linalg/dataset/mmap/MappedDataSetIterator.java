@@ -0,0 +1,158 @@
+package org.nd4j.linalg.dataset.mmap;
+
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the minibatches of a file written by {@link MappedDataSetFileWriter}.
+ *
+ * Unlike {@link org.nd4j.linalg.dataset.ExistingMiniBatchDataSetIterator} nothing is deserialized:
+ * each {@link DataSet} returned wraps the memory mapped file directly.
+ * See {@link MappedDataSetFile} for the lifetime of the returned arrays.
+ */
+public class MappedDataSetIterator implements DataSetIterator {
+    private final transient MappedDataSetFile file;
+    private DataSetPreProcessor preProcessor;
+    private List<String> labels;
+    private int cursor = 0;
+    private int totalExamples = -1;
+
+    /**
+     * @param file the file to map and iterate over
+     * @throws IOException
+     */
+    public MappedDataSetIterator(File file) throws IOException {
+        this(new MappedDataSetFile(file));
+    }
+
+    /**
+     * @param file an already opened file to iterate over
+     */
+    public MappedDataSetIterator(MappedDataSetFile file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the underlying mapped file
+     */
+    public MappedDataSetFile getFile() {
+        return file;
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException("Unable to load custom number of examples");
+    }
+
+    @Override
+    public int totalExamples() {
+        if (totalExamples < 0) {
+            int total = 0;
+            for (int i = 0; i < file.numBatches(); i++) {
+                int[] shape = file.shapeOf(i, MappedDataSetFile.FEATURES, 0);
+                if (shape != null)
+                    total += shape[0];
+            }
+            totalExamples = total;
+        }
+        return totalExamples;
+    }
+
+    @Override
+    public int inputColumns() {
+        return columns(MappedDataSetFile.FEATURES);
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return columns(MappedDataSetFile.LABELS);
+    }
+
+    private int columns(int group) {
+        int[] shape = file.numBatches() == 0 ? null : file.shapeOf(0, group, 0);
+        if (shape == null || shape.length < 2)
+            throw new UnsupportedOperationException();
+        return shape[1];
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+    }
+
+    @Override
+    public int batch() {
+        int[] shape = file.numBatches() == 0 ? null : file.shapeOf(0, MappedDataSetFile.FEATURES, 0);
+        if (shape == null)
+            throw new UnsupportedOperationException();
+        return shape[0];
+    }
+
+    @Override
+    public int cursor() {
+        return cursor;
+    }
+
+    @Override
+    public int numExamples() {
+        return totalExamples();
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    /**
+     * @param labels the label names to return from {@link #getLabels()}
+     */
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < file.numBatches();
+    }
+
+    @Override
+    public DataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        DataSet ret = file.getDataSet(cursor++);
+        if (preProcessor != null)
+            preProcessor.preProcess(ret);
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,92 @@
+package org.nd4j.linalg.dataset.mmap;
+
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.MultiDataSetIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the minibatches of a file written by {@link MappedDataSetFileWriter}
+ * as {@link MultiDataSet}s, wrapping the memory mapped file directly.
+ * See {@link MappedDataSetFile} for the lifetime of the returned arrays.
+ */
+public class MappedMultiDataSetIterator implements MultiDataSetIterator {
+    private final transient MappedDataSetFile file;
+    private MultiDataSetPreProcessor preProcessor;
+    private int cursor = 0;
+
+    /**
+     * @param file the file to map and iterate over
+     * @throws IOException
+     */
+    public MappedMultiDataSetIterator(File file) throws IOException {
+        this(new MappedDataSetFile(file));
+    }
+
+    /**
+     * @param file an already opened file to iterate over
+     */
+    public MappedMultiDataSetIterator(MappedDataSetFile file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the underlying mapped file
+     */
+    public MappedDataSetFile getFile() {
+        return file;
+    }
+
+    @Override
+    public MultiDataSet next(int num) {
+        throw new UnsupportedOperationException("Unable to load custom number of examples");
+    }
+
+    @Override
+    public void setPreProcessor(MultiDataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public MultiDataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < file.numBatches();
+    }
+
+    @Override
+    public MultiDataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        MultiDataSet ret = file.getMultiDataSet(cursor++);
+        if (preProcessor != null)
+            preProcessor.preProcess(ret);
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -83,6 +83,7 @@ import org.nd4j.linalg.ops.transforms.Transforms;
 import org.nd4j.linalg.primitives.Pair;
 import org.nd4j.linalg.string.NDArrayStrings;
 import org.nd4j.linalg.util.ArrayUtil;
+import org.nd4j.serde.binary.NpyFile;
 import org.nd4j.tools.PropertyParser;
 import org.nd4j.versioncheck.VersionCheck;
 
@@ -2320,6 +2321,7 @@ public class Nd4j {
      * @param filePath the input stream ndarray
      * @param split    the split separator
      * @return the read txt method
+     * @deprecated writes delimited text, use {@link #writeAsNumpy(INDArray, File)} for binary .npy files
      */
     @Deprecated
     public static void writeNumpy(INDArray write, String filePath, String split) throws IOException {
@@ -6758,6 +6760,32 @@ public class Nd4j {
         return createFromNpyPointer(pointer);
     }
 
+    /**
+     * Write an array as a binary numpy .npy file,
+     * in its own ordering and data type
+     *
+     * @param arr the array to write
+     * @param file the file to write to
+     * @throws IOException
+     * @see NpyFile
+     */
+    public static void writeAsNumpy(INDArray arr, File file) throws IOException {
+        NpyFile.write(arr, file);
+    }
+
+    /**
+     * Read a binary numpy .npy file without going through native code.
+     * Unlike {@link #createFromNpyFile(File)} the whole file doesn't have to fit in memory twice.
+     *
+     * @param file the file to read
+     * @return the loaded ndarray
+     * @throws IOException
+     * @see NpyFile
+     */
+    public static INDArray readNpy(File file) throws IOException {
+        return NpyFile.read(file);
+    }
+
 
 
 
@@ -6,12 +6,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.*;
+import org.nd4j.linalg.profiler.data.LatencyAggregator;
 import org.nd4j.linalg.profiler.data.StackAggregator;
 import org.nd4j.linalg.profiler.data.StringAggregator;
 import org.nd4j.linalg.profiler.data.StringCounter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.nd4j.linalg.profiler.OpProfiler.PenaltyCause.NONE;
@@ -85,9 +89,44 @@ public class OpProfiler {
     @Getter
     private StringCounter blasOrderCounter = new StringCounter();
 
+    // latency distributions, see getSnapshot(); op and shape keys are capped, the rest goes to "other"
+    private static final int MAX_OP_KEYS = 512;
+    private static final int MAX_SHAPE_KEYS = 256;
+    @Getter
+    private LatencyAggregator classLatencies = new LatencyAggregator();
+    @Getter
+    private LatencyAggregator opLatencies = new LatencyAggregator(MAX_OP_KEYS);
+    @Getter
+    private LatencyAggregator shapeLatencies = new LatencyAggregator(MAX_SHAPE_KEYS);
+
+    // shape keys are built once per op name, x shape info and operand orders
+    private static final char NO_ORDER = '-';
+    private final Map<ShapeKey, String> shapeKeys = new ConcurrentHashMap<>();
+
 
     private final long THRESHOLD = 100000;
 
+    // sampling mode: each thread accumulates into its own state, merged on read
+    private static final int MAX_SAMPLING_STATES = 1024;
+    private volatile int samplingRate = 100;
+    private volatile long samplingInterval = 0L;
+    // states of live threads; states of finished threads are merged into sharedState and dropped
+    private final Map<Thread, SamplingState> samplingStates = new ConcurrentHashMap<>();
+    // also used directly by threads started once MAX_SAMPLING_STATES threads are sampling
+    private final SamplingState sharedState = new SamplingState(true);
+    private final ThreadLocal<SamplingState> samplingState = new ThreadLocal<SamplingState>() {
+        @Override
+        protected SamplingState initialValue() {
+            purgeSamplingStates();
+            if (samplingStates.size() >= MAX_SAMPLING_STATES)
+                return sharedState;
+
+            SamplingState state = new SamplingState(false);
+            samplingStates.put(Thread.currentThread(), state);
+            return state;
+        }
+    };
+
     private String prevOpClass = "";
     private String prevOpName = "";
 
@@ -141,6 +180,17 @@ public class OpProfiler {
         blasOrderCounter.reset();
 
         orderCounter.reset();
+
+        classLatencies.reset();
+        opLatencies.reset();
+        shapeLatencies.reset();
+
+        synchronized (sharedState) {
+            for (SamplingState state : samplingStates.values())
+                state.reset();
+            sharedState.reset();
+        }
+
         listeners.clear();
     }
 
@@ -308,7 +358,12 @@ public class OpProfiler {
 
     public void timeOpCall(Op op, long startTime) {
         long currentTime = System.nanoTime() - startTime;
-        classAggergator.putTime(getOpClass(op), op, currentTime);
+        String opClass = getOpClass(op);
+        classAggergator.putTime(opClass, op, currentTime);
+
+        classLatencies.putTime(opClass, currentTime);
+        opLatencies.putTime(opClass + " " + op.opName(), currentTime);
+        shapeLatencies.putTime(getShapeKey(op), currentTime);
 
         if (currentTime > THRESHOLD) {
             String keyExt = getOpClass(op) + " " + op.opName() + " (" + op.opNum() + ")";
@@ -316,6 +371,236 @@ public class OpProfiler {
         }
     }
 
+    /**
+     * This method returns key used for shape/order breakdown of op latencies
+     *
+     * @param op
+     * @return
+     */
+    protected String getShapeKey(Op op) {
+        INDArray x = op.x();
+        ShapeKey cacheKey = new ShapeKey(op.opName(), x == null ? null : x.shapeInfoDataBuffer(),
+                        op.y() == null ? NO_ORDER : op.y().ordering(),
+                        op.z() == null || op.z() == x ? NO_ORDER : op.z().ordering());
+        String key = shapeKeys.get(cacheKey);
+        if (key == null) {
+            key = buildShapeKey(op);
+            // shape infos of arrays that are gone would pile up otherwise
+            if (shapeKeys.size() >= 16 * MAX_SHAPE_KEYS)
+                shapeKeys.clear();
+            shapeKeys.put(cacheKey, key);
+        }
+        return key;
+    }
+
+    private static String buildShapeKey(Op op) {
+        StringBuilder builder = new StringBuilder(op.opName()).append(" ");
+        builder.append(op.x() == null ? "[]" : Arrays.toString(op.x().shape())).append(" ");
+        appendOrder(builder, op.x());
+        if (op.y() != null) {
+            builder.append(" x ");
+            appendOrder(builder, op.y());
+        }
+        if (op.z() != null && op.z() != op.x()) {
+            builder.append(" x ");
+            appendOrder(builder, op.z());
+        }
+        return builder.toString();
+    }
+
+    private static void appendOrder(StringBuilder builder, INDArray array) {
+        builder.append(array == null ? "null" : String.valueOf(Character.toUpperCase(array.ordering())));
+    }
+
+    /**
+     * This method returns a snapshot of the op latency distributions gathered so far
+     *
+     * @return
+     */
+    public OpProfilerSnapshot getSnapshot() {
+        return new OpProfilerSnapshot(System.currentTimeMillis(), invocationsCount.get(), classLatencies.snapshot(),
+                        opLatencies.snapshot(), shapeLatencies.snapshot());
+    }
+
+    /**
+     * This method sets sampling rate for {@link org.nd4j.linalg.api.ops.executioner.OpExecutioner.ProfilingMode#SAMPLING}:
+     * 1 out of every samplingRate ops is timed on each thread. Disables time-based sampling.
+     *
+     * @param samplingRate
+     */
+    public void setSamplingRate(int samplingRate) {
+        if (samplingRate < 1)
+            throw new IllegalArgumentException("Sampling rate should be positive, got " + samplingRate);
+        this.samplingRate = samplingRate;
+        this.samplingInterval = 0L;
+    }
+
+    /**
+     * This method enables time-based sampling for {@link org.nd4j.linalg.api.ops.executioner.OpExecutioner.ProfilingMode#SAMPLING}:
+     * at most one op per interval is timed on each thread.
+     *
+     * @param intervalNanos minimal interval between sampled ops, 0 to switch back to rate-based sampling
+     */
+    public void setSamplingInterval(long intervalNanos) {
+        if (intervalNanos < 0)
+            throw new IllegalArgumentException("Sampling interval can't be negative, got " + intervalNanos);
+        this.samplingInterval = intervalNanos;
+    }
+
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    public long getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * This method counts op call in sampling mode, and decides if it should be timed.
+     *
+     * @return start time for sampled op, 0 otherwise
+     */
+    public long sampleOpCall() {
+        SamplingState state = samplingState.get();
+        long calls;
+        if (state.shared) {
+            calls = state.calls.incrementAndGet();
+        } else {
+            // single writer, so ordered store is enough
+            calls = state.calls.get() + 1;
+            state.calls.lazySet(calls);
+        }
+
+        long interval = samplingInterval;
+        if (interval > 0) {
+            long now = System.nanoTime();
+            if (now - state.lastSample < interval)
+                return 0L;
+            state.lastSample = now;
+            return now;
+        }
+
+        return calls % samplingRate == 0 ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * This method records time of op sampled with {@link #sampleOpCall()} into thread-local statistics
+     *
+     * @param op
+     * @param startTime
+     */
+    public void timeSampledOpCall(Op op, long startTime) {
+        long currentTime = System.nanoTime() - startTime;
+        String opClass = getOpClass(op);
+
+        SamplingState state = samplingState.get();
+        state.classLatencies.putTime(opClass, currentTime);
+        state.opLatencies.putTime(opClass + " " + op.opName(), currentTime);
+        state.shapeLatencies.putTime(getShapeKey(op), currentTime);
+    }
+
+    /**
+     * This method merges thread-local statistics gathered in sampling mode, and returns a snapshot of them.
+     * Invocations count covers all ops seen, latencies only the sampled ones.
+     *
+     * @return
+     */
+    public OpProfilerSnapshot getSampledSnapshot() {
+        long calls = 0;
+        LatencyAggregator classes = new LatencyAggregator();
+        LatencyAggregator ops = new LatencyAggregator(MAX_OP_KEYS);
+        LatencyAggregator shapes = new LatencyAggregator(MAX_SHAPE_KEYS);
+        synchronized (sharedState) {
+            purgeSamplingStates();
+            for (SamplingState state : samplingStates.values()) {
+                calls += state.calls.get();
+                state.mergeInto(classes, ops, shapes);
+            }
+            calls += sharedState.calls.get();
+            sharedState.mergeInto(classes, ops, shapes);
+        }
+
+        return new OpProfilerSnapshot(System.currentTimeMillis(), calls, classes.snapshot(), ops.snapshot(),
+                        shapes.snapshot());
+    }
+
+    /**
+     * This method merges states of finished threads into the shared state, so they don't pile up
+     */
+    private void purgeSamplingStates() {
+        synchronized (sharedState) {
+            for (Map.Entry<Thread, SamplingState> entry : samplingStates.entrySet()) {
+                if (!entry.getKey().isAlive() && samplingStates.remove(entry.getKey(), entry.getValue())) {
+                    SamplingState state = entry.getValue();
+                    sharedState.calls.addAndGet(state.calls.get());
+                    state.mergeInto(sharedState.classLatencies, sharedState.opLatencies, sharedState.shapeLatencies);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache key for shape keys, shape info buffers are compared by reference
+     */
+    private static final class ShapeKey {
+        private final String opName;
+        private final DataBuffer shapeInfo;
+        private final char yOrder;
+        private final char zOrder;
+
+        private ShapeKey(String opName, DataBuffer shapeInfo, char yOrder, char zOrder) {
+            this.opName = opName;
+            this.shapeInfo = shapeInfo;
+            this.yOrder = yOrder;
+            this.zOrder = zOrder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ShapeKey))
+                return false;
+            ShapeKey other = (ShapeKey) o;
+            return shapeInfo == other.shapeInfo && yOrder == other.yOrder && zOrder == other.zOrder
+                            && opName.equals(other.opName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = opName.hashCode();
+            result = 31 * result + System.identityHashCode(shapeInfo);
+            result = 31 * result + yOrder;
+            return 31 * result + zOrder;
+        }
+    }
+
+    private static class SamplingState {
+        // shared states are updated by several threads
+        private final boolean shared;
+        private final AtomicLong calls = new AtomicLong(0);
+        private long lastSample = 0L;
+        private final LatencyAggregator classLatencies = new LatencyAggregator();
+        private final LatencyAggregator opLatencies = new LatencyAggregator(MAX_OP_KEYS);
+        private final LatencyAggregator shapeLatencies = new LatencyAggregator(MAX_SHAPE_KEYS);
+
+        private SamplingState(boolean shared) {
+            this.shared = shared;
+        }
+
+        private void reset() {
+            calls.set(0);
+            lastSample = 0L;
+            classLatencies.reset();
+            opLatencies.reset();
+            shapeLatencies.reset();
+        }
+
+        private void mergeInto(LatencyAggregator classes, LatencyAggregator ops, LatencyAggregator shapes) {
+            classLatencies.mergeInto(classes);
+            opLatencies.mergeInto(ops);
+            shapeLatencies.mergeInto(shapes);
+        }
+    }
+
     /**
      * This method tracks blasCalls
      */
@@ -376,6 +661,9 @@ public class OpProfiler {
         log.info("--- Time spent for long Op calls statistics: ---");
         System.out.println(longAggergator.asPercentageString());
         System.out.println();
+        log.info("--- Latency percentiles for Op calls: ---");
+        System.out.println(opLatencies.asString());
+        System.out.println();
         log.info("--- Time spent within methods: ---");
         methodsAggregator.renderTree(true);
         System.out.println();
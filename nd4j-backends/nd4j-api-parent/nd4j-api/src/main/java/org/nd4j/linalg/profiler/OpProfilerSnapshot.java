@@ -0,0 +1,36 @@
+package org.nd4j.linalg.profiler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.nd4j.linalg.profiler.data.LatencySnapshot;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the {@link OpProfiler} latency statistics,
+ * suitable for export to an external metrics system
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OpProfilerSnapshot implements Serializable {
+    /**
+     * Wall clock time the snapshot was taken at, in milliseconds
+     */
+    private final long timestamp;
+    private final long invocationsCount;
+    /**
+     * Latencies per op class, e.g. "TransformOp"
+     */
+    private final Map<String, LatencySnapshot> opClassLatencies;
+    /**
+     * Latencies per op class and op name, e.g. "TransformOp tanh"
+     */
+    private final Map<String, LatencySnapshot> opLatencies;
+    /**
+     * Latencies per op name, shape of X and orders of operands, e.g. "tanh [32, 100] C x C"
+     */
+    private final Map<String, LatencySnapshot> shapeLatencies;
+}
@@ -0,0 +1,101 @@
+package org.nd4j.linalg.profiler.data;
+
+import org.nd4j.linalg.profiler.data.primitives.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keyed latency histograms. Unlike {@link StringAggregator} this doesn't keep individual
+ * timings, so memory stays constant regardless of the number of recorded calls.
+ *
+ * Every histogram takes up to ~15KB, so the number of keys can be capped:
+ * once the cap is reached, values for new keys are recorded under {@link #OTHER_KEY}.
+ */
+public class LatencyAggregator {
+    public static final String OTHER_KEY = "other";
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    public LatencyAggregator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxKeys maximal number of keys, not counting {@link #OTHER_KEY}
+     */
+    public LatencyAggregator(int maxKeys) {
+        if (maxKeys < 1)
+            throw new IllegalArgumentException("Max number of keys should be positive, got " + maxKeys);
+        this.maxKeys = maxKeys;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values())
+            histogram.reset();
+    }
+
+    public void putTime(String key, long timeSpent) {
+        getHistogram(key).record(timeSpent);
+    }
+
+    /**
+     * Add all values recorded by a histogram under the given key
+     */
+    public void merge(String key, LatencyHistogram histogram) {
+        getHistogram(key).merge(histogram);
+    }
+
+    /**
+     * Add all histograms of this aggregator to another one
+     */
+    public void mergeInto(LatencyAggregator target) {
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getCount() > 0)
+                target.merge(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public LatencyHistogram getHistogram(String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            // racing threads may go slightly over the cap, that's fine
+            if (!OTHER_KEY.equals(key) && histograms.size() >= maxKeys + (histograms.containsKey(OTHER_KEY) ? 1 : 0))
+                return getHistogram(OTHER_KEY);
+
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(key, created);
+            if (histogram == null)
+                histogram = created;
+        }
+        return histogram;
+    }
+
+    /**
+     * @return snapshots of all non-empty histograms, sorted by key
+     */
+    public Map<String, LatencySnapshot> snapshot() {
+        Map<String, LatencySnapshot> result = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getCount() > 0)
+                result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public String asString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, LatencySnapshot> entry : snapshot().entrySet()) {
+            LatencySnapshot s = entry.getValue();
+            builder.append(entry.getKey()).append("  >>> ").append(s.getCount()).append(" calls; ").append("p50: ")
+                            .append(s.getP50()).append(" ns; ").append("p95: ").append(s.getP95()).append(" ns; ")
+                            .append("p99: ").append(s.getP99()).append(" ns; ").append("Max: ").append(s.getMax())
+                            .append(" ns; ").append("\n");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package org.nd4j.linalg.profiler.data;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * Immutable summary of a latency distribution, all values in nanoseconds
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class LatencySnapshot implements Serializable {
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+    private final long p999;
+
+    public long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
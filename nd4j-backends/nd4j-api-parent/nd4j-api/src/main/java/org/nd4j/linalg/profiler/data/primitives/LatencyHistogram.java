@@ -0,0 +1,163 @@
+package org.nd4j.linalg.profiler.data.primitives;
+
+import org.nd4j.linalg.profiler.data.LatencySnapshot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram:
+ * values below 64 are counted exactly, larger values go to one of 32 linear sub-buckets
+ * per power of two, which bounds the relative error of reported percentiles by ~3%.
+ *
+ * Recording is a couple of atomic increments, so it can be called from any thread.
+ * Buckets are allocated a power of two at a time on first use, so a histogram only takes
+ * memory for the range of values actually recorded.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int BUCKETS = EXACT_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+    private static final int PAGES = BUCKETS / SUB_BUCKET_COUNT;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong sum = new AtomicLong(0);
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Record a single value, negative values are clamped to 0
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Record the same value several times
+     */
+    public void record(long value, long times) {
+        if (times <= 0)
+            return;
+        if (value < 0)
+            value = 0;
+
+        add(bucketIndex(value), times);
+        count.addAndGet(times);
+        sum.addAndGet(value * times);
+
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value));
+        while (value > (current = max.get()) && !max.compareAndSet(current, value));
+    }
+
+    /**
+     * Add all values recorded by another histogram to this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int p = 0; p < PAGES; p++) {
+            AtomicLongArray page = other.pages.get(p);
+            if (page == null)
+                continue;
+            for (int i = 0; i < SUB_BUCKET_COUNT; i++) {
+                long c = page.get(i);
+                if (c > 0)
+                    add(p * SUB_BUCKET_COUNT + i, c);
+            }
+        }
+        count.addAndGet(other.count.get());
+        sum.addAndGet(other.sum.get());
+
+        long current;
+        long otherMin = other.min.get();
+        while (otherMin < (current = min.get()) && !min.compareAndSet(current, otherMin));
+        long otherMax = other.max.get();
+        while (otherMax > (current = max.get()) && !max.compareAndSet(current, otherMax));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public void reset() {
+        for (int p = 0; p < PAGES; p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page != null)
+                for (int i = 0; i < SUB_BUCKET_COUNT; i++)
+                    page.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Take a consistent-enough copy of the current state. Values recorded concurrently
+     * may or may not be included.
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = get(i);
+            total += copy[i];
+        }
+
+        if (total == 0)
+            return new LatencySnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+
+        long lo = min.get();
+        long hi = max.get();
+        return new LatencySnapshot(total, sum.get(), lo, hi, valueAt(copy, total, 0.50, lo, hi),
+                        valueAt(copy, total, 0.95, lo, hi), valueAt(copy, total, 0.99, lo, hi),
+                        valueAt(copy, total, 0.999, lo, hi));
+    }
+
+    private void add(int index, long times) {
+        int p = index / SUB_BUCKET_COUNT;
+        AtomicLongArray page = pages.get(p);
+        if (page == null) {
+            pages.compareAndSet(p, null, new AtomicLongArray(SUB_BUCKET_COUNT));
+            page = pages.get(p);
+        }
+        page.addAndGet(index % SUB_BUCKET_COUNT, times);
+    }
+
+    private long get(int index) {
+        AtomicLongArray page = pages.get(index / SUB_BUCKET_COUNT);
+        return page == null ? 0 : page.get(index % SUB_BUCKET_COUNT);
+    }
+
+    private static long valueAt(long[] counts, long total, double quantile, long lo, long hi) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.max(lo, Math.min(hi, highestValue(i)));
+        }
+        return hi;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_LIMIT)
+            return (int) value;
+
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int top = (int) (value >>> shift);
+        return EXACT_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + (top - SUB_BUCKET_COUNT);
+    }
+
+    static long highestValue(int index) {
+        if (index < EXACT_LIMIT)
+            return index;
+
+        int shift = (index - EXACT_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long top = (index - EXACT_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+}
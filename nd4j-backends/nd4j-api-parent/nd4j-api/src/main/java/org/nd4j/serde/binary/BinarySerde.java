@@ -10,6 +10,7 @@ import org.nd4j.linalg.compression.CompressedDataBuffer;
 import org.nd4j.linalg.compression.CompressionDescriptor;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.primitives.Pair;
+import org.nd4j.linalg.util.ArrayUtil;
 
 import java.io.*;
 import java.nio.ByteBuffer;
@@ -110,21 +111,55 @@ public class BinarySerde {
      * @return the unsafebuffer representation of this array
      */
     public static ByteBuffer toByteBuffer(INDArray arr) {
-        //subset and get rid of 1 off non 1 element wise stride cases
-        if (arr.isView())
-            arr = arr.dup();
-        if (!arr.isCompressed()) {
-            ByteBuffer b3 = ByteBuffer.allocateDirect(byteBufferSizeFor(arr)).order(ByteOrder.nativeOrder());
-            doByteBufferPutUnCompressed(arr, b3, true);
-            return b3;
-        }
-        //compressed array
-        else {
-            ByteBuffer b3 = ByteBuffer.allocateDirect(byteBufferSizeFor(arr)).order(ByteOrder.nativeOrder());
-            doByteBufferPutCompressed(arr, b3, true);
-            return b3;
-        }
+        ByteBuffer b3 = ByteBuffer.allocateDirect(byteBufferSizeFor(arr)).order(ByteOrder.nativeOrder());
+        toByteBuffer(arr, b3);
+        b3.rewind();
+        return b3;
+    }
+
+    /**
+     * Serialize an ndarray in to a caller supplied buffer,
+     * starting at the buffer's current position.
+     * The buffer is switched to native byte order and its position
+     * is left right after the written array.
+     *
+     * @param arr the array to convert
+     * @param target the buffer to write to, needs at least {@link #byteBufferSizeFor(INDArray)} bytes remaining
+     * @return the target buffer
+     */
+    public static ByteBuffer toByteBuffer(INDArray arr, ByteBuffer target) {
+        int size = byteBufferSizeFor(arr);
+        if (target.remaining() < size)
+            throw new IllegalArgumentException("Buffer has " + target.remaining() + " bytes remaining, " + size
+                            + " bytes are required");
+
+        target.order(ByteOrder.nativeOrder());
+        if (!arr.isCompressed())
+            doByteBufferPutUnCompressed(arr, target, false);
+        else
+            doByteBufferPutCompressed(arr, target, false);
+        return target;
+    }
 
+    /**
+     * Serialize an ndarray in to a buffer taken from the given pool.
+     * The returned buffer has position 0 and its limit set to the serialized size,
+     * hand it back with {@link DirectBufferPool#release(ByteBuffer)} once it was sent or written.
+     *
+     * @param arr the array to convert
+     * @param pool the pool to get the buffer from
+     * @return the pooled buffer holding the array
+     */
+    public static ByteBuffer toByteBuffer(INDArray arr, DirectBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(byteBufferSizeFor(arr));
+        try {
+            toByteBuffer(arr, buffer);
+        } catch (RuntimeException e) {
+            pool.release(buffer);
+            throw e;
+        }
+        buffer.flip();
+        return buffer;
     }
 
     /**
@@ -152,7 +187,10 @@ public class BinarySerde {
      * @return the size of the byte buffer that was allocated
      */
     public static int byteBufferSizeFor(INDArray arr) {
-        if (!arr.isCompressed()) {
+        if (!arr.isCompressed() && arr.isView()) {
+            //views are written compacted: a fresh shape buffer and only the elements of the view
+            return 8 + Shape.shapeInfoLength(arr.rank()) * 4 + (int) arr.length() * arr.data().getElementSize();
+        } else if (!arr.isCompressed()) {
             ByteBuffer buffer = arr.data().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
             ByteBuffer shapeBuffer = arr.shapeInfoDataBuffer().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
             //2 four byte ints at the beginning
@@ -188,6 +226,17 @@ public class BinarySerde {
         Nd4j.getExecutioner().commit();
         Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
 
+        if (arr.isView()) {
+            if (canPutView(arr)) {
+                doByteBufferPutView(arr, allocated);
+                if (rewind)
+                    allocated.rewind();
+                return;
+            }
+            //subset and get rid of 1 off non 1 element wise stride cases
+            arr = arr.dup();
+        }
+
         ByteBuffer buffer = arr.data().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
         ByteBuffer shapeBuffer = arr.shapeInfoDataBuffer().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
         //2 four byte ints at the beginning
@@ -200,6 +249,76 @@ public class BinarySerde {
             allocated.rewind();
     }
 
+    private static boolean canPutView(INDArray arr) {
+        DataBuffer.Type type = arr.data().dataType();
+        return type == DataBuffer.Type.FLOAT || type == DataBuffer.Type.DOUBLE || type == DataBuffer.Type.INT;
+    }
+
+    /**
+     * Write a view as if it was a dense array of the same shape and ordering,
+     * walking its strides instead of copying it first
+     */
+    private static void doByteBufferPutView(INDArray arr, ByteBuffer allocated) {
+        int rank = arr.rank();
+        int[] shape = arr.shape();
+        int[] stride = arr.stride();
+        char order = arr.ordering();
+        int[] denseStride = order == 'f' ? ArrayUtil.calcStridesFortran(shape) : ArrayUtil.calcStrides(shape);
+
+        allocated.putInt(rank);
+        allocated.putInt(arr.data().dataType().ordinal());
+        allocated.putInt(rank);
+        for (int i = 0; i < rank; i++)
+            allocated.putInt(shape[i]);
+        for (int i = 0; i < rank; i++)
+            allocated.putInt(denseStride[i]);
+        //offset, element wise stride and ordering
+        allocated.putInt(0);
+        allocated.putInt(1);
+        allocated.putInt(order);
+
+        if (arr.length() == 0)
+            return;
+
+        DataBuffer data = arr.data();
+        DataBuffer.Type type = data.dataType();
+        //the fastest changing dimension is the last one for c and the first one for f
+        int inner = order == 'f' ? 0 : rank - 1;
+        int innerLength = shape[inner];
+        int innerStride = stride[inner];
+        long outer = arr.length() / innerLength;
+        int[] idx = new int[rank];
+        long base = 0;
+
+        for (long o = 0; o < outer; o++) {
+            long position = base;
+            switch (type) {
+                case DOUBLE:
+                    for (int j = 0; j < innerLength; j++, position += innerStride)
+                        allocated.putDouble(data.getDouble(position));
+                    break;
+                case FLOAT:
+                    for (int j = 0; j < innerLength; j++, position += innerStride)
+                        allocated.putFloat(data.getFloat(position));
+                    break;
+                default:
+                    for (int j = 0; j < innerLength; j++, position += innerStride)
+                        allocated.putInt(data.getInt(position));
+                    break;
+            }
+
+            //advance over the remaining dimensions, odometer style
+            for (int k = 0; k < rank - 1; k++) {
+                int d = order == 'f' ? k + 1 : rank - 2 - k;
+                base += stride[d];
+                if (++idx[d] < shape[d])
+                    break;
+                base -= (long) stride[d] * shape[d];
+                idx[d] = 0;
+            }
+        }
+    }
+
     /**
      * Setup the given byte buffer
      * for serialization (note that this is for compressed INDArrays)
@@ -239,11 +358,13 @@ public class BinarySerde {
      * @param outputStream the output stream to write to
      */
     public static void writeArrayToOutputStream(INDArray arr, OutputStream outputStream) {
-        ByteBuffer buffer = BinarySerde.toByteBuffer(arr);
+        ByteBuffer buffer = BinarySerde.toByteBuffer(arr, DirectBufferPool.getInstance());
         try (WritableByteChannel channel = Channels.newChannel(outputStream)) {
             channel.write(buffer);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            DirectBufferPool.getInstance().release(buffer);
         }
     }
 
@@ -256,10 +377,13 @@ public class BinarySerde {
      * @throws IOException
      */
     public static void writeArrayToDisk(INDArray arr, File toWrite) throws IOException {
+        ByteBuffer buffer = BinarySerde.toByteBuffer(arr, DirectBufferPool.getInstance());
         try (FileOutputStream os = new FileOutputStream(toWrite)) {
             FileChannel channel = os.getChannel();
-            ByteBuffer buffer = BinarySerde.toByteBuffer(arr);
-            channel.write(buffer);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        } finally {
+            DirectBufferPool.getInstance().release(buffer);
         }
     }
 
@@ -0,0 +1,408 @@
+package org.nd4j.serde.binary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * On disk format for (very) large arrays, written and read
+ * in parallel with positional {@link FileChannel} reads and writes.
+ *
+ * Unlike {@link Nd4j#saveBinary(INDArray, File)} and {@link BinarySerde#writeArrayToDisk(INDArray, File)}
+ * no part of the array has to fit in to a single int sized buffer, so arrays larger than 2GB are supported.
+ *
+ * Layout (header in big endian):
+ * <pre>
+ * magic (int), version (int)
+ * little endian data (byte), data type ordinal (int), rank (int), shape (long per dimension)
+ * chunk size in bytes (long), number of chunks (int), crc32 of every chunk (long per chunk)
+ * padding up to the data offset, a multiple of 64
+ * data: the elements in c order, in the byte order given above
+ * </pre>
+ * The data is split in to chunks of (at most) the chunk size, each of which is written, read
+ * and checksummed independently. Since the data is in c order, a range of rows (along the
+ * first dimension) is a contiguous range of the file, see {@link #readRows(File, int, int)}.
+ */
+public class ChunkedArrayFile {
+    public static final int MAGIC = 0x4E44344A;
+    public static final int VERSION = 1;
+    public static final long DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private static final int DATA_ALIGNMENT = 64;
+    private static final int COPY_SIZE = 64 * 1024;
+
+    private ChunkedArrayFile() {}
+
+    /**
+     * Header of a chunked array file
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Header {
+        private final boolean littleEndian;
+        private final DataBuffer.Type dataType;
+        private final int[] shape;
+        private final long chunkSize;
+        private final long[] checksums;
+
+        public int elementSize() {
+            switch (dataType) {
+                case DOUBLE:
+                    return 8;
+                case HALF:
+                    return 2;
+                default:
+                    return 4;
+            }
+        }
+
+        public long length() {
+            return ArrayUtil.prodLong(shape);
+        }
+
+        public long dataBytes() {
+            return length() * elementSize();
+        }
+
+        public int numChunks() {
+            return checksums.length;
+        }
+
+        /**
+         * Position of the data in the file
+         */
+        public long dataOffset() {
+            long size = 4 + 4 + 1 + 4 + 4 + 8L * shape.length + 8 + 4 + 8L * checksums.length;
+            return (size + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT * DATA_ALIGNMENT;
+        }
+
+        private ByteBuffer toByteBuffer() {
+            ByteBuffer ret = ByteBuffer.allocate((int) dataOffset());
+            ret.putInt(MAGIC);
+            ret.putInt(VERSION);
+            ret.put((byte) (littleEndian ? 1 : 0));
+            ret.putInt(dataType.ordinal());
+            ret.putInt(shape.length);
+            for (int size : shape)
+                ret.putLong(size);
+            ret.putLong(chunkSize);
+            ret.putInt(checksums.length);
+            for (long checksum : checksums)
+                ret.putLong(checksum);
+            ret.rewind();
+            return ret;
+        }
+
+        private static Header read(FileChannel channel) throws IOException {
+            ByteBuffer fixed = readFully(channel, 0, 4 + 4 + 1 + 4 + 4);
+            if (fixed.getInt() != MAGIC)
+                throw new ND4JIllegalStateException("Not a chunked array file");
+            int version = fixed.getInt();
+            if (version != VERSION)
+                throw new ND4JIllegalStateException("Unsupported chunked array file version " + version);
+            boolean littleEndian = fixed.get() == 1;
+            DataBuffer.Type dataType = DataBuffer.Type.values()[fixed.getInt()];
+            int rank = fixed.getInt();
+
+            ByteBuffer shapeAndChunks = readFully(channel, fixed.capacity(), 8 * rank + 8 + 4);
+            int[] shape = new int[rank];
+            for (int i = 0; i < rank; i++)
+                shape[i] = (int) shapeAndChunks.getLong();
+            long chunkSize = shapeAndChunks.getLong();
+            int numChunks = shapeAndChunks.getInt();
+
+            ByteBuffer checksumBuffer = readFully(channel, fixed.capacity() + shapeAndChunks.capacity(), 8 * numChunks);
+            long[] checksums = new long[numChunks];
+            for (int i = 0; i < numChunks; i++)
+                checksums[i] = checksumBuffer.getLong();
+            return new Header(littleEndian, dataType, shape, chunkSize, checksums);
+        }
+    }
+
+    /**
+     * Write an array with the default chunk size, using one thread per core
+     * @param arr the array to write
+     * @param file the file to write to
+     */
+    public static void write(INDArray arr, File file) throws IOException {
+        write(arr, file, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Write an array
+     * @param arr the array to write
+     * @param file the file to write to
+     * @param chunkSize the size of a chunk in bytes, at most {@link Integer#MAX_VALUE}
+     * @param numThreads the number of threads writing chunks
+     */
+    public static void write(INDArray arr, File file, long chunkSize, int numThreads) throws IOException {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(
+                            "Chunk size must be in (0, " + Integer.MAX_VALUE + "], got " + chunkSize);
+        if (arr.isCompressed())
+            arr = Nd4j.getCompressor().decompress(arr);
+        if (arr.isView() || arr.ordering() != 'c' || arr.data().offset() != 0 || arr.data().length() != arr.length())
+            arr = arr.dup('c');
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+
+        final DataBuffer data = arr.data();
+        long dataBytes = arr.length() * data.getElementSize();
+        int numChunks = (int) ((dataBytes + chunkSize - 1) / chunkSize);
+        final long[] checksums = new long[numChunks];
+        Header header = new Header(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN, data.dataType(), arr.shape(),
+                        chunkSize, checksums);
+        final long dataOffset = header.dataOffset();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(dataOffset + dataBytes);
+            final FileChannel channel = raf.getChannel();
+            final Pointer base = data.addressPointer();
+
+            List<Callable<Void>> tasks = new ArrayList<>(numChunks);
+            for (int i = 0; i < numChunks; i++) {
+                final int chunk = i;
+                final long start = i * chunkSize;
+                final int size = (int) Math.min(chunkSize, dataBytes - start);
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        ByteBuffer region = region(base, start, size);
+                        checksums[chunk] = checksum(region.duplicate());
+                        writeFully(channel, region, dataOffset + start);
+                        return null;
+                    }
+                });
+            }
+            invokeAll(tasks, numThreads);
+
+            //the checksums are only known once all chunks were written
+            writeFully(channel, header.toByteBuffer(), 0);
+        }
+    }
+
+    /**
+     * Read the header of a chunked array file
+     * @param file the file to read
+     * @return the header
+     */
+    public static Header readHeader(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return Header.read(raf.getChannel());
+        }
+    }
+
+    /**
+     * Read a whole array using one thread per core, verifying every chunk
+     * @param file the file to read
+     * @return the array, in c order
+     */
+    public static INDArray read(File file) throws IOException {
+        return read(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Read a whole array, verifying every chunk
+     * @param file the file to read
+     * @param numThreads the number of threads reading chunks
+     * @return the array, in c order
+     */
+    public static INDArray read(File file, int numThreads) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            Header header = Header.read(raf.getChannel());
+            return read(raf.getChannel(), header, header.getShape(), 0, header.dataBytes(), numThreads);
+        }
+    }
+
+    /**
+     * Read a range of rows (along the first dimension) of an array using one thread per core.
+     * Only the chunks completely inside the range are verified.
+     * @param file the file to read
+     * @param fromRow the first row to read
+     * @param toRow the row after the last row to read
+     * @return the rows, in c order
+     */
+    public static INDArray readRows(File file, int fromRow, int toRow) throws IOException {
+        return readRows(file, fromRow, toRow, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Read a range of rows (along the first dimension) of an array.
+     * Only the chunks completely inside the range are verified.
+     * @param file the file to read
+     * @param fromRow the first row to read
+     * @param toRow the row after the last row to read
+     * @param numThreads the number of threads reading chunks
+     * @return the rows, in c order
+     */
+    public static INDArray readRows(File file, int fromRow, int toRow, int numThreads) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            Header header = Header.read(raf.getChannel());
+            int[] shape = header.getShape();
+            if (shape.length == 0 || fromRow < 0 || toRow > shape[0] || fromRow >= toRow)
+                throw new IllegalArgumentException("Illegal row range [" + fromRow + ", " + toRow + ") for shape "
+                                + Arrays.toString(shape));
+
+            long rowBytes = header.dataBytes() / shape[0];
+            int[] rowsShape = shape.clone();
+            rowsShape[0] = toRow - fromRow;
+            return read(raf.getChannel(), header, rowsShape, fromRow * rowBytes, toRow * rowBytes, numThreads);
+        }
+    }
+
+    /**
+     * Read the bytes [from, to) of the data in to a new array
+     */
+    private static INDArray read(final FileChannel channel, final Header header, int[] shape, final long from,
+                    long to, int numThreads) throws IOException {
+        final DataBuffer data = allocate(header.getDataType(), ArrayUtil.prodLong(shape));
+        final Pointer base = data.addressPointer();
+        final long dataOffset = header.dataOffset();
+        long chunkSize = header.getChunkSize();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long start = from; start < to;) {
+            final int chunk = (int) (start / chunkSize);
+            long chunkStart = chunk * chunkSize;
+            long chunkEnd = Math.min(chunkStart + chunkSize, header.dataBytes());
+            final long readStart = start;
+            final int size = (int) (Math.min(chunkEnd, to) - start);
+            final boolean wholeChunk = readStart == chunkStart && readStart + size == chunkEnd;
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    ByteBuffer region = region(base, readStart - from, size);
+                    readFully(channel, region.duplicate(), dataOffset + readStart);
+                    if (wholeChunk && checksum(region) != header.getChecksums()[chunk])
+                        throw new ND4JIllegalStateException("Checksum mismatch in chunk " + chunk);
+                    return null;
+                }
+            });
+            start += size;
+        }
+        invokeAll(tasks, numThreads);
+
+        if (header.isLittleEndian() != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN))
+            swapBytes(data);
+        Nd4j.getAffinityManager().tagLocation(data, AffinityManager.Location.HOST);
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, 'c'), 0, 'c');
+    }
+
+    static DataBuffer allocate(DataBuffer.Type type, long length) {
+        switch (type) {
+            case DOUBLE:
+                return Nd4j.getDataBufferFactory().createDouble(length, false);
+            case FLOAT:
+                return Nd4j.getDataBufferFactory().createFloat(length, false);
+            case HALF:
+                return Nd4j.getDataBufferFactory().createHalf(length, false);
+            case INT:
+                return Nd4j.getDataBufferFactory().createInt(length, false);
+            default:
+                throw new ND4JIllegalStateException("Unsupported data type " + type);
+        }
+    }
+
+    /**
+     * A direct buffer over size bytes of native memory, starting offset bytes after the given pointer
+     */
+    static ByteBuffer region(Pointer base, long offset, int size) {
+        BytePointer pointer = new BytePointer(base);
+        pointer.capacity(offset + size);
+        return pointer.position(offset).limit(offset + size).asByteBuffer();
+    }
+
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        byte[] copy = new byte[Math.min(COPY_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int n = Math.min(copy.length, buffer.remaining());
+            buffer.get(copy, 0, n);
+            crc.update(copy, 0, n);
+        }
+        return crc.getValue();
+    }
+
+    private static void swapBytes(DataBuffer data) {
+        DataBuffer.Type type = data.dataType();
+        if (type == DataBuffer.Type.HALF)
+            throw new ND4JIllegalStateException("Unable to read half precision data written with another byte order");
+
+        for (long i = 0; i < data.length(); i++) {
+            if (type == DataBuffer.Type.DOUBLE) {
+                long bits = Long.reverseBytes(Double.doubleToRawLongBits(data.getDouble(i)));
+                data.put(i, Double.longBitsToDouble(bits));
+            } else if (type == DataBuffer.Type.FLOAT) {
+                int bits = Integer.reverseBytes(Float.floatToRawIntBits(data.getFloat(i)));
+                data.put(i, Float.intBitsToFloat(bits));
+            } else {
+                data.put(i, Integer.reverseBytes(data.getInt(i)));
+            }
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer ret = ByteBuffer.allocate(size);
+        readFully(channel, ret, position);
+        ret.flip();
+        return ret;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                throw new ND4JIllegalStateException("Unexpected end of chunked array file");
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+    }
+
+    private static void invokeAll(List<Callable<Void>> tasks, int numThreads) throws IOException {
+        if (tasks.isEmpty())
+            return;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(numThreads, tasks.size())));
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks))
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.nd4j.serde.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct byte buffers, split in power of 2 size classes.
+ *
+ * Buffers handed out by {@link #acquire(int)} should be given back with {@link #release(ByteBuffer)}
+ * once the caller is done with them. Buffers that are never released are simply garbage collected,
+ * so leaking one isn't fatal, it just defeats the pooling.
+ *
+ * Requests larger than the largest size class are served with plain (unpooled) allocations.
+ *
+ * Besides the number of buffers per class, the total capacity of the idle buffers is bounded:
+ * released buffers that would exceed it are dropped. The shared instance keeps up to
+ * {@link #DEFAULT_RETAINED_CLASSES} times the largest class size, override it in bytes
+ * with the {@value #MAX_RETAINED_BYTES} system property.
+ */
+public class DirectBufferPool {
+    public static final int DEFAULT_MAX_BUFFERS_PER_CLASS = 16;
+    public static final int DEFAULT_MAX_POOLED_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_RETAINED_CLASSES = 4;
+    public static final String MAX_RETAINED_BYTES = "org.nd4j.serde.pool.maxretainedbytes";
+
+    private static final int MIN_CLASS_BITS = 6;
+    private static final DirectBufferPool INSTANCE = new DirectBufferPool(DEFAULT_MAX_BUFFERS_PER_CLASS,
+                    DEFAULT_MAX_POOLED_SIZE, Long.parseLong(System.getProperty(MAX_RETAINED_BYTES,
+                                    String.valueOf((long) DEFAULT_RETAINED_CLASSES * DEFAULT_MAX_POOLED_SIZE))));
+
+    private final int maxBuffersPerClass;
+    private final int maxClassBits;
+    private final long maxRetainedBytes;
+    private final Queue<ByteBuffer>[] pools;
+    private final AtomicInteger[] pooled;
+    private final AtomicLong retainedBytes = new AtomicLong(0);
+
+    public DirectBufferPool() {
+        this(DEFAULT_MAX_BUFFERS_PER_CLASS, DEFAULT_MAX_POOLED_SIZE);
+    }
+
+    /**
+     * Pool keeping up to {@link #DEFAULT_RETAINED_CLASSES} times the largest class size in idle buffers
+     *
+     * @param maxBuffersPerClass the number of idle buffers kept for each size class
+     * @param maxPooledSize      the largest buffer size worth pooling, rounded up to a power of 2
+     */
+    public DirectBufferPool(int maxBuffersPerClass, int maxPooledSize) {
+        this(maxBuffersPerClass, maxPooledSize, -1);
+    }
+
+    /**
+     * @param maxBuffersPerClass the number of idle buffers kept for each size class
+     * @param maxPooledSize      the largest buffer size worth pooling, rounded up to a power of 2
+     * @param maxRetainedBytes   the total capacity of the idle buffers kept,
+     *                           negative for {@link #DEFAULT_RETAINED_CLASSES} times the largest class size
+     */
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(int maxBuffersPerClass, int maxPooledSize, long maxRetainedBytes) {
+        if (maxBuffersPerClass < 0)
+            throw new IllegalArgumentException("Number of buffers per class must not be negative");
+        if (maxPooledSize < 1 || maxPooledSize > (1 << 30))
+            throw new IllegalArgumentException("Max pooled size must be in [1, 2^30]");
+
+        this.maxBuffersPerClass = maxBuffersPerClass;
+        this.maxClassBits = Math.max(MIN_CLASS_BITS, classBits(maxPooledSize));
+        this.maxRetainedBytes = maxRetainedBytes < 0 ? (long) DEFAULT_RETAINED_CLASSES << maxClassBits
+                        : maxRetainedBytes;
+        int numClasses = maxClassBits - MIN_CLASS_BITS + 1;
+        this.pools = new Queue[numClasses];
+        this.pooled = new AtomicInteger[numClasses];
+        for (int i = 0; i < numClasses; i++) {
+            pools[i] = new ConcurrentLinkedQueue<>();
+            pooled[i] = new AtomicInteger(0);
+        }
+    }
+
+    /**
+     * @return the shared pool used by {@link BinarySerde}
+     */
+    public static DirectBufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a cleared, native ordered direct buffer with position 0 and limit {@code size}.
+     * Its capacity may be larger than requested.
+     *
+     * @param size the number of bytes needed
+     * @return the buffer
+     */
+    public ByteBuffer acquire(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("Size must not be negative");
+
+        int bits = Math.max(MIN_CLASS_BITS, classBits(size));
+        ByteBuffer buffer = null;
+        if (bits <= maxClassBits) {
+            int idx = bits - MIN_CLASS_BITS;
+            buffer = pools[idx].poll();
+            if (buffer != null) {
+                pooled[idx].decrementAndGet();
+                retainedBytes.addAndGet(-buffer.capacity());
+            } else
+                buffer = ByteBuffer.allocateDirect(1 << bits);
+        } else {
+            buffer = ByteBuffer.allocateDirect(size);
+        }
+
+        buffer.clear();
+        buffer.limit(size);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Give a buffer back to the pool. Buffers that weren't obtained from
+     * {@link #acquire(int)}, or that don't fit any size class, are ignored.
+     * So are buffers that would take the pool over its retained bytes budget.
+     * The buffer must not be used after it was released.
+     *
+     * @param buffer the buffer to release
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.isReadOnly())
+            return;
+
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1)
+            return;
+
+        int bits = classBits(capacity);
+        if (bits < MIN_CLASS_BITS || bits > maxClassBits)
+            return;
+
+        int idx = bits - MIN_CLASS_BITS;
+        if (pooled[idx].incrementAndGet() > maxBuffersPerClass) {
+            pooled[idx].decrementAndGet();
+            return;
+        }
+        if (retainedBytes.addAndGet(capacity) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-capacity);
+            pooled[idx].decrementAndGet();
+            return;
+        }
+        pools[idx].offer(buffer);
+    }
+
+    /**
+     * @return the number of idle buffers held by this pool
+     */
+    public int size() {
+        int size = 0;
+        for (AtomicInteger count : pooled)
+            size += count.get();
+        return size;
+    }
+
+    /**
+     * @return the total capacity of the idle buffers held by this pool
+     */
+    public long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * @return the maximum total capacity of the idle buffers held by this pool
+     */
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * Drop all idle buffers
+     */
+    public void clear() {
+        for (int i = 0; i < pools.length; i++) {
+            ByteBuffer buffer;
+            while ((buffer = pools[i].poll()) != null) {
+                pooled[i].decrementAndGet();
+                retainedBytes.addAndGet(-buffer.capacity());
+            }
+        }
+    }
+
+    private static int classBits(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
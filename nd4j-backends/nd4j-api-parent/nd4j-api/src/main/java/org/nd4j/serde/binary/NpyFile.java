@@ -0,0 +1,430 @@
+package org.nd4j.serde.binary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.javacpp.Pointer;
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.FloatIndexer;
+import org.bytedeco.javacpp.indexer.Indexer;
+import org.bytedeco.javacpp.indexer.IntIndexer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pure java reader and writer for the numpy .npy format
+ * (see numpy.lib.format), without going through native code.
+ *
+ * Supported element types are float32, float64, int32 and int64 in either byte order.
+ * Arrays are always written little endian, in c or f order. Since there are no long
+ * buffers, int64 data is read as doubles. Numpy arrays of rank 0 and 1 become row vectors.
+ *
+ * Data is copied in small chunks, so neither reading nor writing needs a
+ * second copy of the array on the heap. See {@link NpzWriter} and {@link NpzReader}
+ * for .npz archives.
+ */
+public class NpyFile {
+    public static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+
+    private static final int HEADER_ALIGNMENT = 64;
+    private static final int COPY_SIZE = 64 * 1024;
+    private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+    private static final Pattern DESCR = Pattern.compile("'descr'\\s*:\\s*'([<>|=])([a-z])(\\d+)'");
+    private static final Pattern FORTRAN_ORDER = Pattern.compile("'fortran_order'\\s*:\\s*(True|False)");
+    private static final Pattern SHAPE = Pattern.compile("'shape'\\s*:\\s*\\(([^)]*)\\)");
+
+    private NpyFile() {}
+
+    /**
+     * Header of a .npy file
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Header {
+        private final boolean littleEndian;
+        /** the numpy kind of the elements, 'f' or 'i' */
+        private final char kind;
+        private final int elementSize;
+        private final boolean fortranOrder;
+        /** the numpy shape, possibly of rank 0 or 1 */
+        private final int[] shape;
+        private final long dataOffset;
+
+        /**
+         * @return the type of the buffer the data is read in to
+         */
+        public DataBuffer.Type dataType() {
+            if (kind == 'i')
+                return elementSize == 4 ? DataBuffer.Type.INT : DataBuffer.Type.DOUBLE;
+            return elementSize == 8 ? DataBuffer.Type.DOUBLE : DataBuffer.Type.FLOAT;
+        }
+
+        public long length() {
+            return ArrayUtil.prodLong(shape);
+        }
+
+        public char order() {
+            return fortranOrder ? 'f' : 'c';
+        }
+
+        /**
+         * @return whether the data can be used as is, without converting elements or swapping bytes
+         */
+        public boolean isNative() {
+            boolean sameType = kind != 'i' || elementSize == 4;
+            return sameType && littleEndian == (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * @return the shape of the array the data is read in to
+         */
+        public int[] arrayShape() {
+            if (shape.length == 0)
+                return new int[] {1, 1};
+            if (shape.length == 1)
+                return new int[] {1, shape[0]};
+            return shape;
+        }
+    }
+
+    /**
+     * Write an array in its own ordering and data type
+     * (half precision arrays are written as float32)
+     * @param arr the array to write
+     * @param file the file to write to
+     */
+    public static void write(INDArray arr, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), COPY_SIZE)) {
+            write(arr, out);
+        }
+    }
+
+    /**
+     * Write an array in its own ordering and data type
+     * (half precision arrays are written as float32).
+     * The stream is not closed.
+     * @param arr the array to write
+     * @param out the stream to write to
+     */
+    public static void write(INDArray arr, OutputStream out) throws IOException {
+        DataBuffer.Type type = arr.data().dataType();
+        write(arr, out, arr.ordering(), type == DataBuffer.Type.HALF ? DataBuffer.Type.FLOAT : type);
+    }
+
+    /**
+     * Write an array. The stream is not closed.
+     * @param arr the array to write
+     * @param out the stream to write to
+     * @param order the order to write the data in, 'c' or 'f'
+     * @param type the element type in the file: FLOAT, DOUBLE, INT or LONG
+     */
+    public static void write(INDArray arr, OutputStream out, char order, DataBuffer.Type type) throws IOException {
+        if (order != 'c' && order != 'f')
+            throw new IllegalArgumentException("Order must be 'c' or 'f', got " + order);
+        String descr = descr(type);
+
+        if (arr.isCompressed())
+            arr = Nd4j.getCompressor().decompress(arr);
+        if (arr.isView() || arr.ordering() != order || arr.data().offset() != 0
+                        || arr.data().length() != arr.length())
+            arr = arr.dup(order);
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+
+        out.write(header(descr, order == 'f', arr.shape()));
+
+        DataBuffer data = arr.data();
+        long length = arr.length();
+        int elementSize = elementSize(type);
+        byte[] chunk = new byte[COPY_SIZE];
+        if (data.dataType() == type && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+            long bytes = length * elementSize;
+            Pointer base = data.addressPointer();
+            for (long pos = 0; pos < bytes; pos += COPY_SIZE) {
+                int n = (int) Math.min(COPY_SIZE, bytes - pos);
+                ChunkedArrayFile.region(base, pos, n).get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < length; i++) {
+                if (!buffer.hasRemaining()) {
+                    out.write(chunk);
+                    buffer.clear();
+                }
+                switch (type) {
+                    case DOUBLE:
+                        buffer.putDouble(data.getDouble(i));
+                        break;
+                    case FLOAT:
+                        buffer.putFloat(data.getFloat(i));
+                        break;
+                    case INT:
+                        buffer.putInt((int) data.getDouble(i));
+                        break;
+                    default:
+                        buffer.putLong((long) data.getDouble(i));
+                        break;
+                }
+            }
+            out.write(chunk, 0, buffer.position());
+        }
+    }
+
+    /**
+     * Read the header of a .npy file
+     * @param file the file to read
+     */
+    public static Header readHeader(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return readHeader(in);
+        }
+    }
+
+    /**
+     * Read the header of a .npy file, leaving the stream at the start of the data
+     * @param in the stream to read from
+     */
+    public static Header readHeader(InputStream in) throws IOException {
+        byte[] prefix = new byte[MAGIC.length + 2];
+        readFully(in, prefix, prefix.length);
+        if (!Arrays.equals(Arrays.copyOf(prefix, MAGIC.length), MAGIC))
+            throw new ND4JIllegalStateException("Not a .npy file: wrong magic string");
+        int majorVersion = prefix[MAGIC.length];
+        if (majorVersion < 1 || majorVersion > 3)
+            throw new ND4JIllegalStateException("Unsupported .npy version " + majorVersion);
+
+        byte[] lengthBytes = new byte[majorVersion == 1 ? 2 : 4];
+        readFully(in, lengthBytes, lengthBytes.length);
+        ByteBuffer lengthBuffer = ByteBuffer.wrap(lengthBytes).order(ByteOrder.LITTLE_ENDIAN);
+        int headerLength = majorVersion == 1 ? lengthBuffer.getShort() & 0xFFFF : lengthBuffer.getInt();
+        byte[] headerBytes = new byte[headerLength];
+        readFully(in, headerBytes, headerLength);
+        String header = new String(headerBytes, LATIN1);
+
+        Matcher descr = DESCR.matcher(header);
+        Matcher fortranOrder = FORTRAN_ORDER.matcher(header);
+        Matcher shape = SHAPE.matcher(header);
+        if (!descr.find() || !fortranOrder.find() || !shape.find())
+            throw new ND4JIllegalStateException("Unable to parse .npy header " + header.trim());
+
+        char byteOrder = descr.group(1).charAt(0);
+        char kind = descr.group(2).charAt(0);
+        int elementSize = Integer.parseInt(descr.group(3));
+        if ((kind != 'f' && kind != 'i') || (elementSize != 4 && elementSize != 8))
+            throw new ND4JIllegalStateException("Unsupported .npy data type " + descr.group());
+        boolean littleEndian = byteOrder == '<'
+                        || (byteOrder == '=' && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+
+        String[] dims = shape.group(1).split(",");
+        int rank = 0;
+        int[] parsedShape = new int[dims.length];
+        for (String dim : dims) {
+            if (!dim.trim().isEmpty())
+                parsedShape[rank++] = Integer.parseInt(dim.trim());
+        }
+
+        return new Header(littleEndian, kind, elementSize, fortranOrder.group(1).equals("True"),
+                        Arrays.copyOf(parsedShape, rank), prefix.length + lengthBytes.length + headerLength);
+    }
+
+    /**
+     * Read a .npy file
+     * @param file the file to read
+     */
+    public static INDArray read(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), COPY_SIZE)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Read a .npy file from a stream. Only the bytes of the file are consumed
+     * and the stream is not closed, so files can be read back to back.
+     * @param in the stream to read from
+     */
+    public static INDArray read(InputStream in) throws IOException {
+        Header header = readHeader(in);
+        long length = header.length();
+        int elementSize = header.getElementSize();
+        DataBuffer data = ChunkedArrayFile.allocate(header.dataType(), length);
+
+        long bytes = length * elementSize;
+        byte[] chunk = new byte[COPY_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(chunk)
+                        .order(header.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        Pointer base = data.addressPointer();
+        long index = 0;
+        for (long pos = 0; pos < bytes; pos += COPY_SIZE) {
+            int n = (int) Math.min(COPY_SIZE, bytes - pos);
+            readFully(in, chunk, n);
+            if (header.isNative()) {
+                ChunkedArrayFile.region(base, pos, n).put(chunk, 0, n);
+                continue;
+            }
+
+            view.clear();
+            view.limit(n);
+            while (view.hasRemaining()) {
+                if (header.getKind() == 'i')
+                    data.put(index++, elementSize == 4 ? view.getInt() : (double) view.getLong());
+                else if (elementSize == 4)
+                    data.put(index++, view.getFloat());
+                else
+                    data.put(index++, view.getDouble());
+            }
+        }
+        Nd4j.getAffinityManager().tagLocation(data, AffinityManager.Location.HOST);
+
+        int[] shape = header.arrayShape();
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, header.order()), 0, header.order());
+    }
+
+    /**
+     * Memory map the data of a .npy file, without copying it.
+     *
+     * The mapping is private: changes to the returned array are never written back
+     * to the file, though the file has to be writable. Only files with float32, float64
+     * or int32 data in the native byte order and at most 2GB of data can be mapped,
+     * use {@link #read(File)} for anything else.
+     * @param file the file to map
+     * @return an array backed by the mapped file, which stays mapped as long as the array is reachable
+     */
+    public static INDArray map(File file) throws IOException {
+        Header header = readHeader(file);
+        if (!header.isNative())
+            throw new ND4JIllegalStateException("Unable to map .npy data that has to be converted: " + file);
+        long length = header.length();
+        long bytes = length * header.getElementSize();
+        if (bytes > Integer.MAX_VALUE)
+            throw new ND4JIllegalStateException("Unable to map more than 2GB of .npy data: " + file);
+
+        final MappedByteBuffer mapped;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            mapped = raf.getChannel().map(FileChannel.MapMode.PRIVATE, header.getDataOffset(), bytes);
+        }
+        mapped.order(ByteOrder.nativeOrder());
+
+        //the pointers hold on to the mapping, so it isn't unmapped while the buffer is in use
+        DataBuffer.Type type = header.dataType();
+        Pointer pointer;
+        Indexer indexer;
+        switch (type) {
+            case DOUBLE:
+                pointer = new DoublePointer(mapped.asDoubleBuffer()) {
+                    private final ByteBuffer mapping = mapped;
+                };
+                indexer = DoubleIndexer.create((DoublePointer) pointer);
+                break;
+            case FLOAT:
+                pointer = new FloatPointer(mapped.asFloatBuffer()) {
+                    private final ByteBuffer mapping = mapped;
+                };
+                indexer = FloatIndexer.create((FloatPointer) pointer);
+                break;
+            default:
+                pointer = new IntPointer(mapped.asIntBuffer()) {
+                    private final ByteBuffer mapping = mapped;
+                };
+                indexer = IntIndexer.create((IntPointer) pointer);
+                break;
+        }
+        DataBuffer data = Nd4j.createBuffer(pointer, type, length, indexer);
+        Nd4j.getAffinityManager().tagLocation(data, AffinityManager.Location.HOST);
+
+        int[] shape = header.arrayShape();
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, header.order()), 0, header.order());
+    }
+
+    /**
+     * The header of a .npy file, padded so the data starts at a multiple of 64 bytes
+     */
+    private static byte[] header(String descr, boolean fortranOrder, int[] shape) {
+        StringBuilder dict = new StringBuilder();
+        dict.append("{'descr': '").append(descr).append("', 'fortran_order': ")
+                        .append(fortranOrder ? "True" : "False").append(", 'shape': (");
+        for (int i = 0; i < shape.length; i++) {
+            if (i > 0)
+                dict.append(", ");
+            dict.append(shape[i]);
+        }
+        dict.append(shape.length == 1 ? ",), }" : "), }");
+
+        int majorVersion = 1;
+        int prefixLength = MAGIC.length + 2 + 2;
+        if (prefixLength + dict.length() + 1 + HEADER_ALIGNMENT > 0xFFFF) {
+            majorVersion = 2;
+            prefixLength += 2;
+        }
+        int padding = (HEADER_ALIGNMENT - (prefixLength + dict.length() + 1) % HEADER_ALIGNMENT) % HEADER_ALIGNMENT;
+        for (int i = 0; i < padding; i++)
+            dict.append(' ');
+        dict.append('\n');
+
+        byte[] text = dict.toString().getBytes(LATIN1);
+        ByteBuffer ret = ByteBuffer.allocate(prefixLength + text.length).order(ByteOrder.LITTLE_ENDIAN);
+        ret.put(MAGIC);
+        ret.put((byte) majorVersion);
+        ret.put((byte) 0);
+        if (majorVersion == 1)
+            ret.putShort((short) text.length);
+        else
+            ret.putInt(text.length);
+        ret.put(text);
+        return ret.array();
+    }
+
+    private static String descr(DataBuffer.Type type) {
+        switch (type) {
+            case DOUBLE:
+                return "<f8";
+            case FLOAT:
+                return "<f4";
+            case INT:
+                return "<i4";
+            case LONG:
+                return "<i8";
+            default:
+                throw new IllegalArgumentException("Unable to write " + type + " data as .npy");
+        }
+    }
+
+    private static int elementSize(DataBuffer.Type type) {
+        return type == DataBuffer.Type.DOUBLE || type == DataBuffer.Type.LONG ? 8 : 4;
+    }
+
+    private static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(buffer, read, length - read);
+            if (n < 0)
+                throw new EOFException("Unexpected end of .npy data");
+            read += n;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.nd4j.serde.binary;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.primitives.Pair;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streams the arrays of a numpy .npz archive, one entry at a time,
+ * so only the array being returned is held in memory.
+ * Entries that aren't .npy files are skipped.
+ *
+ * For random access to single arrays of an archive on disk see {@link #read(File, String)}.
+ */
+public class NpzReader implements Iterator<Pair<String, INDArray>>, Closeable {
+    private static final String EXTENSION = ".npy";
+
+    private final ZipInputStream zip;
+    private ZipEntry next;
+    private boolean done = false;
+
+    public NpzReader(File file) throws IOException {
+        this(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+    }
+
+    /**
+     * @param in the stream to read the archive from, closed with this reader
+     */
+    public NpzReader(InputStream in) {
+        this.zip = new ZipInputStream(in);
+    }
+
+    /**
+     * Read a single array of an archive
+     * @param file the archive
+     * @param name the name of the array, without the .npy extension
+     * @return the array
+     */
+    public static INDArray read(File file, String name) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipEntry entry = zipFile.getEntry(name + EXTENSION);
+            if (entry == null)
+                throw new ND4JIllegalStateException("No array named " + name + " in " + file);
+            try (InputStream in = new BufferedInputStream(zipFile.getInputStream(entry), 64 * 1024)) {
+                return NpyFile.read(in);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                do {
+                    next = zip.getNextEntry();
+                } while (next != null && (next.isDirectory() || !next.getName().endsWith(EXTENSION)));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    /**
+     * @return the name (without the .npy extension) and array of the next entry
+     */
+    @Override
+    public Pair<String, INDArray> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        String name = next.getName();
+        next = null;
+        try {
+            return new Pair<>(name.substring(0, name.length() - EXTENSION.length()), NpyFile.read(zip));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
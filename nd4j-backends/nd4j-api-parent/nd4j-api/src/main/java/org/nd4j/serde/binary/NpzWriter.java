@@ -0,0 +1,57 @@
+package org.nd4j.serde.binary;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes arrays to a numpy .npz archive, one .npy entry per array,
+ * as numpy.savez and numpy.savez_compressed do. Every array is streamed
+ * straight in to the archive, see {@link NpyFile}.
+ */
+public class NpzWriter implements Closeable {
+    private final ZipOutputStream zip;
+
+    /**
+     * @param file the archive to write
+     * @param compressed whether entries are compressed, as with numpy.savez_compressed
+     */
+    public NpzWriter(File file, boolean compressed) throws IOException {
+        this(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024), compressed);
+    }
+
+    /**
+     * @param out the stream to write the archive to, closed with this writer
+     * @param compressed whether entries are compressed, as with numpy.savez_compressed
+     */
+    public NpzWriter(OutputStream out, boolean compressed) {
+        this.zip = new ZipOutputStream(out);
+        zip.setLevel(compressed ? Deflater.DEFAULT_COMPRESSION : Deflater.NO_COMPRESSION);
+    }
+
+    /**
+     * Add an array in its own ordering and data type
+     * @param name the name of the array in the archive, without the .npy extension
+     * @param arr the array to add
+     * @return this writer
+     */
+    public NpzWriter add(String name, INDArray arr) throws IOException {
+        zip.putNextEntry(new ZipEntry(name + ".npy"));
+        NpyFile.write(arr, zip);
+        zip.closeEntry();
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
@@ -0,0 +1,106 @@
+package org.nd4j.linalg.api.instrumentation;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class InMemoryInstrumentationTest extends BaseNd4jTest {
+
+    public InMemoryInstrumentationTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testSizeClasses() {
+        assertEquals(0, InMemoryInstrumentation.sizeClass(0));
+        assertEquals(0, InMemoryInstrumentation.sizeClass(1));
+        assertEquals(1, InMemoryInstrumentation.sizeClass(2));
+        assertEquals(2, InMemoryInstrumentation.sizeClass(3));
+        assertEquals(10, InMemoryInstrumentation.sizeClass(1024));
+        assertEquals(11, InMemoryInstrumentation.sizeClass(1025));
+        assertEquals(31, InMemoryInstrumentation.sizeClass(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testCountsAndRingBuffer() {
+        InMemoryInstrumentation instrumentation = new InMemoryInstrumentation(16, false);
+
+        List<INDArray> arrays = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            INDArray arr = Nd4j.create(10, 10);
+            arrays.add(arr);
+            instrumentation.log(arr);
+            instrumentation.log(arr.data());
+        }
+
+        for (int i = 0; i < 30; i++)
+            instrumentation.log(arrays.get(i), Instrumentation.DESTROYED);
+
+        assertEquals(10, instrumentation.getNumAlive());
+        assertEquals(30, instrumentation.getNumDestroyed());
+        assertEquals(40, instrumentation.getNumAliveBuffers());
+        assertEquals(0, instrumentation.getNumDestroyedBuffers());
+
+        // only the most recent entries are kept
+        assertEquals(16, instrumentation.getEntries().size());
+        assertEquals(16, instrumentation.getDataBufferLogEntries().size());
+        assertEquals(16, instrumentation.getDestroyed().size());
+        assertTrue(instrumentation.getStillAlive().isEmpty());
+        assertNull(instrumentation.getEntries().get(0).getStackTraceElements());
+
+        String type = Nd4j.dataType().name().toLowerCase();
+        Map<String, Long> alive = instrumentation.getAliveCounts();
+        assertEquals(2, alive.size());
+        assertEquals(10L, (long) alive.get("ndarray:" + type + ":<=128"));
+        assertEquals(40L, (long) alive.get("buffer:" + type + ":<=128"));
+        assertEquals(30L, (long) instrumentation.getDestroyedCounts().get("ndarray:" + type + ":<=128"));
+
+        String id = instrumentation.getEntries().get(15).getId();
+        assertTrue(instrumentation.isDestroyed(id));
+
+        instrumentation.reset();
+        assertEquals(0, instrumentation.getNumAlive());
+        assertTrue(instrumentation.getEntries().isEmpty());
+        assertTrue(instrumentation.getAliveCounts().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentLogging() throws Exception {
+        final InMemoryInstrumentation instrumentation = new InMemoryInstrumentation(64, false);
+        final INDArray arr = Nd4j.create(5);
+        final int perThread = 10000;
+        final CountDownLatch latch = new CountDownLatch(4);
+
+        for (int t = 0; t < 4; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perThread; i++)
+                        instrumentation.log(arr);
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        assertEquals(4 * perThread, instrumentation.getNumAlive());
+        assertEquals(64, instrumentation.getEntries().size());
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -7,10 +7,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.AsyncCachingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.CachingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.SamplingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCache;
+import org.nd4j.linalg.dataset.api.iterator.cache.InFileAndMemoryDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InFileDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InMemoryDataSetCache;
 import org.nd4j.linalg.factory.Nd4j;
@@ -54,7 +56,97 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
         FileUtils.deleteDirectory(cacheDir.toFile());
     }
 
+    @Test
+    public void testInFileDeflate() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        DataSetCache cache = new InFileDataSetCache(cacheDir, null, true);
+
+        runDataSetTest(cache);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testInFileCompressedAsync() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        DataSetCache cache = new InFileDataSetCache(cacheDir, "FLOAT16", true);
+
+        runDataSetTest(cache, true);
+
+        //the cache is complete now, so the prefetch workers read and decompress every entry
+        DataSetIterator it = new SamplingDataSetIterator(new DataSet(Nd4j.ones(500, 100), Nd4j.zeros(500, 2)), 10,
+                        50);
+        AsyncCachingDataSetIterator cachedIt = new AsyncCachingDataSetIterator(it, cache, "test-namespace", 3, 2);
+        assertTrue(cachedIt.hasNext());
+        while (cachedIt.hasNext())
+            assertFalse(cachedIt.next().getFeatures().isCompressed());
+        cachedIt.shutdown();
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testInMemoryAsync() {
+        DataSetCache cache = new InMemoryDataSetCache();
+
+        runDataSetTest(cache, true);
+    }
+
+    @Test
+    public void testInFileAsync() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        DataSetCache cache = new InFileDataSetCache(cacheDir);
+
+        runDataSetTest(cache, true);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testInFileAndMemoryAsync() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        DataSetCache cache = new InFileAndMemoryDataSetCache(cacheDir);
+
+        runDataSetTest(cache, true);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testAsyncResetDuringPopulation() {
+        DataSetCache cache = new InMemoryDataSetCache();
+        DataSet dataSet = new DataSet(Nd4j.ones(500, 100), Nd4j.zeros(500, 2));
+        DataSetIterator it = new SamplingDataSetIterator(dataSet, 10, 50);
+
+        AsyncCachingDataSetIterator cachedIt = new AsyncCachingDataSetIterator(it, cache, "test-namespace", 2, 2);
+        cachedIt.next();
+        cachedIt.next();
+        cachedIt.reset();
+        assertFalse(cache.isComplete("test-namespace"));
+
+        int count = 0;
+        while (cachedIt.hasNext()) {
+            cachedIt.next();
+            count++;
+        }
+        assertEquals(5, count);
+        assertTrue(cache.isComplete("test-namespace"));
+
+        cachedIt.reset();
+        count = 0;
+        while (cachedIt.hasNext()) {
+            assertEquals(1000.0, cachedIt.next().getFeatures().sumNumber());
+            count++;
+        }
+        assertEquals(5, count);
+        cachedIt.shutdown();
+    }
+
     private void runDataSetTest(DataSetCache cache) {
+        runDataSetTest(cache, false);
+    }
+
+    private void runDataSetTest(DataSetCache cache, boolean async) {
         int rows = 500;
         int inputColumns = 100;
         int outputColumns = 2;
@@ -67,7 +159,8 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
 
         String namespace = "test-namespace";
 
-        CachingDataSetIterator cachedIt = new CachingDataSetIterator(it, cache, namespace);
+        DataSetIterator cachedIt = async ? new AsyncCachingDataSetIterator(it, cache, namespace, 3, 2)
+                        : new CachingDataSetIterator(it, cache, namespace);
         PreProcessor preProcessor = new PreProcessor();
         cachedIt.setPreProcessor(preProcessor);
 
@@ -76,6 +169,9 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
         assertPreProcessingGetsCached(expectedNumberOfDataSets, it, cachedIt, preProcessor);
 
         assertCachingDataSetIteratorHasAllTheData(rows, inputColumns, outputColumns, dataSet, it, cachedIt);
+
+        if (async)
+            ((AsyncCachingDataSetIterator) cachedIt).shutdown();
     }
 
     private void assertDataSetCacheGetsCompleted(DataSetCache cache, String namespace, DataSetIterator cachedIt) {
@@ -88,7 +184,7 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
     }
 
     private void assertPreProcessingGetsCached(int expectedNumberOfDataSets, DataSetIterator it,
-                    CachingDataSetIterator cachedIt, PreProcessor preProcessor) {
+                    DataSetIterator cachedIt, PreProcessor preProcessor) {
 
         assertSame(preProcessor, cachedIt.getPreProcessor());
         assertSame(preProcessor, it.getPreProcessor());
@@ -113,7 +209,7 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
     }
 
     private void assertCachingDataSetIteratorHasAllTheData(int rows, int inputColumns, int outputColumns,
-                    DataSet dataSet, DataSetIterator it, CachingDataSetIterator cachedIt) {
+                    DataSet dataSet, DataSetIterator it, DataSetIterator cachedIt) {
         cachedIt.reset();
         it.reset();
 
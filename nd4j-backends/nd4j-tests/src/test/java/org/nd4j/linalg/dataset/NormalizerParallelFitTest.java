@@ -0,0 +1,118 @@
+package org.nd4j.linalg.dataset;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.TestDataSetIterator;
+import org.nd4j.linalg.dataset.api.preprocessor.NormalizerMinMaxScaler;
+import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.DistributionStats;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for fitting normalizers with several worker threads and on sampled batches
+ */
+@RunWith(Parameterized.class)
+public class NormalizerParallelFitTest extends BaseNd4jTest {
+
+    public NormalizerParallelFitTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    private DataSet randomDataSet(int nSamples) {
+        Nd4j.getRandom().setSeed(12345);
+        INDArray features = Nd4j.rand(nSamples, 5).muli(10).addi(3);
+        INDArray labels = Nd4j.randn(nSamples, 2).muli(4).subi(1);
+        return new DataSet(features, labels);
+    }
+
+    @Test
+    public void testMergeDistributionStats() {
+        DataSet data = randomDataSet(300);
+        INDArray first = data.getFeatures().get(NDArrayIndex.interval(0, 70), NDArrayIndex.all());
+        INDArray second = data.getFeatures().get(NDArrayIndex.interval(70, 300), NDArrayIndex.all());
+
+        DistributionStats expected = new DistributionStats.Builder().add(data.getFeatures(), null).build();
+        DistributionStats.Builder a = new DistributionStats.Builder().add(first, null);
+        DistributionStats.Builder b = new DistributionStats.Builder().add(second, null);
+        DistributionStats merged = a.merge(b).build();
+
+        assertTrue(expected.getMean().equalsWithEps(merged.getMean(), 1e-4));
+        assertTrue(expected.getStd().equalsWithEps(merged.getStd(), 1e-4));
+    }
+
+    @Test
+    public void testParallelStandardize() {
+        DataSet data = randomDataSet(1000);
+
+        NormalizerStandardize sequential = new NormalizerStandardize();
+        sequential.fitLabel(true);
+        sequential.fit(new TestDataSetIterator(data, 7));
+
+        NormalizerStandardize parallel = new NormalizerStandardize();
+        parallel.fitLabel(true);
+        DataSetIterator iterator = new TestDataSetIterator(data, 7);
+        parallel.fit(iterator, 4);
+
+        assertTrue(sequential.getMean().equalsWithEps(parallel.getMean(), 1e-4));
+        assertTrue(sequential.getStd().equalsWithEps(parallel.getStd(), 1e-4));
+        assertTrue(sequential.getLabelMean().equalsWithEps(parallel.getLabelMean(), 1e-4));
+        assertTrue(sequential.getLabelStd().equalsWithEps(parallel.getLabelStd(), 1e-4));
+
+        // the iterator is reset after fitting
+        assertTrue(iterator.hasNext());
+    }
+
+    @Test
+    public void testParallelMinMax() {
+        DataSet data = randomDataSet(1000);
+
+        NormalizerMinMaxScaler sequential = new NormalizerMinMaxScaler();
+        sequential.fit(new TestDataSetIterator(data, 13));
+
+        NormalizerMinMaxScaler parallel = new NormalizerMinMaxScaler();
+        parallel.fit(new TestDataSetIterator(data, 13), 3);
+
+        assertEquals(sequential.getMin(), parallel.getMin());
+        assertEquals(sequential.getMax(), parallel.getMax());
+    }
+
+    @Test
+    public void testSampledFit() {
+        DataSet data = randomDataSet(2000);
+
+        NormalizerStandardize full = new NormalizerStandardize();
+        full.fit(data);
+
+        NormalizerStandardize sampled = new NormalizerStandardize();
+        sampled.fit(new TestDataSetIterator(data, 20), 2, 0.25, 42);
+
+        // a quarter of the batches of uniform data gives statistics close to those of the full set
+        assertTrue(full.getMean().equalsWithEps(sampled.getMean(), 0.5));
+        assertTrue(full.getStd().equalsWithEps(sampled.getStd(), 0.5));
+
+        // sampling with the same seed is deterministic
+        NormalizerStandardize again = new NormalizerStandardize();
+        again.fit(new TestDataSetIterator(data, 20), 1, 0.25, 42);
+        assertTrue(sampled.getMean().equalsWithEps(again.getMean(), 1e-4));
+        assertTrue(sampled.getStd().equalsWithEps(again.getStd(), 1e-4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSampleFraction() {
+        new NormalizerStandardize().fit(new TestDataSetIterator(randomDataSet(10), 5), 2, 0.0, 1);
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
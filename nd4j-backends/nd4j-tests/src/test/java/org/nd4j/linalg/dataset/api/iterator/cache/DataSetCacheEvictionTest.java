@@ -0,0 +1,113 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class DataSetCacheEvictionTest extends BaseNd4jTest {
+
+    @Rule
+    public TemporaryFolder testDir = new TemporaryFolder();
+
+    public DataSetCacheEvictionTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    private static DataSet dataSet(double value) {
+        return new DataSet(Nd4j.valueArrayOf(10, 10, value), Nd4j.zeros(10, 2));
+    }
+
+    private static long serializedSize() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        dataSet(0).save(bos);
+        return bos.size();
+    }
+
+    @Test
+    public void testLruEviction() {
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(serializedSize() * 2, new LruEvictionPolicy());
+        cache.put("a", dataSet(1));
+        cache.put("b", dataSet(2));
+        assertNotNull(cache.get("a"));
+        cache.put("c", dataSet(3));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getHits());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getMisses());
+        assertTrue(cache.getSizeInBytes() <= cache.getMaxSizeInBytes());
+    }
+
+    @Test
+    public void testLfuEviction() {
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(serializedSize() * 2, new LfuEvictionPolicy());
+        cache.put("a", dataSet(1));
+        cache.put("b", dataSet(2));
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", dataSet(3));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+    }
+
+    @Test
+    public void testPinFirst() {
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(serializedSize() * 2, new PinFirstEvictionPolicy(1));
+        cache.put("a", dataSet(1));
+        cache.put("b", dataSet(2));
+        cache.put("c", dataSet(3));
+        cache.put("d", dataSet(4));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertFalse(cache.contains("c"));
+        assertTrue(cache.contains("d"));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testSpillToFile() throws Exception {
+        InFileAndMemoryDataSetCache cache = new InFileAndMemoryDataSetCache(testDir.newFolder(),
+                        serializedSize() * 2, new LruEvictionPolicy());
+        for (int i = 0; i < 5; i++)
+            cache.put("key-" + i, dataSet(i));
+
+        assertEquals(3, cache.getEvictions());
+        assertTrue(cache.getFileCache().contains("key-0"));
+        assertFalse(cache.getFileCache().contains("key-4"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.contains("key-" + i));
+            assertEquals(100.0 * i, cache.get("key-" + i).getFeatures().sumNumber().doubleValue(), 1e-6);
+        }
+        assertEquals(5, cache.getFileHits());
+        assertNotNull(cache.get("key-4"));
+        assertEquals(1, cache.getMemoryHits());
+
+        cache.setComplete("ns", true);
+        for (int i = 0; i < 5; i++)
+            assertTrue(cache.getFileCache().contains("key-" + i));
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,128 @@
+package org.nd4j.linalg.dataset.mmap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
+import org.nd4j.linalg.dataset.ViewIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class MappedDataSetFileTest extends BaseNd4jTest {
+
+    @Rule
+    public TemporaryFolder testDir = new TemporaryFolder();
+
+    public MappedDataSetFileTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testDataSetRoundTrip() throws Exception {
+        DataSet all = new DataSet(Nd4j.rand(100, 10), Nd4j.rand(100, 3));
+        File file = testDir.newFile("datasets.bin");
+        int written = MappedDataSetFileWriter.write(new ViewIterator(all, 16), file);
+        assertEquals(7, written);
+
+        MappedDataSetIterator iter = new MappedDataSetIterator(file);
+        assertEquals(100, iter.totalExamples());
+        assertEquals(10, iter.inputColumns());
+        assertEquals(3, iter.totalOutcomes());
+        assertEquals(16, iter.batch());
+
+        for (int epoch = 0; epoch < 2; epoch++) {
+            int offset = 0;
+            while (iter.hasNext()) {
+                DataSet ds = iter.next();
+                int end = Math.min(offset + 16, 100);
+                assertEquals(all.getFeatures().get(NDArrayIndex.interval(offset, end), NDArrayIndex.all()),
+                                ds.getFeatures());
+                assertEquals(all.getLabels().get(NDArrayIndex.interval(offset, end), NDArrayIndex.all()),
+                                ds.getLabels());
+                assertNull(ds.getFeaturesMaskArray());
+                offset = end;
+            }
+            assertEquals(100, offset);
+            iter.reset();
+        }
+    }
+
+    @Test
+    public void testInPlaceModificationDoesNotChangeFile() throws Exception {
+        INDArray features = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        File file = testDir.newFile("inplace.bin");
+        try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+            writer.write(new DataSet(features, features.dup()));
+        }
+
+        try (MappedDataSetFile mapped = new MappedDataSetFile(file)) {
+            INDArray modified = mapped.getDataSet(0).getFeatures().addi(100);
+            assertEquals(features.add(100), modified);
+
+            try (MappedDataSetFile reopened = new MappedDataSetFile(file)) {
+                assertEquals(features, reopened.getDataSet(0).getFeatures());
+            }
+        }
+    }
+
+    @Test
+    public void testMultiDataSetWithMasks() throws Exception {
+        INDArray[] features = {Nd4j.rand(new int[] {4, 3, 5}), Nd4j.rand('f', 4, 2)};
+        INDArray[] labels = {Nd4j.rand(4, 6)};
+        INDArray[] featureMasks = {Nd4j.ones(4, 5), null};
+        MultiDataSet mds = new MultiDataSet(features, labels, featureMasks, null);
+
+        File file = testDir.newFile("multi.bin");
+        try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+            writer.write(mds);
+            writer.write(mds);
+        }
+
+        MappedMultiDataSetIterator iter = new MappedMultiDataSetIterator(file);
+        int count = 0;
+        while (iter.hasNext()) {
+            org.nd4j.linalg.dataset.api.MultiDataSet read = iter.next();
+            assertEquals(features[0], read.getFeatures(0));
+            assertEquals(features[1], read.getFeatures(1));
+            assertEquals('f', read.getFeatures(1).ordering());
+            assertEquals(labels[0], read.getLabels(0));
+            assertEquals(featureMasks[0], read.getFeaturesMaskArray(0));
+            assertNull(read.getFeaturesMaskArray(1));
+            assertNull(read.getLabelsMaskArrays());
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void testViewsAreWrittenContiguously() throws Exception {
+        INDArray base = Nd4j.rand(10, 10);
+        INDArray view = base.get(NDArrayIndex.interval(2, 6), NDArrayIndex.interval(1, 4));
+        File file = testDir.newFile("view.bin");
+        try (MappedDataSetFileWriter writer = new MappedDataSetFileWriter(file)) {
+            writer.write(new DataSet(view, view.transpose()));
+        }
+
+        try (MappedDataSetFile mapped = new MappedDataSetFile(file)) {
+            DataSet read = mapped.getDataSet(0);
+            assertEquals(view, read.getFeatures());
+            assertEquals(view.transpose(), read.getLabels());
+        }
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -0,0 +1,191 @@
+package org.nd4j.linalg.ops;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.executioner.JavaOpExecutioner;
+import org.nd4j.linalg.api.ops.impl.accum.Max;
+import org.nd4j.linalg.api.ops.impl.accum.Mean;
+import org.nd4j.linalg.api.ops.impl.accum.StandardDeviation;
+import org.nd4j.linalg.api.ops.impl.accum.Sum;
+import org.nd4j.linalg.api.ops.impl.accum.Variance;
+import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastAddOp;
+import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastMulOp;
+import org.nd4j.linalg.api.ops.impl.indexaccum.IMax;
+import org.nd4j.linalg.api.ops.impl.indexaccum.IMin;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarAdd;
+import org.nd4j.linalg.api.ops.impl.scalar.ScalarMultiplication;
+import org.nd4j.linalg.api.ops.impl.transforms.OldSoftMax;
+import org.nd4j.linalg.api.ops.impl.transforms.Sigmoid;
+import org.nd4j.linalg.api.ops.impl.transforms.Stabilize;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.OldAddOp;
+import org.nd4j.linalg.api.ops.impl.transforms.arithmetic.OldMulOp;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cross-checks the pure JVM executioner against the backend executioner
+ */
+@RunWith(Parameterized.class)
+public class JavaOpExecutionerTest extends BaseNd4jTest {
+    private JavaOpExecutioner executioner;
+
+    public JavaOpExecutionerTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Before
+    public void setUp() {
+        // a small work threshold makes even test-sized arrays use several threads
+        executioner = new JavaOpExecutioner(4, 16);
+        Nd4j.getRandom().setSeed(12345);
+    }
+
+    @After
+    public void tearDown() {
+        executioner.shutdown();
+    }
+
+    @Test
+    public void testTransforms() {
+        INDArray x = Nd4j.randn(37, 11);
+
+        INDArray expTanh = Nd4j.getExecutioner().execAndReturn(new Tanh(x.dup()));
+        INDArray tanh = x.dup();
+        executioner.exec(new Tanh(tanh));
+        assertTrue(expTanh.equalsWithEps(tanh, 1e-5));
+
+        INDArray expSigmoid = Nd4j.getExecutioner().execAndReturn(new Sigmoid(x.dup()));
+        INDArray sigmoid = Nd4j.create(37, 11);
+        executioner.exec(new Sigmoid(x, sigmoid));
+        assertTrue(expSigmoid.equalsWithEps(sigmoid, 1e-5));
+    }
+
+    @Test
+    public void testPairwiseOnViews() {
+        INDArray x = Nd4j.rand(20, 30);
+        INDArray y = Nd4j.rand(30, 20).transpose();
+
+        INDArray expected = x.add(y);
+        INDArray z = Nd4j.create(20, 30, 'f');
+        executioner.exec(new OldAddOp(x, y, z));
+        assertEquals(expected, z);
+
+        INDArray xCol = x.getColumn(3);
+        INDArray yCol = y.getColumn(7);
+        INDArray zCol = Nd4j.create(20, 1);
+        executioner.exec(new OldMulOp(xCol, yCol, zCol));
+        assertTrue(xCol.mul(yCol).equalsWithEps(zCol, 1e-6));
+    }
+
+    @Test
+    public void testScalar() {
+        INDArray x = Nd4j.rand(15, 9);
+        INDArray expected = x.mul(2.5).add(1.0);
+
+        INDArray z = x.dup();
+        executioner.exec(new ScalarMultiplication(z, 2.5));
+        executioner.exec(new ScalarAdd(z, 1.0));
+        assertTrue(expected.equalsWithEps(z, 1e-6));
+    }
+
+    @Test
+    public void testBroadcast() {
+        INDArray x = Nd4j.rand(8, 5);
+        INDArray row = Nd4j.rand(1, 5);
+        INDArray column = Nd4j.rand(8, 1);
+
+        INDArray z = Nd4j.create(8, 5);
+        executioner.exec(new BroadcastAddOp(x, row, z, 1), 1);
+        assertTrue(x.addRowVector(row).equalsWithEps(z, 1e-6));
+
+        executioner.exec(new BroadcastMulOp(x, column, z, 0), 0);
+        assertTrue(x.mulColumnVector(column).equalsWithEps(z, 1e-6));
+    }
+
+    @Test
+    public void testAccumulations() {
+        INDArray x = Nd4j.randn(64, 33);
+
+        assertEquals(x.sumNumber().doubleValue(),
+                        executioner.execAndReturn(new Sum(x)).getFinalResult().doubleValue(), 1e-3);
+        assertEquals(x.maxNumber().doubleValue(),
+                        executioner.execAndReturn(new Max(x)).getFinalResult().doubleValue(), 1e-6);
+        assertEquals(x.varNumber().doubleValue(),
+                        executioner.execAndReturn(new Variance(x, true)).getFinalResult().doubleValue(), 1e-4);
+
+        for (int dim = 0; dim < 2; dim++) {
+            assertTrue(x.sum(dim).equalsWithEps(executioner.exec(new Sum(x), dim), 1e-4));
+            assertTrue(x.mean(dim).equalsWithEps(executioner.exec(new Mean(x), dim), 1e-5));
+            assertTrue(x.std(dim).equalsWithEps(executioner.exec(new StandardDeviation(x, true), dim), 1e-4));
+            assertTrue(x.var(false, dim).equalsWithEps(executioner.exec(new Variance(x, false), dim), 1e-4));
+        }
+    }
+
+    @Test
+    public void testIndexAccumulations() {
+        INDArray x = Nd4j.randn(25, 40);
+
+        assertEquals(Nd4j.getExecutioner().execAndReturn(new IMax(x.dup())).getFinalResult(),
+                        executioner.execAndReturn(new IMax(x)).getFinalResult());
+        assertEquals(Nd4j.getExecutioner().execAndReturn(new IMin(x.dup())).getFinalResult(),
+                        executioner.execAndReturn(new IMin(x)).getFinalResult());
+
+        for (int dim = 0; dim < 2; dim++) {
+            INDArray expected = Nd4j.getExecutioner().exec(new IMax(x.dup()), dim);
+            assertEquals(expected, executioner.exec(new IMax(x), dim));
+        }
+    }
+
+    @Test
+    public void testSoftmax() {
+        INDArray x = Nd4j.randn(10, 6);
+        INDArray expected = Nd4j.getExecutioner().execAndReturn(new OldSoftMax(x.dup()));
+
+        INDArray z = Nd4j.create(10, 6);
+        executioner.exec(new OldSoftMax(x, z));
+        assertTrue(expected.equalsWithEps(z, 1e-5));
+    }
+
+    @Test
+    public void testGemm() {
+        INDArray a = Nd4j.rand(23, 17);
+        INDArray b = Nd4j.rand(17, 31);
+
+        assertTrue(a.mmul(b).equalsWithEps(executioner.gemm(a, b, null, false, false, 1.0, 0.0), 1e-4));
+
+        INDArray at = Nd4j.rand(17, 23);
+        INDArray bt = Nd4j.rand('f', 31, 17);
+        INDArray c = Nd4j.rand(23, 31);
+        INDArray expected = at.transpose().mmul(bt.transpose()).muli(2.0).addi(c.mul(0.5));
+        executioner.gemm(at, bt, c, true, true, 2.0, 0.5);
+        assertTrue(expected.equalsWithEps(c, 1e-4));
+    }
+
+    @Test
+    public void testGemmAcrossTiles() {
+        //not multiples of the row, inner and column tile sizes
+        INDArray a = Nd4j.rand(70, 150);
+        INDArray b = Nd4j.rand(150, 300);
+        assertTrue(a.mmul(b).equalsWithEps(executioner.gemm(a, b, null, false, false, 1.0, 0.0), 1e-3));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnsupportedOp() {
+        INDArray x = Nd4j.rand(3, 3);
+        executioner.exec(new Stabilize(x, 1.0));
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
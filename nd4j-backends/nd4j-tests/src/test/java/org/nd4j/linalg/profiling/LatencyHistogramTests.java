@@ -0,0 +1,127 @@
+package org.nd4j.linalg.profiling;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.profiler.OpProfiler;
+import org.nd4j.linalg.profiler.OpProfilerSnapshot;
+import org.nd4j.linalg.profiler.data.LatencyAggregator;
+import org.nd4j.linalg.profiler.data.LatencySnapshot;
+import org.nd4j.linalg.profiler.data.primitives.LatencyHistogram;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTests {
+
+    @Before
+    public void setUp() {
+        Nd4j.getExecutioner().setProfilingMode(OpExecutioner.ProfilingMode.OPERATIONS);
+        OpProfiler.getInstance().reset();
+    }
+
+    @After
+    public void tearDown() {
+        Nd4j.getExecutioner().setProfilingMode(OpExecutioner.ProfilingMode.DISABLED);
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++)
+            histogram.record(i * 1000L);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(10000000, snapshot.getMax());
+        assertEquals(5000500, snapshot.getMean());
+
+        // buckets bound the relative error by ~3%
+        assertEquals(5000000, snapshot.getP50(), 5000000 * 0.035);
+        assertEquals(9500000, snapshot.getP95(), 9500000 * 0.035);
+        assertEquals(9900000, snapshot.getP99(), 9900000 * 0.035);
+        assertTrue(snapshot.getP999() <= snapshot.getMax());
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 50; i++)
+            histogram.record(i);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(24, snapshot.getP50());
+        assertEquals(49, snapshot.getP99());
+    }
+
+    @Test
+    public void testConcurrentRecordingAndMerge() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 25000; i++)
+                        histogram.record(i % 1000);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(100000, histogram.snapshot().getCount());
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.record(5000);
+        merged.merge(histogram);
+        assertEquals(100001, merged.snapshot().getCount());
+        assertEquals(5000, merged.snapshot().getMax());
+        assertEquals(0, merged.snapshot().getMin());
+    }
+
+    @Test
+    public void testAggregatorKeyCap() {
+        LatencyAggregator aggregator = new LatencyAggregator(3);
+        for (int i = 0; i < 10; i++)
+            aggregator.putTime("key" + i, 100L);
+        aggregator.putTime("key0", 200L);
+
+        Map<String, LatencySnapshot> snapshot = aggregator.snapshot();
+        assertEquals(4, snapshot.size());
+        assertEquals(2, snapshot.get("key0").getCount());
+        assertEquals(7, snapshot.get(LatencyAggregator.OTHER_KEY).getCount());
+    }
+
+    @Test
+    public void testProfilerSnapshot() {
+        INDArray array = Nd4j.create(10, 10);
+        for (int i = 0; i < 5; i++)
+            array.addi(1.0);
+        array.sum(1);
+
+        OpProfilerSnapshot snapshot = OpProfiler.getInstance().getSnapshot();
+        assertEquals(OpProfiler.getInstance().getInvocationsCount(), snapshot.getInvocationsCount());
+
+        Map<String, LatencySnapshot> classes = snapshot.getOpClassLatencies();
+        assertEquals(5, classes.get("ScalarOp").getCount());
+        assertEquals(1, classes.get("AccumulationOp").getCount());
+
+        long shapeCalls = 0;
+        for (Map.Entry<String, LatencySnapshot> entry : snapshot.getShapeLatencies().entrySet()) {
+            if (entry.getKey().contains("[10, 10]"))
+                shapeCalls += entry.getValue().getCount();
+        }
+        assertEquals(6, shapeCalls);
+
+        OpProfiler.getInstance().reset();
+        assertTrue(OpProfiler.getInstance().getSnapshot().getOpLatencies().isEmpty());
+    }
+}
@@ -15,6 +15,7 @@ import org.nd4j.linalg.api.ops.executioner.OpExecutioner;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.profiler.OpProfiler;
+import org.nd4j.linalg.profiler.OpProfilerSnapshot;
 
 import java.util.Arrays;
 
@@ -384,5 +385,56 @@ public class OperationProfilerTests {
         }
     }
 
+    @Test
+    public void testSamplingMode() throws Exception {
+        Nd4j.getExecutioner().setProfilingMode(OpExecutioner.ProfilingMode.SAMPLING);
+        OpProfiler.getInstance().setSamplingRate(10);
+        try {
+            final INDArray array = Nd4j.create(100);
+            for (int e = 0; e < 100; e++)
+                array.addi(1.0);
+
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    INDArray local = Nd4j.create(100);
+                    for (int e = 0; e < 50; e++)
+                        local.muli(2.0);
+                }
+            });
+            thread.start();
+            thread.join();
+
+            // regular counters are untouched in sampling mode
+            assertEquals(0, OpProfiler.getInstance().getInvocationsCount());
+
+            OpProfilerSnapshot snapshot = OpProfiler.getInstance().getSampledSnapshot();
+            assertEquals(150, snapshot.getInvocationsCount());
+            assertEquals(15, snapshot.getOpClassLatencies().get("ScalarOp").getCount());
+
+            OpProfiler.getInstance().reset();
+            assertEquals(0, OpProfiler.getInstance().getSampledSnapshot().getInvocationsCount());
+        } finally {
+            OpProfiler.getInstance().setSamplingRate(100);
+        }
+    }
 
+    @Test
+    public void testTimeBasedSampling() {
+        Nd4j.getExecutioner().setProfilingMode(OpExecutioner.ProfilingMode.SAMPLING);
+        OpProfiler.getInstance().setSamplingInterval(1000000000L);
+        try {
+            INDArray array = Nd4j.create(100);
+            for (int e = 0; e < 100; e++)
+                array.addi(1.0);
+
+            OpProfilerSnapshot snapshot = OpProfiler.getInstance().getSampledSnapshot();
+            assertEquals(100, snapshot.getInvocationsCount());
+            // one op per second at most
+            long sampled = snapshot.getOpClassLatencies().get("ScalarOp").getCount();
+            assertTrue(sampled >= 1 && sampled <= 2);
+        } finally {
+            OpProfiler.getInstance().setSamplingInterval(0L);
+        }
+    }
 }
@@ -11,6 +11,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -79,6 +81,97 @@ public class BinarySerdeTest {
         assertArrayEquals(rand.shapeInfoDataBuffer().asInt(), buffer.asInt());
     }
 
+    @Test
+    public void testViewsWithoutDup() {
+        INDArray arr = Nd4j.linspace(1, 60, 60).reshape(3, 4, 5);
+        INDArray[] views = {arr.tensorAlongDimension(1, 0, 2), arr.permute(2, 0, 1),
+                        Nd4j.linspace(1, 12, 12).reshape(3, 4).getColumn(2),
+                        Nd4j.linspace(1, 20, 20).reshape('f', 4, 5).getRow(2)};
+
+        for (INDArray view : views) {
+            ByteBuffer buffer = BinarySerde.toByteBuffer(view);
+            assertEquals(BinarySerde.byteBufferSizeFor(view), buffer.capacity());
+            INDArray back = BinarySerde.toArray(buffer);
+            assertArrayEquals(view.shape(), back.shape());
+            assertEquals(view, back);
+        }
+    }
+
+    @Test
+    public void testCallerSuppliedBuffer() {
+        INDArray first = Nd4j.randn(4, 6);
+        INDArray second = Nd4j.randn(3, 3).getColumn(1);
+        int firstSize = BinarySerde.byteBufferSizeFor(first);
+
+        ByteBuffer target = ByteBuffer.allocateDirect(firstSize + BinarySerde.byteBufferSizeFor(second));
+        BinarySerde.toByteBuffer(first, target);
+        assertEquals(firstSize, target.position());
+        BinarySerde.toByteBuffer(second, target);
+        assertEquals(target.capacity(), target.position());
+
+        assertEquals(first, BinarySerde.toArray(target, 0));
+        assertEquals(second, BinarySerde.toArray(target, firstSize));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCallerSuppliedBufferTooSmall() {
+        BinarySerde.toByteBuffer(Nd4j.create(10), ByteBuffer.allocateDirect(16));
+    }
+
+    @Test
+    public void testPooledBuffers() {
+        DirectBufferPool pool = new DirectBufferPool(2, 1 << 20);
+        INDArray arr = Nd4j.randn(10, 10);
+
+        ByteBuffer buffer = BinarySerde.toByteBuffer(arr, pool);
+        assertEquals(0, buffer.position());
+        assertEquals(BinarySerde.byteBufferSizeFor(arr), buffer.limit());
+        assertEquals(Integer.highestOneBit(buffer.limit() - 1) << 1, buffer.capacity());
+        assertEquals(arr, BinarySerde.toArray(buffer));
+
+        pool.release(buffer);
+        assertEquals(1, pool.size());
+        ByteBuffer reused = BinarySerde.toByteBuffer(arr.mul(2), pool);
+        assertTrue(reused == buffer);
+        assertEquals(0, pool.size());
+        assertEquals(arr.mul(2), BinarySerde.toArray(reused));
+
+        //only two idle buffers are kept per size class
+        pool.release(reused);
+        pool.release(pool.acquire(buffer.limit()));
+        pool.release(ByteBuffer.allocateDirect(buffer.capacity()));
+        pool.release(ByteBuffer.allocateDirect(buffer.capacity()));
+        assertEquals(2, pool.size());
+
+        //too large to be pooled
+        pool.release(pool.acquire((1 << 20) + 1));
+        assertEquals(2, pool.size());
+        pool.clear();
+        assertEquals(0, pool.size());
+        assertEquals(0, pool.retainedBytes());
+    }
+
+    @Test
+    public void testPoolRetainedBytesBudget() {
+        //room for 3 buffers of 1KB, although 16 per class would be kept
+        DirectBufferPool pool = new DirectBufferPool(16, 1 << 20, 3 * 1024);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            buffers.add(pool.acquire(1024));
+        for (ByteBuffer buffer : buffers)
+            pool.release(buffer);
+        assertEquals(3, pool.size());
+        assertEquals(3 * 1024, pool.retainedBytes());
+
+        pool.acquire(1024);
+        assertEquals(2 * 1024, pool.retainedBytes());
+        //a larger class doesn't fit in the remaining budget
+        pool.release(pool.acquire(4096));
+        assertEquals(2, pool.size());
+
+        assertEquals(4L << 20, new DirectBufferPool(16, 1 << 20).getMaxRetainedBytes());
+    }
+
     @Test
     public void timeOldVsNew() throws Exception {
         int numTrials = 1000;
@@ -0,0 +1,65 @@
+package org.nd4j.serde.binary;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ChunkedArrayFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteRead() throws Exception {
+        INDArray[] arrays = {Nd4j.linspace(1, 1000, 1000).reshape(10, 100),
+                        Nd4j.linspace(1, 60, 60).reshape('f', 3, 4, 5), Nd4j.rand(20, 30).getColumn(7),
+                        Nd4j.scalar(3.0)};
+        for (INDArray arr : arrays) {
+            File file = folder.newFile();
+            //chunks not aligned to elements or rows
+            ChunkedArrayFile.write(arr, file, 100, 4);
+
+            ChunkedArrayFile.Header header = ChunkedArrayFile.readHeader(file);
+            assertArrayEquals(arr.shape(), header.getShape());
+            assertEquals((arr.length() * header.elementSize() + 99) / 100, header.numChunks());
+
+            INDArray read = ChunkedArrayFile.read(file, 3);
+            assertEquals(arr, read);
+            assertEquals('c', read.ordering());
+        }
+    }
+
+    @Test
+    public void testReadRows() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 2000, 2000).reshape(20, 10, 10);
+        File file = folder.newFile();
+        ChunkedArrayFile.write(arr, file, 1000, 2);
+
+        assertEquals(arr.get(NDArrayIndex.interval(3, 7), NDArrayIndex.all(), NDArrayIndex.all()),
+                        ChunkedArrayFile.readRows(file, 3, 7));
+        assertEquals(arr, ChunkedArrayFile.readRows(file, 0, 20));
+    }
+
+    @Test(expected = ND4JIllegalStateException.class)
+    public void testChecksumMismatch() throws Exception {
+        File file = folder.newFile();
+        ChunkedArrayFile.write(Nd4j.linspace(1, 100, 100), file, 64, 1);
+        long dataOffset = ChunkedArrayFile.readHeader(file).dataOffset();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(dataOffset + 70);
+            int b = raf.read();
+            raf.seek(dataOffset + 70);
+            raf.write(b ^ 0xFF);
+        }
+        ChunkedArrayFile.read(file);
+    }
+}
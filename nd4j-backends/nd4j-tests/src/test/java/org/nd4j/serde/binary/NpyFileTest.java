@@ -0,0 +1,119 @@
+package org.nd4j.serde.binary;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.primitives.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class NpyFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteRead() throws Exception {
+        INDArray[] arrays = {Nd4j.linspace(1, 1000, 1000).reshape(10, 100),
+                        Nd4j.linspace(1, 60, 60).reshape('f', 3, 4, 5), Nd4j.rand(20, 30).getColumn(7)};
+        for (INDArray arr : arrays) {
+            File file = folder.newFile();
+            NpyFile.write(arr, file);
+
+            NpyFile.Header header = NpyFile.readHeader(file);
+            assertEquals(0, header.getDataOffset() % 64);
+            assertArrayEquals(arr.shape(), header.getShape());
+            assertEquals(arr.ordering() == 'f', header.isFortranOrder());
+
+            INDArray read = NpyFile.read(file);
+            assertEquals(arr, read);
+            assertEquals(arr.ordering(), read.ordering());
+            assertEquals(arr, NpyFile.map(file));
+        }
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NpyFile.write(Nd4j.linspace(1, 6, 6).reshape(2, 3), bos, 'c', DataBuffer.Type.FLOAT);
+        byte[] bytes = bos.toByteArray();
+
+        assertEquals(128 + 6 * 4, bytes.length);
+        assertEquals(1, bytes[6]);
+        String header = new String(bytes, 10, 118, StandardCharsets.ISO_8859_1);
+        assertTrue(header.startsWith("{'descr': '<f4', 'fortran_order': False, 'shape': (2, 3), }"));
+        assertTrue(header.endsWith(" \n"));
+        assertEquals(6.0f, ByteBuffer.wrap(bytes, 128 + 5 * 4, 4).order(ByteOrder.LITTLE_ENDIAN).getFloat(), 0f);
+    }
+
+    @Test
+    public void testIntegerTypes() throws Exception {
+        INDArray arr = Nd4j.linspace(-5, 6, 12).reshape(3, 4);
+        for (DataBuffer.Type type : new DataBuffer.Type[] {DataBuffer.Type.INT, DataBuffer.Type.LONG}) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            NpyFile.write(arr, bos, 'f', type);
+
+            NpyFile.Header header = NpyFile.readHeader(new ByteArrayInputStream(bos.toByteArray()));
+            assertEquals('i', header.getKind());
+            assertEquals(type == DataBuffer.Type.INT ? 4 : 8, header.getElementSize());
+
+            INDArray read = NpyFile.read(new ByteArrayInputStream(bos.toByteArray()));
+            assertEquals(type == DataBuffer.Type.INT ? DataBuffer.Type.INT : DataBuffer.Type.DOUBLE,
+                            read.data().dataType());
+            assertEquals('f', read.ordering());
+            for (int i = 0; i < arr.length(); i++)
+                assertEquals(arr.getDouble(i), read.getDouble(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testBigEndianVector() throws Exception {
+        String dict = "{'descr': '>f8', 'fortran_order': False, 'shape': (3,), }";
+        ByteBuffer buffer = ByteBuffer.allocate(10 + dict.length() + 1 + 3 * 8);
+        buffer.put(NpyFile.MAGIC).put((byte) 1).put((byte) 0);
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putShort((short) (dict.length() + 1));
+        buffer.put((dict + "\n").getBytes(StandardCharsets.ISO_8859_1));
+        buffer.order(ByteOrder.BIG_ENDIAN).putDouble(1.5).putDouble(-2).putDouble(3);
+
+        INDArray read = NpyFile.read(new ByteArrayInputStream(buffer.array()));
+        assertArrayEquals(new int[] {1, 3}, read.shape());
+        assertEquals(DataBuffer.Type.DOUBLE, read.data().dataType());
+        assertEquals(1.5, read.getDouble(0), 0.0);
+        assertEquals(-2, read.getDouble(1), 0.0);
+        assertEquals(3, read.getDouble(2), 0.0);
+    }
+
+    @Test
+    public void testNpz() throws Exception {
+        INDArray features = Nd4j.rand(50, 20);
+        INDArray labels = Nd4j.linspace(1, 24, 24).reshape('f', 2, 3, 4);
+        for (boolean compressed : new boolean[] {true, false}) {
+            File file = folder.newFile();
+            try (NpzWriter writer = new NpzWriter(file, compressed)) {
+                writer.add("features", features).add("labels", labels);
+            }
+
+            try (NpzReader reader = new NpzReader(file)) {
+                assertTrue(reader.hasNext());
+                Pair<String, INDArray> first = reader.next();
+                assertEquals("features", first.getFirst());
+                assertEquals(features, first.getSecond());
+                Pair<String, INDArray> second = reader.next();
+                assertEquals("labels", second.getFirst());
+                assertEquals(labels, second.getSecond());
+                assertFalse(reader.hasNext());
+            }
+
+            assertEquals(labels, NpzReader.read(file, "labels"));
+        }
+    }
+}
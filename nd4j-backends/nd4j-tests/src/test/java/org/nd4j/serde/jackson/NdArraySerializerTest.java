@@ -1,5 +1,6 @@
 package org.nd4j.serde.jackson;
 
+import org.apache.commons.net.util.Base64;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -7,9 +8,13 @@ import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.shade.jackson.databind.ObjectMapper;
 import org.nd4j.shade.jackson.databind.module.SimpleModule;
 import org.nd4j.shade.serde.jackson.shaded.NDArrayDeSerializer;
+import org.nd4j.shade.serde.jackson.RawNDArrayLayout;
 import org.nd4j.shade.serde.jackson.shaded.NDArraySerializer;
+import org.nd4j.shade.serde.jackson.shaded.RawNDArrayDeSerializer;
+import org.nd4j.shade.serde.jackson.shaded.RawNDArraySerializer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by agibsonccc on 6/23/16.
@@ -32,6 +37,40 @@ public class NdArraySerializerTest {
         assertEquals(assertion, test);
     }
 
+    @Test
+    public void testRawSerde() throws Exception {
+        ObjectMapper mapper = rawObjectMapper();
+        INDArray[] arrays = {Nd4j.linspace(1, 6, 6).reshape(2, 3), Nd4j.linspace(1, 24, 24).reshape('f', 2, 3, 4),
+                        Nd4j.rand(5, 5).getColumn(3), Nd4j.create(new double[] {0.1, -2.5e-8, 3})};
+        for (INDArray arr : arrays) {
+            String json = mapper.writeValueAsString(arr);
+            INDArray test = mapper.readValue(json, INDArray.class);
+            assertEquals(arr, test);
+            assertEquals(arr.ordering(), test.ordering());
+        }
+
+        String json = mapper.writeValueAsString(Nd4j.linspace(1, 4, 4));
+        assertTrue(json, json.contains("\"data\":[1.0,2.0,3.0,4.0]"));
+    }
+
+    @Test
+    public void testRawSerdeBinaryData() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 4, 4).reshape(2, 2);
+        byte[] bytes = RawNDArrayLayout.toBytes(arr);
+        String json = "{\"dataType\":\"" + arr.data().dataType() + "\",\"order\":\"c\",\"shape\":[2,2],"
+                        + "\"data\":\"" + Base64.encodeBase64String(bytes) + "\"}";
+        assertEquals(arr, rawObjectMapper().readValue(json, INDArray.class));
+    }
+
+    private static ObjectMapper rawObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleModule nd4j = new SimpleModule("nd4j");
+        nd4j.addDeserializer(INDArray.class, new RawNDArrayDeSerializer());
+        nd4j.addSerializer(INDArray.class, new RawNDArraySerializer());
+        mapper.registerModule(nd4j);
+        return mapper;
+    }
+
     private static ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         SimpleModule nd4j = new SimpleModule("nd4j");
@@ -29,6 +29,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Instrumentation resource
@@ -42,15 +43,27 @@ public class InstrumentationResource {
     @GET
     @Path("/numalive")
     public Response getNumAlive() {
-        Collection<LogEntry> alive = Nd4j.getInstrumentation().getStillAlive();
-        return Response.ok(alive.size()).build();
+        return Response.ok(Nd4j.getInstrumentation().getNumAlive()).build();
     }
 
     @GET
     @Path("/numdead")
     public Response getNumDead() {
-        Collection<LogEntry> alive = Nd4j.getInstrumentation().getDestroyed();
-        return Response.ok(alive.size()).build();
+        return Response.ok(Nd4j.getInstrumentation().getNumDestroyed()).build();
+    }
+
+    @GET
+    @Path("/alivecounts")
+    public Response getAliveCounts() {
+        Map<String, Long> counts = Nd4j.getInstrumentation().getAliveCounts();
+        return Response.ok(counts).build();
+    }
+
+    @GET
+    @Path("/deadcounts")
+    public Response getDeadCounts() {
+        Map<String, Long> counts = Nd4j.getInstrumentation().getDestroyedCounts();
+        return Response.ok(counts).build();
     }
 
     @GET
@@ -0,0 +1,77 @@
+package org.nd4j.jdbc.loader.api;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.sql.SQLException;
+
+/**
+ * Stores matrices one row per record: (matrix id, row index, packed row vector).
+ * Unlike {@link JDBCNDArrayIO}, which keeps a whole array in a single blob,
+ * this allows reading row ranges and updating individual rows without
+ * touching the rest of the matrix, e.g. for large embedding tables.
+ */
+public interface JDBCMatrixRowIO {
+
+    /**
+     * Create a statement creating the table used for storage
+     *
+     * @return a new create table statement
+     */
+    String createTableStatement();
+
+    /**
+     * Save all rows of a matrix, using batched inserts
+     *
+     * @param matrixId the id of the matrix
+     * @param matrix the matrix to save
+     */
+    void save(String matrixId, INDArray matrix) throws SQLException;
+
+    /**
+     * Get the shape of a stored matrix. The number of rows is one more than
+     * the largest stored row index.
+     *
+     * @param matrixId the id of the matrix
+     * @return the number of rows and columns
+     * @throws IllegalArgumentException if no rows are stored for the matrix
+     */
+    int[] shape(String matrixId) throws SQLException;
+
+    /**
+     * Load a range of rows. Rows that aren't stored are returned as zeros.
+     *
+     * @param matrixId the id of the matrix
+     * @param fromRow the first row to load
+     * @param toRow the row after the last one to load
+     * @return a (toRow - fromRow) x columns matrix
+     * @throws IllegalArgumentException if toRow is beyond the stored number of rows
+     */
+    INDArray loadRows(String matrixId, int fromRow, int toRow) throws SQLException;
+
+    /**
+     * Overwrite several, possibly scattered, rows using batched updates
+     * in a single transaction.
+     *
+     * @param matrixId the id of the matrix
+     * @param rowIndices the indices of the rows to update
+     * @param rows the new values, one row per index
+     * @throws SQLException if one of the rows isn't stored, nothing is updated then
+     */
+    void updateRows(String matrixId, int[] rowIndices, INDArray rows) throws SQLException;
+
+    /**
+     * Load a whole matrix, reading chunks of rows in parallel
+     *
+     * @param matrixId the id of the matrix
+     * @param numThreads the number of chunks to read concurrently
+     * @return the matrix
+     */
+    INDArray load(String matrixId, int numThreads) throws SQLException;
+
+    /**
+     * Delete all rows of a matrix
+     *
+     * @param matrixId the id of the matrix
+     */
+    void delete(String matrixId) throws SQLException;
+}
@@ -25,6 +25,8 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import java.io.IOException;
 import java.sql.Blob;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Load a complex ndarray via org.nd4j.jdbc
@@ -96,6 +98,21 @@ public interface JDBCNDArrayIO {
      */
     String deleteStatement();
 
+    /**
+     * Create a select statement for several ids at once
+     *
+     * @param numIds the number of ids (question marks) in the statement
+     * @return a new multi row select statement
+     */
+    String loadAllStatement(int numIds);
+
+    /**
+     * Create a select statement returning the id and array of every row
+     *
+     * @return a new select statement
+     */
+    String selectAllStatement();
+
     /**
      * Save the ndarray
      *
@@ -103,6 +120,32 @@ public interface JDBCNDArrayIO {
      */
     void save(INDArray save, String id) throws SQLException, IOException;
 
+    /**
+     * Save several ndarrays using batched inserts,
+     * all in a single transaction
+     *
+     * @param toSave the ndarrays to save, keyed by id
+     */
+    void saveAll(Map<String, INDArray> toSave) throws SQLException, IOException;
+
+    /**
+     * Load the ndarrays for several ids, using multi row selects
+     *
+     * @param ids the ids to load
+     * @return the loaded ndarrays keyed by id, ids that weren't found are left out
+     */
+    Map<String, INDArray> loadAll(Collection<String> ids) throws SQLException, IOException;
+
+    /**
+     * Iterate over all the rows of the table, fetching them through a
+     * database cursor so only about fetchSize rows are held in memory at once.
+     * The returned iterator must be closed.
+     *
+     * @param fetchSize the number of rows to fetch per round trip
+     * @return an iterator over (id, array) rows
+     */
+    NDArrayRowIterator iterate(int fetchSize) throws SQLException;
+
     /**
      * Save the ndarray
      *
@@ -0,0 +1,17 @@
+package org.nd4j.jdbc.loader.api;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.primitives.Pair;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Iterator over the (id, array) rows of a table, backed by an open cursor.
+ * Rows are fetched lazily, so it has to be closed once the caller is done with it.
+ * It is closed automatically once the last row was returned.
+ *
+ * @see JDBCNDArrayIO#iterate(int)
+ */
+public interface NDArrayRowIterator extends Iterator<Pair<String, INDArray>>, Closeable {
+}
@@ -22,18 +22,19 @@ package org.nd4j.jdbc.loader.impl;
 import com.mchange.v2.c3p0.ComboPooledDataSource;
 import org.nd4j.jdbc.driverfinder.DriverFinder;
 import org.nd4j.jdbc.loader.api.JDBCNDArrayIO;
+import org.nd4j.jdbc.loader.api.NDArrayRowIterator;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.serde.binary.BinarySerde;
+import org.nd4j.serde.binary.DirectBufferPool;
 
 import javax.sql.DataSource;
 import java.io.*;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.sql.*;
+import java.util.*;
 
 /**
  * Base class for loading ndarrays via org.nd4j.jdbc
@@ -42,9 +43,11 @@ import java.sql.*;
  */
 
 public abstract class BaseLoader implements JDBCNDArrayIO {
+    public static final int DEFAULT_BATCH_SIZE = 500;
 
     protected String tableName, columnName, idColumnName, jdbcUrl;
     protected DataSource dataSource;
+    protected int batchSize = DEFAULT_BATCH_SIZE;
 
     protected BaseLoader(DataSource dataSource, String jdbcUrl, String tableName, String idColumnName,
                          String columnName) throws Exception {
@@ -130,12 +133,7 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
         if (blob == null)
             return null;
         try(InputStream is = blob.getBinaryStream()) {
-            ByteBuffer direct = ByteBuffer.allocateDirect((int) blob.length());
-            ReadableByteChannel readableByteChannel = Channels.newChannel(is);
-            readableByteChannel.read(direct);
-            Buffer byteBuffer = (Buffer) direct;
-            byteBuffer.rewind();
-            return BinarySerde.toArray(direct);
+            return new ReusableArrayReader().read(is);
         } catch (Exception e) {
            throw new RuntimeException(e);
         }
@@ -177,25 +175,201 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
     }
 
 
-    private void doSave(INDArray save, String id) throws SQLException, IOException {
+    /**
+     * Save several ndarrays using batched inserts of {@link #getBatchSize()} rows,
+     * all in a single transaction
+     *
+     * @param toSave the ndarrays to save, keyed by id
+     */
+    @Override
+    public void saveAll(Map<String, INDArray> toSave) throws SQLException, IOException {
+        try (Connection c = dataSource.getConnection()) {
+            boolean autoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = c.prepareStatement(insertStatement())) {
+                int pending = 0;
+                for (Map.Entry<String, INDArray> entry : toSave.entrySet()) {
+                    preparedStatement.setString(1, entry.getKey());
+                    preparedStatement.setBytes(2, toBytes(entry.getValue()));
+                    preparedStatement.addBatch();
+                    if (++pending == batchSize) {
+                        preparedStatement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0)
+                    preparedStatement.executeBatch();
+                c.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Load the ndarrays for several ids, selecting up to
+     * {@link #getBatchSize()} rows per query
+     *
+     * @param ids the ids to load
+     * @return the loaded ndarrays keyed by id, in the order of the given ids.
+     * Ids that weren't found are left out.
+     */
+    @Override
+    public Map<String, INDArray> loadAll(Collection<String> ids) throws SQLException, IOException {
+        List<String> toLoad = new ArrayList<>(ids);
+        Map<String, INDArray> loaded = new HashMap<>();
+        ReusableArrayReader reader = new ReusableArrayReader();
+
+        try (Connection c = dataSource.getConnection()) {
+            PreparedStatement fullBatch = null;
+            try {
+                for (int from = 0; from < toLoad.size(); from += batchSize) {
+                    List<String> batch = toLoad.subList(from, Math.min(toLoad.size(), from + batchSize));
+                    PreparedStatement preparedStatement;
+                    if (batch.size() == batchSize) {
+                        //all full batches share the same statement
+                        if (fullBatch == null)
+                            fullBatch = c.prepareStatement(loadAllStatement(batchSize));
+                        preparedStatement = fullBatch;
+                    } else {
+                        preparedStatement = c.prepareStatement(loadAllStatement(batch.size()));
+                    }
+
+                    try {
+                        for (int i = 0; i < batch.size(); i++)
+                            preparedStatement.setString(i + 1, batch.get(i));
+                        try (ResultSet r = preparedStatement.executeQuery()) {
+                            while (r.next())
+                                loaded.put(r.getString(1), reader.read(r.getBinaryStream(2)));
+                        }
+                    } finally {
+                        if (preparedStatement != fullBatch)
+                            preparedStatement.close();
+                    }
+                }
+            } finally {
+                if (fullBatch != null)
+                    fullBatch.close();
+            }
+        }
+
+        Map<String, INDArray> ret = new LinkedHashMap<>();
+        for (String id : toLoad) {
+            INDArray arr = loaded.get(id);
+            if (arr != null)
+                ret.put(id, arr);
+        }
+        return ret;
+    }
+
+    /**
+     * Iterate over all the rows returned by {@link #selectAllStatement()}
+     * through a forward only cursor. See {@link #configureStreaming(Statement, int)}
+     * for drivers that need special settings to not buffer the whole result.
+     *
+     * @param fetchSize the number of rows to fetch per round trip
+     * @return an iterator over (id, array) rows, which must be closed
+     */
+    @Override
+    public NDArrayRowIterator iterate(int fetchSize) throws SQLException {
         Connection c = dataSource.getConnection();
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(bos);
-        if (save instanceof IComplexNDArray) {
-            IComplexNDArray c2 = (IComplexNDArray) save;
-            Nd4j.writeComplex(c2, dos);
-        } else {
-            BinarySerde.writeArrayToOutputStream(save,bos);
+        try {
+            boolean autoCommit = c.getAutoCommit();
+            //most drivers only use a server side cursor outside of auto commit mode
+            c.setAutoCommit(false);
+            Statement statement = c.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            configureStreaming(statement, fetchSize);
+            ResultSet r = statement.executeQuery(selectAllStatement());
+            return new ResultSetRowIterator(c, autoCommit, statement, r);
+        } catch (SQLException | RuntimeException e) {
+            c.close();
+            throw e;
         }
+    }
 
-        byte[] bytes = bos.toByteArray();
+    /**
+     * Setup a statement used by {@link #iterate(int)} so that
+     * rows are fetched from the database incrementally
+     *
+     * @param statement the statement to setup
+     * @param fetchSize the requested number of rows per round trip
+     */
+    protected void configureStreaming(Statement statement, int fetchSize) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
 
-        PreparedStatement preparedStatement = c.prepareStatement(insertStatement());
-        preparedStatement.setString(1, id);
-        preparedStatement.setBytes(2, bytes);
-        preparedStatement.executeUpdate();
+    /**
+     * Create a select statement for several ids at once
+     *
+     * @param numIds the number of ids (question marks) in the statement
+     * @return a new multi row select statement
+     */
+    @Override
+    public String loadAllStatement(int numIds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(idColumnName).append(", ").append(columnName).append(" FROM ").append(tableName)
+                        .append(" WHERE ").append(idColumnName).append(" IN (");
+        for (int i = 0; i < numIds; i++)
+            sb.append(i == 0 ? "?" : ",?");
+        return sb.append(")").toString();
+    }
 
+    /**
+     * Create a select statement returning the id and array of every row
+     *
+     * @return a new select statement
+     */
+    @Override
+    public String selectAllStatement() {
+        return "SELECT " + idColumnName + ", " + columnName + " FROM " + tableName;
+    }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the number of rows per batched insert and per multi row select
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Serialize an ndarray for storage in the array column
+     */
+    protected byte[] toBytes(INDArray save) throws IOException {
+        if (save instanceof IComplexNDArray) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(bos);
+            Nd4j.writeComplex((IComplexNDArray) save, dos);
+            return bos.toByteArray();
+        }
+
+        ByteBuffer buffer = BinarySerde.toByteBuffer(save, DirectBufferPool.getInstance());
+        try {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } finally {
+            DirectBufferPool.getInstance().release(buffer);
+        }
+    }
+
+    private void doSave(INDArray save, String id) throws SQLException, IOException {
+        byte[] bytes = toBytes(save);
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement preparedStatement = c.prepareStatement(insertStatement())) {
+            preparedStatement.setString(1, id);
+            preparedStatement.setBytes(2, bytes);
+            preparedStatement.executeUpdate();
+        }
     }
 
 
@@ -0,0 +1,353 @@
+package org.nd4j.jdbc.loader.impl;
+
+import org.nd4j.jdbc.loader.api.JDBCMatrixRowIO;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Base class for storing matrices one row per record.
+ *
+ * Each row vector is packed as little endian floats or doubles, depending on the
+ * data type of the store, without any header: the number of columns follows from
+ * the length of the packed vector.
+ */
+public abstract class BaseMatrixRowStore implements JDBCMatrixRowIO {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_CHUNK_ROWS = 10000;
+
+    protected String tableName, matrixIdColumnName, rowIndexColumnName, vectorColumnName;
+    protected DataSource dataSource;
+    protected DataBuffer.Type dataType;
+    protected int batchSize = DEFAULT_BATCH_SIZE;
+    protected int chunkRows = DEFAULT_CHUNK_ROWS;
+
+    protected BaseMatrixRowStore(DataSource dataSource, String tableName, String matrixIdColumnName,
+                    String rowIndexColumnName, String vectorColumnName, DataBuffer.Type dataType) {
+        if (dataType != DataBuffer.Type.FLOAT && dataType != DataBuffer.Type.DOUBLE)
+            throw new IllegalArgumentException("Only float and double rows are supported, got " + dataType);
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+        this.matrixIdColumnName = matrixIdColumnName;
+        this.rowIndexColumnName = rowIndexColumnName;
+        this.vectorColumnName = vectorColumnName;
+        this.dataType = dataType;
+    }
+
+    protected BaseMatrixRowStore(DataSource dataSource, String tableName) {
+        this(dataSource, tableName, "matrix_id", "row_index", "vector", DataBuffer.Type.FLOAT);
+    }
+
+    /**
+     * Create an insert statement, with the matrix id, row index and vector as parameters
+     *
+     * @return a new insert statement
+     */
+    public String insertStatement() {
+        return "INSERT INTO " + tableName + " (" + matrixIdColumnName + ", " + rowIndexColumnName + ", "
+                        + vectorColumnName + ") VALUES(?,?,?)";
+    }
+
+    /**
+     * Create an update statement, with the vector, matrix id and row index as parameters
+     *
+     * @return a new update statement
+     */
+    public String updateStatement() {
+        return "UPDATE " + tableName + " SET " + vectorColumnName + " =? WHERE " + matrixIdColumnName
+                        + " =? AND " + rowIndexColumnName + " =?";
+    }
+
+    /**
+     * Create a statement selecting the rows of a matrix in [from, to)
+     *
+     * @return a new select statement
+     */
+    public String loadRowsStatement() {
+        return "SELECT " + rowIndexColumnName + ", " + vectorColumnName + " FROM " + tableName + " WHERE "
+                        + matrixIdColumnName + " =? AND " + rowIndexColumnName + " >=? AND " + rowIndexColumnName
+                        + " <?";
+    }
+
+    /**
+     * Create a statement selecting the largest row index of a matrix
+     *
+     * @return a new select statement
+     */
+    public String maxRowStatement() {
+        return "SELECT MAX(" + rowIndexColumnName + ") FROM " + tableName + " WHERE " + matrixIdColumnName + " =?";
+    }
+
+    /**
+     * Create a statement selecting the vector of a single row
+     *
+     * @return a new select statement
+     */
+    public String loadRowStatement() {
+        return "SELECT " + vectorColumnName + " FROM " + tableName + " WHERE " + matrixIdColumnName + " =? AND "
+                        + rowIndexColumnName + " =?";
+    }
+
+    /**
+     * Create a delete statement for all rows of a matrix
+     *
+     * @return a new delete statement
+     */
+    public String deleteStatement() {
+        return "DELETE FROM " + tableName + " WHERE " + matrixIdColumnName + " =?";
+    }
+
+    @Override
+    public void save(String matrixId, INDArray matrix) throws SQLException {
+        int[] indices = new int[matrix.rows()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        writeRows(insertStatement(), true, matrixId, indices, matrix);
+    }
+
+    @Override
+    public void updateRows(String matrixId, int[] rowIndices, INDArray rows) throws SQLException {
+        if (rowIndices.length != rows.rows())
+            throw new IllegalArgumentException("Got " + rowIndices.length + " row indices for " + rows.rows()
+                            + " rows");
+        writeRows(updateStatement(), false, matrixId, rowIndices, rows);
+    }
+
+    @Override
+    public int[] shape(String matrixId) throws SQLException {
+        try (Connection c = dataSource.getConnection()) {
+            int maxRow;
+            try (PreparedStatement preparedStatement = c.prepareStatement(maxRowStatement())) {
+                preparedStatement.setString(1, matrixId);
+                try (ResultSet r = preparedStatement.executeQuery()) {
+                    r.next();
+                    maxRow = r.getInt(1);
+                    if (r.wasNull())
+                        throw new IllegalArgumentException("No rows stored for matrix " + matrixId);
+                }
+            }
+
+            try (PreparedStatement preparedStatement = c.prepareStatement(loadRowStatement())) {
+                preparedStatement.setString(1, matrixId);
+                preparedStatement.setInt(2, maxRow);
+                try (ResultSet r = preparedStatement.executeQuery()) {
+                    r.next();
+                    return new int[] {maxRow + 1, r.getBytes(1).length / elementSize()};
+                }
+            }
+        }
+    }
+
+    @Override
+    public INDArray loadRows(String matrixId, int fromRow, int toRow) throws SQLException {
+        if (fromRow < 0 || toRow < fromRow)
+            throw new IllegalArgumentException("Invalid row range [" + fromRow + ", " + toRow + ")");
+
+        int[] shape = shape(matrixId);
+        if (toRow > shape[0])
+            throw new IllegalArgumentException("Row range [" + fromRow + ", " + toRow + ") is beyond the " + shape[0]
+                            + " rows of matrix " + matrixId);
+        int columns = shape[1];
+        INDArray ret = Nd4j.create(new int[] {toRow - fromRow, columns}, 'c');
+        if (toRow > fromRow) {
+            try (Connection c = dataSource.getConnection()) {
+                readRows(c, matrixId, fromRow, toRow, ret.data(), fromRow, columns);
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public INDArray load(final String matrixId, int numThreads) throws SQLException {
+        int[] shape = shape(matrixId);
+        final int columns = shape[1];
+        final INDArray ret = Nd4j.create(shape, 'c');
+        final DataBuffer data = ret.data();
+
+        if (numThreads <= 1 || shape[0] <= chunkRows) {
+            try (Connection c = dataSource.getConnection()) {
+                readRows(c, matrixId, 0, shape[0], data, 0, columns);
+            }
+            return ret;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int from = 0; from < shape[0]; from += chunkRows) {
+                final int chunkFrom = from;
+                final int chunkTo = Math.min(shape[0], from + chunkRows);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        try (Connection c = dataSource.getConnection()) {
+                            readRows(c, matrixId, chunkFrom, chunkTo, data, 0, columns);
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<Void> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException)
+                throw (SQLException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return ret;
+    }
+
+    @Override
+    public void delete(String matrixId) throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement preparedStatement = c.prepareStatement(deleteStatement())) {
+            preparedStatement.setString(1, matrixId);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the number of rows per batched insert or update
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    /**
+     * @param chunkRows the number of rows each task reads in {@link #load(String, int)}
+     */
+    public void setChunkRows(int chunkRows) {
+        if (chunkRows < 1)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.chunkRows = chunkRows;
+    }
+
+    private void writeRows(String sql, boolean insert, String matrixId, int[] rowIndices, INDArray rows)
+                    throws SQLException {
+        if (rows.rank() != 2)
+            throw new IllegalArgumentException("Only matrices can be stored row by row");
+
+        try (Connection c = dataSource.getConnection()) {
+            boolean autoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = c.prepareStatement(sql)) {
+                int pending = 0;
+                for (int i = 0; i < rowIndices.length; i++) {
+                    byte[] packed = pack(rows, i);
+                    if (insert) {
+                        preparedStatement.setString(1, matrixId);
+                        preparedStatement.setInt(2, rowIndices[i]);
+                        preparedStatement.setBytes(3, packed);
+                    } else {
+                        preparedStatement.setBytes(1, packed);
+                        preparedStatement.setString(2, matrixId);
+                        preparedStatement.setInt(3, rowIndices[i]);
+                    }
+                    preparedStatement.addBatch();
+                    if (++pending == batchSize) {
+                        checkUpdateCounts(preparedStatement.executeBatch(), matrixId, rowIndices, i + 1 - pending);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0)
+                    checkUpdateCounts(preparedStatement.executeBatch(), matrixId, rowIndices,
+                                    rowIndices.length - pending);
+                c.commit();
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Make sure every statement of a batch wrote exactly one row,
+     * drivers that don't report counts ({@link Statement#SUCCESS_NO_INFO}) are trusted
+     */
+    private static void checkUpdateCounts(int[] counts, String matrixId, int[] rowIndices, int first)
+                    throws SQLException {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO)
+                throw new SQLException("Row " + rowIndices[first + i] + " of matrix " + matrixId + " wasn't written, "
+                                + counts[i] + " rows changed");
+        }
+    }
+
+    /**
+     * Read the rows in [fromRow, toRow) in to a c ordered buffer whose first row is targetFirstRow
+     */
+    private void readRows(Connection c, String matrixId, int fromRow, int toRow, DataBuffer target,
+                    int targetFirstRow, int columns) throws SQLException {
+        try (PreparedStatement preparedStatement = c.prepareStatement(loadRowsStatement())) {
+            preparedStatement.setString(1, matrixId);
+            preparedStatement.setInt(2, fromRow);
+            preparedStatement.setInt(3, toRow);
+            try (ResultSet r = preparedStatement.executeQuery()) {
+                while (r.next()) {
+                    long offset = (long) (r.getInt(1) - targetFirstRow) * columns;
+                    unpack(r.getBytes(2), target, offset, columns);
+                }
+            }
+        }
+    }
+
+    private byte[] pack(INDArray rows, int row) {
+        int columns = rows.columns();
+        ByteBuffer buffer = ByteBuffer.allocate(columns * elementSize()).order(ByteOrder.LITTLE_ENDIAN);
+        boolean dense = rows.ordering() == 'c' && !rows.isView();
+        DataBuffer data = rows.data();
+        long offset = (long) row * columns;
+        for (int j = 0; j < columns; j++) {
+            double value = dense ? data.getDouble(offset + j) : rows.getDouble(row, j);
+            if (dataType == DataBuffer.Type.DOUBLE)
+                buffer.putDouble(value);
+            else
+                buffer.putFloat((float) value);
+        }
+        return buffer.array();
+    }
+
+    private void unpack(byte[] packed, DataBuffer target, long offset, int columns) {
+        if (packed.length != columns * elementSize())
+            throw new IllegalStateException("Expected a row of " + columns + " columns, got " + packed.length
+                            + " bytes");
+
+        ByteBuffer buffer = ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN);
+        for (int j = 0; j < columns; j++) {
+            if (dataType == DataBuffer.Type.DOUBLE)
+                target.put(offset + j, buffer.getDouble());
+            else
+                target.put(offset + j, buffer.getFloat());
+        }
+    }
+
+    private int elementSize() {
+        return dataType == DataBuffer.Type.DOUBLE ? 8 : 4;
+    }
+}
@@ -0,0 +1,88 @@
+package org.nd4j.jdbc.loader.impl;
+
+import org.nd4j.jdbc.loader.api.NDArrayRowIterator;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.primitives.Pair;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link NDArrayRowIterator} over an open result set of (id, array) rows.
+ * Owns the connection, statement and result set, and closes all of them.
+ */
+class ResultSetRowIterator implements NDArrayRowIterator {
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final ReusableArrayReader reader = new ReusableArrayReader();
+    private Pair<String, INDArray> next;
+    private boolean closed;
+
+    ResultSetRowIterator(Connection connection, boolean autoCommit, Statement statement, ResultSet resultSet) {
+        this.connection = connection;
+        this.autoCommit = autoCommit;
+        this.statement = statement;
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed) {
+            try {
+                if (resultSet.next())
+                    next = Pair.of(resultSet.getString(1), reader.read(resultSet.getBinaryStream(2)));
+                else
+                    close();
+            } catch (SQLException | IOException e) {
+                try {
+                    close();
+                } catch (IOException e2) {
+                    e.addSuppressed(e2);
+                }
+                throw new RuntimeException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Pair<String, INDArray> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Pair<String, INDArray> ret = next;
+        next = null;
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            try {
+                resultSet.close();
+                statement.close();
+                //nothing was written, just end the read only transaction
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            } finally {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+}
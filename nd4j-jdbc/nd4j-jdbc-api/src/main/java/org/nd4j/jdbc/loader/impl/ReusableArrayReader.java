@@ -0,0 +1,55 @@
+package org.nd4j.jdbc.loader.impl;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.serde.binary.BinarySerde;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads binary serialized arrays from streams, reusing the same direct buffer
+ * for every row. The buffer only grows, up to the size of the largest row seen.
+ *
+ * {@link BinarySerde#toArray(ByteBuffer)} copies the data out of the buffer,
+ * so arrays returned here don't depend on it.
+ */
+class ReusableArrayReader {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final byte[] chunk = new byte[8192];
+    private ByteBuffer buffer;
+
+    INDArray read(InputStream is) throws IOException {
+        if (is == null)
+            return null;
+
+        ByteBuffer current = buffer(INITIAL_CAPACITY);
+        current.clear();
+        int read;
+        while ((read = is.read(chunk)) > 0) {
+            if (current.remaining() < read) {
+                current = buffer(Math.max(current.capacity() * 2, current.position() + read));
+            }
+            current.put(chunk, 0, read);
+        }
+        current.flip();
+        return BinarySerde.toArray(current);
+    }
+
+    /**
+     * Get a buffer with at least the given capacity, keeping the already read bytes
+     */
+    private ByteBuffer buffer(int capacity) {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        } else if (buffer.capacity() < capacity) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        return buffer;
+    }
+}
@@ -4,14 +4,18 @@ import org.hsqldb.jdbc.JDBCDataSource;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.nd4j.jdbc.loader.api.NDArrayRowIterator;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.primitives.Pair;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.*;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
@@ -113,5 +117,49 @@ public class HSqlLoaderTest {
 
     }
 
+    @Test
+    public void testBatchedSaveLoadAndIterate() throws Exception {
+        String table = "batcharrays";
+        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(String.format("CREATE TABLE %s (%s INT NOT NULL,"
+                    + " %s BLOB NOT NULL, PRIMARY KEY (id))", table, ID_COLUMN_NAME, COLUMN_NAME));
+            connection.commit();
+        }
 
+        try {
+            HsqlLoader loader = new HsqlLoader(dataSource(), JDBC_URL, table, ID_COLUMN_NAME, COLUMN_NAME);
+            loader.setBatchSize(64);
+
+            Map<String, INDArray> toSave = new LinkedHashMap<>();
+            for (int i = 0; i < 300; i++)
+                toSave.put(String.valueOf(i), Nd4j.linspace(1, 10, 10).addi(i).reshape(2, 5));
+            loader.saveAll(toSave);
+
+            List<String> ids = new ArrayList<>();
+            for (int i = 299; i >= 0; i -= 3)
+                ids.add(String.valueOf(i));
+            ids.add("1000");
+            Map<String, INDArray> loaded = loader.loadAll(ids);
+            assertEquals(100, loaded.size());
+            assertFalse(loaded.containsKey("1000"));
+            assertEquals(ids.subList(0, 100), new ArrayList<>(loaded.keySet()));
+            for (Map.Entry<String, INDArray> entry : loaded.entrySet())
+                assertEquals(toSave.get(entry.getKey()), entry.getValue());
+
+            int count = 0;
+            try (NDArrayRowIterator iterator = loader.iterate(16)) {
+                while (iterator.hasNext()) {
+                    Pair<String, INDArray> row = iterator.next();
+                    assertEquals(toSave.get(row.getFirst()), row.getSecond());
+                    count++;
+                }
+            }
+            assertEquals(300, count);
+        } finally {
+            try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DROP TABLE " + table);
+                connection.commit();
+            }
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package org.nd4j.jdbc.hsql;
+
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HsqlMatrixRowStoreTest {
+    public final static String JDBC_URL = "jdbc:hsqldb:mem:matrixrows";
+    public final static String TABLE_NAME = "embeddings";
+
+    private JDBCDataSource dataSource;
+    private HsqlMatrixRowStore store;
+
+    @Before
+    public void init() throws Exception {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl(JDBC_URL);
+        dataSource.setUser("test");
+        dataSource.setPassword("test");
+
+        store = new HsqlMatrixRowStore(dataSource, TABLE_NAME);
+        store.setBatchSize(32);
+        store.setChunkRows(50);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(store.createTableStatement());
+        }
+    }
+
+    @After
+    public void destroy() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE " + TABLE_NAME);
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadRows() throws Exception {
+        INDArray matrix = Nd4j.rand(317, 12);
+        store.save("emb", matrix);
+        store.save("other", Nd4j.ones(3, 4));
+
+        assertArrayEquals(new int[] {317, 12}, store.shape("emb"));
+        assertArrayEquals(new int[] {3, 4}, store.shape("other"));
+
+        INDArray rows = store.loadRows("emb", 100, 140);
+        assertTrue(matrix.get(NDArrayIndex.interval(100, 140), NDArrayIndex.all()).equalsWithEps(rows, 1e-6));
+        assertEquals(0, store.loadRows("emb", 10, 10).rows());
+
+        assertTrue(matrix.equalsWithEps(store.load("emb", 1), 1e-6));
+        assertTrue(matrix.equalsWithEps(store.load("emb", 4), 1e-6));
+
+        store.delete("other");
+        assertTrue(matrix.equalsWithEps(store.load("emb", 2), 1e-6));
+    }
+
+    @Test
+    public void testScatteredUpdates() throws Exception {
+        INDArray matrix = Nd4j.rand(200, 8);
+        store.save("emb", matrix);
+
+        int[] indices = {3, 150, 77, 0, 199};
+        INDArray updates = Nd4j.rand(indices.length, 8);
+        store.updateRows("emb", indices, updates);
+
+        INDArray expected = matrix.dup();
+        for (int i = 0; i < indices.length; i++)
+            expected.putRow(indices[i], updates.getRow(i));
+
+        assertTrue(expected.equalsWithEps(store.load("emb", 3), 1e-6));
+        assertTrue(updates.getRow(1).equalsWithEps(store.loadRows("emb", 150, 151), 1e-6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingMatrix() throws Exception {
+        store.shape("missing");
+    }
+
+    @Test
+    public void testUpdateOfMissingRowFails() throws Exception {
+        INDArray matrix = Nd4j.rand(10, 4);
+        store.save("emb", matrix);
+        try {
+            store.updateRows("emb", new int[] {2, 10}, Nd4j.rand(2, 4));
+            fail("Row 10 isn't stored");
+        } catch (SQLException e) {
+            //the whole update is rolled back
+            assertTrue(matrix.equalsWithEps(store.load("emb", 1), 1e-6));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadRowsBeyondStoredRows() throws Exception {
+        store.save("emb", Nd4j.rand(10, 4));
+        store.loadRows("emb", 5, 11);
+    }
+}
@@ -22,6 +22,8 @@ package org.nd4j.jdbc.mysql;
 import org.nd4j.jdbc.loader.impl.BaseLoader;
 
 import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * Mysql loader for ndarrays
@@ -57,6 +59,18 @@ public class MysqlLoader extends BaseLoader {
 
     }
 
+    /**
+     * Connector/J reads the whole result set in to memory unless the fetch size
+     * is Integer.MIN_VALUE, or cursor fetching was enabled on the connection url.
+     */
+    @Override
+    protected void configureStreaming(Statement statement, int fetchSize) throws SQLException {
+        if (jdbcUrl != null && jdbcUrl.contains("useCursorFetch=true"))
+            statement.setFetchSize(fetchSize);
+        else
+            statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
     /**
      * Create an delete statement
      *
@@ -0,0 +1,34 @@
+package org.nd4j.jdbc.mysql;
+
+import org.nd4j.jdbc.loader.impl.BaseMatrixRowStore;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+
+import javax.sql.DataSource;
+
+/**
+ * MySQL row by row matrix storage
+ */
+public class MysqlMatrixRowStore extends BaseMatrixRowStore {
+
+    public MysqlMatrixRowStore(DataSource dataSource, String tableName, String matrixIdColumnName,
+                    String rowIndexColumnName, String vectorColumnName, DataBuffer.Type dataType) {
+        super(dataSource, tableName, matrixIdColumnName, rowIndexColumnName, vectorColumnName, dataType);
+    }
+
+    public MysqlMatrixRowStore(DataSource dataSource, String tableName) {
+        super(dataSource, tableName);
+    }
+
+    /**
+     * Create a create table statement
+     *
+     * @return a new create table statement
+     */
+    @Override
+    public String createTableStatement() {
+        return "CREATE TABLE " + tableName + " (" + matrixIdColumnName + " VARCHAR(255) NOT NULL, "
+                        + rowIndexColumnName + " INT NOT NULL, " + vectorColumnName
+                        + " MEDIUMBLOB NOT NULL, PRIMARY KEY (" + matrixIdColumnName + ", "
+                        + rowIndexColumnName + "))";
+    }
+}
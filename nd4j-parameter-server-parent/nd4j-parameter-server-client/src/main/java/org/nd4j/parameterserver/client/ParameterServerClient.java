@@ -57,6 +57,8 @@ public class ParameterServerClient implements NDArrayCallback {
     private ObjectMapper objectMapper = new ObjectMapper();
     private Aeron aeron;
     private boolean compressArray = true;
+    //encoder for sparse gradient updates, see pushGradient
+    private GradientEncoder gradientEncoder;
 
     /**
      * Tracks number of
@@ -163,6 +165,32 @@ public class ParameterServerClient implements NDArrayCallback {
      * @param message the array to send
      */
     public void pushNDArrayMessage(NDArrayMessage message) {
+        publish(message, isCompressArray());
+    }
+
+    /**
+     * Push a gradient as a threshold or bitmap encoded update,
+     * keeping the part of the gradient that wasn't sent as residual
+     * for the following calls, see {@link GradientEncoder}.
+     * The server adds the decoded update to its current array.
+     * Note that this requires {@link #getGradientEncoder()} to be set.
+     * @param gradient the gradient to send
+     * @return true if an update was sent, false if no element
+     * of the residual reached the threshold yet
+     */
+    public boolean pushGradient(INDArray gradient) {
+        if (gradientEncoder == null)
+            throw new IllegalStateException("No gradient encoder set for sending encoded updates");
+
+        NDArrayMessage message = gradientEncoder.encode(gradient);
+        if (message == null)
+            return false;
+        //encoded updates don't compress any further
+        publish(message, false);
+        return true;
+    }
+
+    private void publish(NDArrayMessage message, boolean compress) {
         //start a subscriber that can send us ndarrays
         if (subscriber == null) {
             running = new AtomicBoolean(true);
@@ -177,7 +205,7 @@ public class ParameterServerClient implements NDArrayCallback {
         String channel = AeronUtil.aeronChannel(split[0], port);
         log.debug("Parameter server client publishing to " + ndarraySendUrl);
         try (AeronNDArrayPublisher publisher = AeronNDArrayPublisher.builder().streamId(streamToPublish)
-                        .compress(isCompressArray()).aeron(aeron).channel(channel).build()) {
+                        .compress(compress).aeron(aeron).channel(channel).build()) {
             publisher.publish(message);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -2,7 +2,6 @@ package org.nd4j.parameterserver.distributed.messages;
 
 import lombok.*;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
@@ -39,7 +38,7 @@ public abstract class BaseVoidMessage implements VoidMessage {
 
     @Override
     public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+        return VoidMessageCodec.toBytes(this);
     }
 
     @Override
@@ -49,7 +48,25 @@ public abstract class BaseVoidMessage implements VoidMessage {
 
 
     public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
+        return VoidMessageCodec.toBuffer(this);
+    }
+
+    /**
+     * This method writes all fields sent over the wire, see {@link VoidMessageCodec}.
+     * Subclasses with fields of their own have to override it, calling super first
+     */
+    protected void encodeFields(MessageEncoder encoder) {
+        encoder.putInt(messageType).putLong(originatorId).putLong(taskId).putShort(targetId);
+    }
+
+    /**
+     * This method reads fields in the order {@link #encodeFields(MessageEncoder)} wrote them
+     */
+    protected void decodeFields(MessageDecoder decoder) {
+        messageType = decoder.getInt();
+        originatorId = decoder.getLong();
+        taskId = decoder.getLong();
+        targetId = decoder.getShort();
     }
 
     @Override
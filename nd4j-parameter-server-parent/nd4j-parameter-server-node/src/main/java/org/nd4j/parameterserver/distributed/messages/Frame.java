@@ -6,7 +6,6 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
@@ -146,12 +145,27 @@ public class Frame<T extends TrainingMessage> implements Serializable, Iterable<
 
     @Override
     public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+        return VoidMessageCodec.toBytes(this);
     }
 
     @Override
     public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
+        return VoidMessageCodec.toBuffer(this);
+    }
+
+    protected void encodeFields(MessageEncoder encoder) {
+        encoder.putLong(originatorId).putShort(targetId).putLong(taskId).putInt(list.size());
+        for (T message : list)
+            encoder.putMessage(message);
+    }
+
+    protected void decodeFields(MessageDecoder decoder) {
+        originatorId = decoder.getLong();
+        targetId = decoder.getShort();
+        taskId = decoder.getLong();
+        int size = decoder.getInt();
+        for (int i = 0; i < size; i++)
+            list.add(decoder.getMessage());
     }
 
     @Override
@@ -0,0 +1,146 @@
+package org.nd4j.parameterserver.distributed.messages;
+
+import org.agrona.DirectBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.nio.ByteOrder;
+
+/**
+ * Reads the fields written by a {@link MessageEncoder}, in the same order they were written.
+ * Decoded ndarrays are copies, so the buffer can be reused right away.
+ */
+public class MessageDecoder {
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final DirectBuffer buffer;
+    private int position;
+
+    public MessageDecoder(DirectBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public byte getByte() {
+        return buffer.getByte(position++);
+    }
+
+    public boolean getBoolean() {
+        return getByte() != 0;
+    }
+
+    public short getShort() {
+        short ret = buffer.getShort(position, ORDER);
+        position += 2;
+        return ret;
+    }
+
+    public int getInt() {
+        int ret = buffer.getInt(position, ORDER);
+        position += 4;
+        return ret;
+    }
+
+    public long getLong() {
+        long ret = buffer.getLong(position, ORDER);
+        position += 8;
+        return ret;
+    }
+
+    public float getFloat() {
+        float ret = buffer.getFloat(position, ORDER);
+        position += 4;
+        return ret;
+    }
+
+    public double getDouble() {
+        double ret = buffer.getDouble(position, ORDER);
+        position += 8;
+        return ret;
+    }
+
+    public Integer getInteger() {
+        return getBoolean() ? getInt() : null;
+    }
+
+    public byte[] getBytes() {
+        int length = getInt();
+        if (length < 0)
+            return null;
+        byte[] ret = new byte[length];
+        buffer.getBytes(position, ret);
+        position += length;
+        return ret;
+    }
+
+    public int[] getInts() {
+        int length = getInt();
+        if (length < 0)
+            return null;
+        int[] ret = new int[length];
+        for (int i = 0; i < length; i++)
+            ret[i] = getInt();
+        return ret;
+    }
+
+    public String getString() {
+        int length = getInt();
+        if (length < 0)
+            return null;
+        String ret = buffer.getStringWithoutLengthUtf8(position, length);
+        position += length;
+        return ret;
+    }
+
+    public INDArray getArray() {
+        int rank = getInt();
+        if (rank < 0)
+            return null;
+
+        int[] shape = new int[rank];
+        for (int i = 0; i < rank; i++)
+            shape[i] = getInt();
+        char order = (char) getByte();
+        DataBuffer.Type type = DataBuffer.Type.values()[getByte()];
+        boolean littleEndian = getBoolean();
+        int bytes = getInt();
+        if (littleEndian != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN))
+            throw new ND4JIllegalStateException("Unable to decode ndarray data sent with another byte order");
+
+        long length = ArrayUtil.prodLong(shape);
+        DataBuffer data;
+        switch (type) {
+            case DOUBLE:
+                data = Nd4j.getDataBufferFactory().createDouble(length, false);
+                break;
+            case FLOAT:
+                data = Nd4j.getDataBufferFactory().createFloat(length, false);
+                break;
+            case HALF:
+                data = Nd4j.getDataBufferFactory().createHalf(length, false);
+                break;
+            case INT:
+                data = Nd4j.getDataBufferFactory().createInt(length, false);
+                break;
+            default:
+                throw new ND4JIllegalStateException("Unsupported data type " + type);
+        }
+        buffer.getBytes(position, data.asNio(), bytes);
+        position += bytes;
+        Nd4j.getAffinityManager().tagLocation(data, AffinityManager.Location.HOST);
+
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, order), 0, order);
+    }
+
+    /**
+     * Read a nested message, see {@link VoidMessageCodec#decodeMessage(MessageDecoder)}
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends VoidMessage> T getMessage() {
+        return (T) VoidMessageCodec.decodeMessage(this);
+    }
+}
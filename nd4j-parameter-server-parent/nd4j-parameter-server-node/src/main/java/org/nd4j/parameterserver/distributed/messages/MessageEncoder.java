@@ -0,0 +1,144 @@
+package org.nd4j.parameterserver.distributed.messages;
+
+import org.agrona.MutableDirectBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.ByteOrder;
+
+/**
+ * Writes the fields of a {@link VoidMessage} to a buffer, one after another, see {@link VoidMessageCodec}.
+ *
+ * Numbers are little endian. Arrays, strings and ndarrays are prefixed with their length, -1 for null.
+ * ndarray data is copied in one go, in the native byte order.
+ */
+public class MessageEncoder {
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final MutableDirectBuffer buffer;
+    private final int offset;
+    private int position;
+
+    public MessageEncoder(MutableDirectBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.position = offset;
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public int length() {
+        return position - offset;
+    }
+
+    public MessageEncoder putByte(byte value) {
+        buffer.putByte(position, value);
+        position += 1;
+        return this;
+    }
+
+    public MessageEncoder putBoolean(boolean value) {
+        return putByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    public MessageEncoder putShort(short value) {
+        buffer.putShort(position, value, ORDER);
+        position += 2;
+        return this;
+    }
+
+    public MessageEncoder putInt(int value) {
+        buffer.putInt(position, value, ORDER);
+        position += 4;
+        return this;
+    }
+
+    public MessageEncoder putLong(long value) {
+        buffer.putLong(position, value, ORDER);
+        position += 8;
+        return this;
+    }
+
+    public MessageEncoder putFloat(float value) {
+        buffer.putFloat(position, value, ORDER);
+        position += 4;
+        return this;
+    }
+
+    public MessageEncoder putDouble(double value) {
+        buffer.putDouble(position, value, ORDER);
+        position += 8;
+        return this;
+    }
+
+    public MessageEncoder putInteger(Integer value) {
+        putBoolean(value != null);
+        return value == null ? this : putInt(value);
+    }
+
+    public MessageEncoder putBytes(byte[] value) {
+        if (value == null)
+            return putInt(-1);
+        putInt(value.length);
+        buffer.putBytes(position, value);
+        position += value.length;
+        return this;
+    }
+
+    public MessageEncoder putInts(int[] value) {
+        if (value == null)
+            return putInt(-1);
+        putInt(value.length);
+        for (int v : value)
+            putInt(v);
+        return this;
+    }
+
+    public MessageEncoder putString(String value) {
+        if (value == null)
+            return putInt(-1);
+        position += buffer.putStringUtf8(position, value, ORDER);
+        return this;
+    }
+
+    /**
+     * Write an ndarray: rank, shape, ordering, data type and byte order, followed by the raw data
+     */
+    public MessageEncoder putArray(INDArray value) {
+        if (value == null)
+            return putInt(-1);
+
+        if (value.isCompressed())
+            value = Nd4j.getCompressor().decompress(value);
+        if (value.isView() || value.data().offset() != 0 || value.data().length() != value.length())
+            value = value.dup(value.ordering());
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(value, AffinityManager.Location.HOST);
+
+        DataBuffer data = value.data();
+        int[] shape = value.shape();
+        putInt(shape.length);
+        for (int size : shape)
+            putInt(size);
+        putByte((byte) value.ordering());
+        putByte((byte) data.dataType().ordinal());
+        putBoolean(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+
+        int bytes = (int) (value.length() * data.getElementSize());
+        putInt(bytes);
+        buffer.putBytes(position, data.asNio(), bytes);
+        position += bytes;
+        return this;
+    }
+
+    /**
+     * Write a nested message, see {@link VoidMessageCodec#encodeMessage(VoidMessage, MessageEncoder)}
+     */
+    public MessageEncoder putMessage(VoidMessage message) {
+        VoidMessageCodec.encodeMessage(message, this);
+        return this;
+    }
+}
@@ -0,0 +1,200 @@
+package org.nd4j.parameterserver.distributed.messages;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+import org.apache.commons.lang3.SerializationUtils;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
+import org.nd4j.parameterserver.distributed.messages.aggregations.InitializationAggregation;
+import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.FrameCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.InitializationCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.IntroductionCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.*;
+import org.nd4j.parameterserver.distributed.messages.requests.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Binary codec for {@link VoidMessage}s, used instead of java serialization.
+ *
+ * Every message class known to the codec has a fixed id, and writes and reads its own fields
+ * (see {@link BaseVoidMessage#encodeFields(MessageEncoder)}), so decoding needs no reflection.
+ * The ids are separate from {@link VoidMessage#getMessageType()}, which isn't unique per class.
+ *
+ * Encoded messages start with {@link #FORMAT}, followed by the class id and the fields of the message.
+ * Messages of other classes are java serialized as before, and are told apart by the java stream header.
+ */
+public class VoidMessageCodec {
+    public static final byte FORMAT = 0x56;
+
+    // id used for nested messages the codec doesn't know, followed by their java serialized form
+    private static final short SERIALIZED = 0;
+    private static final int MAX_RETAINED_SCRATCH = 1024 * 1024;
+
+    private static final Map<Class<?>, Short> IDS = new HashMap<>();
+    private static final Map<Short, Supplier<? extends VoidMessage>> FACTORIES = new HashMap<>();
+
+    private static final ThreadLocal<ExpandableArrayBuffer> SCRATCH =
+                    ThreadLocal.withInitial(() -> new ExpandableArrayBuffer(4096));
+
+    static {
+        // ids are part of the wire format: never reuse or reorder them
+        register(1, Frame.class, Frame::new);
+        register(2, SkipGramRequestMessage.class, SkipGramRequestMessage::new);
+        register(3, CbowRequestMessage.class, CbowRequestMessage::new);
+        register(4, InitializationRequestMessage.class, InitializationRequestMessage::new);
+        register(5, IntroductionRequestMessage.class, IntroductionRequestMessage::new);
+        register(6, ShutdownRequestMessage.class, ShutdownRequestMessage::new);
+        register(7, VectorRequestMessage.class, VectorRequestMessage::new);
+        register(8, AssignRequestMessage.class, AssignRequestMessage::new);
+        register(9, DistributedAssignMessage.class, DistributedAssignMessage::new);
+        register(10, DistributedCbowDotMessage.class, DistributedCbowDotMessage::new);
+        register(11, DistributedInitializationMessage.class, DistributedInitializationMessage::new);
+        register(12, DistributedIntroductionMessage.class, DistributedIntroductionMessage::new);
+        register(13, DistributedSgDotMessage.class, DistributedSgDotMessage::new);
+        register(14, DistributedShutdownMessage.class, DistributedShutdownMessage::new);
+        register(15, DistributedSkipGramMessage.class, DistributedSkipGramMessage::new);
+        register(16, DistributedSolidMessage.class, DistributedSolidMessage::new);
+        register(17, DistributedVectorMessage.class, DistributedVectorMessage::new);
+        register(18, DotAggregation.class, DotAggregation::new);
+        register(19, InitializationAggregation.class, InitializationAggregation::new);
+        register(20, VectorAggregation.class, VectorAggregation::new);
+        register(21, FrameCompleteMessage.class, FrameCompleteMessage::new);
+        register(22, InitializationCompleteMessage.class, InitializationCompleteMessage::new);
+        register(23, IntroductionCompleteMessage.class, IntroductionCompleteMessage::new);
+        register(24, VectorCompleteMessage.class, VectorCompleteMessage::new);
+    }
+
+    private VoidMessageCodec() {}
+
+    private static <T extends VoidMessage> void register(int id, Class<T> clazz, Supplier<T> factory) {
+        IDS.put(clazz, (short) id);
+        FACTORIES.put((short) id, factory);
+    }
+
+    /**
+     * Encode a message in to the given buffer
+     *
+     * @param message the message to encode
+     * @param buffer the buffer to encode in to, an expandable buffer if the size isn't known up front
+     * @param offset the offset in the buffer to start at
+     * @return the length of the encoded message in bytes
+     */
+    public static int encode(VoidMessage message, MutableDirectBuffer buffer, int offset) {
+        if (!IDS.containsKey(message.getClass())) {
+            byte[] bytes = SerializationUtils.serialize(message);
+            buffer.putBytes(offset, bytes);
+            return bytes.length;
+        }
+
+        MessageEncoder encoder = new MessageEncoder(buffer, offset);
+        encoder.putByte(FORMAT);
+        encodeMessage(message, encoder);
+        return encoder.length();
+    }
+
+    /**
+     * Encode a message in to an exactly sized byte array
+     */
+    public static byte[] toBytes(VoidMessage message) {
+        ExpandableArrayBuffer scratch = SCRATCH.get();
+        int length = encode(message, scratch, 0);
+        byte[] ret = new byte[length];
+        scratch.getBytes(0, ret);
+
+        // don't keep buffers for unusually large messages around
+        if (scratch.capacity() > MAX_RETAINED_SCRATCH)
+            SCRATCH.remove();
+        return ret;
+    }
+
+    /**
+     * Encode a message in to an exactly sized buffer
+     */
+    public static UnsafeBuffer toBuffer(VoidMessage message) {
+        return new UnsafeBuffer(toBytes(message));
+    }
+
+    /**
+     * Decode a message written by {@link #encode(VoidMessage, MutableDirectBuffer, int)} or java serialization
+     *
+     * @param buffer the buffer to decode from
+     * @param offset the offset of the message in the buffer
+     * @param length the length of the message
+     * @return the decoded message
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends VoidMessage> T decode(DirectBuffer buffer, int offset, int length) {
+        if (buffer.getByte(offset) != FORMAT) {
+            byte[] bytes = new byte[length];
+            buffer.getBytes(offset, bytes);
+            return deserialize(bytes);
+        }
+
+        return (T) decodeMessage(new MessageDecoder(buffer, offset + 1));
+    }
+
+    /**
+     * Decode a message from a byte array
+     */
+    public static <T extends VoidMessage> T fromBytes(byte[] bytes) {
+        return decode(new UnsafeBuffer(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Write the class id and fields of a (possibly nested) message
+     */
+    static void encodeMessage(VoidMessage message, MessageEncoder encoder) {
+        Short id = IDS.get(message.getClass());
+        if (id == null) {
+            encoder.putShort(SERIALIZED);
+            encoder.putBytes(SerializationUtils.serialize(message));
+        } else if (message instanceof Frame) {
+            encoder.putShort(id);
+            ((Frame<?>) message).encodeFields(encoder);
+        } else {
+            encoder.putShort(id);
+            ((BaseVoidMessage) message).encodeFields(encoder);
+        }
+    }
+
+    /**
+     * Read a (possibly nested) message written by {@link #encodeMessage(VoidMessage, MessageEncoder)}
+     */
+    static VoidMessage decodeMessage(MessageDecoder decoder) {
+        short id = decoder.getShort();
+        if (id == SERIALIZED)
+            return deserialize(decoder.getBytes());
+
+        Supplier<? extends VoidMessage> factory = FACTORIES.get(id);
+        if (factory == null)
+            throw new ND4JIllegalStateException("Unknown message id " + id);
+
+        VoidMessage message = factory.get();
+        if (message instanceof Frame)
+            ((Frame<?>) message).decodeFields(decoder);
+        else
+            ((BaseVoidMessage) message).decodeFields(decoder);
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends VoidMessage> T deserialize(byte[] bytes) {
+        try {
+            ObjectInputStream in = new ClassLoaderObjectInputStream(Thread.currentThread().getContextClassLoader(),
+                            new ByteArrayInputStream(bytes));
+            return (T) in.readObject();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
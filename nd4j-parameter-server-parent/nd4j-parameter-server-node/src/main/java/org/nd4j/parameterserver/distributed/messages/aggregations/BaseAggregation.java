@@ -4,12 +4,12 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.VoidAggregation;
 
 import java.io.Serializable;
@@ -107,13 +107,24 @@ public abstract class BaseAggregation extends BaseVoidMessage implements VoidAgg
     }
 
     @Override
-    public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putShort(aggregationType).putShort(aggregationWidth).putInt(numberOfElements).putShort(shardIndex)
+                        .putArray(payload);
     }
 
     @Override
-    public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        aggregationType = decoder.getShort();
+        aggregationWidth = decoder.getShort();
+        numberOfElements = decoder.getInt();
+        shardIndex = decoder.getShort();
+        payload = decoder.getArray();
+
+        // received aggregation starts out with its own chunk, just like the one that was sent
+        if (payload != null)
+            addToChunks(payload);
     }
 
     @Override
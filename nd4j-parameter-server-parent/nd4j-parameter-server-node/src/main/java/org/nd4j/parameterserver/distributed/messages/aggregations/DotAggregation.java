@@ -17,7 +17,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public class DotAggregation extends BaseAggregation {
 
-    protected DotAggregation() {
+    public DotAggregation() {
         super();
     }
 
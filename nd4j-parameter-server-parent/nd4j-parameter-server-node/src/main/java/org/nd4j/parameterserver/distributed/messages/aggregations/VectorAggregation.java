@@ -11,7 +11,7 @@ import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMess
 @Slf4j
 public class VectorAggregation extends BaseAggregation {
 
-    protected VectorAggregation() {
+    public VectorAggregation() {
         super();
     }
 
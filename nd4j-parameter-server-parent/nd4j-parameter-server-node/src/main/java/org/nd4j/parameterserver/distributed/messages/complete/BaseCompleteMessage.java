@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.MeaningfulMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 
 /**
  * This message contains information about finished computations for specific batch, being sent earlier
@@ -30,4 +32,16 @@ public abstract class BaseCompleteMessage extends BaseVoidMessage implements Mea
     public void processMessage() {
         // no-op
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putArray(payload);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        payload = decoder.getArray();
+    }
 }
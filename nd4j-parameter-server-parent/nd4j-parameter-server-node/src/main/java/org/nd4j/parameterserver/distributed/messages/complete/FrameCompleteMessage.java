@@ -4,7 +4,7 @@ package org.nd4j.parameterserver.distributed.messages.complete;
  * @author raver119@gmail.com
  */
 public class FrameCompleteMessage extends BaseCompleteMessage {
-    protected FrameCompleteMessage() {
+    public FrameCompleteMessage() {
         super(19);
     }
 
@@ -5,7 +5,7 @@ package org.nd4j.parameterserver.distributed.messages.complete;
  */
 public class IntroductionCompleteMessage extends BaseCompleteMessage {
 
-    protected IntroductionCompleteMessage() {
+    public IntroductionCompleteMessage() {
         super(19);
     }
 
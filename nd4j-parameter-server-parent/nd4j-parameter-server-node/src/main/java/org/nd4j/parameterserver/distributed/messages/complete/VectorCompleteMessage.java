@@ -8,7 +8,7 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  */
 public class VectorCompleteMessage extends BaseCompleteMessage {
 
-    protected VectorCompleteMessage() {
+    public VectorCompleteMessage() {
         super();
     }
 
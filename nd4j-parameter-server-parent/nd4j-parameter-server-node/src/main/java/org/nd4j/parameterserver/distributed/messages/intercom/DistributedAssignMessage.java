@@ -4,6 +4,8 @@ import lombok.*;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 
 /**
@@ -21,7 +23,7 @@ public class DistributedAssignMessage extends BaseVoidMessage implements Distrib
     private Integer key;
     private INDArray payload;
 
-    protected DistributedAssignMessage() {
+    public DistributedAssignMessage() {
         super();
     }
 
@@ -60,4 +62,22 @@ public class DistributedAssignMessage extends BaseVoidMessage implements Distrib
                 storage.getArray(key).assign(value);
         }
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInt(index);
+        encoder.putDouble(value);
+        encoder.putInteger(key);
+        encoder.putArray(payload);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        index = decoder.getInt();
+        value = decoder.getDouble();
+        key = decoder.getInteger();
+        payload = decoder.getArray();
+    }
 }
@@ -11,6 +11,8 @@ import org.nd4j.parameterserver.distributed.enums.ExecutionMode;
 import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.aggregations.InitializationAggregation;
 
 /**
@@ -110,4 +112,26 @@ public class DistributedInitializationMessage extends BaseVoidMessage implements
 
         return Nd4j.create(expTable);
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInt(vectorLength);
+        encoder.putInt(numWords);
+        encoder.putLong(seed);
+        encoder.putBoolean(useHs);
+        encoder.putBoolean(useNeg);
+        encoder.putInt(columnsPerShard);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        vectorLength = decoder.getInt();
+        numWords = decoder.getInt();
+        seed = decoder.getLong();
+        useHs = decoder.getBoolean();
+        useNeg = decoder.getBoolean();
+        columnsPerShard = decoder.getInt();
+    }
 }
@@ -3,6 +3,8 @@ package org.nd4j.parameterserver.distributed.messages.intercom;
 import lombok.NonNull;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 
 /**
  * @author raver119@gmail.com
@@ -11,7 +13,7 @@ public class DistributedIntroductionMessage extends BaseVoidMessage implements D
     private String ip;
     private int port;
 
-    protected DistributedIntroductionMessage() {
+    public DistributedIntroductionMessage() {
         super();
     }
 
@@ -24,4 +26,18 @@ public class DistributedIntroductionMessage extends BaseVoidMessage implements D
     public void processMessage() {
         transport.addClient(this.ip, this.port);
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putString(ip);
+        encoder.putInt(port);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        ip = decoder.getString();
+        port = decoder.getInt();
+    }
 }
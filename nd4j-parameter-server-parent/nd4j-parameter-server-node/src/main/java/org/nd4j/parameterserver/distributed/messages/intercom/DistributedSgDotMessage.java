@@ -9,6 +9,8 @@ import org.nd4j.parameterserver.distributed.enums.ExecutionMode;
 import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 import org.nd4j.parameterserver.distributed.training.impl.SkipGramTrainer;
@@ -113,4 +115,30 @@ public class DistributedSgDotMessage extends BaseVoidMessage implements Distribu
             transport.sendMessage(dot);
         }
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInts(rowsA);
+        encoder.putInts(rowsB);
+        encoder.putInt(w1);
+        encoder.putInt(w2);
+        encoder.putBoolean(useHS);
+        encoder.putShort(negSamples);
+        encoder.putFloat(alpha);
+        encoder.putBytes(codes);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        rowsA = decoder.getInts();
+        rowsB = decoder.getInts();
+        w1 = decoder.getInt();
+        w2 = decoder.getInt();
+        useHS = decoder.getBoolean();
+        negSamples = decoder.getShort();
+        alpha = decoder.getFloat();
+        codes = decoder.getBytes();
+    }
 }
@@ -3,6 +3,8 @@ package org.nd4j.parameterserver.distributed.messages.intercom;
 import lombok.NonNull;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 
 /**
@@ -27,7 +29,7 @@ public class DistributedSkipGramMessage extends BaseVoidMessage implements Distr
     protected long nextRandom;
 
 
-    protected DistributedSkipGramMessage() {
+    public DistributedSkipGramMessage() {
         super(23);
     }
 
@@ -47,4 +49,28 @@ public class DistributedSkipGramMessage extends BaseVoidMessage implements Distr
     public void processMessage() {
 
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putDouble(alpha);
+        encoder.putInt(w1);
+        encoder.putInt(w2);
+        encoder.putInts(points);
+        encoder.putBytes(codes);
+        encoder.putShort(negSamples);
+        encoder.putLong(nextRandom);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        alpha = decoder.getDouble();
+        w1 = decoder.getInt();
+        w2 = decoder.getInt();
+        points = decoder.getInts();
+        codes = decoder.getBytes();
+        negSamples = decoder.getShort();
+        nextRandom = decoder.getLong();
+    }
 }
@@ -6,6 +6,8 @@ import lombok.NonNull;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 
 /**
  * Array passed here will be shared & available on all shards.
@@ -40,4 +42,20 @@ public class DistributedSolidMessage extends BaseVoidMessage implements Distribu
         else if (!storage.arrayExists(key))
             storage.setArray(key, payload);
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInteger(key);
+        encoder.putArray(payload);
+        encoder.putBoolean(overwrite);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        key = decoder.getInteger();
+        payload = decoder.getArray();
+        overwrite = decoder.getBoolean();
+    }
 }
@@ -5,6 +5,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
 
 /**
@@ -36,4 +38,18 @@ public class DistributedVectorMessage extends BaseVoidMessage implements Distrib
         aggregation.setOriginatorId(this.getOriginatorId());
         transport.sendMessage(aggregation);
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInt(rowIndex);
+        encoder.putInt(key);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        rowIndex = decoder.getInt();
+        key = decoder.getInt();
+    }
 }
@@ -4,6 +4,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.intercom.DistributedAssignMessage;
 
@@ -22,7 +24,7 @@ public class AssignRequestMessage extends BaseVoidMessage implements RequestMess
     protected Number value;
 
 
-    protected AssignRequestMessage() {
+    public AssignRequestMessage() {
         super(8);
     }
 
@@ -54,4 +56,24 @@ public class AssignRequestMessage extends BaseVoidMessage implements RequestMess
             transport.sendMessageToAllShards(dam);
         }
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInteger(key);
+        encoder.putInt(rowIdx);
+        encoder.putArray(payload);
+        encoder.putBoolean(value != null);
+        if (value != null)
+            encoder.putDouble(value.doubleValue());
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        key = decoder.getInteger();
+        rowIdx = decoder.getInt();
+        payload = decoder.getArray();
+        value = decoder.getBoolean() ? decoder.getDouble() : null;
+    }
 }
@@ -5,6 +5,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidMessage;
@@ -30,6 +32,10 @@ public class CbowRequestMessage extends BaseVoidMessage implements TrainingMessa
 
     protected int[] negatives;
 
+    public CbowRequestMessage() {
+        super();
+    }
+
     public CbowRequestMessage(@NonNull int[] syn0rows, @NonNull int[] syn1rows, int w1, byte[] codes, int negSamples,
                     double alpha, long nextRandom) {
         this.syn0rows = syn0rows;
@@ -62,4 +68,34 @@ public class CbowRequestMessage extends BaseVoidMessage implements TrainingMessa
         // TODO: apply proper join handling here
         counter++;
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putByte(counter);
+        encoder.putLong(frameId);
+        encoder.putInt(w1);
+        encoder.putInts(syn0rows);
+        encoder.putInts(syn1rows);
+        encoder.putDouble(alpha);
+        encoder.putLong(nextRandom);
+        encoder.putInt(negSamples);
+        encoder.putBytes(codes);
+        encoder.putInts(negatives);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        counter = decoder.getByte();
+        frameId = decoder.getLong();
+        w1 = decoder.getInt();
+        syn0rows = decoder.getInts();
+        syn1rows = decoder.getInts();
+        alpha = decoder.getDouble();
+        nextRandom = decoder.getLong();
+        negSamples = decoder.getInt();
+        codes = decoder.getBytes();
+        negatives = decoder.getInts();
+    }
 }
@@ -3,6 +3,8 @@ package org.nd4j.parameterserver.distributed.messages.requests;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.aggregations.InitializationAggregation;
 import org.nd4j.parameterserver.distributed.messages.intercom.DistributedInitializationMessage;
@@ -22,7 +24,7 @@ public class InitializationRequestMessage extends BaseVoidMessage implements Req
     protected boolean useNeg;
     protected int columnsPerShard;
 
-    protected InitializationRequestMessage() {
+    public InitializationRequestMessage() {
         super(4);
         taskId = -119L;
     }
@@ -62,4 +64,26 @@ public class InitializationRequestMessage extends BaseVoidMessage implements Req
     public boolean isBlockingMessage() {
         return true;
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInt(vectorLength);
+        encoder.putInt(numWords);
+        encoder.putLong(seed);
+        encoder.putBoolean(useHs);
+        encoder.putBoolean(useNeg);
+        encoder.putInt(columnsPerShard);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        vectorLength = decoder.getInt();
+        numWords = decoder.getInt();
+        seed = decoder.getLong();
+        useHs = decoder.getBoolean();
+        useNeg = decoder.getBoolean();
+        columnsPerShard = decoder.getInt();
+    }
 }
@@ -2,6 +2,8 @@ package org.nd4j.parameterserver.distributed.messages.requests;
 
 import lombok.NonNull;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.complete.IntroductionCompleteMessage;
 import org.nd4j.parameterserver.distributed.messages.intercom.DistributedIntroductionMessage;
@@ -48,4 +50,18 @@ public class IntroductionRequestMessage extends BaseVoidMessage implements Reque
     public boolean isBlockingMessage() {
         return true;
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putString(ip);
+        encoder.putInt(port);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        ip = decoder.getString();
+        port = decoder.getInt();
+    }
 }
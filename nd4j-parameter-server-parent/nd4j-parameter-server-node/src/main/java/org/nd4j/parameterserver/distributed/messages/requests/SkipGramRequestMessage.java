@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidMessage;
@@ -45,7 +47,7 @@ public class SkipGramRequestMessage extends BaseVoidMessage implements TrainingM
 
     protected byte counter = 1;
 
-    protected SkipGramRequestMessage() {
+    public SkipGramRequestMessage() {
         super(0);
     }
 
@@ -124,4 +126,34 @@ public class SkipGramRequestMessage extends BaseVoidMessage implements TrainingM
         result = 31 * result + (int) negSamples;
         return result;
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putDouble(alpha);
+        encoder.putLong(frameId);
+        encoder.putInt(w1);
+        encoder.putInt(w2);
+        encoder.putInts(points);
+        encoder.putBytes(codes);
+        encoder.putInts(negatives);
+        encoder.putShort(negSamples);
+        encoder.putLong(nextRandom);
+        encoder.putByte(counter);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        alpha = decoder.getDouble();
+        frameId = decoder.getLong();
+        w1 = decoder.getInt();
+        w2 = decoder.getInt();
+        points = decoder.getInts();
+        codes = decoder.getBytes();
+        negatives = decoder.getInts();
+        negSamples = decoder.getShort();
+        nextRandom = decoder.getLong();
+        counter = decoder.getByte();
+    }
 }
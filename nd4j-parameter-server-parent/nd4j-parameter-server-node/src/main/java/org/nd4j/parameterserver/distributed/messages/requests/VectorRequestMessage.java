@@ -5,6 +5,8 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.MessageDecoder;
+import org.nd4j.parameterserver.distributed.messages.MessageEncoder;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
 import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorMessage;
@@ -23,7 +25,7 @@ public class VectorRequestMessage extends BaseVoidMessage implements RequestMess
     protected Integer key;
     protected int rowIndex;
 
-    protected VectorRequestMessage() {
+    public VectorRequestMessage() {
         super(7);
     }
 
@@ -66,4 +68,18 @@ public class VectorRequestMessage extends BaseVoidMessage implements RequestMess
     public boolean isBlockingMessage() {
         return true;
     }
+
+    @Override
+    protected void encodeFields(MessageEncoder encoder) {
+        super.encodeFields(encoder);
+        encoder.putInteger(key);
+        encoder.putInt(rowIndex);
+    }
+
+    @Override
+    protected void decodeFields(MessageDecoder decoder) {
+        super.decodeFields(decoder);
+        key = decoder.getInteger();
+        rowIndex = decoder.getInt();
+    }
 }
@@ -516,10 +516,7 @@ public class RoutedTransport extends BaseTransport {
          *  All of them should implement MeaningfulMessage interface
          */
 
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
-
-        VoidMessage message = VoidMessage.fromBytes(data);
+        VoidMessage message = VoidMessage.fromBuffer(buffer, offset, length);
 
         //        log.info("sI_{} received message: {}", shardIndex, message.getClass().getSimpleName());
 
@@ -2,6 +2,7 @@ package org.nd4j.parameterserver.distributed;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -14,6 +15,7 @@ import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
 import org.nd4j.parameterserver.distributed.messages.Frame;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
 import org.nd4j.parameterserver.distributed.messages.requests.CbowRequestMessage;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 import org.nd4j.parameterserver.distributed.logic.ClientRouter;
@@ -593,6 +595,37 @@ public class VoidParameterServerStressTest {
         parameterServer.shutdown();
     }
 
+    /**
+     * This test compares binary codec against java serialization of frames, the way they go over the wire
+     */
+    @Test
+    public void testPerformanceSerDe() {
+        for (boolean binary : new boolean[] {false, true}) {
+            List<Long> times = new ArrayList<>();
+            long bytes = 0;
+            for (int i = 0; i < 1000; i++) {
+                Frame<SkipGramRequestMessage> frame = new Frame<>(BasicSequenceProvider.getInstance().getNextValue());
+                for (int f = 0; f < 128; f++) {
+                    frame.stackMessage(getSGRM());
+                }
+
+                long time1 = System.nanoTime();
+                byte[] data = binary ? frame.asBytes() : SerializationUtils.serialize(frame);
+                Frame<SkipGramRequestMessage> restored = VoidMessage.fromBytes(data);
+                long time2 = System.nanoTime();
+
+                assertEquals(frame.size(), restored.size());
+                times.add(time2 - time1);
+                bytes += data.length;
+            }
+
+            Collections.sort(times);
+
+            log.info("{}: p50: {} us; average frame size: {} bytes", binary ? "Binary codec" : "Java serialization",
+                            times.get(times.size() / 2) / 1000, bytes / times.size());
+        }
+    }
+
     /**
      * This method just produces random SGRM requests, fot testing purposes.
      * No real sense could be found here.
@@ -1,10 +1,22 @@
 package org.nd4j.parameterserver.distributed.messages;
 
+import org.agrona.concurrent.UnsafeBuffer;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
+import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedSolidMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.AssignRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.IntroductionRequestMessage;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 
+import java.util.Iterator;
+
 import static org.junit.Assert.*;
 
 /**
@@ -37,4 +49,65 @@ public class VoidMessageTest {
         assertArrayEquals(message.getCodes(), restored.getCodes());
     }
 
+    @Test
+    public void testCodecFrame() throws Exception {
+        Frame<SkipGramRequestMessage> frame = new Frame<>(119L);
+        frame.stackMessage(new SkipGramRequestMessage(10, 12, new int[] {10, 20}, new byte[] {(byte) 0, (byte) 1},
+                        (short) 0, 0.025, 117L));
+        frame.stackMessage(new SkipGramRequestMessage(11, 13, null, null, (short) 3, 0.01, 118L));
+        frame.setOriginatorId(17L);
+
+        byte[] bytes = frame.asBytes();
+        assertEquals(VoidMessageCodec.FORMAT, bytes[0]);
+
+        Frame<SkipGramRequestMessage> restored = VoidMessage.fromBytes(bytes);
+        assertEquals(119L, restored.getTaskId());
+        assertEquals(17L, restored.getOriginatorId());
+        assertEquals(2, restored.size());
+
+        Iterator<SkipGramRequestMessage> original = frame.iterator();
+        for (SkipGramRequestMessage message : restored) {
+            SkipGramRequestMessage expected = original.next();
+            assertEquals(expected, message);
+            assertArrayEquals(expected.getPoints(), message.getPoints());
+            assertArrayEquals(expected.getCodes(), message.getCodes());
+        }
+    }
+
+    @Test
+    public void testCodecArrays() throws Exception {
+        INDArray array = Nd4j.linspace(1, 12, 12).reshape('f', 3, 4);
+        VoidMessage[] messages = {new VectorCompleteMessage(12L, array),
+                        new VectorAggregation(13L, (short) 1, (short) 0, array.getRow(1)),
+                        new AssignRequestMessage(WordVectorStorage.SYN_0, 0.5, 3),
+                        new DistributedSolidMessage(WordVectorStorage.SYN_1_NEGATIVE, array, true),
+                        new IntroductionRequestMessage("127.0.0.1", 40123)};
+
+        for (VoidMessage message : messages) {
+            // encode at an offset in to a buffer, like a claimed Aeron buffer
+            UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+            int length = VoidMessageCodec.encode(message, buffer, 100);
+
+            VoidMessage restored = VoidMessage.fromBuffer(buffer, 100, length);
+            assertEquals(message.getClass(), restored.getClass());
+            assertArrayEquals(message.asBytes(), restored.asBytes());
+        }
+
+        VectorCompleteMessage vcm = VoidMessage.fromBytes(messages[0].asBytes());
+        assertEquals(array, vcm.getPayload());
+        assertEquals('f', vcm.getPayload().ordering());
+
+        VectorAggregation aggregation = VoidMessage.fromBytes(messages[1].asBytes());
+        assertEquals(array.getRow(1), aggregation.getAccumulatedResult());
+    }
+
+    @Test
+    public void testJavaSerializedFallback() throws Exception {
+        SkipGramRequestMessage message = new SkipGramRequestMessage(10, 12, new int[] {10, 20, 30, 40},
+                        new byte[] {(byte) 0, (byte) 0, (byte) 1, (byte) 0}, (short) 0, 0.0, 117L);
+
+        SkipGramRequestMessage restored = VoidMessage.fromBytes(SerializationUtils.serialize(message));
+        assertEquals(message, restored);
+        assertArrayEquals(message.getPoints(), restored.getPoints());
+    }
 }
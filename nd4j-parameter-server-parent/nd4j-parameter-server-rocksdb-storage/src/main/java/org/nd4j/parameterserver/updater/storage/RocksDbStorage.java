@@ -1,5 +1,6 @@
 package org.nd4j.parameterserver.updater.storage;
 
+import lombok.extern.slf4j.Slf4j;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -7,32 +8,100 @@ import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * Update storage backed by rocksdb.
+ *
+ * Updates are keyed by their index as a 4 byte big endian int,
+ * so the key order is the order the updates were added in.
+ *
+ * Updates are group committed: they are collected in a {@link WriteBatch}
+ * which is written once it holds batchSize updates or the first update in it
+ * is older than the flush window. A background thread checks the window as well,
+ * so the last updates are written even if no more updates arrive.
+ * Reads, {@link #flush()} and {@link #close()} write pending updates first.
+ * Pending updates are lost if the process dies before they are written,
+ * use a batch size of 1 to write every update right away.
+ *
  * Created by agibsonccc on 12/2/16.
  */
+@Slf4j
 public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
     static {
         // a static method that loads the RocksDB C++ library.
         RocksDB.loadLibrary();
     }
 
+    public static final int DEFAULT_BATCH_SIZE = 128;
+    public static final long DEFAULT_FLUSH_WINDOW_MS = 50;
 
+    private final int batchSize;
+    private final long flushWindowMs;
     private RocksDB db;
+    private Options options;
+    private WriteOptions writeOptions;
+    private WriteBatch batch;
+    private long batchStarted;
     private int size = 0;
+    private boolean closed;
+    private final ScheduledExecutorService flusher;
 
     public RocksDbStorage(String dbPath) {
+        this(dbPath, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_WINDOW_MS);
+    }
+
+    /**
+     * @param dbPath the directory of the database
+     * @param batchSize the maximum number of updates per group commit
+     * @param flushWindowMs the maximum time in milliseconds an update may be pending,
+     *                      0 to only write batches once they are full (or on reads)
+     */
+    public RocksDbStorage(String dbPath, int batchSize, long flushWindowMs) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be >= 1, got " + batchSize);
+        if (flushWindowMs < 0)
+            throw new IllegalArgumentException("Flush window can't be negative, got " + flushWindowMs);
+        this.batchSize = batchSize;
+        this.flushWindowMs = flushWindowMs;
         // that determines the behavior of a database.
-        Options options = new Options().setCreateIfMissing(true);
+        options = new Options().setCreateIfMissing(true);
+        writeOptions = new WriteOptions();
+        batch = new WriteBatch();
         try {
             // a factory method that returns a RocksDB instance
             db = RocksDB.open(options, dbPath);
-            // do something
         } catch (RocksDBException e) {
-            // do some error handling
+            throw new RuntimeException(e);
+        }
 
+        //pick up where a previous run left off
+        RocksIterator iterator = db.newIterator();
+        try {
+            iterator.seekToLast();
+            if (iterator.isValid())
+                size = ByteBuffer.wrap(iterator.key()).getInt() + 1;
+        } finally {
+            iterator.close();
+        }
+
+        if (batchSize > 1 && flushWindowMs > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "RocksDbStorageFlusher");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flushIfDue, flushWindowMs, flushWindowMs, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
         }
     }
 
@@ -42,22 +111,46 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @param array the array to add
      */
     @Override
-    public void addUpdate(NDArrayMessage array) {
-        UnsafeBuffer directBuffer = (UnsafeBuffer) NDArrayMessage.toBuffer(array);
-        byte[] data = directBuffer.byteArray();
-        if (data == null) {
-            data = new byte[directBuffer.capacity()];
-            directBuffer.getBytes(0, data, 0, data.length);
+    public synchronized void addUpdate(NDArrayMessage array) {
+        //serialize straight in to the array handed to rocksdb
+        byte[] data = new byte[NDArrayMessage.byteBufferSizeForMessage(array)];
+        NDArrayMessage.toBuffer(array, ByteBuffer.wrap(data));
+        batch.put(key(size), data);
+        if (batch.count() == 1)
+            batchStarted = System.currentTimeMillis();
+        size++;
+
+        if (batch.count() >= batchSize || flushWindowMs > 0
+                        && System.currentTimeMillis() - batchStarted >= flushWindowMs)
+            flush();
+    }
+
+    /**
+     * Write the pending updates if the first of them is older than the flush window
+     */
+    private synchronized void flushIfDue() {
+        if (closed || batch.count() == 0 || System.currentTimeMillis() - batchStarted < flushWindowMs)
+            return;
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            //keep the flusher scheduled, the next add or read retries
+            log.warn("Unable to write pending updates", e);
         }
-        byte[] key = ByteBuffer.allocate(4).putInt(size).array();
+    }
+
+    /**
+     * Write all pending updates
+     */
+    public synchronized void flush() {
+        if (batch.count() == 0)
+            return;
         try {
-            db.put(key, data);
+            db.write(writeOptions, batch);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
-
-        size++;
-
+        batch.clear();
     }
 
     /**
@@ -67,7 +160,7 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @return
      */
     @Override
-    public int numUpdates() {
+    public synchronized int numUpdates() {
         return size;
     }
 
@@ -75,15 +168,15 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * Clear the array storage
      */
     @Override
-    public void clear() {
-        RocksIterator iterator = db.newIterator();
-        while (iterator.isValid())
+    public synchronized void clear() {
+        batch.clear();
+        if (size > 0) {
             try {
-                db.remove(iterator.key());
+                db.deleteRange(key(0), key(size));
             } catch (RocksDBException e) {
                 throw new RuntimeException(e);
             }
-        iterator.close();
+        }
         size = 0;
     }
 
@@ -95,21 +188,92 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @return the ndarray at the specified index
      */
     @Override
-    public NDArrayMessage doGetUpdate(int index) {
-        byte[] key = ByteBuffer.allocate(4).putInt(index).array();
+    public synchronized NDArrayMessage doGetUpdate(int index) {
+        flush();
         try {
-            UnsafeBuffer unsafeBuffer = new UnsafeBuffer(db.get(key));
+            UnsafeBuffer unsafeBuffer = new UnsafeBuffer(db.get(key(index)));
             return NDArrayMessage.fromBuffer(unsafeBuffer, 0);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Stream the stored updates in the order they were added.
+     * The iterator sees the updates stored when it was created and
+     * holds native resources until it was exhausted or closed.
+     * @return an iterator over all updates
+     */
+    public synchronized UpdateIterator iterator() {
+        flush();
+        RocksIterator iterator = db.newIterator();
+        iterator.seekToFirst();
+        return new UpdateIterator(iterator);
+    }
+
     /**
      * Close the database
      */
     @Override
-    public void close() {
-        db.close();
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        if (flusher != null)
+            flusher.shutdown();
+        try {
+            flush();
+        } finally {
+            batch.close();
+            writeOptions.close();
+            db.close();
+            options.close();
+        }
+    }
+
+    private static byte[] key(int index) {
+        return ByteBuffer.allocate(4).putInt(index).array();
+    }
+
+    /**
+     * Iterator over the updates of a {@link RocksDbStorage}
+     */
+    public static class UpdateIterator implements Iterator<NDArrayMessage>, AutoCloseable {
+        private RocksIterator iterator;
+
+        private UpdateIterator(RocksIterator iterator) {
+            this.iterator = iterator;
+            if (!iterator.isValid())
+                close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator != null;
+        }
+
+        @Override
+        public NDArrayMessage next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            NDArrayMessage ret = NDArrayMessage.fromBuffer(new UnsafeBuffer(iterator.value()), 0);
+            iterator.next();
+            if (!iterator.isValid())
+                close();
+            return ret;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            if (iterator != null) {
+                iterator.close();
+                iterator = null;
+            }
+        }
     }
 }
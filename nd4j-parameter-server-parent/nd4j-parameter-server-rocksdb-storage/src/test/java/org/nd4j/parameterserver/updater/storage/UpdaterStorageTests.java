@@ -1,19 +1,31 @@
 package org.nd4j.parameterserver.updater.storage;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
+import org.rocksdb.RocksDB;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
 
 /**
  * Created by agibsonccc on 12/2/16.
  */
 public class UpdaterStorageTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     @Test
     public void testInMemory() {
         UpdateStorage updateStorage = new RocksDbStorage("/tmp/rocksdb");
+        updateStorage.clear();
         NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.scalar(1.0));
         updateStorage.addUpdate(message);
         assertEquals(1, updateStorage.numUpdates());
@@ -22,4 +34,54 @@ public class UpdaterStorageTests {
         assertEquals(0, updateStorage.numUpdates());
         updateStorage.close();
     }
+
+    @Test
+    public void testBatchedWritesAndIterator() throws Exception {
+        String path = folder.newFolder("batched").getAbsolutePath();
+        List<NDArrayMessage> messages = new ArrayList<>();
+        try (RocksDbStorage storage = new RocksDbStorage(path, 8, 10000)) {
+            for (int i = 0; i < 20; i++) {
+                NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(i, i + 5, 6));
+                messages.add(message);
+                storage.addUpdate(message);
+            }
+            assertEquals(20, storage.numUpdates());
+            //pending updates are flushed before reads
+            assertEquals(messages.get(19), storage.getUpdate(19));
+
+            try (RocksDbStorage.UpdateIterator iterator = storage.iterator()) {
+                for (NDArrayMessage message : messages)
+                    assertEquals(message, iterator.next());
+                assertFalse(iterator.hasNext());
+            }
+        }
+
+        //reopening picks up the stored updates
+        try (RocksDbStorage storage = new RocksDbStorage(path)) {
+            assertEquals(20, storage.numUpdates());
+            assertEquals(messages.get(3), storage.getUpdate(3));
+            storage.clear();
+            assertEquals(0, storage.numUpdates());
+            assertFalse(storage.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testPendingUpdatesAreWrittenAfterTheFlushWindow() throws Exception {
+        String path = folder.newFolder("window").getAbsolutePath();
+        try (RocksDbStorage storage = new RocksDbStorage(path, 8, 20)) {
+            for (int i = 0; i < 3; i++)
+                storage.addUpdate(NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(i, i + 5, 6)));
+
+            //no more updates and no reads, the background flush writes the batch
+            byte[] last = null;
+            for (int i = 0; i < 100 && last == null; i++) {
+                Thread.sleep(20);
+                try (RocksDB readOnly = RocksDB.openReadOnly(path)) {
+                    last = readOnly.get(ByteBuffer.allocate(4).putInt(2).array());
+                }
+            }
+            assertNotNull(last);
+        }
+    }
 }
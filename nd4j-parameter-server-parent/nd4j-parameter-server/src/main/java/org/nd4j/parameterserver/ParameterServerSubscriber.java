@@ -102,6 +102,10 @@ public class ParameterServerSubscriber implements AutoCloseable {
     @Parameter(names = {"-u", "--updatesPerEpoch"}, description = "The number of updates per epoch", arity = 1,
                     required = true)
     private int updatesPerEpoch;
+    @Parameter(names = {"-w", "--workers"},
+                    description = "Number of threads applying updates on the master node, in parallel on stripes of the array. Defaults to 0, applying updates on the subscriber thread.",
+                    arity = 1)
+    private int workers = 0;
 
 
     /**
@@ -281,7 +285,11 @@ public class ParameterServerSubscriber implements AutoCloseable {
                         throw new IllegalStateException("Illegal opType of updater");
                 }
 
-                callback = new ParameterServerListener(Ints.toArray(shape), updater);
+                if (workers > 0)
+                    callback = new StripedParameterServerListener(Ints.toArray(shape), updater, 4 * workers,
+                                    workers);
+                else
+                    callback = new ParameterServerListener(Ints.toArray(shape), updater);
                 parameterServerListener = (ParameterServerListener) callback;
 
             }
@@ -357,6 +365,8 @@ public class ParameterServerSubscriber implements AutoCloseable {
             CloseHelper.quietClose(responder);
         if (scheduledExecutorService != null)
             scheduledExecutorService.shutdown();
+        if (callback instanceof StripedParameterServerListener)
+            ((StripedParameterServerListener) callback).close();
     }
 
 
@@ -0,0 +1,271 @@
+package org.nd4j.parameterserver;
+
+import org.nd4j.aeron.ipc.GradientEncoder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.parameterserver.updater.ParameterServerUpdater;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Parameter server listener that applies
+ * updates from a pool of workers in parallel.
+ *
+ * The "master copy" is split in to stripes of consecutive elements,
+ * each guarded by its own lock, and an update is applied stripe by stripe.
+ * Updates arriving at the same time only wait on each other for the stripe
+ * both are applying at that moment, and every update starts at a different stripe.
+ *
+ * Messages are applied asynchronously: {@link #onNDArrayMessage(NDArrayMessage)}
+ * hands them to the workers and returns, so the subscriber can keep polling.
+ * At most {@link #QUEUED_PER_WORKER} messages per worker wait to be applied,
+ * beyond that the calling thread applies the message itself, which slows the subscriber down.
+ * Use {@link #awaitUpdates()} to wait for the updates received so far.
+ *
+ * Whole array updates (dense or encoded) are striped,
+ * partial updates along a dimension take all stripe locks.
+ * The array of the updater must not be a view.
+ */
+public class StripedParameterServerListener extends ParameterServerListener implements AutoCloseable {
+    public final static int QUEUED_PER_WORKER = 4;
+
+    private final INDArray params;
+    private final INDArray[] stripes;
+    private final int[] stripeOffsets;
+    private final ReentrantLock[] locks;
+    private final ThreadPoolExecutor workers;
+    private final ThreadLocal<INDArray> decodeBuffer = new ThreadLocal<>();
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final AtomicLong applied = new AtomicLong();
+    private final Object pendingLock = new Object();
+    private long pending;
+
+    /**
+     * @param shape the shape of the array
+     * @param updater the updater to use for this server
+     * @param numStripes the number of stripes to split the array in to
+     * @param numWorkers the number of threads applying updates
+     */
+    public StripedParameterServerListener(int[] shape, ParameterServerUpdater updater, int numStripes,
+                    int numWorkers) {
+        super(shape, updater);
+        INDArray arr = updater.ndArrayHolder().get();
+        if (arr.length() != arr.data().length())
+            throw new IllegalArgumentException("The array of the updater must not be a view");
+        if (numStripes < 1 || numWorkers < 1)
+            throw new IllegalArgumentException("Number of stripes and workers must be positive");
+
+        params = arr.reshape(arr.ordering(), 1, arr.length());
+        numStripes = Math.min(numStripes, params.length());
+        stripes = new INDArray[numStripes];
+        stripeOffsets = new int[numStripes + 1];
+        locks = new ReentrantLock[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripeOffsets[i] = (int) ((long) params.length() * i / numStripes);
+            stripeOffsets[i + 1] = (int) ((long) params.length() * (i + 1) / numStripes);
+            stripes[i] = stripe(params, i);
+            locks[i] = new ReentrantLock();
+        }
+
+        workers = new ThreadPoolExecutor(numWorkers, numWorkers, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(numWorkers * QUEUED_PER_WORKER), r -> {
+                            Thread t = new Thread(r, "ParameterServerWorker");
+                            t.setDaemon(true);
+                            return t;
+                        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Stripe by core, with a worker per core
+     * @param shape the shape of the array
+     * @param updater the updater to use for this server
+     */
+    public StripedParameterServerListener(int[] shape, ParameterServerUpdater updater) {
+        this(shape, updater, 4 * Runtime.getRuntime().availableProcessors(),
+                        Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * A listener for ndarray message,
+     * the update is applied by one of the workers,
+     * or by the calling thread when all workers are busy
+     *
+     * @param message the message for the callback
+     */
+    @Override
+    public void onNDArrayMessage(NDArrayMessage message) {
+        //tasks rejected after close would be discarded and never counted down
+        if (workers.isShutdown())
+            throw new IllegalStateException("Listener is closed");
+        //checked here, the workers apply the decoded update through update(INDArray, INDArray)
+        if (NDArrayMessage.isEncodedUpdate(message) && !getUpdater().supportsEncodedUpdates())
+            throw new UnsupportedOperationException(
+                            "Encoded updates are not supported by " + getUpdater().getClass().getSimpleName());
+
+        synchronized (pendingLock) {
+            pending++;
+        }
+
+        workers.execute(() -> {
+            try {
+                apply(message);
+            } finally {
+                synchronized (pendingLock) {
+                    if (--pending == 0)
+                        pendingLock.notifyAll();
+                }
+            }
+        });
+    }
+
+    private void apply(NDArrayMessage message) {
+        INDArray arr = message.getArr();
+        int[] dimensions = message.getDimensions();
+        if (NDArrayMessage.isEncodedUpdate(message))
+            applyEncoded(arr);
+        else if (dimensions.length == 1 && dimensions[0] == -1)
+            applyWhole(arr);
+        else
+            applyPartial(arr, message.getIndex(), dimensions);
+        //only count the update once it is part of the array
+        getUpdater().recordUpdate(message);
+        applied.incrementAndGet();
+    }
+
+    /**
+     * Used for partial updates using tensor along
+     * dimension
+     *  @param arr        the array to count as an update
+     * @param idx        the index for the tensor along dimension
+     * @param dimensions the dimensions to act on for the tensor along dimension
+     */
+    @Override
+    public void onNDArrayPartial(INDArray arr, long idx, int... dimensions) {
+        applyPartial(arr, idx, dimensions);
+    }
+
+    /**
+     * Setup an ndarray
+     *
+     * @param arr
+     */
+    @Override
+    public void onNDArray(INDArray arr) {
+        applyWhole(arr);
+    }
+
+    /**
+     * Do a final divide for averaging,
+     * after all updates received so far were applied
+     */
+    @Override
+    public void finish() {
+        awaitUpdates();
+        lockAll();
+        try {
+            params.divi(getUpdater().numUpdates());
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Wait until the updates handed to the workers so far were applied
+     */
+    public void awaitUpdates() {
+        synchronized (pendingLock) {
+            while (pending > 0) {
+                try {
+                    pendingLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of messages applied by the workers so far
+     */
+    public long getAppliedUpdates() {
+        return applied.get();
+    }
+
+    /**
+     * @return the number of stripes the array is split in to
+     */
+    public int getNumStripes() {
+        return stripes.length;
+    }
+
+    private void applyWhole(INDArray arr) {
+        if (arr.length() != params.length())
+            throw new IllegalArgumentException("Update of length " + arr.length()
+                            + " doesn't match the array of length " + params.length());
+        INDArray row = arr.reshape(params.ordering(), 1, arr.length());
+        int start = Math.abs(nextStripe.getAndIncrement() % stripes.length);
+        for (int s = 0; s < stripes.length; s++) {
+            int i = (start + s) % stripes.length;
+            INDArray update = stripe(row, i);
+            locks[i].lock();
+            try {
+                getUpdater().update(update, stripes[i]);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private void applyEncoded(INDArray encoded) {
+        INDArray decoded = decodeBuffer.get();
+        if (decoded == null) {
+            decoded = Nd4j.zeros(1, params.length());
+            decodeBuffer.set(decoded);
+        }
+
+        GradientEncoder.decode(encoded, decoded);
+        applyWhole(decoded);
+        decoded.assign(0.0);
+    }
+
+    private void applyPartial(INDArray arr, long idx, int... dimensions) {
+        lockAll();
+        try {
+            getUpdater().partialUpdate(arr, getUpdater().ndArrayHolder().get(), idx, dimensions);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private INDArray stripe(INDArray row, int i) {
+        return row.get(NDArrayIndex.point(0), NDArrayIndex.interval(stripeOffsets[i], stripeOffsets[i + 1]));
+    }
+
+    private void lockAll() {
+        for (ReentrantLock lock : locks)
+            lock.lock();
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--)
+            locks[i].unlock();
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
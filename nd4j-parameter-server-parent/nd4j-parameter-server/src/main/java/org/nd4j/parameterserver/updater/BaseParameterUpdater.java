@@ -1,6 +1,7 @@
 package org.nd4j.parameterserver.updater;
 
 import org.nd4j.aeron.ipc.NDArrayHolder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.parameterserver.updater.storage.InMemoryUpdateStorage;
 import org.nd4j.parameterserver.updater.storage.UpdateStorage;
 
@@ -85,6 +86,17 @@ public abstract class BaseParameterUpdater implements ParameterServerUpdater {
     }
 
 
+    /**
+     * Count an update without applying it,
+     * for callers that apply the update to the array themselves.
+     *
+     * @param message the update
+     */
+    @Override
+    public void recordUpdate(NDArrayMessage message) {
+        updateStorage.addUpdate(message);
+    }
+
     /**
      * Num updates passed through
      * the updater
@@ -87,6 +87,22 @@ public interface ParameterServerUpdater {
      */
     void update(NDArrayMessage message);
 
+    /**
+     * Count an update without applying it,
+     * for callers that apply the update to the array themselves.
+     * @param message the update
+     */
+    void recordUpdate(NDArrayMessage message);
+
+    /**
+     * Whether encoded updates (see {@link NDArrayMessage#encodedUpdate(INDArray)}) can be applied,
+     * callers applying updates themselves must check this before decoding one.
+     * @return true if encoded updates are supported
+     */
+    default boolean supportsEncodedUpdates() {
+        return true;
+    }
+
     /**
      * Updates result
      * based on arr along a particular
@@ -72,14 +72,24 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
         return accumulatedUpdates == s;
     }
 
+    /**
+     * This updater doesn't decode encoded updates
+     */
+    @Override
+    public boolean supportsEncodedUpdates() {
+        return false;
+    }
+
     /**
      * Do an update based on the ndarray message.
+     * Encoded updates (see {@link NDArrayMessage#encodedUpdate(INDArray)}) aren't supported.
      *
      * @param message
      */
     @Override
     public void update(NDArrayMessage message) {
-
+        if (NDArrayMessage.isEncodedUpdate(message))
+            throw new UnsupportedOperationException("Encoded updates are not supported by the soft sync updater");
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.nd4j.parameterserver.updater;
 
+import org.nd4j.aeron.ipc.GradientEncoder;
 import org.nd4j.aeron.ipc.NDArrayHolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -121,6 +122,8 @@ public class SynchronousParameterUpdater extends BaseParameterUpdater {
 
     /**
      * Do an update based on the ndarray message.
+     * Threshold or bitmap encoded updates are decoded
+     * straight in to the current array, see {@link GradientEncoder}.
      *
      * @param message
      */
@@ -128,6 +131,11 @@ public class SynchronousParameterUpdater extends BaseParameterUpdater {
     public void update(NDArrayMessage message) {
         updateStorage.addUpdate(message);
         INDArray arr = message.getArr();
+        if (NDArrayMessage.isEncodedUpdate(message)) {
+            GradientEncoder.decode(arr, ndArrayHolder.get());
+            return;
+        }
+
         //of note for ndarrays
         int[] dimensions = message.getDimensions();
         boolean whole = dimensions.length == 1 && dimensions[0] == -1;
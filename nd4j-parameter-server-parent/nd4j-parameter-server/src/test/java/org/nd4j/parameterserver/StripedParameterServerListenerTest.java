@@ -0,0 +1,126 @@
+package org.nd4j.parameterserver;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import org.agrona.CloseHelper;
+import org.junit.Test;
+import org.nd4j.aeron.ipc.AeronNDArrayPublisher;
+import org.nd4j.aeron.ipc.AeronNDArraySubscriber;
+import org.nd4j.aeron.ipc.AeronUtil;
+import org.nd4j.aeron.ipc.GradientEncoder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+import org.nd4j.aeron.ndarrayholder.InMemoryNDArrayHolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.updater.ParameterServerUpdater;
+import org.nd4j.parameterserver.updater.SynchronousParameterUpdater;
+import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+
+public class StripedParameterServerListenerTest {
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        int length = 1003;
+        ParameterServerUpdater updater = new SynchronousParameterUpdater(new NoUpdateStorage(),
+                        new InMemoryNDArrayHolder(Nd4j.zeros(1, length)), 1);
+        StripedParameterServerListener listener =
+                        new StripedParameterServerListener(new int[] {1, length}, updater, 8, 4);
+        assertEquals(8, listener.getNumStripes());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++)
+                    listener.onNDArrayMessage(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1, length)));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        //encoded updates are decoded and striped the same way
+        INDArray sparse = Nd4j.zeros(1, length);
+        sparse.putScalar(7, 0.5);
+        sparse.putScalar(900, -0.5);
+        listener.onNDArrayMessage(new GradientEncoder(0.5).encode(sparse));
+
+        listener.awaitUpdates();
+        assertEquals(401, listener.getAppliedUpdates());
+        assertEquals(401, updater.numUpdates());
+
+        INDArray expected = Nd4j.valueArrayOf(new int[] {1, length}, 400.0).addi(sparse);
+        assertEquals(expected, updater.ndArrayHolder().get());
+
+        listener.finish();
+        assertEquals(400.5 / 401, updater.ndArrayHolder().get().getDouble(7), 1e-4);
+        listener.close();
+    }
+
+    /**
+     * Updates sent by several publishers over the embedded media driver all end up in the array
+     */
+    @Test
+    public void testUpdatesOverMediaDriver() throws Exception {
+        int length = 10000;
+        int numPublishers = 4;
+        int updatesPerPublisher = 25;
+        MediaDriver mediaDriver = MediaDriver.launchEmbedded(AeronUtil.getMediaDriverContext(length));
+        Aeron aeron = Aeron.connect(new Aeron.Context().publicationConnectionTimeout(-1)
+                        .aeronDirectoryName(mediaDriver.aeronDirectoryName()).keepAliveInterval(100000)
+                        .errorHandler(e -> e.printStackTrace()));
+        ParameterServerUpdater updater = new SynchronousParameterUpdater(new NoUpdateStorage(),
+                        new InMemoryNDArrayHolder(Nd4j.zeros(1, length)), numPublishers);
+        StripedParameterServerListener listener = new StripedParameterServerListener(new int[] {1, length}, updater);
+        AtomicBoolean running = new AtomicBoolean(true);
+        int port = 40323 + new Random().nextInt(3000);
+        AeronNDArraySubscriber subscriber =
+                        AeronNDArraySubscriber.startSubscriber(aeron, "localhost", port, listener, 11, running);
+
+        try {
+            while (!subscriber.launched())
+                LockSupport.parkNanos(100000);
+
+            List<Thread> publishers = new ArrayList<>();
+            for (int p = 0; p < numPublishers; p++) {
+                Thread thread = new Thread(() -> {
+                    try (AeronNDArrayPublisher publisher = AeronNDArrayPublisher.builder().streamId(11)
+                                    .compress(false).aeron(aeron).channel(AeronUtil.aeronChannel("localhost", port))
+                                    .build()) {
+                        for (int i = 0; i < updatesPerPublisher; i++)
+                            publisher.publish(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1, length)));
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                thread.start();
+                publishers.add(thread);
+            }
+            for (Thread thread : publishers)
+                thread.join();
+
+            int total = numPublishers * updatesPerPublisher;
+            long deadline = System.currentTimeMillis() + 60000;
+            while (updater.numUpdates() < total && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            listener.awaitUpdates();
+
+            assertEquals(total, updater.numUpdates());
+            assertEquals(Nd4j.valueArrayOf(new int[] {1, length}, total), updater.ndArrayHolder().get());
+        } finally {
+            running.set(false);
+            CloseHelper.quietClose(subscriber);
+            listener.close();
+            CloseHelper.quietClose(aeron);
+            CloseHelper.quietClose(mediaDriver);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package org.nd4j.parameterserver.updater;
 
 import org.junit.Test;
+import org.nd4j.aeron.ipc.GradientEncoder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.aeron.ndarrayholder.InMemoryNDArrayHolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeNotNull;
 
@@ -32,4 +36,35 @@ public class ParameterServerUpdaterTests {
 
     }
 
+    @Test
+    public void encodedUpdateTest() {
+        INDArray params = Nd4j.zeros(1, 1000);
+        ParameterServerUpdater updater =
+                        new SynchronousParameterUpdater(new NoUpdateStorage(), new InMemoryNDArrayHolder(params), 2);
+        GradientEncoder encoder = new GradientEncoder(1e-2);
+
+        //a few large elements are threshold encoded
+        INDArray sparse = Nd4j.zeros(1, 1000);
+        for (int i = 0; i < 10; i++)
+            sparse.putScalar(i * 100, i % 2 == 0 ? 0.025 : -0.025);
+        NDArrayMessage first = encoder.encode(sparse);
+        assertTrue(NDArrayMessage.isEncodedUpdate(first));
+        assertEquals(14, first.getArr().length());
+        updater.update(first);
+        assertEquals(0.01, params.getDouble(0), 1e-6);
+        assertEquals(-0.01, params.getDouble(100), 1e-6);
+        assertEquals(0.015, encoder.getResidual().getDouble(0), 1e-6);
+
+        //a dense gradient is bitmap encoded
+        INDArray dense = Nd4j.valueArrayOf(new int[] {1, 1000}, 0.012);
+        NDArrayMessage second = encoder.encode(dense);
+        assertEquals(1000 / 16 + 5, second.getArr().length());
+        updater.update(second);
+
+        //whatever wasn't sent is left in the residual
+        assertEquals(sparse.add(dense), params.add(encoder.getResidual()));
+        assertNull(new GradientEncoder(1e-2).encode(Nd4j.zeros(1, 1000)));
+        assertEquals(2, updater.numUpdates());
+    }
+
 }
@@ -9,7 +9,10 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * @author Adam Gibson
+ * @deprecated use the jmh benchmarks in {@link org.nd4j.linalg.benchmark.jmh}
+ * run with {@link org.nd4j.linalg.benchmark.jmh.JmhBenchmarkRunnerApp}
  */
+@Deprecated
 public abstract class BaseBenchmarkPerformer implements BenchMarkPerformer {
     protected int nTimes;
     protected long averageTime;
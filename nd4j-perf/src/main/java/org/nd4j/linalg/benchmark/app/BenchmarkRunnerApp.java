@@ -20,7 +20,10 @@ import java.util.concurrent.TimeUnit;
  * You can specify the number of trials to run for each benchmark.
  *
  * @author Adam Gibson
+ * @deprecated use the jmh benchmarks in {@link org.nd4j.linalg.benchmark.jmh}
+ * run with {@link org.nd4j.linalg.benchmark.jmh.JmhBenchmarkRunnerApp}
  */
+@Deprecated
 public class BenchmarkRunnerApp {
     @Option(name = "--nTrials", usage = "Number of trials to run", aliases = "-n")
     private int nTrials = 1000;
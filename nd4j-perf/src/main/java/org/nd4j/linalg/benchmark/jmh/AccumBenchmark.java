@@ -0,0 +1,41 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Full array accumulations
+ */
+public class AccumBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"1000x1000", "100x100000"})
+    public String shape;
+
+    private INDArray arr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+    }
+
+    @Benchmark
+    public Number sum() {
+        return arr.sumNumber();
+    }
+
+    @Benchmark
+    public Number max() {
+        return arr.maxNumber();
+    }
+
+    @Benchmark
+    public Number norm2() {
+        return arr.norm2Number();
+    }
+
+}
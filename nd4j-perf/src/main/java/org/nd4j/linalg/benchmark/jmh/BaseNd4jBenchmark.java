@@ -0,0 +1,55 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base state for the jmh benchmarks.
+ * Every benchmark is parameterized by the
+ * data type and the ordering of the arrays it creates,
+ * and gets its own fork so that backend initialization
+ * and jit state of one benchmark can't leak in to another.
+ *
+ * Sub classes should create their arrays in a {@link Setup}
+ * method annotated with {@link Level#Trial} and call
+ * {@link #initDataType()} before doing so.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public abstract class BaseNd4jBenchmark {
+
+    @Param({"FLOAT", "DOUBLE"})
+    public String dataType;
+
+    @Param({"c", "f"})
+    public char order;
+
+    /**
+     * Set the global data type
+     * for this trial
+     */
+    protected void initDataType() {
+        Nd4j.setDataType(DataBuffer.Type.valueOf(dataType));
+    }
+
+    /**
+     * Parse a shape of the form 100x200
+     * @param shape the shape to parse
+     * @return the parsed shape
+     */
+    public static int[] parseShape(String shape) {
+        String[] split = shape.split("x");
+        int[] ret = new int[split.length];
+        for (int i = 0; i < split.length; i++)
+            ret[i] = Integer.parseInt(split[i].trim());
+        return ret;
+    }
+
+}
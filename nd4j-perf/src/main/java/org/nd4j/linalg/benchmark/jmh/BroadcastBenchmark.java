@@ -0,0 +1,53 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastAddOp;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Row/column vector broadcasts and
+ * element wise (pairwise) ops of same shaped arrays,
+ * written into a preallocated result so the inputs never change.
+ */
+public class BroadcastBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"1000x1000", "10000x100"})
+    public String shape;
+
+    private INDArray arr;
+    private INDArray other;
+    private INDArray row;
+    private INDArray column;
+    private INDArray result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        int[] parsed = parseShape(shape);
+        arr = Nd4j.rand(order, parsed);
+        other = Nd4j.rand(order, parsed);
+        row = Nd4j.rand(order, 1, parsed[1]);
+        column = Nd4j.rand(order, parsed[0], 1);
+        result = Nd4j.create(parsed, order);
+    }
+
+    @Benchmark
+    public INDArray addiRowVector() {
+        return Nd4j.getExecutioner().execAndReturn(new BroadcastAddOp(arr, row, result, 1));
+    }
+
+    @Benchmark
+    public INDArray addiColumnVector() {
+        return Nd4j.getExecutioner().execAndReturn(new BroadcastAddOp(arr, column, result, 0));
+    }
+
+    @Benchmark
+    public INDArray addi() {
+        return arr.addi(other, result);
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.convolution.Convolution;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * im2col/col2im, the building blocks of convolution.
+ * Input shapes are minibatch x channels x height x width
+ */
+public class ConvolutionBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"16x3x32x32", "32x16x64x64"})
+    public String shape;
+
+    @Param({"3"})
+    public int kernel;
+
+    private INDArray input;
+    private INDArray col;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        input = Nd4j.rand(order, parseShape(shape));
+        col = Convolution.im2col(input, kernel, kernel, 1, 1, 0, 0, false);
+    }
+
+    @Benchmark
+    public INDArray im2col() {
+        return Convolution.im2col(input, kernel, kernel, 1, 1, 0, 0, false);
+    }
+
+    @Benchmark
+    public INDArray col2im() {
+        return Convolution.col2im(col, 1, 1, 0, 0, input.size(2), input.size(3));
+    }
+
+}
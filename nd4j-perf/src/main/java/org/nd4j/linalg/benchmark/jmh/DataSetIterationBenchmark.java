@@ -0,0 +1,72 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.ViewIterator;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A full pass over an in memory data set,
+ * and a save/load round trip of a single minibatch.
+ */
+public class DataSetIterationBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"10000"})
+    public int numExamples;
+
+    @Param({"784"})
+    public int numFeatures;
+
+    @Param({"10"})
+    public int numLabels;
+
+    @Param({"32", "128"})
+    public int batchSize;
+
+    private DataSetIterator iterator;
+    private DataSet batch;
+    private byte[] savedBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        DataSet data = new DataSet(Nd4j.rand(order, numExamples, numFeatures),
+                        Nd4j.rand(order, numExamples, numLabels));
+        iterator = new ViewIterator(data, batchSize);
+        batch = iterator.next();
+        iterator.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        batch.save(bos);
+        savedBatch = bos.toByteArray();
+    }
+
+    @Benchmark
+    public void epoch(Blackhole blackhole) {
+        iterator.reset();
+        while (iterator.hasNext())
+            blackhole.consume(iterator.next());
+    }
+
+    @Benchmark
+    public byte[] saveBatch() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(savedBatch.length);
+        batch.save(bos);
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public DataSet loadBatch() {
+        DataSet ret = new DataSet();
+        ret.load(new ByteArrayInputStream(savedBatch));
+        return ret;
+    }
+
+}
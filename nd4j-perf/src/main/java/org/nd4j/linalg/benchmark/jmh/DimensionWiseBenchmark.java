@@ -0,0 +1,44 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Accumulations and index accumulations along a dimension
+ */
+public class DimensionWiseBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"1000x1000", "100x100000"})
+    public String shape;
+
+    @Param({"0", "1"})
+    public int dimension;
+
+    private INDArray arr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+    }
+
+    @Benchmark
+    public INDArray mean() {
+        return arr.mean(dimension);
+    }
+
+    @Benchmark
+    public INDArray sum() {
+        return arr.sum(dimension);
+    }
+
+    @Benchmark
+    public INDArray argMax() {
+        return Nd4j.argMax(arr, dimension);
+    }
+
+}
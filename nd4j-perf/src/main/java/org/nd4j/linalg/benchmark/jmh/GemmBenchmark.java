@@ -0,0 +1,41 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Matrix multiply of two square matrices
+ * along with the in place gemm into a preallocated result.
+ */
+public class GemmBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    private INDArray a;
+    private INDArray b;
+    private INDArray result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        a = Nd4j.rand(order, size, size);
+        b = Nd4j.rand(order, size, size);
+        result = Nd4j.create(new int[] {size, size}, order);
+    }
+
+    @Benchmark
+    public INDArray mmul() {
+        return a.mmul(b);
+    }
+
+    @Benchmark
+    public INDArray mmuli() {
+        return a.mmuli(b, result);
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the jmh benchmarks in this package
+ * and writes the results as json so they can be
+ * diffed across releases.
+ *
+ * Example:
+ * java -cp nd4j-perf.jar:nd4j-native.jar org.nd4j.linalg.benchmark.jmh.JmhBenchmarkRunnerApp
+ *      --include GemmBenchmark --param dataType=FLOAT --output gemm.json
+ *
+ * The backend used is whichever backend is on the class path.
+ */
+public class JmhBenchmarkRunnerApp {
+    @Option(name = "--include", usage = "Regex of benchmarks to run", aliases = "-i")
+    private String include = JmhBenchmarkRunnerApp.class.getPackage().getName() + ".*";
+    @Option(name = "--output", usage = "File to write the json results to", aliases = "-o")
+    private String output = "nd4j-jmh-results.json";
+    @Option(name = "--forks", usage = "Number of forks, overrides the per benchmark default", aliases = "-f")
+    private int forks = -1;
+    @Option(name = "--warmupIterations", usage = "Number of warmup iterations, overrides the per benchmark default",
+                    aliases = "-wi")
+    private int warmupIterations = -1;
+    @Option(name = "--iterations", usage = "Number of measurement iterations, overrides the per benchmark default",
+                    aliases = "-it")
+    private int iterations = -1;
+    @Option(name = "--param", usage = "Benchmark parameter override of the form name=value1,value2",
+                    aliases = "-p")
+    private String[] params;
+
+    /**
+     * Do the main method
+     * @param args the arguments for the method
+     * @throws Exception if an exception is thrown
+     */
+    public void doMain(String[] args) throws Exception {
+        CmdLineParser parser = new CmdLineParser(this);
+        try {
+            parser.parseArgument(args);
+        } catch (CmdLineException e) {
+            System.err.println(e.getMessage());
+            parser.printUsage(System.err);
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().include(include).resultFormat(ResultFormatType.JSON)
+                        .result(output);
+        if (forks >= 0)
+            builder.forks(forks);
+        if (warmupIterations >= 0)
+            builder.warmupIterations(warmupIterations);
+        if (iterations > 0)
+            builder.measurementIterations(iterations);
+        if (params != null) {
+            for (String param : params) {
+                int idx = param.indexOf('=');
+                if (idx < 1)
+                    throw new IllegalArgumentException("Illegal param " + param + ", expected name=value1,value2");
+                builder.param(param.substring(0, idx), param.substring(idx + 1).split(","));
+            }
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new JmhBenchmarkRunnerApp().doMain(args);
+    }
+
+}
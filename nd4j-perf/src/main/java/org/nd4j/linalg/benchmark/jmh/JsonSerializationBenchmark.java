@@ -0,0 +1,72 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
+import org.nd4j.shade.jackson.databind.module.SimpleModule;
+import org.nd4j.shade.serde.jackson.shaded.NDArrayDeSerializer;
+import org.nd4j.shade.serde.jackson.shaded.NDArraySerializer;
+import org.nd4j.shade.serde.jackson.shaded.RawNDArrayDeSerializer;
+import org.nd4j.shade.serde.jackson.shaded.RawNDArraySerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+
+/**
+ * Json round trips of the base64 based ({@link NDArraySerializer})
+ * and the raw numeric ({@link RawNDArraySerializer}) jackson serializers.
+ */
+public class JsonSerializationBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"100x100", "1000x1000"})
+    public String shape;
+
+    private INDArray arr;
+    private ObjectMapper base64Mapper;
+    private ObjectMapper rawMapper;
+    private String base64Json;
+    private String rawJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+
+        SimpleModule base64 = new SimpleModule("nd4j-base64");
+        base64.addSerializer(INDArray.class, new NDArraySerializer());
+        base64.addDeserializer(INDArray.class, new NDArrayDeSerializer());
+        base64Mapper = new ObjectMapper().registerModule(base64);
+
+        SimpleModule raw = new SimpleModule("nd4j-raw");
+        raw.addSerializer(INDArray.class, new RawNDArraySerializer());
+        raw.addDeserializer(INDArray.class, new RawNDArrayDeSerializer());
+        rawMapper = new ObjectMapper().registerModule(raw);
+
+        base64Json = base64Mapper.writeValueAsString(arr);
+        rawJson = rawMapper.writeValueAsString(arr);
+    }
+
+    @Benchmark
+    public String base64Write() throws IOException {
+        return base64Mapper.writeValueAsString(arr);
+    }
+
+    @Benchmark
+    public INDArray base64Read() throws IOException {
+        return base64Mapper.readValue(base64Json, INDArray.class);
+    }
+
+    @Benchmark
+    public String rawWrite() throws IOException {
+        return rawMapper.writeValueAsString(arr);
+    }
+
+    @Benchmark
+    public INDArray rawRead() throws IOException {
+        return rawMapper.readValue(rawJson, INDArray.class);
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Linear view creation and scalar get/put through a linear view
+ */
+public class LinearViewBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"100x100", "1000x1000"})
+    public String shape;
+
+    private INDArray arr;
+    private INDArray linearView;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+        linearView = arr.linearView();
+    }
+
+    @Benchmark
+    public INDArray reshapeAndResetLinearView() {
+        INDArray reshaped = arr.reshape(order, arr.length() / 2, 2);
+        reshaped.resetLinearView();
+        return reshaped.linearView();
+    }
+
+    @Benchmark
+    public double getPutScalar() {
+        index = (index + 1) % linearView.length();
+        double val = linearView.getDouble(index);
+        linearView.putScalar(index, val + 1);
+        return val;
+    }
+
+}
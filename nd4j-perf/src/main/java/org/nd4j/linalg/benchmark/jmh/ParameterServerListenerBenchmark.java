@@ -0,0 +1,135 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.nd4j.aeron.ipc.AeronNDArrayPublisher;
+import org.nd4j.aeron.ipc.AeronNDArraySubscriber;
+import org.nd4j.aeron.ipc.AeronUtil;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+import org.nd4j.aeron.ndarrayholder.InMemoryNDArrayHolder;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.ParameterServerListener;
+import org.nd4j.parameterserver.StripedParameterServerListener;
+import org.nd4j.parameterserver.updater.ParameterServerUpdater;
+import org.nd4j.parameterserver.updater.SynchronousParameterUpdater;
+import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dense whole array updates sent by several publishers over an embedded media driver
+ * to a parameter server subscriber: the plain listener applies them on the subscriber thread,
+ * the striped one on a pool of workers.
+ *
+ * Every invocation has each publisher send {@link #UPDATES_PER_PUBLISHER} updates
+ * from its own thread and waits until all of them were applied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParameterServerListenerBenchmark extends BaseNd4jBenchmark {
+    public static final int UPDATES_PER_PUBLISHER = 10;
+    private static final int STREAM_ID = 11;
+    private static final long TIMEOUT_MS = 60000;
+
+    @Param({"100000", "1000000"})
+    public int length;
+
+    @Param({"1", "4"})
+    public int publishers;
+
+    @Param({"false", "true"})
+    public boolean striped;
+
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private AtomicBoolean running;
+    private AeronNDArraySubscriber subscriber;
+    private ParameterServerUpdater updater;
+    private ParameterServerListener listener;
+    private List<AeronNDArrayPublisher> publisherClients;
+    private ExecutorService publisherThreads;
+    private NDArrayMessage message;
+    private long expectedUpdates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        mediaDriver = MediaDriver.launchEmbedded(AeronUtil.getMediaDriverContext(length));
+        aeron = Aeron.connect(new Aeron.Context().publicationConnectionTimeout(-1)
+                        .aeronDirectoryName(mediaDriver.aeronDirectoryName()).keepAliveInterval(100000)
+                        .errorHandler(new ErrorHandler() {
+                            @Override
+                            public void onError(Throwable throwable) {
+                                throwable.printStackTrace();
+                            }
+                        }));
+
+        updater = new SynchronousParameterUpdater(new NoUpdateStorage(),
+                        new InMemoryNDArrayHolder(Nd4j.zeros(new int[] {1, length}, order)), publishers);
+        listener = striped ? new StripedParameterServerListener(new int[] {1, length}, updater)
+                        : new ParameterServerListener(new int[] {1, length}, updater);
+
+        int port = 40323 + new Random().nextInt(3000);
+        running = new AtomicBoolean(true);
+        subscriber = AeronNDArraySubscriber.startSubscriber(aeron, "localhost", port, listener, STREAM_ID, running);
+        while (!subscriber.launched())
+            LockSupport.parkNanos(100000);
+
+        publisherClients = new ArrayList<>();
+        for (int p = 0; p < publishers; p++)
+            publisherClients.add(AeronNDArrayPublisher.builder().streamId(STREAM_ID).compress(false).aeron(aeron)
+                            .channel(AeronUtil.aeronChannel("localhost", port)).build());
+        publisherThreads = Executors.newFixedThreadPool(publishers);
+        //centered around 0, so the parameters don't drift far across invocations
+        message = NDArrayMessage.wholeArrayUpdate(Nd4j.rand(order, 1, length).subi(0.5));
+        expectedUpdates = 0;
+    }
+
+    @Benchmark
+    public void publish() throws Exception {
+        List<Future<Void>> sent = new ArrayList<>();
+        for (final AeronNDArrayPublisher publisher : publisherClients) {
+            sent.add(publisherThreads.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = 0; i < UPDATES_PER_PUBLISHER; i++)
+                        publisher.publish(message);
+                    return null;
+                }
+            }));
+        }
+        for (Future<Void> future : sent)
+            future.get();
+
+        expectedUpdates += publishers * UPDATES_PER_PUBLISHER;
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (updater.numUpdates() < expectedUpdates) {
+            if (System.currentTimeMillis() > deadline)
+                throw new IllegalStateException("Only " + updater.numUpdates() + " of " + expectedUpdates
+                                + " updates were applied after " + TIMEOUT_MS + " ms");
+            LockSupport.parkNanos(10000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        publisherThreads.shutdown();
+        for (AeronNDArrayPublisher publisher : publisherClients)
+            publisher.close();
+        running.set(false);
+        CloseHelper.quietClose(subscriber);
+        if (striped)
+            ((StripedParameterServerListener) listener).close();
+        CloseHelper.quietClose(aeron);
+        CloseHelper.quietClose(mediaDriver);
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Scalar ops, both into a preallocated result and with a copy.
+ * The input is never modified, so every invocation sees the same values.
+ */
+public class ScalarBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"1000x1000", "100x100000"})
+    public String shape;
+
+    private INDArray arr;
+    private INDArray result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+        result = Nd4j.create(parseShape(shape), order);
+    }
+
+    @Benchmark
+    public INDArray addi() {
+        return arr.addi(1.0, result);
+    }
+
+    @Benchmark
+    public INDArray add() {
+        return arr.add(1.0);
+    }
+
+}
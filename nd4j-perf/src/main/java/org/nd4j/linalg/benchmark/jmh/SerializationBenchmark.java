@@ -0,0 +1,62 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.serde.binary.BinarySerde;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Round trips of the stream based ({@link Nd4j#write(java.io.OutputStream, INDArray)})
+ * and the byte buffer based ({@link BinarySerde}) serialization.
+ */
+public class SerializationBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"100x100", "1000x1000"})
+    public String shape;
+
+    private INDArray arr;
+    private byte[] written;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Nd4j.write(bos, arr);
+        written = bos.toByteArray();
+        buffer = BinarySerde.toByteBuffer(arr);
+    }
+
+    @Benchmark
+    public byte[] streamWrite() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(written.length);
+        Nd4j.write(bos, arr);
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public INDArray streamRead() throws IOException {
+        return Nd4j.read(new ByteArrayInputStream(written));
+    }
+
+    @Benchmark
+    public ByteBuffer binaryWrite() {
+        return BinarySerde.toByteBuffer(arr);
+    }
+
+    @Benchmark
+    public INDArray binaryRead() {
+        buffer.rewind();
+        return BinarySerde.toArray(buffer);
+    }
+
+}
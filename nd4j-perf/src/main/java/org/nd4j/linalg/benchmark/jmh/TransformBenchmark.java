@@ -0,0 +1,57 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.TransformOp;
+import org.nd4j.linalg.api.ops.impl.transforms.Exp;
+import org.nd4j.linalg.api.ops.impl.transforms.Sigmoid;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Transform ops with a copy of the input (dup)
+ * or into a preallocated result, which leaves the input
+ * as is, so repeated in place exp doesn't end up at infinity.
+ */
+public class TransformBenchmark extends BaseNd4jBenchmark {
+
+    @Param({"1000x1000", "100x100000"})
+    public String shape;
+
+    @Param({"true", "false"})
+    public boolean dup;
+
+    private INDArray arr;
+    private INDArray result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        initDataType();
+        arr = Nd4j.rand(order, parseShape(shape));
+        result = Nd4j.create(parseShape(shape), order);
+    }
+
+    @Benchmark
+    public INDArray sigmoid() {
+        return dup ? Transforms.sigmoid(arr, true) : exec(new Sigmoid(arr, result));
+    }
+
+    @Benchmark
+    public INDArray tanh() {
+        return dup ? Transforms.tanh(arr, true) : exec(new Tanh(arr, result));
+    }
+
+    @Benchmark
+    public INDArray exp() {
+        return dup ? Transforms.exp(arr, true) : exec(new Exp(arr, result));
+    }
+
+    private static INDArray exec(TransformOp op) {
+        return Nd4j.getExecutioner().execAndReturn(op);
+    }
+
+}
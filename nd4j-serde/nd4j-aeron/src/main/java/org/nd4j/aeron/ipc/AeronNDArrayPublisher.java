@@ -3,11 +3,15 @@ package org.nd4j.aeron.ipc;
 import io.aeron.Aeron;
 import io.aeron.Publication;
 import io.aeron.exceptions.DriverTimeoutException;
+import io.aeron.logbuffer.BufferClaim;
 import lombok.Builder;
 import lombok.Data;
+import org.agrona.BufferUtil;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -17,11 +21,18 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * NDArray publisher
  * for aeron
  *
+ * Messages that fit in a single frame are written straight
+ * in to the publication with {@link Publication#tryClaim(int, BufferClaim)},
+ * larger ones are serialized and offered, or chunked if they exceed the maximum message length.
+ *
  * @author Adam Gibson
  */
 @Data
@@ -38,15 +49,27 @@ public class AeronNDArrayPublisher implements AutoCloseable {
     private Publication publication;
     private static Logger log = LoggerFactory.getLogger(AeronNDArrayPublisher.class);
     public final static int NUM_RETRIES = 100;
+    // publish may be called from several threads, each needs its own claim
+    private static final ThreadLocal<BufferClaim> bufferClaims = ThreadLocal.withInitial(BufferClaim::new);
     private boolean compress = true;
-    private static final BusySpinIdleStrategy busySpinIdleStrategy = new BusySpinIdleStrategy();
+    // how to wait while the publication is back pressured or not connected,
+    // idle strategies keep state so every publishing thread gets its own
+    private Supplier<IdleStrategy> idleStrategySupplier;
+    private final ThreadLocal<IdleStrategy> idleStrategies =
+                    ThreadLocal.withInitial(() -> idleStrategySupplier.get());
+    // time out in milliseconds for a single send
     private int publishRetryTimeOut = 3000;
+    private final AtomicLong messagesPublished = new AtomicLong();
+    private final AtomicLong bytesPublished = new AtomicLong();
+    private final AtomicLong backPressureEvents = new AtomicLong();
 
     private void init() {
         channel = channel == null ? "aeron:udp?endpoint=localhost:40123" : channel;
         streamId = streamId == 0 ? 10 : streamId;
         publishRetryTimeOut = publishRetryTimeOut == 0 ? 3000 : publishRetryTimeOut;
         ctx = ctx == null ? ctx = new Aeron.Context() : ctx;
+        idleStrategySupplier = idleStrategySupplier == null ? () -> new BackoffIdleStrategy(100, 10,
+                        TimeUnit.MICROSECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1)) : idleStrategySupplier;
         init = true;
         log.info("Channel publisher" + channel + " and stream " + streamId);
     }
@@ -99,7 +122,7 @@ public class AeronNDArrayPublisher implements AutoCloseable {
 
         // Allocate enough buffer size to hold maximum message length
         // The UnsafeBuffer class is part of the Agrona library and is used for efficient buffer management
-        log.info("Publishing to " + channel + " on stream Id " + streamId);
+        log.debug("Publishing to " + channel + " on stream Id " + streamId);
         //ensure default values are set
         INDArray arr = message.getArr();
         if (isCompress())
@@ -107,9 +130,9 @@ public class AeronNDArrayPublisher implements AutoCloseable {
                 Nd4j.getCompressor().compressi(arr, "GZIP");
 
 
-
+        int length = NDArrayMessage.byteBufferSizeForMessage(message);
         //array is large, need to segment
-        if (NDArrayMessage.byteBufferSizeForMessage(message) >= publication.maxMessageLength()) {
+        if (length >= publication.maxMessageLength()) {
             NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, publication.maxMessageLength() / 128);
             for (int i = 0; i < chunks.length; i++) {
                 ByteBuffer sendBuff = NDArrayMessageChunk.toBuffer(chunks[i]);
@@ -117,47 +140,113 @@ public class AeronNDArrayPublisher implements AutoCloseable {
                 DirectBuffer buffer = new UnsafeBuffer(sendBuff);
                 sendBuffer(buffer);
             }
-        } else {
-            //send whole array
+        } else if (length > publication.maxPayloadLength() || !sendClaimed(message, length)) {
+            //send whole array, fragmented by aeron
             DirectBuffer buffer = NDArrayMessage.toBuffer(message);
             sendBuffer(buffer);
+        }
+
+        messagesPublished.incrementAndGet();
+    }
+
+    /**
+     * Write a message that fits in a single frame
+     * straight in to the publication's log buffer.
+     * @return false if the claimed region can't be viewed as a byte buffer,
+     * in which case nothing was sent
+     */
+    private boolean sendClaimed(NDArrayMessage message, int length) throws Exception {
+        BufferClaim bufferClaim = bufferClaims.get();
+        IdleStrategy idleStrategy = idleStrategies.get();
+        long deadline = System.currentTimeMillis() + publishRetryTimeOut;
+        long result;
+        idleStrategy.reset();
+        while ((result = publication.tryClaim(length, bufferClaim)) < 0L)
+            backOff(result, deadline, idleStrategy);
 
+        ByteBuffer view = claimedRegion(bufferClaim.buffer(), bufferClaim.offset(), length);
+        if (view == null) {
+            bufferClaim.abort();
+            return false;
         }
 
+        try {
+            NDArrayMessage.toBuffer(message, view);
+        } catch (RuntimeException e) {
+            bufferClaim.abort();
+            throw e;
+        }
+        bufferClaim.commit();
+        bytesPublished.addAndGet(length);
+        return true;
     }
 
+    /**
+     * The region of a claimed buffer as a byte buffer,
+     * aeron's log buffers are memory mapped files
+     * so the buffer is backed by a direct byte buffer.
+     */
+    private static ByteBuffer claimedRegion(MutableDirectBuffer buffer, int offset, int length) {
+        ByteBuffer backing = buffer.byteBuffer();
+        if (backing == null || !backing.isDirect())
+            return null;
 
+        int position = (int) (buffer.addressOffset() + offset - BufferUtil.address(backing));
+        ByteBuffer view = backing.duplicate();
+        view.limit(position + length);
+        view.position(position);
+        return view.slice();
+    }
 
     private void sendBuffer(DirectBuffer buffer) throws Exception {
         // Try to publish the buffer. 'offer' is a non-blocking call.
         // If it returns less than 0, the message was not sent, and the offer should be retried.
+        IdleStrategy idleStrategy = idleStrategies.get();
+        long deadline = System.currentTimeMillis() + publishRetryTimeOut;
         long result;
-        int tries = 0;
-        while ((result = publication.offer(buffer, 0, buffer.capacity())) < 0L && tries < 5) {
-            if (result == Publication.BACK_PRESSURED) {
-                log.info("Offer failed due to back pressure");
-            } else if (result == Publication.NOT_CONNECTED) {
-                log.info("Offer failed because publisher is not connected to subscriber " + channel + " and stream "
-                                + streamId);
-            } else if (result == Publication.ADMIN_ACTION) {
-                log.info("Offer failed because of an administration action in the system and channel" + channel
-                                + " and stream " + streamId);
-            } else if (result == Publication.CLOSED) {
-                log.info("Offer failed publication is closed and channel" + channel + " and stream " + streamId);
-            } else {
-                log.info(" Offer failed due to unknown reason and channel" + channel + " and stream " + streamId);
-            }
+        idleStrategy.reset();
+        while ((result = publication.offer(buffer, 0, buffer.capacity())) < 0L)
+            backOff(result, deadline, idleStrategy);
 
+        bytesPublished.addAndGet(buffer.capacity());
+    }
 
+    /**
+     * Wait after a failed offer or claim using the idle strategy,
+     * failing if the publication was closed or the retry time out passed
+     */
+    private void backOff(long result, long deadline, IdleStrategy idleStrategy) {
+        if (result == Publication.CLOSED)
+            throw new IllegalStateException(
+                            "Publication is closed for channel " + channel + " and stream " + streamId);
+        if (result == Publication.BACK_PRESSURED)
+            backPressureEvents.incrementAndGet();
+        if (System.currentTimeMillis() > deadline)
+            throw new IllegalStateException("Failed to send message to channel " + channel + " and stream "
+                            + streamId + " after " + publishRetryTimeOut + " ms, last result was " + result);
 
-            Thread.sleep(publishRetryTimeOut);
-            tries++;
+        idleStrategy.idle();
+    }
 
-        }
+    /**
+     * @return the number of messages published so far
+     */
+    public long getMessagesPublished() {
+        return messagesPublished.get();
+    }
 
-        if (tries >= 5 && result == 0)
-            throw new IllegalStateException("Failed to send message");
+    /**
+     * @return the number of bytes published so far, including chunk headers
+     */
+    public long getBytesPublished() {
+        return bytesPublished.get();
+    }
 
+    /**
+     * @return the number of times a send had to wait because the subscribers were behind
+     */
+    public long getBackPressureEvents() {
+        return backPressureEvents.get();
     }
 
     /**
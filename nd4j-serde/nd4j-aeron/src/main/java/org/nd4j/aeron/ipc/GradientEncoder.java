@@ -0,0 +1,93 @@
+package org.nd4j.aeron.ipc;
+
+import lombok.Getter;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.accum.MatchCondition;
+import org.nd4j.linalg.compression.ThresholdCompression;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.conditions.Conditions;
+
+/**
+ * Client side encoder for sparse gradient updates.
+ *
+ * Gradients are added to a residual, and only the elements of the residual
+ * that reached the threshold are sent, as +/- threshold.
+ * What was sent is subtracted from the residual, so the rest is sent once it accumulated.
+ *
+ * Each update is threshold encoded (an index per element) when few elements are sent,
+ * and bitmap encoded (2 bits per element) otherwise, whichever is smaller.
+ * The server applies updates with {@link #decode(INDArray, INDArray)}.
+ *
+ * An encoder holds the residual of a single parameter array and isn't thread safe.
+ */
+public class GradientEncoder {
+    @Getter
+    private final double threshold;
+    @Getter
+    private INDArray residual;
+
+    /**
+     * @param threshold the magnitude an element of the residual
+     *                  has to reach to be sent
+     */
+    public GradientEncoder(double threshold) {
+        if (threshold <= 0)
+            throw new IllegalArgumentException("Threshold must be positive, got " + threshold);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Add a gradient to the residual and encode the elements that reached the threshold.
+     *
+     * @param gradient the gradient to send
+     * @return the message for the encoded update,
+     * or null if no element reached the threshold
+     */
+    public NDArrayMessage encode(INDArray gradient) {
+        if (residual == null)
+            residual = Nd4j.zeros(1, gradient.length());
+        if (residual.length() != gradient.length())
+            throw new ND4JIllegalStateException("Gradient of length " + gradient.length()
+                            + " doesn't match the residual of length " + residual.length());
+        residual.addi(gradient.reshape(1, gradient.length()));
+
+        int affected = Nd4j.getExecutioner()
+                        .exec(new MatchCondition(residual, Conditions.absGreaterThanOrEqual(threshold)),
+                                        Integer.MAX_VALUE)
+                        .getInt(0);
+        if (affected == 0)
+            return null;
+
+        INDArray encoded = null;
+        // threshold encoding takes an int per element, bitmap encoding an int per 16 elements
+        if (affected < residual.length() / 16)
+            encoded = Nd4j.getExecutioner().thresholdEncode(residual, threshold);
+        if (encoded == null)
+            encoded = Nd4j.getExecutioner().bitmapEncode(residual, threshold);
+
+        // the encoders reuse the shape of the residual, the message needs the actual length
+        DataBuffer data = encoded.data();
+        return NDArrayMessage.encodedUpdate(Nd4j.create(data, new int[] {1, (int) data.length()}));
+    }
+
+    /**
+     * Add an encoded update to the target
+     *
+     * @param encoded the threshold or bitmap encoded update
+     * @param target the array to apply the update to
+     * @return the target
+     */
+    public static INDArray decode(INDArray encoded, INDArray target) {
+        int encoding = encoded.data().getInt(3);
+        switch (encoding) {
+            case ThresholdCompression.FLEXIBLE_ENCODING:
+                return Nd4j.getExecutioner().thresholdDecode(encoded, target);
+            case ThresholdCompression.BITMAP_ENCODING:
+                return Nd4j.getExecutioner().bitmapDecode(encoded, target);
+            default:
+                throw new ND4JIllegalStateException("Unknown gradient encoding " + encoding);
+        }
+    }
+}
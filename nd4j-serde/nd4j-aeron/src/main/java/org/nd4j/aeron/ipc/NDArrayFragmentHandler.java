@@ -27,6 +27,15 @@ public class NDArrayFragmentHandler implements FragmentHandler {
         this.ndArrayCallback = ndArrayCallback;
     }
 
+    /**
+     * @param ndArrayCallback the callback for received messages
+     * @param chunkAccumulator the accumulator used to reassemble chunked messages
+     */
+    public NDArrayFragmentHandler(NDArrayCallback ndArrayCallback, ChunkAccumulator chunkAccumulator) {
+        this.ndArrayCallback = ndArrayCallback;
+        this.chunkAccumulator = chunkAccumulator;
+    }
+
     /**
      * Callback for handling
      * fragments of data being read from a log.
@@ -68,7 +77,7 @@ public class NDArrayFragmentHandler implements FragmentHandler {
                 throw new IllegalStateException("Found invalid number of chunks " + chunk.getNumChunks()
                                 + " on chunk index " + chunk.getChunkIndex());
             chunkAccumulator.accumulateChunk(chunk);
-            log.info("Number of chunks " + chunk.getNumChunks() + " and number of chunks " + chunk.getNumChunks()
+            log.debug("Number of chunks " + chunk.getNumChunks() + " and number of chunks " + chunk.getNumChunks()
                             + " for id " + chunk.getId() + " is " + chunkAccumulator.numChunksSoFar(chunk.getId()));
 
             if (chunkAccumulator.allPresent(chunk.getId())) {
@@ -51,6 +51,8 @@ public class NDArrayMessage implements Serializable {
     private static int[] WHOLE_ARRAY_UPDATE = {-1};
     //represents the constant for indicating using the whole array for an update (-1)
     private static int WHOLE_ARRAY_INDEX = -1;
+    //dimensions of an update for the whole array sent threshold or bitmap encoded, see OpExecutioner#thresholdEncode
+    private static int[] ENCODED_UPDATE = {-2};
 
     public enum MessageValidity {
         VALID, NULL_VALUE, INCONSISTENT_DIMENSIONS
@@ -109,6 +111,32 @@ public class NDArrayMessage implements Serializable {
                         .sent(getCurrentTimeUtc()).build();
     }
 
+    /**
+     * Prepare an update for the whole array
+     * that was threshold or bitmap encoded.
+     * The encoded array is the int array returned by
+     * {@link org.nd4j.linalg.api.ops.executioner.OpExecutioner#thresholdEncode(INDArray, double)}
+     * or {@link org.nd4j.linalg.api.ops.executioner.OpExecutioner#bitmapEncode(INDArray, double)},
+     * its header tells the encodings apart.
+     * @param encoded the encoded update
+     * @return the message for the encoded update
+     */
+    public static NDArrayMessage encodedUpdate(INDArray encoded) {
+        return NDArrayMessage.builder().arr(encoded).dimensions(ENCODED_UPDATE).index(WHOLE_ARRAY_INDEX)
+                        .sent(getCurrentTimeUtc()).build();
+    }
+
+    /**
+     * Returns true if the message holds an encoded update,
+     * see {@link #encodedUpdate(INDArray)}
+     * @param message the message to check
+     * @return true if the array of the message has to be decoded before it's applied
+     */
+    public static boolean isEncodedUpdate(NDArrayMessage message) {
+        int[] dimensions = message.getDimensions();
+        return dimensions != null && dimensions.length == 1 && dimensions[0] == ENCODED_UPDATE[0];
+    }
+
     /**
      * Factory method for creating an array
      * to send now (uses now in utc for the timestamp).
@@ -117,6 +145,9 @@ public class NDArrayMessage implements Serializable {
      * An invalid message is as follows:
      * An index of -1 and dimensions that are of greater length than 1 with an element that isn't -1
      *
+     * Dimensions of {-2} with an index of -1 mark an encoded update of the whole array,
+     * use {@link #encodedUpdate(INDArray)} to create those.
+     *
      * @param arr the array to send
      * @param dimensions the dimensions to use
      * @param index the index to use
@@ -144,6 +175,8 @@ public class NDArrayMessage implements Serializable {
      * no null values
      * both index and the dimensions array must be -1 and of length 1 with an element of -1 in it
      * otherwise it is a valid message.
+     * An index of -1 with dimensions of {-2} is a valid encoded update,
+     * see {@link #isEncodedUpdate(NDArrayMessage)}: the array has to be decoded before it's applied.
      * @param message the message to validate
      * @return 1 of: NULL_VALUE,INCONSISTENT_DIMENSIONS,VALID see {@link MessageValidity}
      */
@@ -274,6 +307,27 @@ public class NDArrayMessage implements Serializable {
     public static DirectBuffer toBuffer(NDArrayMessage message) {
         ByteBuffer byteBuffer =
                         ByteBuffer.allocateDirect(byteBufferSizeForMessage(message)).order(ByteOrder.nativeOrder());
+        toBuffer(message, byteBuffer);
+        //rewind the buffer before putting it in to the unsafe buffer
+        //note that we set rewind to false in the do byte buffer put methods
+        byteBuffer.rewind();
+
+        return new UnsafeBuffer(byteBuffer);
+    }
+
+    /**
+     * Write a message in to a caller supplied buffer, direct or heap,
+     * starting at the buffer's current position.
+     * The buffer is switched to native byte order and its position is left right after the message.
+     * See {@link NDArrayMessage#fromBuffer(DirectBuffer, int)}
+     * for a description of the format for the buffer
+     * @param message the message to write
+     * @param byteBuffer the buffer to write to, needs at least
+     *                   {@link #byteBufferSizeForMessage(NDArrayMessage)} bytes remaining
+     * @return the buffer written to
+     */
+    public static ByteBuffer toBuffer(NDArrayMessage message, ByteBuffer byteBuffer) {
+        byteBuffer.order(ByteOrder.nativeOrder());
         //declare message opType
         byteBuffer.putInt(MessageType.WHOLE.ordinal());
         //perform the ndarray put on the
@@ -292,12 +346,7 @@ public class NDArrayMessage implements Serializable {
         for (int i = 0; i < message.getDimensions().length; i++) {
             byteBuffer.putInt(message.getDimensions()[i]);
         }
-
-        //rewind the buffer before putting it in to the unsafe buffer
-        //note that we set rewind to false in the do byte buffer put methods
-        byteBuffer.rewind();
-
-        return new UnsafeBuffer(byteBuffer);
+        return byteBuffer;
     }
 
     /**
@@ -1,21 +1,61 @@
 package org.nd4j.aeron.ipc.chunk;
 
-import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Accumulate chunks and reassemble them.
  *
+ * The buffer for a message is allocated when its first chunk arrives
+ * (the chunk size and number of chunks give the total size)
+ * and every chunk is copied in to place right away,
+ * so the chunks don't have to be kept around and the message is decoded from that buffer directly.
+ *
+ * Incomplete messages are dropped once no chunk arrived for them within the time out.
+ * When the buffers of incomplete messages would exceed the memory budget, expired messages
+ * are dropped first, then the oldest ones, sparing those that received more than half of their chunks
+ * as long as possible. A single message larger than the budget is still reassembled.
+ *
  * @author Adam Gibson
  */
 @Slf4j
 public class InMemoryChunkAccumulator implements ChunkAccumulator {
-    private Map<String, List<NDArrayMessageChunk>> chunks = Maps.newConcurrentMap();
+    public final static long DEFAULT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+    public final static long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+
+    //in order of the first chunk's arrival, guarded by itself
+    private final Map<String, Reassembly> reassemblies = new LinkedHashMap<>();
+    private final long timeoutMs;
+    private final long maxBytes;
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private volatile long nextExpiryCheck;
+
+    public InMemoryChunkAccumulator() {
+        this(DEFAULT_TIMEOUT_MS, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param timeoutMs the time in milliseconds an incomplete message
+     *                  is kept after its last chunk arrived
+     * @param maxBytes the memory budget in bytes for incomplete messages
+     */
+    public InMemoryChunkAccumulator(long timeoutMs, long maxBytes) {
+        this.timeoutMs = timeoutMs;
+        this.maxBytes = maxBytes;
+        this.nextExpiryCheck = System.currentTimeMillis() + timeoutMs;
+    }
 
     /**
      * Returns the number of chunks
@@ -28,9 +68,8 @@ public class InMemoryChunkAccumulator implements ChunkAccumulator {
      */
     @Override
     public int numChunksSoFar(String id) {
-        if (!chunks.containsKey(id))
-            return 0;
-        return chunks.get(id).size();
+        Reassembly reassembly = get(id);
+        return reassembly == null ? 0 : reassembly.received();
     }
 
     /**
@@ -41,10 +80,8 @@ public class InMemoryChunkAccumulator implements ChunkAccumulator {
      */
     @Override
     public boolean allPresent(String id) {
-        if (!chunks.containsKey(id))
-            return false;
-        List<NDArrayMessageChunk> chunkList = chunks.get(id);
-        return chunkList.size() == chunkList.get(0).getNumChunks();
+        Reassembly reassembly = get(id);
+        return reassembly != null && reassembly.isComplete();
     }
 
     /**
@@ -61,22 +98,20 @@ public class InMemoryChunkAccumulator implements ChunkAccumulator {
      */
     @Override
     public NDArrayMessage reassemble(String id) {
-        List<NDArrayMessageChunk> chunkList = chunks.get(id);
-        if (chunkList.size() != chunkList.get(0).getNumChunks())
-            throw new IllegalStateException("Unable to reassemble message chunk " + id + " missing "
-                            + (chunkList.get(0).getNumChunks() - chunkList.size()) + "chunks");
-        //ensure the chunks are in contiguous ordering according to their chunk index
-        NDArrayMessageChunk[] inOrder = new NDArrayMessageChunk[chunkList.size()];
-        for (NDArrayMessageChunk chunk : chunkList) {
-            inOrder[chunk.getChunkIndex()] = chunk;
-        }
-
-        //reassemble the in order chunks
-        NDArrayMessage message = NDArrayMessage.fromChunks(inOrder);
-        chunkList.clear();
-        chunks.remove(id);
-        return message;
+        Reassembly reassembly;
+        synchronized (reassemblies) {
+            reassembly = reassemblies.get(id);
+            if (reassembly == null)
+                throw new IllegalStateException("No chunks found for message " + id + ", it may have expired");
+            if (!reassembly.isComplete())
+                throw new IllegalStateException("Unable to reassemble message chunk " + id + " missing "
+                                + (reassembly.numChunks - reassembly.received()) + " chunks");
 
+            reassemblies.remove(id);
+            bytesInFlight.addAndGet(-reassembly.buffer.capacity());
+        }
+        completed.incrementAndGet();
+        return NDArrayMessage.fromBuffer(new UnsafeBuffer(reassembly.buffer), 0);
     }
 
     /**
@@ -88,23 +123,173 @@ public class InMemoryChunkAccumulator implements ChunkAccumulator {
      * After all chunks have been accumulated
      * you can call {@link ChunkAccumulator#reassemble(String)}
      * where the id is the id of the chunk.
+     *
+     * The chunk's data is copied, so the chunk may point in to a buffer that is reused afterwards.
      * @param chunk the chunk
      */
     @Override
     public void accumulateChunk(NDArrayMessageChunk chunk) {
+        long now = System.currentTimeMillis();
         String id = chunk.getId();
-        if (!chunks.containsKey(id)) {
-            List<NDArrayMessageChunk> list = new ArrayList<>();
-            list.add(chunk);
-            chunks.put(id, list);
-        } else {
-            List<NDArrayMessageChunk> chunkList = chunks.get(id);
-            chunkList.add(chunk);
+        Reassembly reassembly;
+        synchronized (reassemblies) {
+            if (now >= nextExpiryCheck)
+                evictExpired(now);
+
+            reassembly = reassemblies.get(id);
+            if (reassembly == null) {
+                long size = (long) chunk.getChunkSize() * chunk.getNumChunks();
+                if (size > Integer.MAX_VALUE)
+                    throw new IllegalStateException(
+                                    "Message " + id + " of " + size + " bytes is too large to reassemble");
+                makeRoom(size, now);
+                reassembly = new Reassembly(chunk.getChunkSize(), chunk.getNumChunks(), now);
+                reassemblies.put(id, reassembly);
+                bytesInFlight.addAndGet(size);
+            }
         }
 
+        //copied outside of the lock, chunks of different messages don't wait on each other
+        reassembly.put(chunk, now);
         log.debug("Accumulating chunk for id " + chunk.getId());
+    }
 
+    /**
+     * Drop the incomplete messages no chunk arrived for within the time out.
+     * This is done while accumulating chunks as well,
+     * call it when chunks may stop arriving altogether.
+     */
+    public void evictExpired() {
+        synchronized (reassemblies) {
+            evictExpired(System.currentTimeMillis());
+        }
+    }
+
+    private void evictExpired(long now) {
+        nextExpiryCheck = now + Math.max(1, timeoutMs / 4);
+        Iterator<Map.Entry<String, Reassembly>> iter = reassemblies.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<String, Reassembly> entry = iter.next();
+            if (now - entry.getValue().lastUpdate > timeoutMs)
+                expire(iter, entry);
+        }
+    }
+
+    /**
+     * Drop incomplete messages until a new message of the given size fits in the budget:
+     * expired ones first, then the oldest ones
+     */
+    private void makeRoom(long size, long now) {
+        if (bytesInFlight.get() + size <= maxBytes)
+            return;
 
+        evictExpired(now);
+        evictOldest(size, false);
+        evictOldest(size, true);
+    }
+
+    private void evictOldest(long size, boolean nearlyComplete) {
+        Iterator<Map.Entry<String, Reassembly>> iter = reassemblies.entrySet().iterator();
+        while (bytesInFlight.get() + size > maxBytes && iter.hasNext()) {
+            Map.Entry<String, Reassembly> entry = iter.next();
+            if (nearlyComplete || !entry.getValue().isNearlyComplete())
+                expire(iter, entry);
+        }
+    }
+
+    private void expire(Iterator<Map.Entry<String, Reassembly>> iter, Map.Entry<String, Reassembly> entry) {
+        Reassembly reassembly = entry.getValue();
+        iter.remove();
+        bytesInFlight.addAndGet(-reassembly.buffer.capacity());
+        expired.incrementAndGet();
+        log.warn("Dropping incomplete message " + entry.getKey() + " with " + reassembly.received() + " of "
+                        + reassembly.numChunks + " chunks");
+    }
+
+    private Reassembly get(String id) {
+        synchronized (reassemblies) {
+            return reassemblies.get(id);
+        }
+    }
+
+    /**
+     * @return the number of messages reassembled so far
+     */
+    public long getCompletedReassemblies() {
+        return completed.get();
+    }
+
+    /**
+     * @return the number of incomplete messages dropped so far
+     */
+    public long getExpiredReassemblies() {
+        return expired.get();
+    }
+
+    /**
+     * @return the number of messages currently being reassembled
+     */
+    public int getPendingReassemblies() {
+        synchronized (reassemblies) {
+            return reassemblies.size();
+        }
+    }
+
+    /**
+     * @return the size in bytes of the buffers held for incomplete messages
+     */
+    public long getBytesInFlight() {
+        return bytesInFlight.get();
+    }
+
+    /**
+     * The buffer a single message is reassembled in to
+     */
+    private static class Reassembly {
+        private final int chunkSize;
+        private final int numChunks;
+        private final ByteBuffer buffer;
+        private final BitSet present;
+        private volatile long lastUpdate;
+
+        private Reassembly(int chunkSize, int numChunks, long now) {
+            this.chunkSize = chunkSize;
+            this.numChunks = numChunks;
+            this.buffer = ByteBuffer.allocateDirect(chunkSize * numChunks).order(ByteOrder.nativeOrder());
+            this.present = new BitSet(numChunks);
+            this.lastUpdate = now;
+        }
+
+        private synchronized void put(NDArrayMessageChunk chunk, long now) {
+            int index = chunk.getChunkIndex();
+            if (index < 0 || index >= numChunks)
+                throw new IllegalStateException("Chunk index " + index + " out of range for " + numChunks
+                                + " chunks on message " + chunk.getId());
+            lastUpdate = now;
+            if (present.get(index))
+                return;
+
+            //the chunk's data may run past the chunk, only the chunk size is copied
+            ByteBuffer data = chunk.getData().duplicate();
+            if (data.remaining() > chunkSize)
+                data.limit(data.position() + chunkSize);
+            ByteBuffer target = buffer.duplicate();
+            target.position(index * chunkSize);
+            target.put(data);
+            present.set(index);
+        }
+
+        private synchronized int received() {
+            return present.cardinality();
+        }
+
+        private synchronized boolean isComplete() {
+            return present.cardinality() == numChunks;
+        }
+
+        private synchronized boolean isNearlyComplete() {
+            return 2 * present.cardinality() > numChunks;
+        }
     }
 
 }
@@ -15,6 +15,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 /**
@@ -182,6 +183,9 @@ public class NdArrayIpcTest {
         Thread.sleep(30000);
 
         assertFalse(running.get());
+        assertEquals(1, publisher.getMessagesPublished());
+        assertEquals(NDArrayMessage.byteBufferSizeForMessage(NDArrayMessage.wholeArrayUpdate(arr)),
+                        publisher.getBytesPublished());
 
 
         publisher.close();
@@ -5,6 +5,8 @@ import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by agibsonccc on 11/20/16.
@@ -25,4 +27,71 @@ public class ChunkAccumulatorTests {
         assertEquals(message, message1);
     }
 
+    @Test
+    public void testOutOfOrderAndDuplicateChunks() {
+        InMemoryChunkAccumulator chunkAccumulator = new InMemoryChunkAccumulator();
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 1000, 1000));
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, 128);
+        String id = chunks[0].getId();
+        for (int i = chunks.length - 1; i >= 0; i--) {
+            chunkAccumulator.accumulateChunk(chunks[i]);
+            chunkAccumulator.accumulateChunk(chunks[i]);
+        }
+
+        assertEquals(chunks.length, chunkAccumulator.numChunksSoFar(id));
+        assertTrue(chunkAccumulator.allPresent(id));
+        assertEquals(message, chunkAccumulator.reassemble(id));
+        assertEquals(1, chunkAccumulator.getCompletedReassemblies());
+        assertEquals(0, chunkAccumulator.getPendingReassemblies());
+        assertEquals(0, chunkAccumulator.getBytesInFlight());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        InMemoryChunkAccumulator chunkAccumulator = new InMemoryChunkAccumulator(10, Long.MAX_VALUE);
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        chunkAccumulator.accumulateChunk(chunks[0]);
+        assertEquals(1, chunkAccumulator.getPendingReassemblies());
+
+        Thread.sleep(50);
+        chunkAccumulator.evictExpired();
+        assertEquals(0, chunkAccumulator.getPendingReassemblies());
+        assertEquals(1, chunkAccumulator.getExpiredReassemblies());
+        assertFalse(chunkAccumulator.allPresent(chunks[0].getId()));
+    }
+
+    @Test
+    public void testMemoryBudget() {
+        NDArrayMessageChunk[] first = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        NDArrayMessageChunk[] second = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        InMemoryChunkAccumulator chunkAccumulator =
+                        new InMemoryChunkAccumulator(60000, 128 * first.length + 128 * second.length - 1);
+
+        chunkAccumulator.accumulateChunk(first[0]);
+        chunkAccumulator.accumulateChunk(second[0]);
+        assertEquals(1, chunkAccumulator.getExpiredReassemblies());
+        assertEquals(0, chunkAccumulator.numChunksSoFar(first[0].getId()));
+        assertEquals(1, chunkAccumulator.numChunksSoFar(second[0].getId()));
+        assertEquals(128 * second.length, chunkAccumulator.getBytesInFlight());
+    }
+
+    @Test
+    public void testMemoryBudgetSparesNearlyCompleteMessages() {
+        NDArrayMessageChunk[] first = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        NDArrayMessageChunk[] second = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        NDArrayMessageChunk[] third = NDArrayMessage.chunks(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000)), 128);
+        InMemoryChunkAccumulator chunkAccumulator = new InMemoryChunkAccumulator(60000, 2 * 128 * first.length);
+
+        for (int i = 0; i < first.length - 1; i++)
+            chunkAccumulator.accumulateChunk(first[i]);
+        chunkAccumulator.accumulateChunk(second[0]);
+        chunkAccumulator.accumulateChunk(third[0]);
+
+        //the oldest message is nearly complete, the second one is dropped instead
+        assertEquals(1, chunkAccumulator.getExpiredReassemblies());
+        assertEquals(first.length - 1, chunkAccumulator.numChunksSoFar(first[0].getId()));
+        assertEquals(0, chunkAccumulator.numChunksSoFar(second[0].getId()));
+        assertEquals(1, chunkAccumulator.numChunksSoFar(third[0].getId()));
+    }
+
 }
@@ -0,0 +1,147 @@
+package org.nd4j.arrow;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link DataSetIterator} over the record batches of a memory mapped arrow file
+ * written by {@link ArrowDataSetWriter}, one DataSet per record batch.
+ *
+ * With zero copy enabled a returned DataSet is only valid until the next call to
+ * {@link #next()}, so such iterators don't support asynchronous prefetching.
+ */
+public class ArrowDataSetIterator implements DataSetIterator, Closeable {
+    private final ArrowDataSetReader reader;
+    private final boolean zeroCopy;
+    private final int numBatches;
+    private int cursor = 0;
+    private int batch = -1;
+    private DataSetPreProcessor preProcessor;
+
+    public ArrowDataSetIterator(File file, BufferAllocator allocator, boolean zeroCopy) throws IOException {
+        this.reader = ArrowDataSetReader.fromFile(file, allocator, zeroCopy);
+        this.zeroCopy = zeroCopy;
+        this.numBatches = reader.numBatches();
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException("Only allowed to retrieve whole record batches");
+    }
+
+    @Override
+    public int totalExamples() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int inputColumns() {
+        return listSize(ArrowDataSetSchema.FEATURES + "_0");
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return listSize(ArrowDataSetSchema.LABELS + "_0");
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean asyncSupported() {
+        return !zeroCopy;
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+    }
+
+    @Override
+    public int batch() {
+        return batch;
+    }
+
+    @Override
+    public int cursor() {
+        return cursor;
+    }
+
+    @Override
+    public int numExamples() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < numBatches;
+    }
+
+    @Override
+    public DataSet next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        DataSet next;
+        try {
+            reader.loadBatch(cursor++);
+            next = (DataSet) reader.getDataSet();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (batch < 0)
+            batch = next.numExamples();
+        if (preProcessor != null)
+            preProcessor.preProcess(next);
+        return next;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int listSize(String name) {
+        try {
+            for (Field field : reader.getSchema().getFields()) {
+                if (field.getName().equals(name))
+                    return ArrowDataSetSchema.listSize(field);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return 0;
+    }
+}
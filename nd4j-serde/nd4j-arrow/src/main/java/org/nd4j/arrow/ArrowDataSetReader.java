@@ -0,0 +1,200 @@
+package org.nd4j.arrow;
+
+import io.netty.buffer.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads minibatches written by {@link ArrowDataSetWriter}, one record batch at a time.
+ *
+ * With zero copy enabled, the returned arrays directly wrap the arrow buffers of the current
+ * record batch: they are only valid until the next batch is loaded or the reader is closed,
+ * and must be dup()ed to be kept longer. Otherwise every array is copied once.
+ */
+public class ArrowDataSetReader implements Closeable {
+    private final ArrowReader reader;
+    private final boolean zeroCopy;
+    private final RandomAccessFile file;
+    private List<ArrowBlock> blocks;
+
+    protected ArrowDataSetReader(ArrowReader reader, boolean zeroCopy, RandomAccessFile file) {
+        this.reader = reader;
+        this.zeroCopy = zeroCopy;
+        this.file = file;
+    }
+
+    /**
+     * Read record batches in the arrow streaming format
+     * @param in the stream to read from
+     * @param allocator the allocator for the record batch buffers
+     * @param zeroCopy whether arrays should wrap the record batch buffers instead of copying them
+     */
+    public static ArrowDataSetReader fromStream(InputStream in, BufferAllocator allocator, boolean zeroCopy) {
+        return new ArrowDataSetReader(new ArrowStreamReader(in, allocator), zeroCopy, null);
+    }
+
+    /**
+     * Read record batches from a memory mapped file in the arrow file format.
+     * Batches can be read in any order, see {@link #loadBatch(int)}.
+     * @param file the file to map, at most 2GB
+     * @param allocator the allocator for the record batch buffers
+     * @param zeroCopy whether arrays should wrap the record batch buffers instead of copying them
+     */
+    public static ArrowDataSetReader fromFile(File file, BufferAllocator allocator, boolean zeroCopy)
+                    throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            if (raf.length() > Integer.MAX_VALUE)
+                throw new ND4JIllegalStateException("Unable to map arrow files larger than 2GB: " + file);
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            ArrowFileReader reader = new ArrowFileReader(new MappedSeekableChannel(mapped), allocator);
+            return new ArrowDataSetReader(reader, zeroCopy, raf);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Load the next record batch
+     * @return false once the end of the stream or file was reached
+     */
+    public boolean loadNextBatch() throws IOException {
+        return reader.loadNextBatch();
+    }
+
+    /**
+     * @return the number of record batches, only available for files
+     */
+    public int numBatches() throws IOException {
+        return blocks().size();
+    }
+
+    /**
+     * Load the record batch with the given index, only available for files
+     * @param index the index of the batch
+     */
+    public void loadBatch(int index) throws IOException {
+        if (!((ArrowFileReader) reader).loadRecordBatch(blocks().get(index)))
+            throw new ND4JIllegalStateException("Unable to load record batch " + index);
+    }
+
+    /**
+     * @return the schema shared by all record batches
+     */
+    public Schema getSchema() throws IOException {
+        return reader.getVectorSchemaRoot().getSchema();
+    }
+
+    /**
+     * @return the currently loaded record batch as a DataSet
+     */
+    public DataSet getDataSet() throws IOException {
+        return ArrowDataSetSchema.toDataSet(getMultiDataSet());
+    }
+
+    /**
+     * @return the currently loaded record batch as a MultiDataSet
+     */
+    public MultiDataSet getMultiDataSet() throws IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        int rows = root.getRowCount();
+
+        List<List<INDArray>> arrays = new ArrayList<>();
+        for (int k = 0; k < 4; k++)
+            arrays.add(new ArrayList<INDArray>());
+
+        for (FieldVector vector : root.getFieldVectors()) {
+            int[] kindAndIndex = ArrowDataSetSchema.kindAndIndex(vector.getField().getName());
+            List<INDArray> kind = arrays.get(kindAndIndex[0]);
+            while (kind.size() <= kindAndIndex[1])
+                kind.add(null);
+            kind.set(kindAndIndex[1], toArray(root.getSchema(), (FixedSizeListVector) vector, rows));
+        }
+
+        return new org.nd4j.linalg.dataset.MultiDataSet(toArray(arrays.get(0)), toArray(arrays.get(1)),
+                        toArray(arrays.get(2)), toArray(arrays.get(3)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } finally {
+            if (file != null)
+                file.close();
+        }
+    }
+
+    private List<ArrowBlock> blocks() throws IOException {
+        if (!(reader instanceof ArrowFileReader))
+            throw new UnsupportedOperationException("Random access is only available for arrow files");
+        if (blocks == null)
+            blocks = ((ArrowFileReader) reader).getRecordBlocks();
+        return blocks;
+    }
+
+    private INDArray toArray(Schema schema, FixedSizeListVector vector, int rows) {
+        Field field = vector.getField();
+        int[] shape = ArrowDataSetSchema.shape(schema, field, rows);
+        FieldVector child = (FieldVector) vector.getDataVector();
+        DataBuffer.Type type = ArrowDataSetSchema.dataType(child.getField().getType());
+        int length = rows * ArrowDataSetSchema.listSize(field);
+        int elementSize = type == DataBuffer.Type.DOUBLE ? 8 : 4;
+
+        ArrowBuf buf = child.getDataBuffer();
+        ByteBuffer nio = buf.nioBuffer(0, length * elementSize).order(ByteOrder.nativeOrder());
+        DataBuffer data;
+        switch (type) {
+            case DOUBLE:
+                data = Nd4j.createBuffer(new DoublePointer(nio.asDoubleBuffer()), length);
+                break;
+            case FLOAT:
+                data = Nd4j.createBuffer(new FloatPointer(nio.asFloatBuffer()), length);
+                break;
+            default:
+                data = Nd4j.createBuffer(new IntPointer(nio.asIntBuffer()), length);
+                break;
+        }
+
+        INDArray arr = Nd4j.create(data, shape, Nd4j.getStrides(shape, 'c'), 0, 'c');
+        return zeroCopy ? arr : arr.dup('c');
+    }
+
+    private static INDArray[] toArray(List<INDArray> arrays) {
+        if (arrays.isEmpty())
+            return null;
+        if (arrays.contains(null))
+            throw new ND4JIllegalStateException("Record batch is missing some of the arrays of a kind");
+        return arrays.toArray(new INDArray[arrays.size()]);
+    }
+}
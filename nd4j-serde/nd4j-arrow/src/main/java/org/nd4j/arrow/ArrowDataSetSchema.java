@@ -0,0 +1,181 @@
+package org.nd4j.arrow;
+
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+
+import java.util.*;
+
+/**
+ * Layout of minibatches in arrow record batches.
+ *
+ * Every array of a {@link MultiDataSet} is a column named features_i, labels_i,
+ * featuresMask_i or labelsMask_i. A column is a fixed size list holding one example
+ * (the array without its first dimension, in c order) per record, with 32 or 64 bit
+ * floating point or 32 bit int elements. The per example shape of each column is kept
+ * in the schema metadata under "name.shape" as comma separated sizes.
+ * A {@link DataSet} is stored as a MultiDataSet with one array of each kind.
+ */
+class ArrowDataSetSchema {
+    static final String FEATURES = "features";
+    static final String LABELS = "labels";
+    static final String FEATURES_MASK = "featuresMask";
+    static final String LABELS_MASK = "labelsMask";
+    static final String SHAPE_SUFFIX = ".shape";
+    static final String DATA_VECTOR_NAME = "$data$";
+
+    private static final String[] KINDS = {FEATURES, LABELS, FEATURES_MASK, LABELS_MASK};
+
+    private ArrowDataSetSchema() {}
+
+    /**
+     * A single array of a minibatch
+     */
+    static class Column {
+        private final String name;
+        private final INDArray array;
+        private final int[] exampleShape;
+
+        Column(String name, INDArray array) {
+            if (array.rank() < 2)
+                throw new ND4JIllegalStateException("Array " + name + " has no example dimension");
+            this.name = name;
+            this.array = array;
+            this.exampleShape = Arrays.copyOfRange(array.shape(), 1, array.rank());
+        }
+
+        String getName() {
+            return name;
+        }
+
+        INDArray getArray() {
+            return array;
+        }
+
+        int getListSize() {
+            int ret = 1;
+            for (int size : exampleShape)
+                ret *= size;
+            return ret;
+        }
+
+        Field toField() {
+            Field data = new Field(DATA_VECTOR_NAME, FieldType.nullable(elementType(array.data().dataType())), null);
+            return new Field(name, FieldType.nullable(new ArrowType.FixedSizeList(getListSize())),
+                            Collections.singletonList(data));
+        }
+    }
+
+    static MultiDataSet toMultiDataSet(DataSet dataSet) {
+        return new org.nd4j.linalg.dataset.MultiDataSet(dataSet.getFeatures(), dataSet.getLabels(),
+                        dataSet.getFeaturesMaskArray(), dataSet.getLabelsMaskArray());
+    }
+
+    static DataSet toDataSet(MultiDataSet dataSet) {
+        if (dataSet.numFeatureArrays() != 1 || dataSet.numLabelsArrays() > 1)
+            throw new ND4JIllegalStateException("Only record batches with a single features and labels array "
+                            + "can be read as a DataSet");
+        return new org.nd4j.linalg.dataset.DataSet(dataSet.getFeatures(0),
+                        dataSet.numLabelsArrays() == 0 ? null : dataSet.getLabels(0),
+                        dataSet.getFeaturesMaskArray(0),
+                        dataSet.numLabelsArrays() == 0 ? null : dataSet.getLabelsMaskArray(0));
+    }
+
+    /**
+     * The non null arrays of a minibatch, in column order
+     */
+    static List<Column> columns(MultiDataSet dataSet) {
+        INDArray[][] arrays = {dataSet.getFeatures(), dataSet.getLabels(), dataSet.getFeaturesMaskArrays(),
+                        dataSet.getLabelsMaskArrays()};
+        List<Column> ret = new ArrayList<>();
+        for (int k = 0; k < KINDS.length; k++) {
+            if (arrays[k] == null)
+                continue;
+            for (int i = 0; i < arrays[k].length; i++) {
+                if (arrays[k][i] != null)
+                    ret.add(new Column(KINDS[k] + "_" + i, arrays[k][i]));
+            }
+        }
+        return ret;
+    }
+
+    static Map<String, String> shapeMetadata(List<Column> columns) {
+        Map<String, String> ret = new LinkedHashMap<>();
+        for (Column column : columns) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < column.exampleShape.length; i++)
+                sb.append(i == 0 ? "" : ",").append(column.exampleShape[i]);
+            ret.put(column.getName() + SHAPE_SUFFIX, sb.toString());
+        }
+        return ret;
+    }
+
+    /**
+     * Shape of a whole minibatch column with the given number of examples
+     */
+    static int[] shape(Schema schema, Field field, int rows) {
+        String shape = schema.getCustomMetadata() == null ? null
+                        : schema.getCustomMetadata().get(field.getName() + SHAPE_SUFFIX);
+        if (shape == null || shape.isEmpty())
+            return new int[] {rows, listSize(field)};
+
+        String[] split = shape.split(",");
+        int[] ret = new int[split.length + 1];
+        ret[0] = rows;
+        for (int i = 0; i < split.length; i++)
+            ret[i + 1] = Integer.parseInt(split[i].trim());
+        return ret;
+    }
+
+    static int listSize(Field field) {
+        if (!(field.getType() instanceof ArrowType.FixedSizeList))
+            throw new ND4JIllegalStateException("Column " + field.getName() + " is not a fixed size list");
+        return ((ArrowType.FixedSizeList) field.getType()).getListSize();
+    }
+
+    /**
+     * Index of the kind (features, labels, ...) of a column and the index of the array within that kind
+     */
+    static int[] kindAndIndex(String name) {
+        int split = name.lastIndexOf('_');
+        if (split > 0) {
+            int kind = Arrays.asList(KINDS).indexOf(name.substring(0, split));
+            if (kind >= 0)
+                return new int[] {kind, Integer.parseInt(name.substring(split + 1))};
+        }
+        throw new ND4JIllegalStateException("Unknown column " + name);
+    }
+
+    static ArrowType elementType(DataBuffer.Type type) {
+        switch (type) {
+            case FLOAT:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case INT:
+                return new ArrowType.Int(32, true);
+            default:
+                throw new ND4JIllegalStateException("Unsupported data type " + type);
+        }
+    }
+
+    static DataBuffer.Type dataType(ArrowType type) {
+        if (type instanceof ArrowType.FloatingPoint) {
+            FloatingPointPrecision precision = ((ArrowType.FloatingPoint) type).getPrecision();
+            if (precision == FloatingPointPrecision.SINGLE)
+                return DataBuffer.Type.FLOAT;
+            if (precision == FloatingPointPrecision.DOUBLE)
+                return DataBuffer.Type.DOUBLE;
+        } else if (type instanceof ArrowType.Int && ((ArrowType.Int) type).getBitWidth() == 32) {
+            return DataBuffer.Type.INT;
+        }
+        throw new ND4JIllegalStateException("Unsupported arrow type " + type);
+    }
+}
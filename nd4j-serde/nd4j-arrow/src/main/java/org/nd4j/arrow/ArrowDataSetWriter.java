@@ -0,0 +1,149 @@
+package org.nd4j.arrow;
+
+import io.netty.buffer.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.api.DataSet;
+import org.nd4j.linalg.dataset.api.MultiDataSet;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes {@link DataSet}s and {@link MultiDataSet}s as arrow record batches,
+ * one record batch per minibatch and one record per example.
+ *
+ * See {@link ArrowDataSetSchema} for the layout. The schema is taken from the first
+ * minibatch written: every following minibatch needs the same arrays (including masks),
+ * with the same data types and per example shapes.
+ */
+public class ArrowDataSetWriter implements Closeable {
+    private final BufferAllocator allocator;
+    private final WritableByteChannel channel;
+    private final boolean fileFormat;
+    private VectorSchemaRoot root;
+    private ArrowWriter writer;
+
+    /**
+     * @param allocator the allocator for the record batch buffers
+     * @param channel the channel to write to
+     * @param fileFormat true to write the random access arrow file format,
+     *                   false for the arrow streaming format
+     */
+    public ArrowDataSetWriter(BufferAllocator allocator, WritableByteChannel channel, boolean fileFormat) {
+        this.allocator = allocator;
+        this.channel = channel;
+        this.fileFormat = fileFormat;
+    }
+
+    /**
+     * Write a minibatch as a record batch
+     * @param dataSet the minibatch to write
+     */
+    public void write(DataSet dataSet) throws IOException {
+        write(ArrowDataSetSchema.toMultiDataSet(dataSet));
+    }
+
+    /**
+     * Write a minibatch as a record batch
+     * @param dataSet the minibatch to write
+     */
+    public void write(MultiDataSet dataSet) throws IOException {
+        List<ArrowDataSetSchema.Column> columns = ArrowDataSetSchema.columns(dataSet);
+        if (root == null)
+            start(columns);
+
+        int rows = dataSet.getFeatures(0).size(0);
+        List<FieldVector> vectors = root.getFieldVectors();
+        if (vectors.size() != columns.size())
+            throw new ND4JIllegalStateException("Expected " + vectors.size() + " arrays per minibatch, got "
+                            + columns.size());
+
+        for (int i = 0; i < columns.size(); i++) {
+            ArrowDataSetSchema.Column column = columns.get(i);
+            FixedSizeListVector vector = (FixedSizeListVector) vectors.get(i);
+            if (!column.getName().equals(vector.getField().getName())
+                            || column.getListSize() != ArrowDataSetSchema.listSize(vector.getField()))
+                throw new ND4JIllegalStateException("Array " + column.getName() + " doesn't match the schema "
+                                + root.getSchema());
+            if (column.getArray().size(0) != rows)
+                throw new ND4JIllegalStateException("All arrays of a minibatch need the same number of examples");
+
+            fill(vector, column.getArray(), rows, column.getListSize());
+        }
+
+        root.setRowCount(rows);
+        writer.writeBatch();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writer != null) {
+                writer.end();
+                writer.close();
+            }
+        } finally {
+            if (root != null)
+                root.close();
+        }
+    }
+
+    private void start(List<ArrowDataSetSchema.Column> columns) throws IOException {
+        List<Field> fields = new ArrayList<>();
+        for (ArrowDataSetSchema.Column column : columns)
+            fields.add(column.toField());
+
+        Schema schema = new Schema(fields, ArrowDataSetSchema.shapeMetadata(columns));
+        root = VectorSchemaRoot.create(schema, allocator);
+        writer = fileFormat ? new ArrowFileWriter(root, null, channel) : new ArrowStreamWriter(root, null, channel);
+        writer.start();
+    }
+
+    /**
+     * Copy the array in to the list vector, example by example in c order
+     */
+    private static void fill(FixedSizeListVector vector, INDArray arr, int rows, int listSize) {
+        INDArray dense = arr.isView() || arr.ordering() != 'c' ? arr.dup('c') : arr;
+        Nd4j.getAffinityManager().ensureLocation(dense, AffinityManager.Location.HOST);
+
+        vector.clear();
+        vector.setInitialCapacity(rows);
+        vector.allocateNew();
+
+        FieldVector child = (FieldVector) vector.getDataVector();
+        int elementSize = dense.data().getElementSize();
+        int length = rows * listSize;
+        ByteBuffer data = dense.data().asNio();
+        data.position(0);
+        data.limit(length * elementSize);
+        child.getDataBuffer().setBytes(0, data);
+
+        setAllValid(child.getValidityBuffer(), length);
+        setAllValid(vector.getValidityBuffer(), rows);
+        child.setValueCount(length);
+        vector.setValueCount(rows);
+    }
+
+    private static void setAllValid(ArrowBuf validity, int count) {
+        byte[] ones = new byte[(count + 7) / 8];
+        Arrays.fill(ones, (byte) 0xFF);
+        validity.setBytes(0, ones);
+    }
+}
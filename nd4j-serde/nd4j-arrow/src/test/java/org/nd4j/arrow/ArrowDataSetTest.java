@@ -0,0 +1,125 @@
+package org.nd4j.arrow;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ArrowDataSetTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BufferAllocator allocator;
+
+    @Before
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @After
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws Exception {
+        List<DataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            dataSets.add(new DataSet(Nd4j.rand(new int[] {5 - i, 3, 4}), Nd4j.rand(5 - i, 2)));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ArrowDataSetWriter writer = new ArrowDataSetWriter(allocator, Channels.newChannel(bos), false)) {
+            for (DataSet dataSet : dataSets)
+                writer.write(dataSet);
+        }
+
+        for (boolean zeroCopy : new boolean[] {true, false}) {
+            try (ArrowDataSetReader reader = ArrowDataSetReader.fromStream(
+                            new ByteArrayInputStream(bos.toByteArray()), allocator, zeroCopy)) {
+                for (DataSet expected : dataSets) {
+                    assertTrue(reader.loadNextBatch());
+                    org.nd4j.linalg.dataset.api.DataSet read = reader.getDataSet();
+                    assertArrayEquals(expected.getFeatures().shape(), read.getFeatures().shape());
+                    assertEquals(expected.getFeatures(), read.getFeatures());
+                    assertEquals(expected.getLabels(), read.getLabels());
+                    assertNull(read.getFeaturesMaskArray());
+                }
+                assertFalse(reader.loadNextBatch());
+            }
+        }
+    }
+
+    @Test
+    public void testMultiDataSetWithMasks() throws Exception {
+        MultiDataSet expected = new MultiDataSet(new INDArray[] {Nd4j.rand(4, 6), Nd4j.rand(new int[] {4, 2, 3})},
+                        new INDArray[] {Nd4j.rand(4, 1)}, new INDArray[] {Nd4j.ones(4, 6), Nd4j.ones(4, 3)},
+                        null);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ArrowDataSetWriter writer = new ArrowDataSetWriter(allocator, Channels.newChannel(bos), false)) {
+            writer.write(expected);
+        }
+
+        try (ArrowDataSetReader reader = ArrowDataSetReader.fromStream(new ByteArrayInputStream(bos.toByteArray()),
+                        allocator, false)) {
+            assertTrue(reader.loadNextBatch());
+            org.nd4j.linalg.dataset.api.MultiDataSet read = reader.getMultiDataSet();
+            assertEquals(2, read.numFeatureArrays());
+            assertEquals(expected.getFeatures(0), read.getFeatures(0));
+            assertEquals(expected.getFeatures(1), read.getFeatures(1));
+            assertEquals(expected.getLabels(0), read.getLabels(0));
+            assertEquals(expected.getFeaturesMaskArray(1), read.getFeaturesMaskArray(1));
+            assertNull(read.getLabelsMaskArrays());
+        }
+    }
+
+    @Test
+    public void testMappedFileIterator() throws Exception {
+        File file = folder.newFile("minibatches.arrow");
+        List<DataSet> dataSets = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            dataSets.add(new DataSet(Nd4j.rand(8, 10), Nd4j.rand(8, 3)));
+
+        try (FileOutputStream fos = new FileOutputStream(file);
+             ArrowDataSetWriter writer = new ArrowDataSetWriter(allocator, fos.getChannel(), true)) {
+            for (DataSet dataSet : dataSets)
+                writer.write(dataSet);
+        }
+
+        try (ArrowDataSetIterator iterator = new ArrowDataSetIterator(file, allocator, true)) {
+            assertEquals(10, iterator.inputColumns());
+            assertEquals(3, iterator.totalOutcomes());
+            assertFalse(iterator.asyncSupported());
+
+            for (int epoch = 0; epoch < 2; epoch++) {
+                int i = 0;
+                while (iterator.hasNext()) {
+                    DataSet next = iterator.next();
+                    assertEquals(dataSets.get(i).getFeatures(), next.getFeatures());
+                    assertEquals(dataSets.get(i).getLabels(), next.getLabels());
+                    i++;
+                }
+                assertEquals(4, i);
+                assertEquals(8, iterator.batch());
+                iterator.reset();
+            }
+        }
+    }
+}
@@ -22,7 +22,9 @@ public class KafkaConnectionInformation implements Serializable {
     private String groupId;
 
     /**
-     * Returns a kafka connection uri
+     * Returns a kafka connection uri.
+     * Message keys are strings, values are batches of
+     * ndarrays encoded by {@link Nd4jKafkaEncoder}
      * @return a kafka connection uri
      * represented by this connection information
      */
@@ -30,6 +32,6 @@ public class KafkaConnectionInformation implements Serializable {
         return String.format(
                         "kafka://%s?topic=%s&groupId=%s&zookeeperHost=%s&zookeeperPort=%d&serializerClass=%s&keySerializerClass=%s",
                         kafkaBrokerList, topicName, groupId, zookeeperHost, zookeeperPort,
-                        StringEncoder.class.getName(), StringEncoder.class.getName());
+                        Nd4jKafkaEncoder.class.getName(), StringEncoder.class.getName());
     }
 }
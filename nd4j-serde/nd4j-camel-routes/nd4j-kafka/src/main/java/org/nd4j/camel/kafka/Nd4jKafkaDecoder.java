@@ -0,0 +1,50 @@
+package org.nd4j.camel.kafka;
+
+import kafka.serializer.Decoder;
+import kafka.utils.VerifiableProperties;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.primitives.Pair;
+import org.nd4j.serde.binary.BinarySerde;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Kafka decoder for messages written by {@link Nd4jKafkaEncoder}.
+ *
+ * Messages are copied in to a direct buffer the arrays are read from.
+ * The arrays get their own copy of the data, so the buffer isn't referenced
+ * once the message was decoded. Compressed arrays are decompressed.
+ */
+public class Nd4jKafkaDecoder implements Decoder<INDArray[]> {
+
+    public Nd4jKafkaDecoder() {}
+
+    /**
+     * Constructor used by the kafka consumer
+     * @param properties the consumer properties (unused)
+     */
+    public Nd4jKafkaDecoder(VerifiableProperties properties) {
+        this();
+    }
+
+    @Override
+    public INDArray[] fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.nativeOrder());
+        buffer.put(bytes);
+        buffer.flip();
+
+        int numArrays = buffer.getInt();
+        if (numArrays < 0)
+            throw new IllegalStateException("Found negative number of arrays. Corrupt message?");
+
+        INDArray[] ret = new INDArray[numArrays];
+        for (int i = 0; i < numArrays; i++) {
+            Pair<INDArray, ByteBuffer> read = BinarySerde.toArrayAndByteBuffer(buffer, buffer.position());
+            INDArray arr = read.getFirst();
+            ret[i] = arr.isCompressed() ? Nd4j.getCompressor().decompress(arr) : arr;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,44 @@
+package org.nd4j.camel.kafka;
+
+import kafka.serializer.Encoder;
+import kafka.utils.VerifiableProperties;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.serde.binary.BinarySerde;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Kafka encoder writing a batch of ndarrays as a single binary message:
+ * the number of arrays as a 4 byte int followed by every array
+ * in the {@link BinarySerde} layout, all in native byte order.
+ *
+ * Compressed arrays are written as is, see {@link Nd4jKafkaDecoder}
+ * for the reverse.
+ */
+public class Nd4jKafkaEncoder implements Encoder<INDArray[]> {
+
+    public Nd4jKafkaEncoder() {}
+
+    /**
+     * Constructor used by the kafka producer
+     * @param properties the producer properties (unused)
+     */
+    public Nd4jKafkaEncoder(VerifiableProperties properties) {
+        this();
+    }
+
+    @Override
+    public byte[] toBytes(INDArray[] arrays) {
+        int size = 4;
+        for (INDArray arr : arrays)
+            size += BinarySerde.byteBufferSizeFor(arr);
+
+        byte[] ret = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(ret).order(ByteOrder.nativeOrder());
+        buffer.putInt(arrays.length);
+        for (INDArray arr : arrays)
+            BinarySerde.toByteBuffer(arr, buffer);
+        return ret;
+    }
+}
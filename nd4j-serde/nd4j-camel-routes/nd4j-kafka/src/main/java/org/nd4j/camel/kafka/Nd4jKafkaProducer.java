@@ -6,6 +6,8 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.nd4j.linalg.api.ndarray.INDArray;
 
+import java.util.Collection;
+
 /**
  * Created by agibsonccc on 7/19/16.
  */
@@ -28,5 +30,25 @@ public class Nd4jKafkaProducer {
         producerTemplate.sendBody("direct:start", arr);
     }
 
+    /**
+     * Publish a batch of arrays to a kafka topic
+     * as a single message
+     * @param arrs the arrays to publish
+     */
+    public void publish(INDArray[] arrs) {
+        if (producerTemplate == null)
+            producerTemplate = camelContext.createProducerTemplate();
+        producerTemplate.sendBody("direct:start", arrs);
+    }
+
+    /**
+     * Publish a batch of arrays to a kafka topic
+     * as a single message
+     * @param arrs the arrays to publish
+     */
+    public void publish(Collection<INDArray> arrs) {
+        publish(arrs.toArray(new INDArray[arrs.size()]));
+    }
+
 
 }
@@ -6,18 +6,20 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.kafka.KafkaConstants;
-import org.apache.commons.net.util.Base64;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
-import org.nd4j.serde.base64.Nd4jBase64;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
- * Sends a test ndarray
- * to kafka
+ * Sends ndarrays to kafka
+ * and receives them back.
+ *
+ * Messages are binary, see {@link Nd4jKafkaEncoder}. The body sent to direct:start
+ * may be a single {@link INDArray}, an INDArray[] or a collection of INDArrays:
+ * a batch of arrays is sent as a single kafka message. On the receiving end
+ * every array is passed on to direct:receive on its own.
  *
  * @author Adam Gibson
  */
@@ -25,20 +27,29 @@ import java.util.UUID;
 @Builder
 public class Nd4jKafkaRoute extends RouteBuilder {
     private KafkaConnectionInformation kafkaConnectionInformation;
+    /**
+     * Compression algorithm (see {@link Nd4j#getCompressor()}) to apply to
+     * every array before sending, null to send arrays uncompressed
+     */
+    private String compressionAlgorithm;
+
+    public Nd4jKafkaRoute(KafkaConnectionInformation kafkaConnectionInformation) {
+        this(kafkaConnectionInformation, null);
+    }
 
     @Override
     public void configure() throws Exception {
         final String kafkaUri = kafkaConnectionInformation.kafkaUri();
+        final Nd4jKafkaDecoder decoder = new Nd4jKafkaDecoder();
         from("direct:start").process(new Processor() {
             @Override
             public void process(Exchange exchange) throws Exception {
-                final INDArray arr = (INDArray) exchange.getIn().getBody();
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                DataOutputStream dos = new DataOutputStream(bos);
-                Nd4j.write(arr, dos);
-                byte[] bytes = bos.toByteArray();
-                String base64 = Base64.encodeBase64String(bytes);
-                exchange.getIn().setBody(base64, String.class);
+                INDArray[] arrays = toBatch(exchange.getIn().getBody());
+                if (compressionAlgorithm != null) {
+                    for (int i = 0; i < arrays.length; i++)
+                        arrays[i] = Nd4j.getCompressor().compress(arrays[i], compressionAlgorithm);
+                }
+                exchange.getIn().setBody(arrays);
                 String id = UUID.randomUUID().toString();
                 exchange.getIn().setHeader(KafkaConstants.KEY, id);
                 exchange.getIn().setHeader(KafkaConstants.PARTITION_KEY, id);
@@ -48,11 +59,22 @@ public class Nd4jKafkaRoute extends RouteBuilder {
         from(kafkaUri).process(new Processor() {
             @Override
             public void process(Exchange exchange) throws Exception {
-                byte[] body2 = (byte[]) exchange.getIn().getBody();
-                String body = new String(body2);
-                INDArray arr = Nd4jBase64.fromBase64(body);
-                exchange.getIn().setBody(arr);
+                byte[] body = (byte[]) exchange.getIn().getBody();
+                exchange.getIn().setBody(decoder.fromBytes(body));
             }
-        }).to("direct:receive");
+        }).split(body()).to("direct:receive");
+    }
+
+    private static INDArray[] toBatch(Object body) {
+        if (body instanceof INDArray)
+            return new INDArray[] {(INDArray) body};
+        if (body instanceof INDArray[])
+            return ((INDArray[]) body).clone();
+        if (body instanceof Collection) {
+            Collection<?> collection = (Collection<?>) body;
+            return collection.toArray(new INDArray[collection.size()]);
+        }
+        throw new IllegalArgumentException("Unable to send " + (body == null ? null : body.getClass())
+                        + ", expected an INDArray, INDArray[] or a collection of INDArrays");
     }
 }
@@ -7,8 +7,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.nd4j.camel.kafka.KafkaConnectionInformation;
 import org.nd4j.camel.kafka.Nd4jKafkaConsumer;
+import org.nd4j.camel.kafka.Nd4jKafkaDecoder;
+import org.nd4j.camel.kafka.Nd4jKafkaEncoder;
 import org.nd4j.camel.kafka.Nd4jKafkaProducer;
 import org.nd4j.camel.kafka.Nd4jKafkaRoute;
+import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
 import static org.junit.Assert.assertEquals;
@@ -62,5 +65,35 @@ public class Nd4jKafkaRouteTest {
         assertEquals(Nd4j.create(4), consumer.receive());
     }
 
+    @Test
+    public void testBatchedCompressedRoute() throws Exception {
+        camelContext.stop();
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+        camelContext.addRoutes(Nd4jKafkaRoute.builder().kafkaConnectionInformation(connectionInformation)
+                        .compressionAlgorithm("GZIP").build());
+
+        INDArray[] batch = {Nd4j.linspace(1, 4, 4), Nd4j.ones(2, 3), Nd4j.rand(3, 3).getColumn(1)};
+        Nd4jKafkaProducer kafkaProducer = Nd4jKafkaProducer.builder().camelContext(camelContext)
+                        .connectionInformation(connectionInformation).build();
+        kafkaProducer.publish(batch);
+        Nd4jKafkaConsumer consumer = Nd4jKafkaConsumer.builder().camelContext(camelContext)
+                        .connectionInformation(connectionInformation).build();
+        for (INDArray arr : batch)
+            assertEquals(arr, consumer.receive());
+    }
+
+    @Test
+    public void testEncoderDecoder() {
+        INDArray[] batch = {Nd4j.linspace(1, 6, 6).reshape(2, 3), Nd4j.rand(4, 4).getRow(2),
+                        Nd4j.getCompressor().compress(Nd4j.linspace(1, 10, 10), "GZIP")};
+        byte[] bytes = new Nd4jKafkaEncoder().toBytes(batch);
+        INDArray[] decoded = new Nd4jKafkaDecoder().fromBytes(bytes);
+        assertEquals(batch.length, decoded.length);
+        assertEquals(batch[0], decoded[0]);
+        assertEquals(batch[1], decoded[1]);
+        assertEquals(Nd4j.linspace(1, 10, 10), decoded[2]);
+    }
+
 
 }
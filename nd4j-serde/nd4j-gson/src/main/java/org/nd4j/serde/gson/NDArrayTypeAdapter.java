@@ -0,0 +1,184 @@
+package org.nd4j.serde.gson;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming gson adapter writing an ndarray as its data type, ordering, shape
+ * and elements:
+ * <pre>
+ * {"dataType":"FLOAT","order":"c","shape":[2,3],"data":[1.0,2.0,3.0,4.0,5.0,6.0]}
+ * </pre>
+ * the same layout the raw jackson serializers use for json.
+ * When reading, the buffer of the array is allocated once the shape is known
+ * and the elements are read straight in to it.
+ *
+ * Only float, double and int arrays are supported.
+ * Register with {@code new GsonBuilder().registerTypeHierarchyAdapter(INDArray.class, new NDArrayTypeAdapter())}.
+ */
+public class NDArrayTypeAdapter extends TypeAdapter<INDArray> {
+    public static final String DATA_TYPE = "dataType";
+    public static final String ORDER = "order";
+    public static final String SHAPE = "shape";
+    public static final String DATA = "data";
+
+    @Override
+    public void write(JsonWriter out, INDArray arr) throws IOException {
+        if (arr == null) {
+            out.nullValue();
+            return;
+        }
+
+        DataBuffer.Type type = arr.data().dataType();
+        checkType(type);
+        if (arr.isView() || arr.data().length() != arr.length())
+            arr = arr.dup(arr.ordering());
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+
+        out.beginObject();
+        out.name(DATA_TYPE).value(type.name());
+        out.name(ORDER).value(String.valueOf(arr.ordering()));
+        out.name(SHAPE).beginArray();
+        for (int i = 0; i < arr.rank(); i++)
+            out.value(arr.size(i));
+        out.endArray();
+
+        int length = (int) arr.length();
+        DataBuffer data = arr.data();
+        out.name(DATA).beginArray();
+        switch (type) {
+            case DOUBLE:
+                DoubleBuffer doubles = data.asNioDouble();
+                for (int i = 0; i < length; i++)
+                    out.value(doubles.get(i));
+                break;
+            case FLOAT:
+                //boxed so the shortest float representation is written, not the widened double
+                FloatBuffer floats = data.asNioFloat();
+                for (int i = 0; i < length; i++)
+                    out.value(Float.valueOf(floats.get(i)));
+                break;
+            default:
+                IntBuffer ints = data.asNioInt();
+                for (int i = 0; i < length; i++)
+                    out.value(ints.get(i));
+                break;
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public INDArray read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        DataBuffer.Type type = null;
+        char order = 'c';
+        int[] shape = null;
+        DataBuffer buffer = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case DATA_TYPE:
+                    type = DataBuffer.Type.valueOf(in.nextString());
+                    checkType(type);
+                    break;
+                case ORDER:
+                    order = in.nextString().charAt(0);
+                    break;
+                case SHAPE:
+                    shape = readShape(in);
+                    break;
+                case DATA:
+                    if (type == null || shape == null)
+                        throw new JsonParseException("Field " + DATA + " needs to come after the data type and the shape");
+                    buffer = allocate(type, shape);
+                    readData(in, buffer);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        if (buffer == null)
+            throw new JsonParseException("Missing field " + DATA);
+        return Nd4j.create(buffer, shape, Nd4j.getStrides(shape, order), 0, order);
+    }
+
+    private static int[] readShape(JsonReader in) throws IOException {
+        List<Integer> shape = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext())
+            shape.add(in.nextInt());
+        in.endArray();
+        int[] ret = new int[shape.size()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = shape.get(i);
+        return ret;
+    }
+
+    private static DataBuffer allocate(DataBuffer.Type type, int[] shape) {
+        long length = 1;
+        for (int size : shape)
+            length *= size;
+        switch (type) {
+            case DOUBLE:
+                return Nd4j.getDataBufferFactory().createDouble(length, false);
+            case FLOAT:
+                return Nd4j.getDataBufferFactory().createFloat(length, false);
+            default:
+                return Nd4j.getDataBufferFactory().createInt(length, false);
+        }
+    }
+
+    private static void readData(JsonReader in, DataBuffer buffer) throws IOException {
+        long i = 0;
+        DataBuffer.Type type = buffer.dataType();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (i >= buffer.length())
+                throw new JsonParseException("More elements than the shape allows");
+            switch (type) {
+                case DOUBLE:
+                    buffer.put(i++, in.nextDouble());
+                    break;
+                case FLOAT:
+                    buffer.put(i++, (float) in.nextDouble());
+                    break;
+                default:
+                    buffer.put(i++, in.nextInt());
+                    break;
+            }
+        }
+        in.endArray();
+        if (i != buffer.length())
+            throw new JsonParseException("Expected " + buffer.length() + " elements, got " + i);
+    }
+
+    private static void checkType(DataBuffer.Type type) {
+        if (type != DataBuffer.Type.FLOAT && type != DataBuffer.Type.DOUBLE && type != DataBuffer.Type.INT)
+            throw new IllegalArgumentException("Unsupported data type " + type);
+    }
+}
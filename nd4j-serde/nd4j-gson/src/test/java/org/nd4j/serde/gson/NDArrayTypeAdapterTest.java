@@ -0,0 +1,39 @@
+package org.nd4j.serde.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NDArrayTypeAdapterTest {
+    private final Gson gson =
+                    new GsonBuilder().registerTypeHierarchyAdapter(INDArray.class, new NDArrayTypeAdapter()).create();
+
+    @Test
+    public void roundTrip_ViewsAndOrderings_ExpectEqualArrays() {
+        INDArray[] arrays = {Nd4j.linspace(1, 6, 6).reshape(2, 3), Nd4j.linspace(1, 24, 24).reshape('f', 2, 3, 4),
+                        Nd4j.rand(5, 5).getColumn(3), Nd4j.create(new double[] {0.1, -2.5e-8, 3})};
+        for (INDArray arr : arrays) {
+            INDArray read = gson.fromJson(gson.toJson(arr, INDArray.class), INDArray.class);
+            assertEquals(arr, read);
+            assertEquals(arr.ordering(), read.ordering());
+        }
+    }
+
+    @Test
+    public void write_SmallVector_ExpectNumericData() {
+        String json = gson.toJson(Nd4j.linspace(1, 4, 4), INDArray.class);
+        assertTrue(json, json.contains("\"shape\":[1,4]"));
+        assertTrue(json, json.contains("\"data\":[1.0,2.0,3.0,4.0]"));
+    }
+
+    @Test
+    public void read_Null_ExpectNull() {
+        assertNull(gson.fromJson("null", INDArray.class));
+    }
+}
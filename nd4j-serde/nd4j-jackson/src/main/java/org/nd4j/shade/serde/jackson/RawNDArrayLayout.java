@@ -0,0 +1,119 @@
+package org.nd4j.shade.serde.jackson;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Shared helpers for the raw ndarray serializers
+ * ({@link org.nd4j.shade.serde.jackson.ndarray.RawNDArraySerializer}
+ * and {@link org.nd4j.shade.serde.jackson.shaded.RawNDArraySerializer}).
+ *
+ * An array is written as:
+ * <pre>
+ * {"dataType":"FLOAT","order":"c","shape":[2,3],"data":...}
+ * </pre>
+ * where data holds the elements in the given order, either as a json array of numbers or,
+ * for formats with native binary support (smile, cbor), as a single big endian binary value.
+ * Only float, double and int arrays are supported.
+ */
+public class RawNDArrayLayout {
+    public static final String DATA_TYPE = "dataType";
+    public static final String ORDER = "order";
+    public static final String SHAPE = "shape";
+    public static final String DATA = "data";
+
+    private RawNDArrayLayout() {}
+
+    /**
+     * Get an array with a dense buffer holding exactly its elements in its own ordering,
+     * accessible from the host
+     * @param arr the array to write
+     * @return the array itself or a dense copy of it
+     */
+    public static INDArray dense(INDArray arr) {
+        checkType(arr.data().dataType());
+        if (arr.isView() || arr.data().length() != arr.length())
+            arr = arr.dup(arr.ordering());
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+        return arr;
+    }
+
+    /**
+     * The elements of a dense array as big endian bytes
+     */
+    public static byte[] toBytes(INDArray dense) {
+        DataBuffer data = dense.data();
+        int length = (int) dense.length();
+        ByteBuffer ret = ByteBuffer.allocate(length * data.getElementSize());
+        switch (data.dataType()) {
+            case DOUBLE:
+                ret.asDoubleBuffer().put(data.asNioDouble());
+                break;
+            case FLOAT:
+                ret.asFloatBuffer().put(data.asNioFloat());
+                break;
+            default:
+                ret.asIntBuffer().put(data.asNioInt());
+                break;
+        }
+        return ret.array();
+    }
+
+    /**
+     * Allocate an uninitialized buffer to read an array in to
+     */
+    public static DataBuffer allocate(DataBuffer.Type type, int[] shape) {
+        checkType(type);
+        long length = 1;
+        for (int size : shape)
+            length *= size;
+        switch (type) {
+            case DOUBLE:
+                return Nd4j.getDataBufferFactory().createDouble(length, false);
+            case FLOAT:
+                return Nd4j.getDataBufferFactory().createFloat(length, false);
+            default:
+                return Nd4j.getDataBufferFactory().createInt(length, false);
+        }
+    }
+
+    /**
+     * Copy big endian bytes written by {@link #toBytes(INDArray)} in to a buffer
+     */
+    public static void putBytes(DataBuffer buffer, byte[] bytes) {
+        if (bytes.length != buffer.length() * buffer.getElementSize())
+            throw new IllegalStateException("Expected " + buffer.length() * buffer.getElementSize()
+                            + " bytes of data, got " + bytes.length);
+        ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+        switch (buffer.dataType()) {
+            case DOUBLE:
+                buffer.asNioDouble().put(wrapped.asDoubleBuffer());
+                break;
+            case FLOAT:
+                buffer.asNioFloat().put(wrapped.asFloatBuffer());
+                break;
+            default:
+                buffer.asNioInt().put(wrapped.asIntBuffer());
+                break;
+        }
+    }
+
+    /**
+     * Create the array for a filled buffer
+     */
+    public static INDArray create(DataBuffer buffer, int[] shape, char order) {
+        if (shape == null)
+            throw new IllegalStateException("Missing field " + SHAPE);
+        return Nd4j.create(buffer, shape, Nd4j.getStrides(shape, order), 0, order);
+    }
+
+    private static void checkType(DataBuffer.Type type) {
+        if (type != DataBuffer.Type.FLOAT && type != DataBuffer.Type.DOUBLE && type != DataBuffer.Type.INT)
+            throw new IllegalArgumentException("Unsupported data type " + type);
+    }
+}
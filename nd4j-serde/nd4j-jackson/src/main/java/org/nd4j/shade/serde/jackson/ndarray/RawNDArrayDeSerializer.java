@@ -0,0 +1,100 @@
+package org.nd4j.shade.serde.jackson.ndarray;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.shade.serde.jackson.RawNDArrayLayout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads ndarrays written by {@link RawNDArraySerializer}.
+ *
+ * The parser is streamed: no tree is built, the buffer of the array is allocated
+ * once the shape is known and the elements are read straight in to it.
+ */
+public class RawNDArrayDeSerializer extends JsonDeserializer<INDArray> {
+    @Override
+    public INDArray deserialize(JsonParser jp, DeserializationContext deserializationContext) throws IOException {
+        DataBuffer.Type type = null;
+        char order = 'c';
+        int[] shape = null;
+        DataBuffer buffer = null;
+
+        JsonToken token = jp.getCurrentToken();
+        if (token == JsonToken.START_OBJECT)
+            token = jp.nextToken();
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            switch (field) {
+                case RawNDArrayLayout.DATA_TYPE:
+                    type = DataBuffer.Type.valueOf(jp.getText());
+                    break;
+                case RawNDArrayLayout.ORDER:
+                    order = jp.getText().charAt(0);
+                    break;
+                case RawNDArrayLayout.SHAPE:
+                    shape = readShape(jp);
+                    break;
+                case RawNDArrayLayout.DATA:
+                    if (type == null || shape == null)
+                        throw deserializationContext.mappingException("Field " + RawNDArrayLayout.DATA
+                                        + " needs to come after the data type and the shape");
+                    buffer = RawNDArrayLayout.allocate(type, shape);
+                    readData(jp, buffer);
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        if (buffer == null)
+            throw deserializationContext.mappingException("Missing field " + RawNDArrayLayout.DATA);
+        return RawNDArrayLayout.create(buffer, shape, order);
+    }
+
+    private static int[] readShape(JsonParser jp) throws IOException {
+        List<Integer> shape = new ArrayList<>();
+        while (jp.nextToken() != JsonToken.END_ARRAY)
+            shape.add(jp.getIntValue());
+        int[] ret = new int[shape.size()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = shape.get(i);
+        return ret;
+    }
+
+    private static void readData(JsonParser jp, DataBuffer buffer) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            //native binary (smile, cbor) or base64 text
+            RawNDArrayLayout.putBytes(buffer, jp.getBinaryValue());
+            return;
+        }
+
+        long i = 0;
+        DataBuffer.Type type = buffer.dataType();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            if (i >= buffer.length())
+                throw new IllegalStateException("More elements than the shape allows");
+            switch (type) {
+                case DOUBLE:
+                    buffer.put(i++, jp.getDoubleValue());
+                    break;
+                case FLOAT:
+                    buffer.put(i++, jp.getFloatValue());
+                    break;
+                default:
+                    buffer.put(i++, jp.getIntValue());
+                    break;
+            }
+        }
+        if (i != buffer.length())
+            throw new IllegalStateException("Expected " + buffer.length() + " elements, got " + i);
+    }
+}
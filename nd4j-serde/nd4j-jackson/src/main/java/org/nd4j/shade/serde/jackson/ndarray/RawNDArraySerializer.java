@@ -0,0 +1,65 @@
+package org.nd4j.shade.serde.jackson.ndarray;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.shade.serde.jackson.RawNDArrayLayout;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Writes an ndarray as its shape, ordering, data type and raw elements
+ * instead of base64 encoded {@link org.nd4j.linalg.factory.Nd4j#write}
+ * output, see {@link RawNDArrayLayout} for the format.
+ * The elements are written as a single binary value when the generator
+ * supports binary data natively (smile, cbor) and as a json array of numbers otherwise.
+ *
+ * Read with {@link RawNDArrayDeSerializer}.
+ */
+public class RawNDArraySerializer extends JsonSerializer<INDArray> {
+    @Override
+    public void serialize(INDArray indArray, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)
+                    throws IOException {
+        INDArray dense = RawNDArrayLayout.dense(indArray);
+        DataBuffer data = dense.data();
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField(RawNDArrayLayout.DATA_TYPE, data.dataType().name());
+        jsonGenerator.writeStringField(RawNDArrayLayout.ORDER, String.valueOf(dense.ordering()));
+        jsonGenerator.writeArrayFieldStart(RawNDArrayLayout.SHAPE);
+        for (int i = 0; i < dense.rank(); i++)
+            jsonGenerator.writeNumber(dense.size(i));
+        jsonGenerator.writeEndArray();
+
+        if (jsonGenerator.canWriteBinaryNatively()) {
+            jsonGenerator.writeBinaryField(RawNDArrayLayout.DATA, RawNDArrayLayout.toBytes(dense));
+        } else {
+            int length = (int) dense.length();
+            jsonGenerator.writeArrayFieldStart(RawNDArrayLayout.DATA);
+            switch (data.dataType()) {
+                case DOUBLE:
+                    DoubleBuffer doubles = data.asNioDouble();
+                    for (int i = 0; i < length; i++)
+                        jsonGenerator.writeNumber(doubles.get(i));
+                    break;
+                case FLOAT:
+                    FloatBuffer floats = data.asNioFloat();
+                    for (int i = 0; i < length; i++)
+                        jsonGenerator.writeNumber(floats.get(i));
+                    break;
+                default:
+                    IntBuffer ints = data.asNioInt();
+                    for (int i = 0; i < length; i++)
+                        jsonGenerator.writeNumber(ints.get(i));
+                    break;
+            }
+            jsonGenerator.writeEndArray();
+        }
+        jsonGenerator.writeEndObject();
+    }
+}
@@ -0,0 +1,136 @@
+package org.nd4j;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Kryo serializer for ndarrays writing the raw bytes of the data buffer in bulk,
+ * instead of element by element like {@link Nd4jSerializer} does via {@link Nd4j#write}.
+ *
+ * Layout: rank, data type, ordering, shape, byte order of the data and the
+ * data itself as a dense array in the given ordering. On read the data is copied
+ * straight in to a newly allocated (uninitialized) {@link DataBuffer}, byte swapping
+ * only if the data was written on a machine with a different byte order.
+ *
+ * Views are written as dense copies, compressed arrays are decompressed first.
+ * Supports double, float, half and int arrays.
+ */
+public class Nd4jBinarySerializer extends Serializer<INDArray> {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Override
+    public void write(Kryo kryo, Output output, INDArray arr) {
+        if (arr.isCompressed())
+            arr = Nd4j.getCompressor().decompress(arr);
+        DataBuffer data = arr.data();
+        if (arr.isView() || data.offset() != 0 || data.length() != arr.length())
+            arr = arr.dup(arr.ordering());
+        Nd4j.getExecutioner().commit();
+        Nd4j.getAffinityManager().ensureLocation(arr, AffinityManager.Location.HOST);
+        data = arr.data();
+        switch (data.dataType()) {
+            case DOUBLE:
+            case FLOAT:
+            case HALF:
+            case INT:
+                break;
+            default:
+                throw new KryoException("Unsupported data type " + data.dataType());
+        }
+
+        output.writeInt(arr.rank(), true);
+        output.writeByte(data.dataType().ordinal());
+        output.writeByte(arr.ordering());
+        for (int i = 0; i < arr.rank(); i++)
+            output.writeInt(arr.size(i), true);
+        output.writeBoolean(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+
+        long numBytes = arr.length() * data.getElementSize();
+        ByteBuffer bytes = data.asNio();
+        bytes.position(0);
+        byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, numBytes)];
+        for (long written = 0; written < numBytes;) {
+            int n = (int) Math.min(chunk.length, numBytes - written);
+            bytes.get(chunk, 0, n);
+            output.writeBytes(chunk, 0, n);
+            written += n;
+        }
+    }
+
+    @Override
+    public INDArray read(Kryo kryo, Input input, Class<INDArray> type) {
+        int rank = input.readInt(true);
+        DataBuffer.Type dataType = DataBuffer.Type.values()[input.readByte()];
+        char order = (char) input.readByte();
+        int[] shape = new int[rank];
+        long length = 1;
+        for (int i = 0; i < rank; i++) {
+            shape[i] = input.readInt(true);
+            length *= shape[i];
+        }
+        ByteOrder byteOrder = input.readBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+
+        DataBuffer data = allocate(dataType, length);
+        int elementSize = data.getElementSize();
+        long numBytes = length * elementSize;
+        ByteBuffer bytes = data.asNio();
+        bytes.position(0);
+        byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, numBytes)];
+        for (long read = 0; read < numBytes;) {
+            int n = (int) Math.min(chunk.length, numBytes - read);
+            input.readBytes(chunk, 0, n);
+            if (byteOrder == ByteOrder.nativeOrder())
+                bytes.put(chunk, 0, n);
+            else
+                putSwapped(bytes, ByteBuffer.wrap(chunk, 0, n).order(byteOrder), elementSize);
+            read += n;
+        }
+        Nd4j.getAffinityManager().tagLocation(data, AffinityManager.Location.HOST);
+
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, order), 0, order);
+    }
+
+    private static DataBuffer allocate(DataBuffer.Type type, long length) {
+        switch (type) {
+            case DOUBLE:
+                return Nd4j.getDataBufferFactory().createDouble(length, false);
+            case FLOAT:
+                return Nd4j.getDataBufferFactory().createFloat(length, false);
+            case HALF:
+                return Nd4j.getDataBufferFactory().createHalf(length, false);
+            case INT:
+                return Nd4j.getDataBufferFactory().createInt(length, false);
+            default:
+                throw new KryoException("Unsupported data type " + type);
+        }
+    }
+
+    /**
+     * Copy elements from a buffer in a foreign byte order in to a native order buffer
+     */
+    private static void putSwapped(ByteBuffer target, ByteBuffer source, int elementSize) {
+        while (source.hasRemaining()) {
+            switch (elementSize) {
+                case 8:
+                    target.putLong(source.getLong());
+                    break;
+                case 4:
+                    target.putInt(source.getInt());
+                    break;
+                default:
+                    target.putShort(source.getShort());
+                    break;
+            }
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.esotericsoftware.kryo.Kryo;
 import de.javakaffee.kryoserializers.SynchronizedCollectionsSerializer;
 import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
 import org.apache.spark.serializer.KryoRegistrator;
+import org.nd4j.dataset.DataSetSerializer;
+import org.nd4j.dataset.MultiDataSetSerializer;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.primitives.AtomicDouble;
 import org.nd4j.primitives.AtomicDoubleSerializer;
@@ -19,9 +23,11 @@ import org.nd4j.primitives.AtomicDoubleSerializer;
 public class Nd4jRegistrator implements KryoRegistrator {
     @Override
     public void registerClasses(Kryo kryo) {
-        kryo.register(Nd4j.getBackend().getNDArrayClass(), new Nd4jSerializer());
+        kryo.register(Nd4j.getBackend().getNDArrayClass(), new Nd4jBinarySerializer());
         kryo.register(Nd4j.getBackend().getComplexNDArrayClass(), new Nd4jSerializer());
         kryo.register(AtomicDouble.class, new AtomicDoubleSerializer());
+        kryo.register(DataSet.class, new DataSetSerializer());
+        kryo.register(MultiDataSet.class, new MultiDataSetSerializer());
 
         //Also register Java types (synchronized/unmodifiable collections), which will fail by default
         UnmodifiableCollectionsSerializer.registerSerializers(kryo);
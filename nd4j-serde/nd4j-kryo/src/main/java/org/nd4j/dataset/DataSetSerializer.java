@@ -0,0 +1,67 @@
+package org.nd4j.dataset;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.nd4j.Nd4jBinarySerializer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializer for DataSet: features, labels and masks are written with
+ * {@link Nd4jBinarySerializer}, followed by the column and label names
+ * and the example meta data (if any)
+ */
+public class DataSetSerializer extends Serializer<DataSet> {
+    private final Nd4jBinarySerializer arraySerializer = new Nd4jBinarySerializer();
+
+    @Override
+    public void write(Kryo kryo, Output output, DataSet dataSet) {
+        kryo.writeObjectOrNull(output, dataSet.getFeatures(), arraySerializer);
+        kryo.writeObjectOrNull(output, dataSet.getLabels(), arraySerializer);
+        kryo.writeObjectOrNull(output, dataSet.getFeaturesMaskArray(), arraySerializer);
+        kryo.writeObjectOrNull(output, dataSet.getLabelsMaskArray(), arraySerializer);
+        writeStrings(output, dataSet.getColumnNames());
+        writeStrings(output, dataSet.getLabelNamesList());
+        kryo.writeClassAndObject(output, dataSet.getExampleMetaData());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataSet read(Kryo kryo, Input input, Class<DataSet> type) {
+        INDArray features = kryo.readObjectOrNull(input, INDArray.class, arraySerializer);
+        INDArray labels = kryo.readObjectOrNull(input, INDArray.class, arraySerializer);
+        INDArray featuresMask = kryo.readObjectOrNull(input, INDArray.class, arraySerializer);
+        INDArray labelsMask = kryo.readObjectOrNull(input, INDArray.class, arraySerializer);
+        DataSet ret = new DataSet(features, labels, featuresMask, labelsMask);
+        ret.setColumnNames(readStrings(input));
+        ret.setLabelNames(readStrings(input));
+        List<Serializable> metaData = (List<Serializable>) kryo.readClassAndObject(input);
+        if (metaData != null)
+            ret.setExampleMetaData(metaData);
+        return ret;
+    }
+
+    static void writeStrings(Output output, List<String> strings) {
+        if (strings == null) {
+            output.writeInt(0, true);
+            return;
+        }
+        output.writeInt(strings.size(), true);
+        for (String s : strings)
+            output.writeString(s);
+    }
+
+    static List<String> readStrings(Input input) {
+        int size = input.readInt(true);
+        List<String> ret = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            ret.add(input.readString());
+        return ret;
+    }
+}
@@ -0,0 +1,66 @@
+package org.nd4j.dataset;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.nd4j.Nd4jBinarySerializer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.MultiDataSet;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Serializer for MultiDataSet: the features, labels and mask arrays are written with
+ * {@link Nd4jBinarySerializer}, followed by the example meta data (if any)
+ */
+public class MultiDataSetSerializer extends Serializer<MultiDataSet> {
+    private final Nd4jBinarySerializer arraySerializer = new Nd4jBinarySerializer();
+
+    @Override
+    public void write(Kryo kryo, Output output, MultiDataSet dataSet) {
+        writeArrays(kryo, output, dataSet.getFeatures());
+        writeArrays(kryo, output, dataSet.getLabels());
+        writeArrays(kryo, output, dataSet.getFeaturesMaskArrays());
+        writeArrays(kryo, output, dataSet.getLabelsMaskArrays());
+        kryo.writeClassAndObject(output, dataSet.getExampleMetaData());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MultiDataSet read(Kryo kryo, Input input, Class<MultiDataSet> type) {
+        INDArray[] features = readArrays(kryo, input);
+        INDArray[] labels = readArrays(kryo, input);
+        INDArray[] featuresMasks = readArrays(kryo, input);
+        INDArray[] labelsMasks = readArrays(kryo, input);
+        MultiDataSet ret = new MultiDataSet(features, labels, featuresMasks, labelsMasks);
+        List<Serializable> metaData = (List<Serializable>) kryo.readClassAndObject(input);
+        if (metaData != null)
+            ret.setExampleMetaData(metaData);
+        return ret;
+    }
+
+    /**
+     * Length + 1 of the array (0 for null) followed by its elements, each of which may be null
+     */
+    private void writeArrays(Kryo kryo, Output output, INDArray[] arrays) {
+        if (arrays == null) {
+            output.writeInt(0, true);
+            return;
+        }
+        output.writeInt(arrays.length + 1, true);
+        for (INDArray arr : arrays)
+            kryo.writeObjectOrNull(output, arr, arraySerializer);
+    }
+
+    private INDArray[] readArrays(Kryo kryo, Input input) {
+        int length = input.readInt(true) - 1;
+        if (length < 0)
+            return null;
+        INDArray[] ret = new INDArray[length];
+        for (int i = 0; i < length; i++)
+            ret[i] = kryo.readObjectOrNull(input, INDArray.class, arraySerializer);
+        return ret;
+    }
+}
@@ -11,12 +11,16 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.MultiDataSet;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.primitives.*;
 import scala.Tuple2;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -91,6 +95,30 @@ public class TestNd4jKryoSerialization {
         }
     }
 
+    @Test
+    public void testSerializationArraysAndDataSets() {
+        SerializerInstance si = sc.env().serializer().newInstance();
+
+        INDArray[] arrays = {Nd4j.linspace(1, 10, 10), Nd4j.linspace(1, 24, 24).reshape('f', 2, 3, 4),
+                        Nd4j.rand(5, 5).getColumn(2), Nd4j.rand(6, 8).get(NDArrayIndex.interval(1, 4),
+                                        NDArrayIndex.interval(2, 7)),
+                        Nd4j.create(1000, 100).addi(3.0)};
+        for (INDArray arr : arrays) {
+            INDArray read = (INDArray) si.deserialize(si.serialize(arr, null), null);
+            assertEquals(arr, read);
+            assertEquals(arr.ordering(), read.ordering());
+        }
+
+        DataSet ds = new DataSet(Nd4j.rand(new int[] {3, 4, 5}), Nd4j.rand(new int[] {3, 2, 5}),
+                        Nd4j.ones(3, 5), null);
+        ds.setLabelNames(Arrays.asList("a", "b"));
+        testSerialization(ds, si);
+
+        MultiDataSet mds = new MultiDataSet(new INDArray[] {Nd4j.rand(3, 4), Nd4j.rand(3, 2)},
+                        new INDArray[] {Nd4j.rand(3, 1)}, new INDArray[] {null, Nd4j.ones(3, 2)}, null);
+        testSerialization(mds, si);
+    }
+
     private <T> void testSerialization(T in, SerializerInstance si) {
         ByteBuffer bb = si.serialize(in, null);
         T deserialized = (T)si.deserialize(bb, null);